@@ -2,8 +2,12 @@ package com.academix.server.config;
 
 import java.util.Arrays;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -18,6 +22,8 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -32,6 +38,9 @@ public class SecurityConfig {
                 // Database console for development
                 .requestMatchers("/h2-console/**").permitAll()
                 
+                // WebSocket handshake for live feeds
+                .requestMatchers("/ws", "/ws/**").permitAll()
+                
                 // Health check and actuator endpoints
                 .requestMatchers("/actuator/health").permitAll()
                 .requestMatchers("/actuator/**").permitAll()
@@ -47,6 +56,16 @@ public class SecurityConfig {
                 // Error pages
                 .requestMatchers("/error", "/error/**").permitAll()
                 
+                // Mail outbox administration and mass mailings; method security is not enabled,
+                // so the @PreAuthorize rules on MailController are enforced here
+                .requestMatchers("/api/mail/**").hasRole("ADMIN")
+
+                // Bulk student intake creates accounts and mails their credentials
+                .requestMatchers("/api/students/intake/**").hasRole("ADMIN")
+
+                // Archiving moves a closed term out of the attendance table
+                .requestMatchers(HttpMethod.POST, "/api/attendance/archive").hasRole("ADMIN")
+                
                 // Allow all requests for development (comment out for production)
                 .anyRequest().permitAll()
                 
@@ -65,6 +84,7 @@ public class SecurityConfig {
         configuration.setAllowedOriginPatterns(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList("ETag", "Retry-After"));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -74,10 +94,37 @@ public class SecurityConfig {
 
     /**
      * Password encoder bean using BCrypt algorithm
-     * BCrypt is considered one of the most secure hashing algorithms
+     * BCrypt is considered one of the most secure hashing algorithms.
+     * The cost is fixed by academix.auth.bcrypt-cost, or when that is 0 picked
+     * at startup: the highest cost whose hash takes at most the target time on
+     * this machine, within the configured bounds.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12); // Strength of 12 (good balance of security vs performance)
+    public PasswordEncoder passwordEncoder(@Value("${academix.auth.bcrypt-cost:0}") int fixedCost,
+                                           @Value("${academix.auth.bcrypt-target-ms:250}") long targetMs,
+                                           @Value("${academix.auth.bcrypt-min-cost:10}") int minCost,
+                                           @Value("${academix.auth.bcrypt-max-cost:14}") int maxCost) {
+        int cost = fixedCost > 0 ? fixedCost : calibrateBcryptCost(targetMs, minCost, maxCost);
+        return new BCryptPasswordEncoder(cost);
+    }
+
+    // Each extra cost doubles the work, so time the minimum cost and extrapolate
+    private static int calibrateBcryptCost(long targetMs, int minCost, int maxCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        probe.encode("calibration"); // warm up
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double millis = best / 1_000_000.0;
+        int cost = minCost;
+        while (cost < maxCost && millis * 2 <= targetMs) {
+            millis *= 2;
+            cost++;
+        }
+        logger.info("BCrypt cost {} chosen - about {} ms per hash (target {} ms)", cost, Math.round(millis), targetMs);
+        return cost;
     }
 }
\ No newline at end of file
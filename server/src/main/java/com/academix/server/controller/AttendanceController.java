@@ -11,7 +11,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import com.academix.server.dto.AttendanceDto;
+import com.academix.server.dto.ListDto;
+import com.academix.server.model.AbsenceNotification;
 import com.academix.server.model.Attendance;
+import com.academix.server.model.AttendanceArchive;
+import com.academix.server.service.AbsenceNotificationService;
+import com.academix.server.service.AttendanceArchiveService;
 import com.academix.server.service.AttendanceService;
 
 import jakarta.validation.Valid;
@@ -24,6 +30,12 @@ public class AttendanceController {
     @Autowired
     private AttendanceService attendanceService;
 
+    @Autowired
+    private AbsenceNotificationService absenceNotificationService;
+
+    @Autowired
+    private AttendanceArchiveService attendanceArchiveService;
+
     /**
      * Mark attendance for a student
      * POST /api/attendance/mark
@@ -54,6 +66,20 @@ public class AttendanceController {
         }
     }
 
+    /**
+     * Record a whole class roll call in one batch
+     * POST /api/attendance/roll-call
+     */
+    @PostMapping("/roll-call")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or hasRole('CLASS_TEACHER')")
+    public ResponseEntity<?> recordRollCall(@Valid @RequestBody AttendanceDto.RollCallRequest request) {
+        try {
+            return ResponseEntity.ok(attendanceService.recordRollCall(request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Get attendance by ID
      * GET /api/attendance/{id}
@@ -101,7 +127,19 @@ public class AttendanceController {
      */
     @GetMapping("/class/{className}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or hasRole('CLASS_TEACHER') or hasRole('HEAD_TEACHER')")
-    public ResponseEntity<List<Attendance>> getAttendanceByClass(@PathVariable String className) {
+    public ResponseEntity<?> getAttendanceByClass(
+            @PathVariable String className,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        if (ListDto.isPageRequest(after, limit, fields)) {
+            try {
+                return ResponseEntity.ok(attendanceService.getAttendanceByClassPage(className, after, limit)
+                    .select(ListDto.AttendanceItem.class, ListDto.parseFields(fields)));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        }
         return ResponseEntity.ok(attendanceService.getAttendanceByClass(className));
     }
 
@@ -209,6 +247,58 @@ public class AttendanceController {
         return ResponseEntity.ok(attendanceService.getStudentAttendanceStats(studentId, academicYear, term));
     }
 
+    /**
+     * Get student absence and presence streaks for a term
+     * GET /api/attendance/student/{studentId}/streaks?academicYear={year}&term={term}
+     */
+    @GetMapping("/student/{studentId}/streaks")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or hasRole('CLASS_TEACHER') or hasRole('STUDENT') or hasRole('PARENT')")
+    public ResponseEntity<?> getStudentAttendanceStreaks(
+            @PathVariable Long studentId,
+            @RequestParam String academicYear,
+            @RequestParam Integer term) {
+        try {
+            return ResponseEntity.ok(attendanceService.getStudentAttendanceStreaks(studentId, academicYear, term));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get student rolling attendance rates and early-warning score
+     * GET /api/attendance/student/{studentId}/analytics?academicYear={year}&term={term}
+     */
+    @GetMapping("/student/{studentId}/analytics")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or hasRole('CLASS_TEACHER') or hasRole('STUDENT') or hasRole('PARENT')")
+    public ResponseEntity<?> getStudentAttendanceAnalytics(
+            @PathVariable Long studentId,
+            @RequestParam String academicYear,
+            @RequestParam Integer term) {
+        try {
+            return ResponseEntity.ok(attendanceService.getStudentAttendanceAnalytics(studentId, academicYear, term));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get students of a class at risk from poor attendance, highest risk first
+     * GET /api/attendance/class/{className}/at-risk?academicYear={year}&term={term}&limit={n}
+     */
+    @GetMapping("/class/{className}/at-risk")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or hasRole('CLASS_TEACHER')")
+    public ResponseEntity<?> getAtRiskStudents(
+            @PathVariable String className,
+            @RequestParam String academicYear,
+            @RequestParam Integer term,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(attendanceService.getAtRiskStudents(className, academicYear, term, Math.max(1, limit)));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Get class attendance statistics for a date
      * GET /api/attendance/class/{className}/stats?date={date}
@@ -266,6 +356,54 @@ public class AttendanceController {
         }
     }
 
+    /**
+     * Get absence notification outbox statistics
+     * GET /api/attendance/notifications/stats
+     */
+    @GetMapping("/notifications/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getNotificationStats() {
+        return ResponseEntity.ok(absenceNotificationService.getStats());
+    }
+
+    /**
+     * Get absence notifications queued for a student
+     * GET /api/attendance/student/{studentId}/notifications
+     */
+    @GetMapping("/student/{studentId}/notifications")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('CLASS_TEACHER')")
+    public ResponseEntity<List<AbsenceNotification>> getStudentNotifications(@PathVariable Long studentId) {
+        return ResponseEntity.ok(absenceNotificationService.getNotificationsForStudent(studentId));
+    }
+
+    /**
+     * Archive a closed term out of the attendance table
+     * POST /api/attendance/archive?academicYear={year}&term={term}
+     */
+    @PostMapping("/archive")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> archiveTerm(@RequestParam String academicYear, @RequestParam Integer term) {
+        try {
+            AttendanceArchive archive = attendanceArchiveService.archiveTerm(academicYear, term, null);
+            return ResponseEntity.ok(Map.of(
+                "message", "Attendance term archived",
+                "archive", archive
+            ));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get archived attendance terms
+     * GET /api/attendance/archive
+     */
+    @GetMapping("/archive")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<AttendanceArchive>> getArchives() {
+        return ResponseEntity.ok(attendanceArchiveService.getArchives());
+    }
+
     /**
      * Search attendance records
      * GET /api/attendance/search?q={searchTerm}
@@ -0,0 +1,41 @@
+package com.academix.server.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import com.academix.server.service.AttendanceFeedService;
+
+/**
+ * STOMP snapshots for the live attendance feed.
+ * A client subscribes once to /app/attendance/today (or the class variant)
+ * for the current counts, then to /topic/attendance or
+ * /topic/attendance/class/{className} for deltas.
+ */
+@Controller
+public class AttendanceFeedController {
+
+    @Autowired
+    private AttendanceFeedService attendanceFeedService;
+
+    /**
+     * Today's counts for every class
+     * SUBSCRIBE /app/attendance/today
+     */
+    @SubscribeMapping("/attendance/today")
+    public Map<String, Object> getTodaySnapshot() {
+        return attendanceFeedService.getTodaySnapshot(null);
+    }
+
+    /**
+     * Today's counts for one class
+     * SUBSCRIBE /app/attendance/class/{className}/today
+     */
+    @SubscribeMapping("/attendance/class/{className}/today")
+    public Map<String, Object> getClassTodaySnapshot(@DestinationVariable String className) {
+        return attendanceFeedService.getTodaySnapshot(className);
+    }
+}
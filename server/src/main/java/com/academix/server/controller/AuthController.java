@@ -1,8 +1,13 @@
 package com.academix.server.controller;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,6 +30,7 @@ import com.academix.server.dto.AuthDto.ResendTokenRequest;
 import com.academix.server.dto.AuthDto.ResetPasswordRequest;
 import com.academix.server.dto.AuthDto.VerifyEmailRequest;
 import com.academix.server.service.AuthService;
+import com.academix.server.service.PasswordHashingService;
 
 import jakarta.validation.Valid;
 
@@ -48,6 +54,8 @@ public class AuthController {
             AuthResponse response = authService.registerUser(request);
             logger.info("Registration successful for email: {}", request.getEmail());
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingService.BusyException e) {
+            return busy(e);
         } catch (Exception e) {
             logger.error("Registration failed for email: {}", request.getEmail(), e);
             return ResponseEntity.badRequest().body(new AuthResponse(e.getMessage()));
@@ -59,15 +67,19 @@ public class AuthController {
      * Authenticates user and returns JWT tokens
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> loginUser(@Valid @RequestBody LoginRequest request) {
-        try {
-            AuthResponse response = authService.loginUser(request);
-            logger.info("Login successful for email: {}", request.getEmail());
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            logger.error("Login failed for email: {}", request.getEmail(), e);
-            return ResponseEntity.badRequest().body(new AuthResponse(e.getMessage()));
-        }
+    public CompletableFuture<ResponseEntity<AuthResponse>> loginUser(@Valid @RequestBody LoginRequest request) {
+        return authService.loginUser(request).handle((response, error) -> {
+            if (error == null) {
+                logger.info("Login successful for email: {}", request.getEmail());
+                return ResponseEntity.ok(response);
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof PasswordHashingService.BusyException busy) {
+                return busy(busy);
+            }
+            logger.error("Login failed for email: {}", request.getEmail(), cause);
+            return ResponseEntity.badRequest().body(new AuthResponse(cause.getMessage()));
+        });
     }
 
     /**
@@ -96,6 +108,8 @@ public class AuthController {
             AuthResponse response = authService.resetPassword(request);
             logger.info("Password reset successful");
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingService.BusyException e) {
+            return busy(e);
         } catch (Exception e) {
             logger.error("Password reset failed", e);
             return ResponseEntity.badRequest().body(new AuthResponse(e.getMessage()));
@@ -147,6 +161,8 @@ public class AuthController {
             AuthResponse response = authService.changePassword(userEmail, request);
             logger.info("Password change successful for user: {}", userEmail);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingService.BusyException e) {
+            return busy(e);
         } catch (Exception e) {
             logger.error("Password change failed for user: {}", userEmail, e);
             return ResponseEntity.badRequest().body(new AuthResponse(e.getMessage()));
@@ -238,4 +254,11 @@ public class AuthController {
     public ResponseEntity<ApiResponse> healthCheck() {
         return ResponseEntity.ok(new ApiResponse("Auth service is running", true));
     }
-}
\ No newline at end of file
+
+    // Password hashing pool is full: ask the client to come back later
+    private static ResponseEntity<AuthResponse> busy(PasswordHashingService.BusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+            .body(new AuthResponse(e.getMessage()));
+    }
+}
@@ -11,8 +11,12 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import com.academix.server.dto.ListDto;
 import com.academix.server.model.Exam;
+import com.academix.server.model.RegradeJob;
+import com.academix.server.model.User;
 import com.academix.server.service.ExamService;
+import com.academix.server.service.UserStoreService;
 
 import jakarta.validation.Valid;
 
@@ -24,6 +28,9 @@ public class ExamController {
     @Autowired
     private ExamService examService;
 
+    @Autowired
+    private UserStoreService userStoreService;
+
     /**
      * Create a new exam
      * POST /api/exams
@@ -44,7 +51,18 @@ public class ExamController {
      * GET /api/exams
      */
     @GetMapping
-    public ResponseEntity<List<Exam>> getAllExams() {
+    public ResponseEntity<?> getAllExams(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        if (ListDto.isPageRequest(after, limit, fields)) {
+            try {
+                return ResponseEntity.ok(examService.getExamsPage(after, limit)
+                    .select(ListDto.ExamItem.class, ListDto.parseFields(fields)));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        }
         return ResponseEntity.ok(examService.getAllExams());
     }
 
@@ -145,6 +163,51 @@ public class ExamController {
         }
     }
 
+    /**
+     * Regrade every result in an exam in the background (resumes an unfinished job)
+     * POST /api/exams/{id}/regrade
+     */
+    @PostMapping("/{id}/regrade")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HEAD_TEACHER') or hasRole('DIRECTOR_OF_STUDIES')")
+    public ResponseEntity<?> regradeExam(@PathVariable Long id, @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            Long requestedBy = userDetails != null
+                ? userStoreService.findByEmail(userDetails.getUsername()).map(User::getId).orElse(null)
+                : null;
+            RegradeJob job = examService.regradeExam(id, requestedBy);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(Map.of(
+                "message", "Regrade started",
+                "job", job
+            ));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Get the status of the latest regrade job for an exam
+     * GET /api/exams/{id}/regrade
+     */
+    @GetMapping("/{id}/regrade")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HEAD_TEACHER') or hasRole('DIRECTOR_OF_STUDIES')")
+    public ResponseEntity<?> getLatestRegradeJob(@PathVariable Long id) {
+        return examService.getLatestRegradeJob(id)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get the status of a regrade job
+     * GET /api/exams/regrade-jobs/{jobId}
+     */
+    @GetMapping("/regrade-jobs/{jobId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HEAD_TEACHER') or hasRole('DIRECTOR_OF_STUDIES')")
+    public ResponseEntity<?> getRegradeJob(@PathVariable Long jobId) {
+        return examService.getRegradeJob(jobId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Get student transcript
      * GET /api/exams/student/{id}/transcript
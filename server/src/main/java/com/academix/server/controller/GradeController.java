@@ -1,11 +1,15 @@
 package com.academix.server.controller;
 
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import com.academix.server.model.GradingScale;
+import com.academix.server.service.GradingScaleService;
 import com.academix.server.service.ResultService;
 
 @RestController
@@ -16,13 +20,17 @@ public class GradeController {
     @Autowired
     private ResultService resultService;
 
+    @Autowired
+    private GradingScaleService gradingScaleService;
+
     /**
      * Get all Ugandan grading scales
      * GET /api/grades
      */
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getGradingScales() {
-        return ResponseEntity.ok(resultService.getGradingScales());
+    public ResponseEntity<Map<String, Object>> getGradingScales(
+            @RequestParam(required = false) String academicYear) {
+        return ResponseEntity.ok(resultService.getGradingScales(academicYear));
     }
 
     /**
@@ -30,8 +38,9 @@ public class GradeController {
      * GET /api/grades/o-level
      */
     @GetMapping("/o-level")
-    public ResponseEntity<Map<String, Object>> getOLevelGrades() {
-        Map<String, Object> scales = resultService.getGradingScales();
+    public ResponseEntity<Map<String, Object>> getOLevelGrades(
+            @RequestParam(required = false) String academicYear) {
+        Map<String, Object> scales = resultService.getGradingScales(academicYear);
         return ResponseEntity.ok(Map.of(
             "level", "O-Level (UCE)",
             "description", "Uganda Certificate of Education grading system",
@@ -45,8 +54,9 @@ public class GradeController {
      * GET /api/grades/a-level
      */
     @GetMapping("/a-level")
-    public ResponseEntity<Map<String, Object>> getALevelGrades() {
-        Map<String, Object> scales = resultService.getGradingScales();
+    public ResponseEntity<Map<String, Object>> getALevelGrades(
+            @RequestParam(required = false) String academicYear) {
+        Map<String, Object> scales = resultService.getGradingScales(academicYear);
         return ResponseEntity.ok(Map.of(
             "level", "A-Level (UACE)",
             "description", "Uganda Advanced Certificate of Education grading system",
@@ -57,54 +67,88 @@ public class GradeController {
 
     /**
      * Calculate grade from marks
-     * GET /api/grades/calculate?marks={marks}&scale={scale}&isPrincipal={isPrincipal}
+     * GET /api/grades/calculate?marks={marks}&scale={scale}&isPrincipal={isPrincipal}&academicYear={academicYear}
      */
     @GetMapping("/calculate")
     public ResponseEntity<Map<String, Object>> calculateGrade(
             @RequestParam Integer marks,
             @RequestParam(defaultValue = "O_LEVEL") String scale,
-            @RequestParam(defaultValue = "true") Boolean isPrincipal) {
-
-        String grade;
-        int points;
-        String description;
+            @RequestParam(defaultValue = "true") Boolean isPrincipal,
+            @RequestParam(required = false) String academicYear) {
 
+        GradingScale.Type type;
         if (scale.equalsIgnoreCase("O_LEVEL")) {
-            // O-Level grading
-            if (marks >= 80) { grade = "D1"; points = 1; description = "Distinction"; }
-            else if (marks >= 70) { grade = "D2"; points = 2; description = "Distinction"; }
-            else if (marks >= 65) { grade = "C3"; points = 3; description = "Credit"; }
-            else if (marks >= 60) { grade = "C4"; points = 4; description = "Credit"; }
-            else if (marks >= 55) { grade = "C5"; points = 5; description = "Credit"; }
-            else if (marks >= 50) { grade = "C6"; points = 6; description = "Credit"; }
-            else if (marks >= 40) { grade = "P7"; points = 7; description = "Pass"; }
-            else if (marks >= 34) { grade = "P8"; points = 8; description = "Pass"; }
-            else { grade = "F9"; points = 9; description = "Fail"; }
+            type = GradingScale.Type.O_LEVEL;
         } else if (scale.equalsIgnoreCase("A_LEVEL") && isPrincipal) {
-            // A-Level Principal
-            if (marks >= 80) { grade = "A"; points = 6; description = "Excellent"; }
-            else if (marks >= 70) { grade = "B"; points = 5; description = "Very Good"; }
-            else if (marks >= 60) { grade = "C"; points = 4; description = "Good"; }
-            else if (marks >= 50) { grade = "D"; points = 3; description = "Satisfactory"; }
-            else if (marks >= 40) { grade = "E"; points = 2; description = "Pass"; }
-            else if (marks >= 34) { grade = "O"; points = 1; description = "Subsidiary Pass"; }
-            else { grade = "F"; points = 0; description = "Fail"; }
+            type = GradingScale.Type.A_LEVEL_PRINCIPAL;
         } else {
-            // A-Level Subsidiary
-            if (marks >= 50) { grade = "O"; points = 1; description = "Pass"; }
-            else { grade = "F"; points = 0; description = "Fail"; }
+            type = GradingScale.Type.A_LEVEL_SUBSIDIARY;
         }
 
+        GradingScale gradingScale = gradingScaleService.getScale(academicYear, type);
+        byte grade = gradingScale.gradeOf(marks);
+
         return ResponseEntity.ok(Map.of(
             "marks", marks,
             "scale", scale,
             "isPrincipal", isPrincipal,
-            "grade", grade,
-            "points", points,
-            "description", description
+            "grade", gradingScale.code(grade),
+            "points", gradingScale.points(grade),
+            "description", gradingScale.remark(grade)
+        ));
+    }
+
+    /**
+     * Configure the bands of a grading scale for an academic year
+     * PUT /api/grades/scales/{academicYear}/{type}
+     */
+    @PutMapping("/scales/{academicYear}/{type}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('DIRECTOR_OF_STUDIES')")
+    public ResponseEntity<?> updateGradingScale(
+            @PathVariable String academicYear,
+            @PathVariable GradingScale.Type type,
+            @RequestBody List<GradingScale.Band> bands) {
+        try {
+            GradingScale updated = gradingScaleService.updateScale(academicYear, type, bands);
+            return ResponseEntity.ok(Map.of(
+                "message", "Grading scale updated successfully",
+                "academicYear", academicYear,
+                "type", type,
+                "bands", updated.getBands()
+            ));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Reset a grading scale for an academic year to the built-in default
+     * DELETE /api/grades/scales/{academicYear}/{type}
+     */
+    @DeleteMapping("/scales/{academicYear}/{type}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('DIRECTOR_OF_STUDIES')")
+    public ResponseEntity<?> resetGradingScale(
+            @PathVariable String academicYear,
+            @PathVariable GradingScale.Type type) {
+        gradingScaleService.resetScale(academicYear, type);
+        return ResponseEntity.ok(Map.of(
+            "message", "Grading scale reset to default",
+            "academicYear", academicYear,
+            "type", type
         ));
     }
 
+    /**
+     * Reload configured grading scales from the database
+     * POST /api/grades/scales/reload
+     */
+    @PostMapping("/scales/reload")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('DIRECTOR_OF_STUDIES')")
+    public ResponseEntity<?> reloadGradingScales() {
+        gradingScaleService.reload();
+        return ResponseEntity.ok(Map.of("message", "Grading scales reloaded"));
+    }
+
     /**
      * Calculate aggregate division from total points
      * GET /api/grades/aggregate?points={points}
@@ -0,0 +1,75 @@
+package com.academix.server.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import com.academix.server.dto.MailDto;
+import com.academix.server.service.EmailService;
+import com.academix.server.service.MailQueueService;
+
+@RestController
+@RequestMapping("/api/mail")
+@CrossOrigin(origins = "*")
+public class MailController {
+
+    @Autowired
+    private MailQueueService mailQueueService;
+
+    @Autowired
+    private EmailService emailService;
+
+    /**
+     * Get mail queue depth, delivery latency and counters
+     * GET /api/mail/stats
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(mailQueueService.getStats());
+    }
+
+    /**
+     * Get emails the queue gave up on, newest first
+     * GET /api/mail/dead-letters?limit=100
+     */
+    @GetMapping("/dead-letters")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<MailDto.DeadLetter>> getDeadLetters(@RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(mailQueueService.getDeadLetters(limit));
+    }
+
+    /**
+     * Requeue dead letters, all of them when no ids are given
+     * POST /api/mail/dead-letters/retry
+     */
+    @PostMapping("/dead-letters/retry")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> retryDeadLetters(@RequestBody(required = false) MailDto.RetryRequest request) {
+        try {
+            int requeued = mailQueueService.retryDeadLetters(request != null ? request.getIds() : null);
+            return ResponseEntity.ok(Map.of("requeued", requeued));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Render one template for many recipients, e.g. a term-start mailing,
+     * and queue the messages when requested
+     * POST /api/mail/bulk
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> sendBulk(@RequestBody MailDto.BulkRequest request) {
+        try {
+            return ResponseEntity.ok(emailService.sendBulkEmails(request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
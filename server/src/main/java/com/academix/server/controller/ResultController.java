@@ -5,10 +5,13 @@ import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.academix.server.dto.ListDto;
 import com.academix.server.model.Result;
 import com.academix.server.service.ResultService;
 
@@ -45,12 +48,9 @@ public class ResultController {
     @PreAuthorize("hasRole('ADMIN') or hasRole('TEACHER') or hasRole('DIRECTOR_OF_STUDIES')")
     public ResponseEntity<?> createBulkResults(@Valid @RequestBody List<Result> results) {
         try {
-            List<Result> created = resultService.createBulkResults(results);
-            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
-                "message", "Results entered successfully",
-                "count", created.size(),
-                "results", created
-            ));
+            Map<String, Object> report = resultService.createBulkResults(results);
+            report.put("message", "Results entered successfully");
+            return ResponseEntity.status(HttpStatus.CREATED).body(report);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -61,7 +61,18 @@ public class ResultController {
      * GET /api/results
      */
     @GetMapping
-    public ResponseEntity<List<Result>> getAllResults() {
+    public ResponseEntity<?> getAllResults(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        if (ListDto.isPageRequest(after, limit, fields)) {
+            try {
+                return ResponseEntity.ok(resultService.getResultsPage(after, limit)
+                    .select(ListDto.ResultItem.class, ListDto.parseFields(fields)));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        }
         return ResponseEntity.ok(resultService.getAllResults());
     }
 
@@ -175,6 +186,60 @@ public class ResultController {
         }
     }
 
+    /**
+     * Stream report cards for every student in a class as NDJSON
+     * GET /api/results/report-card/class/{className}/exam/{examId}
+     */
+    @GetMapping("/report-card/class/{className}/exam/{examId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HEAD_TEACHER') or hasRole('TEACHER') or hasRole('DIRECTOR_OF_STUDIES')")
+    public ResponseEntity<?> streamClassReportCards(
+            @PathVariable String className, @PathVariable Long examId) {
+        return streamReportCards(examId, className);
+    }
+
+    /**
+     * Stream report cards for every class in an exam as NDJSON
+     * GET /api/results/report-card/exam/{examId}
+     */
+    @GetMapping("/report-card/exam/{examId}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HEAD_TEACHER') or hasRole('DIRECTOR_OF_STUDIES')")
+    public ResponseEntity<?> streamExamReportCards(@PathVariable Long examId) {
+        return streamReportCards(examId, null);
+    }
+
+    private ResponseEntity<?> streamReportCards(Long examId, String className) {
+        try {
+            resultService.getExam(examId);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", e.getMessage()));
+        }
+
+        StreamingResponseBody body = out -> resultService.writeReportCards(examId, className, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .body(body);
+    }
+
+    /**
+     * Rebuild precomputed report card summaries for an exam
+     * POST /api/results/report-card/exam/{examId}/rebuild
+     */
+    @PostMapping("/report-card/exam/{examId}/rebuild")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HEAD_TEACHER') or hasRole('DIRECTOR_OF_STUDIES')")
+    public ResponseEntity<?> rebuildReportCardSummaries(@PathVariable Long examId) {
+        try {
+            resultService.rebuildSummaries(examId);
+            return ResponseEntity.ok(Map.of(
+                "message", "Report card summaries rebuilt successfully",
+                "examId", examId
+            ));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Get grade distribution
      * GET /api/results/distribution?examId={examId}&subjectCode={subjectCode}&className={className}
@@ -194,21 +259,20 @@ public class ResultController {
     }
 
     /**
-     * Calculate positions for a class
-     * POST /api/results/calculate-positions
+     * Calculate positions for a class, or for every class when no class is given
+     * POST /api/results/calculate-positions?examId={examId}&className={className}
      */
     @PostMapping("/calculate-positions")
     @PreAuthorize("hasRole('ADMIN') or hasRole('HEAD_TEACHER') or hasRole('DIRECTOR_OF_STUDIES')")
     public ResponseEntity<?> calculatePositions(
             @RequestParam Long examId,
-            @RequestParam String className) {
+            @RequestParam(required = false) String className) {
         try {
-            resultService.calculatePositions(examId, className);
-            return ResponseEntity.ok(Map.of(
-                "message", "Positions calculated successfully",
-                "examId", examId,
-                "className", className
-            ));
+            Map<String, Object> summary = className != null
+                ? resultService.calculatePositions(examId, className)
+                : resultService.calculateExamPositions(examId);
+            summary.put("message", "Positions calculated successfully");
+            return ResponseEntity.ok(summary);
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -216,11 +280,13 @@ public class ResultController {
 
     /**
      * Get result statistics
-     * GET /api/results/statistics
+     * GET /api/results/statistics?academicYear={academicYear}&term={term}
      */
     @GetMapping("/statistics")
     @PreAuthorize("hasRole('ADMIN') or hasRole('HEAD_TEACHER') or hasRole('DIRECTOR_OF_STUDIES')")
-    public ResponseEntity<Map<String, Object>> getResultStatistics() {
-        return ResponseEntity.ok(resultService.getResultStatistics());
+    public ResponseEntity<Map<String, Object>> getResultStatistics(
+            @RequestParam(required = false) String academicYear,
+            @RequestParam(required = false) Integer term) {
+        return ResponseEntity.ok(resultService.getResultStatistics(academicYear, term));
     }
 }
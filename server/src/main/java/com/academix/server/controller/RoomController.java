@@ -1,6 +1,8 @@
 package com.academix.server.controller;
 
 import com.academix.server.model.Room;
+import com.academix.server.model.Timetable;
+import com.academix.server.service.RoomAvailabilityService;
 import com.academix.server.service.RoomService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -21,6 +23,9 @@ public class RoomController {
     @Autowired
     private RoomService roomService;
 
+    @Autowired
+    private RoomAvailabilityService roomAvailabilityService;
+
     @GetMapping
     public ResponseEntity<List<Room>> getAllRooms(
             @RequestParam(required = false) Boolean availableOnly,
@@ -87,6 +92,40 @@ public class RoomController {
         }
     }
 
+    @GetMapping("/free")
+    public ResponseEntity<?> getFreeRooms(
+            @RequestParam String academicYear,
+            @RequestParam Integer term,
+            @RequestParam(required = false) String day,
+            @RequestParam(required = false) Integer period,
+            @RequestParam(required = false) String roomType,
+            @RequestParam(required = false) Integer minCapacity,
+            @RequestParam(required = false) String building) {
+        try {
+            Timetable.DayOfWeek dayOfWeek = null;
+            if (day != null && !day.isBlank()) {
+                try {
+                    dayOfWeek = Timetable.DayOfWeek.valueOf(day.trim().toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    throw new RuntimeException("Unknown day: " + day);
+                }
+            }
+            return ResponseEntity.ok(roomAvailabilityService.findFreeRooms(academicYear, term, dayOfWeek, period,
+                roomType, minCapacity, building));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/utilization")
+    public ResponseEntity<?> getUtilization(@RequestParam String academicYear, @RequestParam Integer term) {
+        try {
+            return ResponseEntity.ok(roomAvailabilityService.getUtilization(academicYear, term));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('HEAD_TEACHER') or hasRole('DIRECTOR_OF_STUDIES')")
     public ResponseEntity<?> createRoom(@Valid @RequestBody Room room) {
@@ -12,6 +12,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import com.academix.server.dto.ListDto;
 import com.academix.server.model.SchoolClass;
 import com.academix.server.service.SchoolClassService;
 
@@ -50,7 +51,18 @@ public class SchoolClassController {
      * GET /api/classes
      */
     @GetMapping
-    public ResponseEntity<List<SchoolClass>> getAllClasses() {
+    public ResponseEntity<?> getAllClasses(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        if (ListDto.isPageRequest(after, limit, fields)) {
+            try {
+                return ResponseEntity.ok(schoolClassService.getClassesPage(after, limit)
+                    .select(ListDto.SchoolClassItem.class, ListDto.parseFields(fields)));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        }
         try {
             List<SchoolClass> classes = schoolClassService.getAllClasses();
             logger.info("Retrieved {} classes from database", classes.size());
@@ -0,0 +1,80 @@
+package com.academix.server.controller;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import com.academix.server.service.SearchIndexService;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    /**
+     * Typeahead search across students, teachers, classes and timetable entries
+     * GET /api/search?q={term}&types=STUDENT,TEACHER&limit=10
+     */
+    @GetMapping
+    public ResponseEntity<?> search(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String types,
+            @RequestParam(required = false) Integer limit) {
+        Set<SearchIndexService.Type> wanted = EnumSet.noneOf(SearchIndexService.Type.class);
+        if (types != null) {
+            for (String type : types.split(",")) {
+                if (type.isBlank()) {
+                    continue;
+                }
+                try {
+                    wanted.add(SearchIndexService.Type.valueOf(type.trim().toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "Invalid type: " + type
+                        + ". Must be one of STUDENT, TEACHER, CLASS, TIMETABLE"));
+                }
+            }
+        }
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        long start = System.nanoTime();
+        List<SearchIndexService.Hit> hits = searchIndexService.search(query, wanted, size);
+        return ResponseEntity.ok(Map.of(
+            "query", query,
+            "ready", searchIndexService.isReady(),
+            "count", hits.size(),
+            "tookMicros", (System.nanoTime() - start) / 1000,
+            "results", hits
+        ));
+    }
+
+    /**
+     * Search index statistics
+     * GET /api/search/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(searchIndexService.getStats());
+    }
+
+    /**
+     * Rebuild the search index from the database
+     * POST /api/search/rebuild
+     */
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> rebuild() {
+        return ResponseEntity.ok(searchIndexService.rebuild());
+    }
+}
@@ -21,7 +21,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.academix.server.dto.ListDto;
+import com.academix.server.dto.StudentIntakeDto;
 import com.academix.server.model.Student;
+import com.academix.server.service.StudentIntakeService;
 import com.academix.server.service.StudentService;
 
 import jakarta.validation.Valid;
@@ -36,6 +39,9 @@ public class StudentController {
     @Autowired
     private StudentService studentService;
 
+    @Autowired
+    private StudentIntakeService studentIntakeService;
+
     // ==================== STUDENT CRUD ENDPOINTS ====================
 
     /**
@@ -61,8 +67,16 @@ public class StudentController {
      */
     @GetMapping
     public ResponseEntity<?> getAllStudents(
-            @RequestParam(required = false, defaultValue = "false") boolean activeOnly) {
+            @RequestParam(required = false, defaultValue = "false") boolean activeOnly,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
         try {
+            if (ListDto.isPageRequest(after, limit, fields)) {
+                return ResponseEntity.ok(studentService.getStudentsPage(activeOnly, after, limit)
+                    .select(ListDto.StudentItem.class, ListDto.parseFields(fields)));
+            }
+
             List<Student> students = activeOnly 
                 ? studentService.getActiveStudents() 
                 : studentService.getAllStudents();
@@ -319,6 +333,50 @@ public class StudentController {
         }
     }
 
+    // ==================== BULK INTAKE ENDPOINTS ====================
+
+    /**
+     * POST /api/students/intake - Import new students from JSON in the background
+     */
+    @PostMapping("/intake")
+    public ResponseEntity<?> startIntake(@RequestBody StudentIntakeDto.IntakeRequest request) {
+        try {
+            StudentIntakeDto.IntakeJobView job = studentIntakeService.startIntake(request.getStudents(),
+                !Boolean.FALSE.equals(request.getSendEmails()));
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (Exception e) {
+            logger.error("Failed to start student intake: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * POST /api/students/intake/csv - Import new students from a CSV file (header row first)
+     */
+    @PostMapping(value = "/intake/csv", consumes = {"text/csv", "text/plain"})
+    public ResponseEntity<?> startCsvIntake(@RequestBody String csv,
+                                            @RequestParam(defaultValue = "true") boolean sendEmails) {
+        try {
+            List<StudentIntakeDto.IntakeRow> rows = studentIntakeService.parseCsv(csv);
+            StudentIntakeDto.IntakeJobView job = studentIntakeService.startIntake(rows, sendEmails);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (Exception e) {
+            logger.error("Failed to start student CSV intake: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /api/students/intake/{jobId} - Progress of an intake, with per-row outcomes if requested
+     */
+    @GetMapping("/intake/{jobId}")
+    public ResponseEntity<?> getIntakeJob(@PathVariable Long jobId,
+                                          @RequestParam(defaultValue = "false") boolean outcomes) {
+        return studentIntakeService.getJob(jobId, outcomes)
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+
     // ==================== LEGACY ENDPOINT (kept for compatibility) ====================
 
     /**
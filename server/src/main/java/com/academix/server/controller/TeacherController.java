@@ -21,6 +21,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.academix.server.dto.ListDto;
 import com.academix.server.model.Department;
 import com.academix.server.model.Teacher;
 import com.academix.server.service.TeacherService;
@@ -62,8 +63,16 @@ public class TeacherController {
      */
     @GetMapping
     public ResponseEntity<?> getAllTeachers(
-            @RequestParam(required = false, defaultValue = "false") boolean activeOnly) {
+            @RequestParam(required = false, defaultValue = "false") boolean activeOnly,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
         try {
+            if (ListDto.isPageRequest(after, limit, fields)) {
+                return ResponseEntity.ok(teacherService.getTeachersPage(activeOnly, after, limit)
+                    .select(ListDto.TeacherItem.class, ListDto.parseFields(fields)));
+            }
+
             List<Teacher> teachers = activeOnly
                 ? teacherService.getActiveTeachers()
                 : teacherService.getAllTeachers();
@@ -2,14 +2,21 @@ package com.academix.server.controller;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import com.academix.server.dto.ListDto;
+import com.academix.server.dto.TimetableDto;
 import com.academix.server.model.Timetable;
+import com.academix.server.service.TimetableGeneratorService;
+import com.academix.server.service.TimetableScheduleService;
 import com.academix.server.service.TimetableService;
 
 import jakarta.validation.Valid;
@@ -22,6 +29,12 @@ public class TimetableController {
     @Autowired
     private TimetableService timetableService;
 
+    @Autowired
+    private TimetableGeneratorService timetableGeneratorService;
+
+    @Autowired
+    private TimetableScheduleService timetableScheduleService;
+
     /**
      * Create a new timetable entry
      * POST /api/timetable
@@ -56,12 +69,53 @@ public class TimetableController {
         }
     }
 
+    /**
+     * Check a timetable draft for conflicts without saving it
+     * POST /api/timetable/validate
+     */
+    @PostMapping("/validate")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HEAD_TEACHER') or hasRole('DIRECTOR_OF_STUDIES')")
+    public ResponseEntity<?> validateTimetableDraft(@Valid @RequestBody List<Timetable> entries) {
+        List<String> conflicts = timetableService.validateTimetableDraft(entries);
+        return ResponseEntity.ok(Map.of(
+            "valid", conflicts.isEmpty(),
+            "count", entries.size(),
+            "conflicts", conflicts
+        ));
+    }
+
+    /**
+     * Generate a conflict-free timetable from teacher-subject assignments, optionally saving it
+     * POST /api/timetable/generate
+     */
+    @PostMapping("/generate")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('HEAD_TEACHER') or hasRole('DIRECTOR_OF_STUDIES')")
+    public ResponseEntity<?> generateTimetable(@Valid @RequestBody TimetableDto.GenerateRequest request) {
+        try {
+            TimetableDto.GenerateResult result = timetableGeneratorService.generate(request);
+            return ResponseEntity.status(result.isSaved() ? HttpStatus.CREATED : HttpStatus.OK).body(result);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * Get all timetable entries
      * GET /api/timetable
      */
     @GetMapping
-    public ResponseEntity<List<Timetable>> getAllTimetableEntries() {
+    public ResponseEntity<?> getAllTimetableEntries(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields) {
+        if (ListDto.isPageRequest(after, limit, fields)) {
+            try {
+                return ResponseEntity.ok(timetableService.getTimetablePage(after, limit)
+                    .select(ListDto.TimetableItem.class, ListDto.parseFields(fields)));
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
+        }
         return ResponseEntity.ok(timetableService.getAllTimetableEntries());
     }
 
@@ -162,12 +216,29 @@ public class TimetableController {
     }
 
     /**
-     * Get teacher's timetable
+     * Get teacher's timetable, with an ETag for If-None-Match
      * GET /api/timetable/teacher/{teacherId}
      */
     @GetMapping("/teacher/{teacherId}")
-    public ResponseEntity<List<Timetable>> getTeacherTimetable(@PathVariable Long teacherId) {
-        return ResponseEntity.ok(timetableService.getTeacherTimetable(teacherId));
+    public ResponseEntity<?> getTeacherTimetable(
+            @PathVariable Long teacherId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        TimetableScheduleService.Schedule schedule = timetableScheduleService.getTeacherSchedule(teacherId);
+        return withEtag(schedule.etag(), ifNoneMatch, schedule::entries);
+    }
+
+    /**
+     * Get teacher's week grid for a term, with an ETag for If-None-Match
+     * GET /api/timetable/teacher/{teacherId}/week?academicYear={year}&term={term}
+     */
+    @GetMapping("/teacher/{teacherId}/week")
+    public ResponseEntity<?> getTeacherWeek(
+            @PathVariable Long teacherId,
+            @RequestParam String academicYear,
+            @RequestParam Integer term,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        TimetableScheduleService.Schedule schedule = timetableScheduleService.getTeacherSchedule(teacherId);
+        return withEtag(schedule.weekEtag(academicYear, term), ifNoneMatch, () -> schedule.week(academicYear, term));
     }
 
     /**
@@ -183,12 +254,43 @@ public class TimetableController {
     }
 
     /**
-     * Get room schedule
+     * Get room schedule, with an ETag for If-None-Match
      * GET /api/timetable/room/{room}
      */
     @GetMapping("/room/{room}")
-    public ResponseEntity<List<Timetable>> getRoomSchedule(@PathVariable String room) {
-        return ResponseEntity.ok(timetableService.getRoomSchedule(room));
+    public ResponseEntity<?> getRoomSchedule(
+            @PathVariable String room,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        TimetableScheduleService.Schedule schedule = timetableScheduleService.getRoomSchedule(room);
+        return withEtag(schedule.etag(), ifNoneMatch, schedule::entries);
+    }
+
+    /**
+     * Get room's week grid for a term, with an ETag for If-None-Match
+     * GET /api/timetable/room/{room}/week?academicYear={year}&term={term}
+     */
+    @GetMapping("/room/{room}/week")
+    public ResponseEntity<?> getRoomWeek(
+            @PathVariable String room,
+            @RequestParam String academicYear,
+            @RequestParam Integer term,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        TimetableScheduleService.Schedule schedule = timetableScheduleService.getRoomSchedule(room);
+        return withEtag(schedule.weekEtag(academicYear, term), ifNoneMatch, () -> schedule.week(academicYear, term));
+    }
+
+    /**
+     * Get class's week grid for a term, with an ETag for If-None-Match
+     * GET /api/timetable/class/{className}/week?academicYear={year}&term={term}
+     */
+    @GetMapping("/class/{className}/week")
+    public ResponseEntity<?> getClassWeek(
+            @PathVariable String className,
+            @RequestParam String academicYear,
+            @RequestParam Integer term,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        TimetableScheduleService.Schedule schedule = timetableScheduleService.getClassSchedule(className);
+        return withEtag(schedule.weekEtag(academicYear, term), ifNoneMatch, () -> schedule.week(academicYear, term));
     }
 
     /**
@@ -212,15 +314,17 @@ public class TimetableController {
     }
 
     /**
-     * Get teacher workloads
+     * Get teacher workloads, with an ETag for If-None-Match
      * GET /api/timetable/workloads?academicYear={year}&term={term}
      */
     @GetMapping("/workloads")
     @PreAuthorize("hasRole('ADMIN') or hasRole('HEAD_TEACHER') or hasRole('DIRECTOR_OF_STUDIES')")
-    public ResponseEntity<List<Map<String, Object>>> getTeacherWorkloads(
+    public ResponseEntity<?> getTeacherWorkloads(
             @RequestParam String academicYear,
-            @RequestParam Integer term) {
-        return ResponseEntity.ok(timetableService.getTeacherWorkloads(academicYear, term));
+            @RequestParam Integer term,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        TimetableScheduleService.Workloads workloads = timetableScheduleService.getTeacherWorkloads(academicYear, term);
+        return withEtag(workloads.etag(), ifNoneMatch, workloads::teachers);
     }
 
     /**
@@ -253,4 +357,19 @@ public class TimetableController {
     public ResponseEntity<Map<String, Object>> getTimetableStatistics() {
         return ResponseEntity.ok(timetableService.getTimetableStatistics());
     }
+
+    // 304 Not Modified when the client already holds this version, else the body with its ETag
+    private static ResponseEntity<?> withEtag(String version, String ifNoneMatch, Supplier<?> body) {
+        String etag = "\"" + version + "\"";
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .build();
+        }
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache())
+            .body(body.get());
+    }
 }
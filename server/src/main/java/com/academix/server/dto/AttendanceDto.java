@@ -0,0 +1,62 @@
+package com.academix.server.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.academix.server.model.Attendance;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+public class AttendanceDto {
+
+    /**
+     * One roll call: a class, a date and session, and a status per student.
+     * Students of the class not listed in marks get defaultStatus when it is set.
+     */
+    @Data
+    public static class RollCallRequest {
+        @NotBlank(message = "Class name is required")
+        private String className;
+
+        private String stream;
+
+        @NotNull(message = "Date is required")
+        private LocalDate date;
+
+        private Attendance.SessionType sessionType = Attendance.SessionType.FULL_DAY;
+
+        @NotBlank(message = "Academic year is required")
+        private String academicYear;
+
+        @NotNull(message = "Term is required")
+        private Integer term;
+
+        private Integer weekNumber;
+
+        private Long markedBy;
+        private String markedByName;
+
+        private Attendance.AttendanceStatus defaultStatus;
+
+        @Valid
+        private List<Mark> marks = new ArrayList<>();
+    }
+
+    @Data
+    public static class Mark {
+        @NotNull(message = "Student ID is required")
+        private Long studentId;
+
+        @NotNull(message = "Status is required")
+        private Attendance.AttendanceStatus status;
+
+        private LocalTime checkInTime;
+        private Attendance.AbsenceReason absenceReason;
+        private String absenceNote;
+    }
+}
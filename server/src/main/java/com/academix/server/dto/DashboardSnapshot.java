@@ -0,0 +1,11 @@
+package com.academix.server.dto;
+
+import java.util.Map;
+
+/**
+ * Immutable dashboard figures served from memory. The version only moves
+ * when a figure actually changed, so the ETag stays valid across refreshes
+ * that found nothing new.
+ */
+public record DashboardSnapshot(long version, String etag, long computedAt, Map<String, Object> stats) {
+}
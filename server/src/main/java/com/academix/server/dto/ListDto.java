@@ -0,0 +1,248 @@
+package com.academix.server.dto;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+import com.academix.server.model.Attendance;
+import com.academix.server.model.Exam;
+import com.academix.server.model.SchoolClass;
+import com.academix.server.model.Student;
+import com.academix.server.model.Teacher;
+import com.academix.server.model.Timetable;
+
+/**
+ * Cursor-paginated list responses and the narrow projections behind them.
+ * Pages are ordered by id; the cursor is an opaque token for the last id
+ * returned, passed back as "after" to fetch the next page.
+ */
+public class ListDto {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    /**
+     * One page of a list endpoint
+     */
+    public record CursorPage<T>(List<T> items, String nextCursor, boolean hasMore, int limit) {
+
+        /**
+         * Build a page from rows fetched with limit + 1, so the extra row tells whether more remain
+         */
+        public static <T> CursorPage<T> of(List<T> rows, int limit, ToLongFunction<T> idOf) {
+            boolean hasMore = rows.size() > limit;
+            List<T> items = hasMore ? rows.subList(0, limit) : rows;
+            String next = hasMore ? encodeCursor(idOf.applyAsLong(items.get(items.size() - 1))) : null;
+            return new CursorPage<>(items, next, hasMore, limit);
+        }
+
+        /**
+         * Keep only the requested fields of each item (all projected fields when none are given)
+         */
+        public CursorPage<Map<String, Object>> select(Class<T> projection, Set<String> fields) {
+            List<Map<String, Object>> selected = new ArrayList<>(items.size());
+            for (T item : items) {
+                selected.add(toFieldMap(item, projection, fields));
+            }
+            return new CursorPage<>(selected, nextCursor, hasMore, limit);
+        }
+    }
+
+    public static String encodeCursor(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(Long.toString(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode an "after" token, null or blank meaning the first page
+     */
+    public static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Clamp a requested page size to 1..MAX_LIMIT
+     */
+    public static int clampLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Parse a comma separated "fields" parameter, empty meaning every projected field
+     */
+    public static Set<String> parseFields(String fields) {
+        Set<String> parsed = new LinkedHashSet<>();
+        if (fields != null) {
+            for (String field : fields.split(",")) {
+                if (!field.isBlank()) {
+                    parsed.add(field.trim());
+                }
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Whether a list request asked for the paged form instead of the full list
+     */
+    public static boolean isPageRequest(String after, Integer limit, String fields) {
+        return after != null || limit != null || fields != null;
+    }
+
+    // Getter methods per projection interface, keyed by field name
+    private static final Map<Class<?>, Map<String, Method>> GETTERS = new ConcurrentHashMap<>();
+
+    private static Map<String, Object> toFieldMap(Object item, Class<?> projection, Set<String> fields) {
+        Map<String, Method> getters = GETTERS.computeIfAbsent(projection, type -> {
+            Map<String, Method> found = new LinkedHashMap<>();
+            for (Method method : type.getMethods()) {
+                String name = method.getName();
+                if (name.startsWith("get") && name.length() > 3 && method.getParameterCount() == 0) {
+                    found.put(Character.toLowerCase(name.charAt(3)) + name.substring(4), method);
+                }
+            }
+            return found;
+        });
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Map.Entry<String, Method> getter : getters.entrySet()) {
+            if (fields != null && !fields.isEmpty() && !fields.contains(getter.getKey())) {
+                continue;
+            }
+            try {
+                values.put(getter.getKey(), getter.getValue().invoke(item));
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException("Cannot read field " + getter.getKey(), e);
+            }
+        }
+        return values;
+    }
+
+    // ============ PROJECTIONS ============
+
+    public interface StudentItem {
+        Long getId();
+        String getStudentId();
+        String getFirstName();
+        String getOtherNames();
+        String getLastName();
+        String getEmail();
+        String getGender();
+        String getCurrentClass();
+        String getStream();
+        String getHouse();
+        Student.ResidenceStatus getResidenceStatus();
+        Boolean getIsActive();
+    }
+
+    public interface TeacherItem {
+        Long getId();
+        String getTeacherId();
+        String getFirstName();
+        String getOtherNames();
+        String getLastName();
+        String getEmail();
+        String getPhoneNumber();
+        String getDepartmentName();
+        String getPrimarySubject();
+        Teacher.EmploymentType getEmploymentType();
+        Teacher.EmploymentStatus getEmploymentStatus();
+        Boolean getIsClassTeacher();
+        Boolean getIsActive();
+    }
+
+    public interface ResultItem {
+        Long getId();
+        Long getStudentId();
+        String getStudentNumber();
+        Long getExamId();
+        String getExamCode();
+        String getSubjectCode();
+        String getClassName();
+        String getStream();
+        Integer getMarksObtained();
+        Double getPercentage();
+        String getGrade();
+        Integer getGradePoints();
+        Integer getClassPosition();
+    }
+
+    public interface ExamItem {
+        Long getId();
+        String getCode();
+        String getName();
+        Exam.ExamType getType();
+        String getAcademicYear();
+        Integer getTerm();
+        Exam.ExamLevel getLevel();
+        LocalDate getStartDate();
+        LocalDate getEndDate();
+        Exam.ExamStatus getStatus();
+        Boolean getIsLocked();
+        Boolean getIsPublished();
+    }
+
+    public interface SchoolClassItem {
+        Long getId();
+        String getName();
+        Integer getFormLevel();
+        String getStream();
+        SchoolClass.LevelType getLevelType();
+        String getAcademicYear();
+        Integer getMaxCapacity();
+        Integer getCurrentCount();
+        String getClassroom();
+        Boolean getIsActive();
+    }
+
+    public interface TimetableItem {
+        Long getId();
+        String getClassName();
+        Timetable.DayOfWeek getDayOfWeek();
+        Integer getPeriodNumber();
+        LocalTime getStartTime();
+        LocalTime getEndTime();
+        String getSubjectCode();
+        String getSubjectName();
+        Long getTeacherId();
+        String getTeacherName();
+        String getRoom();
+        String getAcademicYear();
+        Integer getTerm();
+        Timetable.PeriodType getPeriodType();
+        Boolean getIsActive();
+    }
+
+    public interface AttendanceItem {
+        Long getId();
+        Long getStudentId();
+        String getStudentNumber();
+        String getStudentName();
+        String getClassName();
+        LocalDate getDate();
+        Attendance.AttendanceStatus getStatus();
+        Attendance.SessionType getSessionType();
+        LocalTime getCheckInTime();
+        Boolean getIsExcused();
+    }
+}
@@ -0,0 +1,61 @@
+package com.academix.server.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Data;
+
+public class MailDto {
+
+    /**
+     * An email the queue gave up on; the body is left out on purpose
+     */
+    @Data
+    public static class DeadLetter {
+        private Long id;
+        private String kind;
+        private String recipient;
+        private String subject;
+        private Integer attempts;
+        private String lastError;
+        private LocalDateTime createdAt;
+    }
+
+    @Data
+    public static class RetryRequest {
+        // Dead letters to requeue; empty requeues all of them
+        private List<Long> ids = new ArrayList<>();
+    }
+
+    @Data
+    public static class BulkRecipient {
+        private String email;
+        // Template variables, e.g. fullName; email is added when missing
+        private Map<String, Object> variables = new HashMap<>();
+    }
+
+    @Data
+    public static class BulkRequest {
+        // Template name, e.g. WELCOME or student-registration
+        private String template;
+        // Overrides the template's default subject
+        private String subject;
+        private List<BulkRecipient> recipients = new ArrayList<>();
+        // Queue the rendered messages for delivery; otherwise only render
+        private Boolean queue = false;
+    }
+
+    @Data
+    public static class BulkResult {
+        private String template;
+        private int rendered;
+        private int queued;
+        private long renderMs;
+        private long messagesPerSecond;
+        // First rendered body, to check the personalisation
+        private String preview;
+    }
+}
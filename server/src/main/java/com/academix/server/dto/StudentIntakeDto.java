@@ -0,0 +1,91 @@
+package com.academix.server.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+public class StudentIntakeDto {
+
+    /**
+     * One new student of an intake file. CSV columns use the same names
+     * (header row, any order, case-insensitive).
+     */
+    @Data
+    public static class IntakeRow {
+        private String firstName;
+        private String otherNames;
+        private String lastName;
+        private String email;
+        private String gender;
+        // ISO date, e.g. 2010-03-14
+        private String dateOfBirth;
+        private String phoneNumber;
+        private String nin;
+        private String linn;
+        private String nationality;
+        private String district;
+        private String currentClass;
+        private String stream;
+        private String house;
+        // DAY or BOARDING
+        private String residenceStatus;
+        private String combination;
+        private String guardianName;
+        private String guardianEmail;
+        private String guardianPhone;
+    }
+
+    @Data
+    public static class IntakeRequest {
+        private List<IntakeRow> students = new ArrayList<>();
+
+        // Queue a credentials email to every created student
+        private Boolean sendEmails = true;
+    }
+
+    public enum RowStatus {
+        CREATED,
+        DUPLICATE,  // Email, NIN or LINN already taken, or repeated in the file
+        INVALID,    // Fails the student validation rules
+        FAILED      // Rejected by the database
+    }
+
+    @Data
+    public static class RowOutcome {
+        // 1-based position in the file (CSV data rows exclude the header)
+        private int row;
+        private String email;
+        private RowStatus status;
+        private Long id;
+        private String studentId;
+        private String message;
+    }
+
+    public enum JobStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    @Data
+    public static class IntakeJobView {
+        private Long jobId;
+        private JobStatus status;
+        private String stage;
+        private int totalRows;
+        private int processedRows;
+        private int created;
+        private int duplicates;
+        private int invalid;
+        private int failed;
+        private int emailsQueued;
+        private double progressPercentage;
+        private String errorMessage;
+        private Long requestedBy;
+        private LocalDateTime createdAt;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        // Present when requested; rows in file order
+        private List<RowOutcome> outcomes;
+    }
+}
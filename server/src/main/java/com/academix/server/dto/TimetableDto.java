@@ -0,0 +1,74 @@
+package com.academix.server.dto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.academix.server.model.Timetable;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+public class TimetableDto {
+
+    /**
+     * Inputs of a generated timetable. Classes default to the active classes of
+     * the year; subjects come from their teachers' assigned classes.
+     */
+    @Data
+    public static class GenerateRequest {
+        @NotBlank(message = "Academic year is required")
+        private String academicYear;
+
+        @NotNull(message = "Term is required")
+        private Integer term;
+
+        private List<String> classNames;
+
+        // Weekly periods per subject code; others get defaultPeriodsPerWeek
+        private Map<String, Integer> periodsPerWeek = new HashMap<>();
+
+        private Integer defaultPeriodsPerWeek = 4;
+
+        // Room type per subject code (e.g. "LABORATORY"); others use CLASSROOM
+        private Map<String, String> roomTypes = new HashMap<>();
+
+        private List<Timetable.DayOfWeek> days;
+
+        private Long timeBudgetMs;
+
+        // Save the placed lessons through the bulk draft validation
+        private Boolean save = false;
+
+        private Long createdBy;
+    }
+
+    @Data
+    public static class GenerateResult {
+        private String academicYear;
+        private Integer term;
+        private double qualityScore;
+        private int totalLessons;
+        private int placedLessons;
+        private int repeatedSubjectDays;
+        private int offHomeRoomLessons;
+        private int workers;
+        private long iterations;
+        private long elapsedMs;
+        private boolean saved;
+        private List<String> warnings = new ArrayList<>();
+        private List<UnplacedLesson> unplaced = new ArrayList<>();
+        private List<Timetable> entries = new ArrayList<>();
+    }
+
+    @Data
+    public static class UnplacedLesson {
+        private String className;
+        private String subjectCode;
+        private Long teacherId;
+        private String teacherName;
+        private String reason;
+    }
+}
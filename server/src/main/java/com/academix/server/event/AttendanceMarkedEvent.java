@@ -0,0 +1,37 @@
+package com.academix.server.event;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.academix.server.model.Attendance;
+
+/**
+ * Published whenever attendance marks are written, one entry per student mark.
+ * previousStatus is null for a new mark, status is null for a deleted one.
+ */
+public record AttendanceMarkedEvent(List<Entry> entries) {
+
+    public record Entry(Long attendanceId, Long studentId, String studentNumber, String studentName,
+                        String className, String stream, LocalDate date, Attendance.SessionType sessionType,
+                        String academicYear, Integer term,
+                        Attendance.AttendanceStatus previousStatus, Attendance.AttendanceStatus status) {
+    }
+
+    public static AttendanceMarkedEvent of(Attendance attendance, Attendance.AttendanceStatus previousStatus) {
+        return new AttendanceMarkedEvent(List.of(entryOf(attendance, previousStatus)));
+    }
+
+    public static AttendanceMarkedEvent deleted(Attendance attendance) {
+        Entry entry = entryOf(attendance, attendance.getStatus());
+        return new AttendanceMarkedEvent(List.of(new Entry(entry.attendanceId(), entry.studentId(),
+            entry.studentNumber(), entry.studentName(), entry.className(), entry.stream(), entry.date(),
+            entry.sessionType(), entry.academicYear(), entry.term(), entry.previousStatus(), null)));
+    }
+
+    public static Entry entryOf(Attendance attendance, Attendance.AttendanceStatus previousStatus) {
+        return new Entry(attendance.getId(), attendance.getStudentId(), attendance.getStudentNumber(),
+            attendance.getStudentName(), attendance.getClassName(), attendance.getStream(), attendance.getDate(),
+            attendance.getSessionType(), attendance.getAcademicYear(), attendance.getTerm(),
+            previousStatus, attendance.getStatus());
+    }
+}
@@ -0,0 +1,140 @@
+package com.academix.server.event;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.academix.server.model.Room;
+import com.academix.server.model.Timetable;
+import com.academix.server.model.User;
+import com.academix.server.service.DashboardService;
+import com.academix.server.service.RoomAvailabilityService;
+import com.academix.server.service.SearchIndexService;
+import com.academix.server.service.TimetableOccupancyService;
+import com.academix.server.service.TimetableScheduleService;
+import com.academix.server.service.UserStoreService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Passes every committed insert, update and delete to the in-memory views
+ * that mirror the database (search index, dashboard snapshot, timetable
+ * occupancy, schedules, room availability and the user cache), whichever
+ * service or repository made the write. Hibernate calls these listeners
+ * only after the transaction commits, so rolled back writes never reach them.
+ */
+@Component
+public class EntityCommitListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntityCommitListener.class);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private TimetableOccupancyService timetableOccupancyService;
+
+    @Autowired
+    private TimetableScheduleService timetableScheduleService;
+
+    @Autowired
+    private RoomAvailabilityService roomAvailabilityService;
+
+    @Autowired
+    private UserStoreService userStoreService;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> entityClass = persister.getMappedClass();
+        return SearchIndexService.isIndexed(entityClass) || DashboardService.isTracked(entityClass)
+            || TimetableOccupancyService.isTracked(entityClass) || TimetableScheduleService.isTracked(entityClass)
+            || RoomAvailabilityService.isTracked(entityClass) || UserStoreService.isTracked(entityClass);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        searchIndexService.index(event.getEntity());
+        dashboardService.markChanged(event.getEntity().getClass());
+        if (event.getEntity() instanceof Timetable timetable) {
+            timetableOccupancyService.index(timetable);
+            timetableScheduleService.evict(timetable);
+            roomAvailabilityService.timetableChanged(timetable);
+        } else if (event.getEntity() instanceof Room) {
+            roomAvailabilityService.roomsChanged();
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        searchIndexService.index(event.getEntity());
+        dashboardService.markChanged(event.getEntity().getClass());
+        if (event.getEntity() instanceof Timetable timetable) {
+            timetableOccupancyService.index(timetable);
+            timetableScheduleService.evict(timetable);
+            roomAvailabilityService.timetableChanged(timetable);
+        } else if (event.getEntity() instanceof Room) {
+            roomAvailabilityService.roomsChanged();
+        } else if (event.getEntity() instanceof User user) {
+            userStoreService.evict(user);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        searchIndexService.unindex(event.getEntity());
+        dashboardService.markChanged(event.getEntity().getClass());
+        if (event.getEntity() instanceof Timetable timetable) {
+            timetableOccupancyService.unindex(timetable);
+            timetableScheduleService.evict(timetable);
+            roomAvailabilityService.timetableChanged(timetable);
+        } else if (event.getEntity() instanceof Room) {
+            roomAvailabilityService.roomsChanged();
+        } else if (event.getEntity() instanceof User user) {
+            userStoreService.evict(user);
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        logger.debug("Insert of {} rolled back", event.getEntity().getClass().getSimpleName());
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        logger.debug("Update of {} rolled back", event.getEntity().getClass().getSimpleName());
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        logger.debug("Delete of {} rolled back", event.getEntity().getClass().getSimpleName());
+    }
+}
@@ -0,0 +1,18 @@
+package com.academix.server.event;
+
+import java.util.Set;
+
+/**
+ * Published by ResultService whenever results are created, updated or deleted.
+ * Carries the (academicYear, term) periods touched so read-side caches can
+ * drop only the affected entries once the write has committed.
+ */
+public record ResultsChangedEvent(Set<Period> periods) {
+
+    public record Period(String academicYear, Integer term) {
+    }
+
+    public static ResultsChangedEvent of(String academicYear, Integer term) {
+        return new ResultsChangedEvent(Set.of(new Period(academicYear, term)));
+    }
+}
@@ -0,0 +1,97 @@
+package com.academix.server.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Outbox row for one absence to report to a guardian over one channel.
+ * Rows are written in the same transaction as the ABSENT mark and picked
+ * up by the dispatcher, which sends all due rows of a recipient as one message.
+ */
+@Data
+@Entity
+@Table(name = "absence_notifications", indexes = {
+    @Index(name = "idx_absence_notification_due", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_absence_notification_mark", columnList = "student_id, date, session_type")
+})
+public class AbsenceNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // The absence: one attendance mark, identified like the attendance unique key
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(length = 20)
+    private String studentNumber;
+
+    @Column(length = 100)
+    private String studentName;
+
+    @Column(length = 50)
+    private String className;
+
+    @Column(name = "date", nullable = false)
+    private LocalDate date;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "session_type", nullable = false)
+    private Attendance.SessionType sessionType;
+
+    // Who to tell and how
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Channel channel;
+
+    @Column(nullable = false, length = 100)
+    private String recipient;
+
+    @Column(length = 100)
+    private String recipientName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime sentAt;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum Channel {
+        EMAIL,
+        SMS
+    }
+
+    public enum Status {
+        PENDING,    // Waiting for the dispatcher, possibly after a failed attempt
+        SENT,       // Delivered as part of a guardian's message
+        FAILED,     // Gave up after the maximum number of attempts
+        CANCELLED   // Mark changed from ABSENT or deleted before delivery
+    }
+}
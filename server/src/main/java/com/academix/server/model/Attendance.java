@@ -11,6 +11,10 @@ import lombok.Data;
 @Entity
 @Table(name = "attendance", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"student_id", "date", "session_type"})
+}, indexes = {
+    // Term-leading keys keep hot-term queries to their own slice of the table
+    @Index(name = "idx_attendance_term_class_date", columnList = "academic_year, term, class_name, date"),
+    @Index(name = "idx_attendance_class_date", columnList = "class_name, date")
 })
 @Data
 public class Attendance {
@@ -0,0 +1,65 @@
+package com.academix.server.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+/**
+ * A closed term of attendance moved out of the attendance table into a
+ * compressed columnar file on local disk. Historical queries covering
+ * [startDate, endDate] read the file through AttendanceArchiveReader.
+ */
+@Data
+@Entity
+@Table(name = "attendance_archives", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"academic_year", "term"})
+})
+public class AttendanceArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "academic_year", nullable = false)
+    private String academicYear;
+
+    @Column(name = "term", nullable = false)
+    private Integer term;
+
+    // First and last marked date in the term
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    @Column(nullable = false)
+    private LocalDate endDate;
+
+    @Column(nullable = false)
+    private Long rowCount;
+
+    // Highest attendance id written to the file
+    @Column(nullable = false)
+    private Long lastAttendanceId;
+
+    @Column(nullable = false, length = 500)
+    private String filePath;
+
+    @Column(nullable = false)
+    private Long fileBytes;
+
+    @Column(nullable = true)
+    private Long archivedBy;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,66 @@
+package com.academix.server.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * A configured grade band for one academic year.
+ * Years without configured bands use the built-in Ugandan scales in GradingScale.
+ */
+@Data
+@Entity
+@Table(name = "grading_bands", indexes = {
+    @Index(name = "idx_grading_band_year_type", columnList = "academic_year, scale_type")
+})
+public class GradingBand {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank(message = "Academic year is required")
+    @Column(name = "academic_year", nullable = false, length = 10)
+    private String academicYear;
+
+    @NotNull(message = "Scale type is required")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scale_type", nullable = false)
+    private GradingScale.Type scaleType;
+
+    @NotBlank(message = "Grade is required")
+    @Column(nullable = false, length = 5)
+    private String grade;
+
+    @NotNull(message = "Minimum mark is required")
+    @Column(nullable = false)
+    private Integer minMark;
+
+    @NotNull(message = "Maximum mark is required")
+    @Column(nullable = false)
+    private Integer maxMark;
+
+    @NotNull(message = "Points are required")
+    @Column(nullable = false)
+    private Integer points;
+
+    @Column(length = 50)
+    private String description;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
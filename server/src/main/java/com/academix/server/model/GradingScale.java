@@ -0,0 +1,164 @@
+package com.academix.server.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Compiled grading scale.
+ * The bands are compiled into a 101-entry lookup table (one slot per whole
+ * percentage), so grading is a single array index with no allocation.
+ * Grades are identified by a byte index into the scale's code, points and
+ * remark arrays, which is what the bulk API returns.
+ */
+public final class GradingScale {
+
+    public enum Type {
+        O_LEVEL,            // D1-F9 (UCE)
+        A_LEVEL_PRINCIPAL,  // A-F (UACE principal subjects)
+        A_LEVEL_SUBSIDIARY  // O/F (UACE subsidiary subjects)
+    }
+
+    /**
+     * One grade band, inclusive on both ends
+     */
+    public record Band(String grade, int minMark, int maxMark, int points, String description) {
+    }
+
+    // Ugandan UCE grading
+    public static final GradingScale O_LEVEL = compile(Type.O_LEVEL, null, List.of(
+        new Band("D1", 80, 100, 1, "Distinction"),
+        new Band("D2", 70, 79, 2, "Distinction"),
+        new Band("C3", 65, 69, 3, "Credit"),
+        new Band("C4", 60, 64, 4, "Credit"),
+        new Band("C5", 55, 59, 5, "Credit"),
+        new Band("C6", 50, 54, 6, "Credit"),
+        new Band("P7", 40, 49, 7, "Pass"),
+        new Band("P8", 34, 39, 8, "Pass"),
+        new Band("F9", 0, 33, 9, "Fail")
+    ));
+
+    // Ugandan UACE principal subject grading
+    public static final GradingScale A_LEVEL_PRINCIPAL = compile(Type.A_LEVEL_PRINCIPAL, null, List.of(
+        new Band("A", 80, 100, 6, "Excellent"),
+        new Band("B", 70, 79, 5, "Very Good"),
+        new Band("C", 60, 69, 4, "Good"),
+        new Band("D", 50, 59, 3, "Satisfactory"),
+        new Band("E", 40, 49, 2, "Pass"),
+        new Band("O", 34, 39, 1, "Subsidiary Pass"),
+        new Band("F", 0, 33, 0, "Fail")
+    ));
+
+    // Ugandan UACE subsidiary subject grading
+    public static final GradingScale A_LEVEL_SUBSIDIARY = compile(Type.A_LEVEL_SUBSIDIARY, null, List.of(
+        new Band("O", 50, 100, 1, "Pass"),
+        new Band("F", 0, 49, 0, "Fail")
+    ));
+
+    private final Type type;
+    private final String academicYear;
+    private final List<Band> bands;
+    private final String[] codes;
+    private final int[] points;
+    private final String[] remarks;
+    private final byte[] table = new byte[101];
+
+    private GradingScale(Type type, String academicYear, List<Band> bands) {
+        this.type = type;
+        this.academicYear = academicYear;
+        this.bands = bands;
+        this.codes = new String[bands.size()];
+        this.points = new int[bands.size()];
+        this.remarks = new String[bands.size()];
+    }
+
+    /**
+     * Compile bands into a lookup table. The bands must cover 0-100 exactly
+     * once; null academicYear means the built-in default scale.
+     */
+    public static GradingScale compile(Type type, String academicYear, List<Band> bands) {
+        if (bands == null || bands.isEmpty() || bands.size() > Byte.MAX_VALUE) {
+            throw new RuntimeException("A grading scale needs between 1 and " + Byte.MAX_VALUE + " bands");
+        }
+
+        List<Band> sorted = new ArrayList<>(bands);
+        sorted.sort(Comparator.comparingInt(Band::minMark).reversed());
+        GradingScale scale = new GradingScale(type, academicYear, List.copyOf(sorted));
+
+        boolean[] covered = new boolean[101];
+        for (int g = 0; g < sorted.size(); g++) {
+            Band band = sorted.get(g);
+            if (band.minMark() < 0 || band.maxMark() > 100 || band.minMark() > band.maxMark()) {
+                throw new RuntimeException("Invalid range for grade " + band.grade() + ": "
+                    + band.minMark() + "-" + band.maxMark());
+            }
+            scale.codes[g] = band.grade();
+            scale.points[g] = band.points();
+            scale.remarks[g] = band.description();
+            for (int pct = band.minMark(); pct <= band.maxMark(); pct++) {
+                if (covered[pct]) {
+                    throw new RuntimeException("Grade bands overlap at " + pct + "%");
+                }
+                covered[pct] = true;
+                scale.table[pct] = (byte) g;
+            }
+        }
+        for (int pct = 0; pct <= 100; pct++) {
+            if (!covered[pct]) {
+                throw new RuntimeException("Grade bands do not cover " + pct + "%");
+            }
+        }
+        return scale;
+    }
+
+    /**
+     * Grade index for a whole percentage, clamped to 0-100
+     */
+    public byte gradeOf(int percentage) {
+        return table[percentage < 0 ? 0 : (percentage > 100 ? 100 : percentage)];
+    }
+
+    /**
+     * Grade indexes for many percentages at once, e.g. when regrading an exam
+     */
+    public byte[] grade(int[] percentages) {
+        byte[] grades = new byte[percentages.length];
+        for (int i = 0; i < percentages.length; i++) {
+            int pct = percentages[i];
+            grades[i] = table[pct < 0 ? 0 : (pct > 100 ? 100 : pct)];
+        }
+        return grades;
+    }
+
+    public String code(byte grade) {
+        return codes[grade];
+    }
+
+    public int points(byte grade) {
+        return points[grade];
+    }
+
+    public String remark(byte grade) {
+        return remarks[grade];
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getAcademicYear() {
+        return academicYear;
+    }
+
+    public List<Band> getBands() {
+        return bands;
+    }
+
+    public static GradingScale getDefault(Type type) {
+        return switch (type) {
+            case O_LEVEL -> O_LEVEL;
+            case A_LEVEL_PRINCIPAL -> A_LEVEL_PRINCIPAL;
+            case A_LEVEL_SUBSIDIARY -> A_LEVEL_SUBSIDIARY;
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.academix.server.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Outbox row for one composed email. Request paths only write the row;
+ * the mail queue delivers due rows in batches over a shared SMTP connection
+ * and retries failures with backoff until they are dead-lettered.
+ * A worker claims rows with a conditional update that only succeeds on
+ * PENDING rows, and holds them under a lease; rows whose lease ran out,
+ * e.g. after a crash, are requeued by any instance.
+ */
+@Data
+@Entity
+@Table(name = "outbound_emails", indexes = {
+    @Index(name = "idx_outbound_email_due", columnList = "status, next_attempt_at"),
+    @Index(name = "idx_outbound_email_claim", columnList = "claimed_by")
+})
+public class OutboundEmail {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // What the message is, e.g. PASSWORD_RESET, for stats and dead-letter triage
+    @Column(nullable = false, length = 40)
+    private String kind;
+
+    @Column(nullable = false, length = 100)
+    private String recipient;
+
+    @Column(nullable = false, length = 200)
+    private String subject;
+
+    // Cleared once sent: bodies can carry temporary passwords and reset links
+    @Column(length = 8000)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // Dispatch pass that claimed the row while SENDING: instance id and pass number
+    @Column(name = "claimed_by", length = 64)
+    private String claimedBy;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(length = 500)
+    private String lastError;
+
+    private LocalDateTime sentAt;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum Status {
+        PENDING,    // Waiting for a worker, possibly after a failed attempt
+        SENDING,    // Claimed by a worker batch until its lease runs out
+        SENT,       // Accepted by the SMTP server
+        DEAD        // Gave up after the maximum number of attempts
+    }
+}
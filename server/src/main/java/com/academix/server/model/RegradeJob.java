@@ -0,0 +1,88 @@
+package com.academix.server.model;
+
+import java.time.LocalDateTime;
+
+import org.hibernate.annotations.CreationTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * Background job that regrades every result of an exam.
+ * Progress is committed after each chunk together with the last result id
+ * processed, so an interrupted job resumes from its last committed chunk.
+ */
+@Data
+@Entity
+@Table(name = "regrade_jobs", indexes = {
+    @Index(name = "idx_regrade_job_exam", columnList = "exam_id")
+})
+public class RegradeJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "exam_id", nullable = false)
+    private Long examId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private JobStatus status = JobStatus.PENDING;
+
+    // Results in the exam when the job started
+    @Column(nullable = false)
+    private Long totalResults = 0L;
+
+    // Results examined so far
+    @Column(nullable = false)
+    private Long processedResults = 0L;
+
+    // Results whose percentage, grade or points changed
+    @Column(nullable = false)
+    private Long changedResults = 0L;
+
+    // Keyset checkpoint: highest result id in the last committed chunk
+    @Column(nullable = false)
+    private Long lastResultId = 0L;
+
+    // Grading scales the job grades with; a job is only resumed under the same scales
+    @Column(length = 64)
+    private String scaleFingerprint;
+
+    @Column(length = 500)
+    private String errorMessage;
+
+    // User who started the job
+    @Column(nullable = true)
+    private Long requestedBy;
+
+    @Column(nullable = true)
+    private LocalDateTime startedAt;
+
+    @Column(nullable = true)
+    private LocalDateTime finishedAt;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum JobStatus {
+        PENDING,    // Created, not yet picked up
+        RUNNING,    // Processing chunks
+        COMPLETED,  // All chunks processed and positions recalculated
+        FAILED      // Stopped on an error, can be resumed
+    }
+
+    public double getProgressPercentage() {
+        return totalResults > 0 ? Math.min(100.0, processedResults * 100.0 / totalResults) : 0.0;
+    }
+}
@@ -5,6 +5,8 @@ import java.time.LocalDateTime;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -78,13 +80,13 @@ public class Result {
     private Integer term;
 
     // Individual paper marks (for subjects with multiple papers)
-    @Column(nullable = true)
+    @Column(name = "paper1_marks", nullable = true)
     private Integer paper1Marks;
 
-    @Column(nullable = true)
+    @Column(name = "paper2_marks", nullable = true)
     private Integer paper2Marks;
 
-    @Column(nullable = true)
+    @Column(name = "paper3_marks", nullable = true)
     private Integer paper3Marks;
 
     // Total marks obtained
@@ -172,46 +174,7 @@ public class Result {
      * F9: 0-33   (9 points - Fail)
      */
     public void calculateOLevelGrade() {
-        this.percentage = (this.marksObtained * 100.0) / this.maxMarks;
-        int pct = (int) Math.round(this.percentage);
-
-        if (pct >= 80) {
-            this.grade = "D1";
-            this.gradePoints = 1;
-            this.remarks = "Distinction";
-        } else if (pct >= 70) {
-            this.grade = "D2";
-            this.gradePoints = 2;
-            this.remarks = "Distinction";
-        } else if (pct >= 65) {
-            this.grade = "C3";
-            this.gradePoints = 3;
-            this.remarks = "Credit";
-        } else if (pct >= 60) {
-            this.grade = "C4";
-            this.gradePoints = 4;
-            this.remarks = "Credit";
-        } else if (pct >= 55) {
-            this.grade = "C5";
-            this.gradePoints = 5;
-            this.remarks = "Credit";
-        } else if (pct >= 50) {
-            this.grade = "C6";
-            this.gradePoints = 6;
-            this.remarks = "Credit";
-        } else if (pct >= 40) {
-            this.grade = "P7";
-            this.gradePoints = 7;
-            this.remarks = "Pass";
-        } else if (pct >= 34) {
-            this.grade = "P8";
-            this.gradePoints = 8;
-            this.remarks = "Pass";
-        } else {
-            this.grade = "F9";
-            this.gradePoints = 9;
-            this.remarks = "Fail";
-        }
+        applyGrade(GradingScale.O_LEVEL);
     }
 
     /**
@@ -225,38 +188,7 @@ public class Result {
      * F: 0-33   (0 points - Fail)
      */
     public void calculateALevelPrincipalGrade() {
-        this.percentage = (this.marksObtained * 100.0) / this.maxMarks;
-        int pct = (int) Math.round(this.percentage);
-
-        if (pct >= 80) {
-            this.grade = "A";
-            this.gradePoints = 6;
-            this.remarks = "Excellent";
-        } else if (pct >= 70) {
-            this.grade = "B";
-            this.gradePoints = 5;
-            this.remarks = "Very Good";
-        } else if (pct >= 60) {
-            this.grade = "C";
-            this.gradePoints = 4;
-            this.remarks = "Good";
-        } else if (pct >= 50) {
-            this.grade = "D";
-            this.gradePoints = 3;
-            this.remarks = "Satisfactory";
-        } else if (pct >= 40) {
-            this.grade = "E";
-            this.gradePoints = 2;
-            this.remarks = "Pass";
-        } else if (pct >= 34) {
-            this.grade = "O";
-            this.gradePoints = 1;
-            this.remarks = "Subsidiary Pass";
-        } else {
-            this.grade = "F";
-            this.gradePoints = 0;
-            this.remarks = "Fail";
-        }
+        applyGrade(GradingScale.A_LEVEL_PRINCIPAL);
     }
 
     /**
@@ -265,17 +197,45 @@ public class Result {
      * F: 0-49   (0 points - Fail)
      */
     public void calculateALevelSubsidiaryGrade() {
+        applyGrade(GradingScale.A_LEVEL_SUBSIDIARY);
+    }
+
+    /**
+     * Set percentage, grade, points and remarks from a compiled grading scale
+     */
+    public void applyGrade(GradingScale scale) {
         this.percentage = (this.marksObtained * 100.0) / this.maxMarks;
-        int pct = (int) Math.round(this.percentage);
+        byte g = scale.gradeOf((int) Math.round(this.percentage));
+        this.grade = scale.code(g);
+        this.gradePoints = scale.points(g);
+        this.remarks = scale.remark(g);
+    }
+
+    /**
+     * Grading scale type that applies to this result, or null for simple percentage grading
+     */
+    @JsonIgnore
+    public GradingScale.Type getScaleType() {
+        if (this.gradingScale == GradingScaleType.O_LEVEL) {
+            return GradingScale.Type.O_LEVEL;
+        }
+        if (this.gradingScale == GradingScaleType.A_LEVEL) {
+            return Boolean.TRUE.equals(this.isSubsidiary)
+                ? GradingScale.Type.A_LEVEL_SUBSIDIARY
+                : GradingScale.Type.A_LEVEL_PRINCIPAL;
+        }
+        return null;
+    }
 
-        if (pct >= 50) {
-            this.grade = "O";
-            this.gradePoints = 1;
-            this.remarks = "Pass";
+    /**
+     * Grade with a specific compiled scale (e.g. the one configured for the
+     * academic year); results without a banded scale use percentage grading
+     */
+    public void calculateGrade(GradingScale scale) {
+        if (scale != null && getScaleType() != null) {
+            applyGrade(scale);
         } else {
-            this.grade = "F";
-            this.gradePoints = 0;
-            this.remarks = "Fail";
+            calculateGrade();
         }
     }
 
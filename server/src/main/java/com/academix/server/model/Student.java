@@ -46,6 +46,15 @@ public class Student extends User {
     @Column(nullable = true, length = 200)
     private String combination; // Subject combination for students in higher classes (e.g., Math, Physics, Chemistry)
 
+    @Column(nullable = true, length = 100)
+    private String guardianName; // Parent or guardian contacted about attendance
+
+    @Column(nullable = true, length = 100)
+    private String guardianEmail;
+
+    @Column(nullable = true, length = 20)
+    private String guardianPhone;
+
     // ============ RELATIONSHIPS ============
 
     // Current class relationship
@@ -0,0 +1,148 @@
+package com.academix.server.model;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import org.hibernate.annotations.UpdateTimestamp;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+/**
+ * Precomputed report card figures for one student in one exam.
+ * Kept in step with the student's results so report cards are a single lookup.
+ */
+@Data
+@Entity
+@Table(name = "student_exam_summaries", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"student_id", "exam_id"})
+})
+public class StudentExamSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "exam_id", nullable = false)
+    private Long examId;
+
+    // Number of subjects with a result
+    @Column(nullable = false)
+    private Integer totalSubjects = 0;
+
+    // Sum of percentages, kept so the average can be derived exactly
+    @Column(nullable = false)
+    private Double percentageSum = 0.0;
+
+    @Column(nullable = false)
+    private Double averagePercentage = 0.0;
+
+    // O-Level: sum of the best 8 grade points and its division
+    @Column(nullable = false)
+    private Integer aggregate = 0;
+
+    @Column(length = 20)
+    private String division;
+
+    // O-Level grade counts
+    @Column(nullable = false)
+    private Integer distinctions = 0;
+
+    @Column(nullable = false)
+    private Integer credits = 0;
+
+    @Column(nullable = false)
+    private Integer passes = 0;
+
+    @Column(nullable = false)
+    private Integer failures = 0;
+
+    // A-Level points
+    @Column(nullable = false)
+    private Integer principalPoints = 0;
+
+    @Column(nullable = false)
+    private Integer subsidiaryPoints = 0;
+
+    // Overall position by average percentage, set by the ranking engine
+    @Column(nullable = true)
+    private Integer classPosition;
+
+    @Column(nullable = true)
+    private Integer streamPosition;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Recompute every figure from the student's results for this exam
+     */
+    public void recalculate(List<Result> results) {
+        this.totalSubjects = results.size();
+        this.percentageSum = 0.0;
+        this.distinctions = 0;
+        this.credits = 0;
+        this.passes = 0;
+        this.failures = 0;
+        this.principalPoints = 0;
+        this.subsidiaryPoints = 0;
+
+        for (Result r : results) {
+            this.percentageSum += r.getPercentage();
+
+            String grade = r.getGrade();
+            if ("D1".equals(grade) || "D2".equals(grade)) {
+                this.distinctions++;
+            } else if ("C3".equals(grade) || "C4".equals(grade) || "C5".equals(grade) || "C6".equals(grade)) {
+                this.credits++;
+            } else if ("P7".equals(grade) || "P8".equals(grade)) {
+                this.passes++;
+            } else if ("F9".equals(grade)) {
+                this.failures++;
+            }
+
+            if (Boolean.TRUE.equals(r.getIsPrincipal())) {
+                this.principalPoints += r.getGradePoints();
+            }
+            if (Boolean.TRUE.equals(r.getIsSubsidiary())) {
+                this.subsidiaryPoints += r.getGradePoints();
+            }
+        }
+
+        this.averagePercentage = totalSubjects > 0 ? percentageSum / totalSubjects : 0.0;
+
+        // Best 8 subjects aggregate
+        this.aggregate = results.stream()
+            .sorted(Comparator.comparingInt(Result::getGradePoints))
+            .limit(8)
+            .mapToInt(Result::getGradePoints)
+            .sum();
+        this.division = getDivision(aggregate);
+    }
+
+    public Integer getTotalPoints() {
+        return principalPoints + subsidiaryPoints;
+    }
+
+    /**
+     * O-Level division for an aggregate of the best 8 subjects
+     */
+    public static String getDivision(int aggregate) {
+        if (aggregate >= 8 && aggregate <= 32) return "Division 1";
+        if (aggregate >= 33 && aggregate <= 45) return "Division 2";
+        if (aggregate >= 46 && aggregate <= 58) return "Division 3";
+        if (aggregate >= 59 && aggregate <= 72) return "Division 4";
+        return "Fail";
+    }
+}
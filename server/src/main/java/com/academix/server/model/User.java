@@ -35,7 +35,9 @@ import lombok.EqualsAndHashCode;
 @Entity
 @Table(name = "users", indexes = {
     @Index(name = "idx_user_email", columnList = "email"),
-    @Index(name = "idx_user_nin", columnList = "nin")
+    @Index(name = "idx_user_nin", columnList = "nin"),
+    @Index(name = "idx_user_verification_token", columnList = "email_verification_token"),
+    @Index(name = "idx_user_reset_token", columnList = "reset_password_token")
 })
 @EntityListeners(AuditingEntityListener.class)
 /* Joined the separate tables for student, staff, and admin etc
@@ -0,0 +1,33 @@
+package com.academix.server.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.academix.server.model.AbsenceNotification;
+import com.academix.server.model.Attendance;
+
+@Repository
+public interface AbsenceNotificationRepository extends JpaRepository<AbsenceNotification, Long>, AbsenceNotificationRepositoryCustom {
+
+    // Due notifications, oldest first
+    List<AbsenceNotification> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+        AbsenceNotification.Status status, LocalDateTime now, Limit limit);
+
+    // Undelivered notifications of one mark
+    List<AbsenceNotification> findByStudentIdAndDateAndSessionTypeAndStatus(
+        Long studentId, LocalDate date, Attendance.SessionType sessionType, AbsenceNotification.Status status);
+
+    // Notifications of a student, newest first
+    List<AbsenceNotification> findByStudentIdOrderByIdDesc(Long studentId);
+
+    // Count per status
+    @Query("SELECT n.status, COUNT(n) FROM AbsenceNotification n GROUP BY n.status")
+    List<Object[]> countByStatus();
+}
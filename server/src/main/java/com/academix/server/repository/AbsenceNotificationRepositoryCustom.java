@@ -0,0 +1,15 @@
+package com.academix.server.repository;
+
+import java.util.List;
+
+import com.academix.server.model.AbsenceNotification;
+
+/**
+ * Set-based writes for the absence notification outbox.
+ * Implemented with JDBC batching in {@link AbsenceNotificationRepositoryImpl}.
+ */
+public interface AbsenceNotificationRepositoryCustom {
+
+    // Insert new outbox rows in JDBC batches, returns number of rows written
+    int batchInsert(List<AbsenceNotification> notifications);
+}
@@ -0,0 +1,58 @@
+package com.academix.server.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.academix.server.model.AbsenceNotification;
+
+/**
+ * JDBC batch implementation of {@link AbsenceNotificationRepositoryCustom}.
+ * A roll call can mark many students absent at once; their outbox rows are
+ * written in one batch instead of one IDENTITY insert each.
+ */
+public class AbsenceNotificationRepositoryImpl implements AbsenceNotificationRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO absence_notifications (student_id, student_number, student_name, class_name, date, " +
+        "session_type, channel, recipient, recipient_name, status, attempts, next_attempt_at, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int batchInsert(List<AbsenceNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, notifications, BATCH_SIZE, (ps, n) -> {
+            ps.setLong(1, n.getStudentId());
+            ps.setString(2, n.getStudentNumber());
+            ps.setString(3, n.getStudentName());
+            ps.setString(4, n.getClassName());
+            ps.setObject(5, n.getDate());
+            ps.setString(6, n.getSessionType().name());
+            ps.setString(7, n.getChannel().name());
+            ps.setString(8, n.getRecipient());
+            ps.setString(9, n.getRecipientName());
+            ps.setString(10, n.getStatus().name());
+            ps.setInt(11, n.getAttempts());
+            ps.setTimestamp(12, Timestamp.valueOf(n.getNextAttemptAt()));
+            ps.setTimestamp(13, now);
+        });
+
+        int written = 0;
+        for (int[] batch : counts) {
+            written += batch.length;
+        }
+        return written;
+    }
+}
@@ -0,0 +1,26 @@
+package com.academix.server.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.academix.server.model.AttendanceArchive;
+
+@Repository
+public interface AttendanceArchiveRepository extends JpaRepository<AttendanceArchive, Long> {
+
+    // Archive of a term
+    Optional<AttendanceArchive> findByAcademicYearAndTerm(String academicYear, Integer term);
+
+    boolean existsByAcademicYearAndTerm(String academicYear, Integer term);
+
+    // Archives overlapping a date range: pass the range end first, then the range start
+    List<AttendanceArchive> findByStartDateLessThanEqualAndEndDateGreaterThanEqualOrderByStartDateAsc(
+        LocalDate rangeEnd, LocalDate rangeStart);
+
+    // All archives, oldest first
+    List<AttendanceArchive> findAllByOrderByStartDateAsc();
+}
@@ -1,18 +1,21 @@
 package com.academix.server.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.academix.server.dto.ListDto;
 import com.academix.server.model.Attendance;
 
 @Repository
-public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
+public interface AttendanceRepository extends JpaRepository<Attendance, Long>, AttendanceRepositoryCustom {
 
     // Find by student
     List<Attendance> findByStudentId(Long studentId);
@@ -47,6 +50,13 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
 
     Optional<Attendance> findByStudentIdAndDateAndSessionType(Long studentId, LocalDate date, Attendance.SessionType sessionType);
 
+    // Existing marks of a roll call: id, studentId, status
+    @Query("SELECT a.id, a.studentId, a.status FROM Attendance a " +
+           "WHERE a.date = :date AND a.sessionType = :sessionType AND a.studentId IN :studentIds")
+    List<Object[]> findRollCallMarks(@Param("date") LocalDate date,
+                                     @Param("sessionType") Attendance.SessionType sessionType,
+                                     @Param("studentIds") Collection<Long> studentIds);
+
     // Find with subject (period-specific)
     List<Attendance> findByClassNameAndDateAndPeriodNumber(String className, LocalDate date, Integer periodNumber);
 
@@ -145,4 +155,21 @@ public interface AttendanceRepository extends JpaRepository<Attendance, Long> {
            "OR LOWER(a.studentNumber) LIKE LOWER(CONCAT('%', :searchTerm, '%')) " +
            "OR LOWER(a.className) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     List<Attendance> searchAttendance(@Param("searchTerm") String searchTerm);
+
+    // Keyset pages of a class's attendance as list items
+    List<ListDto.AttendanceItem> findByClassNameAndIdGreaterThanOrderByIdAsc(String className, Long afterId, Limit limit);
+
+    // Keyset pages of the fields kept in the attendance bitmaps
+    @Query("SELECT a.id, a.studentId, a.studentName, a.className, a.date, a.sessionType, a.status, a.academicYear, a.term " +
+           "FROM Attendance a WHERE a.id > :afterId ORDER BY a.id")
+    List<Object[]> findBitmapRowsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Extent of a term: first date, last date, rows, highest id
+    @Query("SELECT MIN(a.date), MAX(a.date), COUNT(a), MAX(a.id) FROM Attendance a " +
+           "WHERE a.academicYear = :academicYear AND a.term = :term")
+    List<Object[]> getTermSpan(@Param("academicYear") String academicYear, @Param("term") Integer term);
+
+    // Keyset pages of a term's marks
+    List<Attendance> findByAcademicYearAndTermAndIdGreaterThanOrderByIdAsc(
+        String academicYear, Integer term, Long afterId, Limit limit);
 }
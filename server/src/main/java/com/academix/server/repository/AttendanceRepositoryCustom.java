@@ -0,0 +1,29 @@
+package com.academix.server.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.academix.server.model.AbsenceNotification;
+import com.academix.server.model.Attendance;
+
+/**
+ * Set-based write operations for attendance that bypass per-entity persistence.
+ * Implemented with JDBC batching in {@link AttendanceRepositoryImpl}.
+ */
+public interface AttendanceRepositoryCustom {
+
+    // Insert new marks in JDBC batches, returns number of rows written
+    int batchInsert(List<Attendance> marks);
+
+    // Rewrite status, check-in time (kept when null), absence details and modifier of existing marks by id
+    int batchUpdateMarks(List<Attendance> marks);
+
+    // Flag the marks behind delivered absence notifications as parent notified
+    int markParentsNotified(List<AbsenceNotification> delivered, LocalDateTime notifiedAt);
+
+    // Lock the marks of a term up to an id until the transaction ends: id, status, updatedAt, parentNotified by id
+    List<Object[]> lockTermMarks(String academicYear, Integer term, Long lastAttendanceId);
+
+    // Delete the marks of an archived term up to the last archived id, returns rows deleted
+    int deleteArchivedTerm(String academicYear, Integer term, Long lastAttendanceId);
+}
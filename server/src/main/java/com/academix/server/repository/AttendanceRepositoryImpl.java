@@ -0,0 +1,170 @@
+package com.academix.server.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.academix.server.model.AbsenceNotification;
+import com.academix.server.model.Attendance;
+
+/**
+ * JDBC batch implementation of {@link AttendanceRepositoryCustom}.
+ * Attendance uses IDENTITY keys, so Hibernate cannot batch the inserts of a
+ * roll call; a whole class is written here in one batch per statement.
+ */
+public class AttendanceRepositoryImpl implements AttendanceRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO attendance (student_id, student_number, student_name, class_name, stream, date, status, " +
+        "session_type, check_in_time, academic_year, term, week_number, absence_reason, absence_note, " +
+        "is_excused, parent_notified, marked_by, marked_by_name, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // A roll call that only sends statuses keeps the check-in time, reason and note already recorded
+    private static final String UPDATE_SQL =
+        "UPDATE attendance SET status = ?, check_in_time = COALESCE(?, check_in_time), " +
+        "absence_reason = COALESCE(?, absence_reason), absence_note = COALESCE(?, absence_note), " +
+        "modified_by = ?, updated_at = ? WHERE id = ?";
+
+    // Roll calls taken without a session store none; their notices are filed as FULL_DAY
+    private static final String PARENT_NOTIFIED_SQL =
+        "UPDATE attendance SET parent_notified = ?, parent_notified_at = ? " +
+        "WHERE student_id = ? AND date = ? AND COALESCE(session_type, 'FULL_DAY') = ?";
+
+    private static final String LOCK_TERM_SQL =
+        "SELECT id, status, updated_at, parent_notified FROM attendance " +
+        "WHERE academic_year = ? AND term = ? AND id <= ? ORDER BY id FOR UPDATE";
+
+    private static final String DELETE_ARCHIVED_SQL =
+        "DELETE FROM attendance WHERE academic_year = ? AND term = ? AND id <= ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int batchInsert(List<Attendance> marks) {
+        if (marks.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, marks, BATCH_SIZE, (ps, a) -> {
+            ps.setLong(1, a.getStudentId());
+            ps.setString(2, a.getStudentNumber());
+            ps.setString(3, a.getStudentName());
+            ps.setString(4, a.getClassName());
+            ps.setString(5, a.getStream());
+            ps.setObject(6, a.getDate());
+            ps.setString(7, a.getStatus().name());
+            ps.setString(8, a.getSessionType().name());
+            setNullableTime(ps, 9, a);
+            ps.setString(10, a.getAcademicYear());
+            ps.setInt(11, a.getTerm());
+            if (a.getWeekNumber() != null) {
+                ps.setInt(12, a.getWeekNumber());
+            } else {
+                ps.setNull(12, Types.INTEGER);
+            }
+            ps.setString(13, a.getAbsenceReason() != null ? a.getAbsenceReason().name() : null);
+            ps.setString(14, a.getAbsenceNote());
+            ps.setBoolean(15, Boolean.TRUE.equals(a.getIsExcused()));
+            ps.setBoolean(16, false);
+            setNullableLong(ps, 17, a.getMarkedBy());
+            ps.setString(18, a.getMarkedByName());
+            ps.setTimestamp(19, now);
+            ps.setTimestamp(20, now);
+        });
+
+        int written = 0;
+        for (int[] batch : counts) {
+            written += batch.length;
+        }
+        return written;
+    }
+
+    @Override
+    public int batchUpdateMarks(List<Attendance> marks) {
+        if (marks.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, marks, BATCH_SIZE, (ps, a) -> {
+            ps.setString(1, a.getStatus().name());
+            setNullableTime(ps, 2, a);
+            ps.setString(3, a.getAbsenceReason() != null ? a.getAbsenceReason().name() : null);
+            ps.setString(4, a.getAbsenceNote());
+            setNullableLong(ps, 5, a.getModifiedBy());
+            ps.setTimestamp(6, now);
+            ps.setLong(7, a.getId());
+        });
+
+        int written = 0;
+        for (int[] batch : counts) {
+            written += batch.length;
+        }
+        return written;
+    }
+
+    @Override
+    public int markParentsNotified(List<AbsenceNotification> delivered, LocalDateTime notifiedAt) {
+        if (delivered.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp at = Timestamp.valueOf(notifiedAt);
+        int[][] counts = jdbcTemplate.batchUpdate(PARENT_NOTIFIED_SQL, delivered, BATCH_SIZE, (ps, n) -> {
+            ps.setBoolean(1, true);
+            ps.setTimestamp(2, at);
+            ps.setLong(3, n.getStudentId());
+            ps.setObject(4, n.getDate());
+            ps.setString(5, n.getSessionType().name());
+        });
+
+        int written = 0;
+        for (int[] batch : counts) {
+            written += batch.length;
+        }
+        return written;
+    }
+
+    @Override
+    public List<Object[]> lockTermMarks(String academicYear, Integer term, Long lastAttendanceId) {
+        return jdbcTemplate.query(LOCK_TERM_SQL, (rs, rowNum) -> {
+            Timestamp updatedAt = rs.getTimestamp(3);
+            return new Object[] {
+                rs.getLong(1), rs.getString(2), updatedAt != null ? updatedAt.toLocalDateTime() : null, rs.getBoolean(4)
+            };
+        }, academicYear, term, lastAttendanceId);
+    }
+
+    @Override
+    public int deleteArchivedTerm(String academicYear, Integer term, Long lastAttendanceId) {
+        return jdbcTemplate.update(DELETE_ARCHIVED_SQL, academicYear, term, lastAttendanceId);
+    }
+
+    private static void setNullableTime(PreparedStatement ps, int index, Attendance a) throws SQLException {
+        if (a.getCheckInTime() != null) {
+            ps.setTime(index, Time.valueOf(a.getCheckInTime()));
+        } else {
+            ps.setNull(index, Types.TIME);
+        }
+    }
+
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value != null) {
+            ps.setLong(index, value);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+}
@@ -4,11 +4,13 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.academix.server.dto.ListDto;
 import com.academix.server.model.Exam;
 
 @Repository
@@ -72,9 +74,22 @@ public interface ExamRepository extends JpaRepository<Exam, Long> {
     // Count by status
     long countByStatus(Exam.ExamStatus status);
 
+    // Dashboard figures in one pass: total, draft, scheduled, in progress, completed, published, upcoming, ongoing
+    @Query("SELECT COUNT(e), SUM(CASE WHEN e.status = 'DRAFT' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN e.status = 'SCHEDULED' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN e.status = 'IN_PROGRESS' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN e.status = 'COMPLETED' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN e.status = 'PUBLISHED' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN e.startDate > :today THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN e.startDate <= :today AND e.endDate >= :today THEN 1 ELSE 0 END) FROM Exam e")
+    List<Object[]> getDashboardTotals(@Param("today") LocalDate today);
+
     // Count by type
     long countByType(Exam.ExamType type);
 
     // Count by academic year
     long countByAcademicYear(String academicYear);
+
+    // Keyset pages of exams as list items
+    List<ListDto.ExamItem> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 }
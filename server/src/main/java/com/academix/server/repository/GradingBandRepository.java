@@ -0,0 +1,22 @@
+package com.academix.server.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.academix.server.model.GradingBand;
+import com.academix.server.model.GradingScale;
+
+@Repository
+public interface GradingBandRepository extends JpaRepository<GradingBand, Long> {
+
+    // Find configured bands of a scale for an academic year
+    List<GradingBand> findByAcademicYearAndScaleType(String academicYear, GradingScale.Type scaleType);
+
+    // Find all configured bands
+    List<GradingBand> findAllByOrderByAcademicYearAsc();
+
+    // Remove the bands of a scale for an academic year
+    void deleteByAcademicYearAndScaleType(String academicYear, GradingScale.Type scaleType);
+}
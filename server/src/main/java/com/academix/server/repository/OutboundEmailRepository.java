@@ -0,0 +1,37 @@
+package com.academix.server.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.academix.server.model.OutboundEmail;
+
+@Repository
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmail, Long>, OutboundEmailRepositoryCustom {
+
+    // Due emails, oldest first
+    List<OutboundEmail> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+        OutboundEmail.Status status, LocalDateTime now, Limit limit);
+
+    // Dead letters, newest first
+    List<OutboundEmail> findByStatusOrderByIdDesc(OutboundEmail.Status status, Limit limit);
+
+    // Emails in one status, e.g. all dead letters
+    List<OutboundEmail> findByStatus(OutboundEmail.Status status);
+
+    // Emails claimed by one dispatch pass
+    List<OutboundEmail> findByClaimedByOrderByIdAsc(String claimedBy);
+
+    // Count per status
+    @Query("SELECT e.status, COUNT(e) FROM OutboundEmail e GROUP BY e.status")
+    List<Object[]> countByStatus();
+
+    // Creation time of the oldest email still waiting
+    @Query("SELECT MIN(e.createdAt) FROM OutboundEmail e WHERE e.status = :status")
+    LocalDateTime findOldestCreatedAt(@Param("status") OutboundEmail.Status status);
+}
@@ -0,0 +1,25 @@
+package com.academix.server.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.academix.server.model.OutboundEmail;
+
+/**
+ * Set-based writes for the mail outbox.
+ * Implemented with JDBC batching in {@link OutboundEmailRepositoryImpl}.
+ */
+public interface OutboundEmailRepositoryCustom {
+
+    // Insert new outbox rows in JDBC batches, returns number of rows written
+    int batchInsert(List<OutboundEmail> emails);
+
+    // Move the given rows from PENDING to SENDING under a claim, skipping rows another pass took first
+    void claim(List<Long> ids, String claimedBy, LocalDateTime leaseUntil);
+
+    // Put SENDING rows whose lease ran out back in the queue, returns rows requeued
+    int requeueExpiredLeases(LocalDateTime now);
+
+    // Delete SENT and DEAD rows created before the cutoff, returns rows deleted
+    int purgeFinished(LocalDateTime createdBefore);
+}
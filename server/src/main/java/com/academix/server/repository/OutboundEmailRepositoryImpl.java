@@ -0,0 +1,89 @@
+package com.academix.server.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.academix.server.model.OutboundEmail;
+
+/**
+ * JDBC batch implementation of {@link OutboundEmailRepositoryCustom}.
+ * A term-start mailing queues thousands of messages at once; they are
+ * written in batches instead of one IDENTITY insert each.
+ */
+public class OutboundEmailRepositoryImpl implements OutboundEmailRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO outbound_emails (kind, recipient, subject, body, status, attempts, next_attempt_at, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Only succeeds while the row is still PENDING, so two passes never claim the same row
+    private static final String CLAIM_SQL =
+        "UPDATE outbound_emails SET status = 'SENDING', claimed_by = ?, lease_until = ? " +
+        "WHERE id = ? AND status = 'PENDING'";
+
+    private static final String REQUEUE_EXPIRED_SQL =
+        "UPDATE outbound_emails SET status = 'PENDING', claimed_by = NULL, lease_until = NULL, next_attempt_at = ? " +
+        "WHERE status = 'SENDING' AND lease_until < ?";
+
+    private static final String PURGE_SQL =
+        "DELETE FROM outbound_emails WHERE status IN ('SENT', 'DEAD') AND created_at < ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int batchInsert(List<OutboundEmail> emails) {
+        if (emails.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, emails, BATCH_SIZE, (ps, e) -> {
+            ps.setString(1, e.getKind());
+            ps.setString(2, e.getRecipient());
+            ps.setString(3, e.getSubject());
+            ps.setString(4, e.getBody());
+            ps.setString(5, e.getStatus().name());
+            ps.setInt(6, e.getAttempts());
+            ps.setTimestamp(7, Timestamp.valueOf(e.getNextAttemptAt()));
+            ps.setTimestamp(8, now);
+        });
+
+        int written = 0;
+        for (int[] batch : counts) {
+            written += batch.length;
+        }
+        return written;
+    }
+
+    @Override
+    public void claim(List<Long> ids, String claimedBy, LocalDateTime leaseUntil) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Timestamp lease = Timestamp.valueOf(leaseUntil);
+        jdbcTemplate.batchUpdate(CLAIM_SQL, ids, BATCH_SIZE, (ps, id) -> {
+            ps.setString(1, claimedBy);
+            ps.setTimestamp(2, lease);
+            ps.setLong(3, id);
+        });
+    }
+
+    @Override
+    public int requeueExpiredLeases(LocalDateTime now) {
+        Timestamp at = Timestamp.valueOf(now);
+        return jdbcTemplate.update(REQUEUE_EXPIRED_SQL, at, at);
+    }
+
+    @Override
+    public int purgeFinished(LocalDateTime createdBefore) {
+        return jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(createdBefore));
+    }
+}
@@ -0,0 +1,22 @@
+package com.academix.server.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.academix.server.model.RegradeJob;
+
+@Repository
+public interface RegradeJobRepository extends JpaRepository<RegradeJob, Long> {
+
+    // Latest job for an exam
+    Optional<RegradeJob> findFirstByExamIdOrderByIdDesc(Long examId);
+
+    // Jobs for an exam, newest first
+    List<RegradeJob> findByExamIdOrderByIdDesc(Long examId);
+
+    // Jobs in a given status
+    List<RegradeJob> findByStatus(RegradeJob.JobStatus status);
+}
@@ -1,16 +1,24 @@
 package com.academix.server.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.academix.server.dto.ListDto;
 import com.academix.server.model.Result;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface ResultRepository extends JpaRepository<Result, Long> {
+public interface ResultRepository extends JpaRepository<Result, Long>, ResultRepositoryCustom {
 
     // Find by student
     List<Result> findByStudentId(Long studentId);
@@ -39,9 +47,43 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
     // Find by student, exam, and subject
     Result findByStudentIdAndExamIdAndSubjectCode(Long studentId, Long examId, String subjectCode);
 
+    // Find by exam for a set of students
+    List<Result> findByExamIdAndStudentIdIn(Long examId, Collection<Long> studentIds);
+
+    // Distinct students with results in an exam
+    @Query("SELECT DISTINCT r.studentId FROM Result r WHERE r.examId = :examId")
+    List<Long> findDistinctStudentIdsByExamId(@Param("examId") Long examId);
+
     // Find by class and exam
     List<Result> findByClassNameAndExamId(String className, Long examId);
 
+    // Stream results of a class in an exam, ordered so each student's rows are contiguous
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT r FROM Result r WHERE r.examId = :examId AND r.className = :className ORDER BY r.studentId, r.subjectCode")
+    Stream<Result> streamByClassNameAndExamId(@Param("className") String className, @Param("examId") Long examId);
+
+    // Stream results of an exam, ordered by class then student
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT r FROM Result r WHERE r.examId = :examId ORDER BY r.className, r.studentId, r.subjectCode")
+    Stream<Result> streamByExamId(@Param("examId") Long examId);
+
+    // Narrow rows for ranking a class: id, studentId, subjectCode, stream, marksObtained, percentage
+    @Query("SELECT r.id, r.studentId, r.subjectCode, r.stream, r.marksObtained, r.percentage FROM Result r " +
+           "WHERE r.examId = :examId AND r.className = :className")
+    List<Object[]> findRankingRows(@Param("examId") Long examId, @Param("className") String className);
+
+    // Narrow rows for ranking a whole exam, with the class name appended
+    @Query("SELECT r.id, r.studentId, r.subjectCode, r.stream, r.marksObtained, r.percentage, r.className FROM Result r " +
+           "WHERE r.examId = :examId")
+    List<Object[]> findRankingRowsByExam(@Param("examId") Long examId);
+
+    // Keyset page of grading inputs for regrading:
+    // id, marksObtained, maxMarks, gradingScale, isSubsidiary, academicYear, percentage, grade, gradePoints
+    @Query("SELECT r.id, r.marksObtained, r.maxMarks, r.gradingScale, r.isSubsidiary, r.academicYear, " +
+           "r.percentage, r.grade, r.gradePoints FROM Result r " +
+           "WHERE r.examId = :examId AND r.id > :afterId ORDER BY r.id")
+    List<Object[]> findGradingRowsAfter(@Param("examId") Long examId, @Param("afterId") Long afterId, Pageable page);
+
     // Find by class, exam, and subject
     List<Result> findByClassNameAndExamIdAndSubjectCode(String className, Long examId, String subjectCode);
 
@@ -97,12 +139,38 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
     @Query("SELECT r.grade, COUNT(r) FROM Result r WHERE r.examId = :examId AND r.subjectCode = :subjectCode AND r.className = :className GROUP BY r.grade")
     List<Object[]> getGradeDistribution(@Param("examId") Long examId, @Param("subjectCode") String subjectCode, @Param("className") String className);
 
+    // Overall figures for statistics: count, avg/max/min marks, distinct subjects, distinct students, passes
+    @Query("SELECT COUNT(r), AVG(r.marksObtained), MAX(r.marksObtained), MIN(r.marksObtained), " +
+           "COUNT(DISTINCT r.subjectCode), COUNT(DISTINCT r.studentId), " +
+           "SUM(CASE WHEN r.grade NOT IN ('F9', 'F') THEN 1 ELSE 0 END) FROM Result r " +
+           "WHERE (:academicYear IS NULL OR r.academicYear = :academicYear) AND (:term IS NULL OR r.term = :term)")
+    List<Object[]> getResultTotals(@Param("academicYear") String academicYear, @Param("term") Integer term);
+
+    // Grade distribution for statistics
+    @Query("SELECT r.grade, COUNT(r) FROM Result r " +
+           "WHERE (:academicYear IS NULL OR r.academicYear = :academicYear) AND (:term IS NULL OR r.term = :term) " +
+           "GROUP BY r.grade")
+    List<Object[]> countByGrade(@Param("academicYear") String academicYear, @Param("term") Integer term);
+
+    // Results per academic year for statistics
+    @Query("SELECT r.academicYear, COUNT(r) FROM Result r " +
+           "WHERE (:academicYear IS NULL OR r.academicYear = :academicYear) AND (:term IS NULL OR r.term = :term) " +
+           "GROUP BY r.academicYear")
+    List<Object[]> countByAcademicYear(@Param("academicYear") String academicYear, @Param("term") Integer term);
+
     // Check if result exists
     boolean existsByStudentIdAndExamIdAndSubjectCode(Long studentId, Long examId, String subjectCode);
 
+    // Existing (studentId, subjectCode) pairs for a batch of students in an exam
+    @Query("SELECT r.studentId, r.subjectCode FROM Result r WHERE r.examId = :examId AND r.studentId IN :studentIds")
+    List<Object[]> findExistingEntries(@Param("examId") Long examId, @Param("studentIds") Collection<Long> studentIds);
+
     // Count by exam
     long countByExamId(Long examId);
 
     // Count by class and exam
     long countByClassNameAndExamId(String className, Long examId);
+
+    // Keyset pages of results as list items
+    List<ListDto.ResultItem> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 }
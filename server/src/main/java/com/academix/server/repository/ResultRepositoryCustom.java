@@ -0,0 +1,21 @@
+package com.academix.server.repository;
+
+import java.util.List;
+
+import com.academix.server.model.Result;
+
+/**
+ * Set-based write operations for results that bypass per-entity persistence.
+ * Implemented with JDBC batching in {@link ResultRepositoryImpl}.
+ */
+public interface ResultRepositoryCustom {
+
+    // Insert fully graded results in JDBC batches, returns number of rows written
+    int batchInsert(List<Result> results);
+
+    // Write subject class/stream positions in one batch, a stream position of 0 is stored as null
+    void batchUpdatePositions(long[] ids, int[] classPositions, int[] streamPositions);
+
+    // Write recomputed percentage, grade, points and remarks for the first count entries (null remarks are kept)
+    void batchUpdateGrades(int count, long[] ids, double[] percentages, String[] grades, int[] points, String[] remarks);
+}
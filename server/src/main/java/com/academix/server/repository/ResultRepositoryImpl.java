@@ -0,0 +1,138 @@
+package com.academix.server.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.academix.server.model.Result;
+
+/**
+ * JDBC batch implementation of {@link ResultRepositoryCustom}.
+ * Results use IDENTITY keys, which prevents Hibernate from batching inserts,
+ * so bulk marks entry writes straight through JdbcTemplate instead.
+ */
+public class ResultRepositoryImpl implements ResultRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO results (student_id, student_number, exam_id, exam_code, subject_code, subject_name, " +
+        "class_name, stream, academic_year, term, paper1_marks, paper2_marks, paper3_marks, marks_obtained, " +
+        "max_marks, percentage, grade, grade_points, remarks, grading_scale, is_principal, is_subsidiary, " +
+        "entered_by, entered_at, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_POSITIONS_SQL =
+        "UPDATE results SET class_position = ?, stream_position = ? WHERE id = ?";
+
+    private static final String UPDATE_GRADES_SQL =
+        "UPDATE results SET percentage = ?, grade = ?, grade_points = ?, remarks = COALESCE(?, remarks), updated_at = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int batchInsert(List<Result> results) {
+        if (results.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, results, BATCH_SIZE, (ps, r) -> {
+            ps.setLong(1, r.getStudentId());
+            ps.setString(2, r.getStudentNumber());
+            ps.setLong(3, r.getExamId());
+            ps.setString(4, r.getExamCode());
+            ps.setString(5, r.getSubjectCode());
+            ps.setString(6, r.getSubjectName());
+            ps.setString(7, r.getClassName());
+            ps.setString(8, r.getStream());
+            ps.setString(9, r.getAcademicYear());
+            ps.setInt(10, r.getTerm());
+            setNullableInt(ps, 11, r.getPaper1Marks());
+            setNullableInt(ps, 12, r.getPaper2Marks());
+            setNullableInt(ps, 13, r.getPaper3Marks());
+            ps.setInt(14, r.getMarksObtained());
+            ps.setInt(15, r.getMaxMarks());
+            ps.setDouble(16, r.getPercentage());
+            ps.setString(17, r.getGrade());
+            ps.setInt(18, r.getGradePoints());
+            ps.setString(19, r.getRemarks());
+            ps.setString(20, r.getGradingScale().name());
+            ps.setBoolean(21, Boolean.TRUE.equals(r.getIsPrincipal()));
+            ps.setBoolean(22, Boolean.TRUE.equals(r.getIsSubsidiary()));
+            if (r.getEnteredBy() != null) {
+                ps.setLong(23, r.getEnteredBy());
+            } else {
+                ps.setNull(23, Types.BIGINT);
+            }
+            ps.setTimestamp(24, r.getEnteredAt() != null ? Timestamp.valueOf(r.getEnteredAt()) : now);
+            ps.setTimestamp(25, now);
+            ps.setTimestamp(26, now);
+        });
+
+        int written = 0;
+        for (int[] batch : counts) {
+            written += batch.length;
+        }
+        return written;
+    }
+
+    @Override
+    public void batchUpdatePositions(long[] ids, int[] classPositions, int[] streamPositions) {
+        jdbcTemplate.batchUpdate(UPDATE_POSITIONS_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setInt(1, classPositions[i]);
+                setNullableInt(ps, 2, streamPositions[i] > 0 ? streamPositions[i] : null);
+                ps.setLong(3, ids[i]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return ids.length;
+            }
+        });
+    }
+
+    @Override
+    public void batchUpdateGrades(int count, long[] ids, double[] percentages, String[] grades, int[] points,
+            String[] remarks) {
+        if (count == 0) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPDATE_GRADES_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setDouble(1, percentages[i]);
+                ps.setString(2, grades[i]);
+                ps.setInt(3, points[i]);
+                ps.setString(4, remarks[i]);
+                ps.setTimestamp(5, now);
+                ps.setLong(6, ids[i]);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return count;
+            }
+        });
+    }
+
+    private static void setNullableInt(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value != null) {
+            ps.setInt(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+}
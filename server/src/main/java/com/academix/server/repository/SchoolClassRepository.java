@@ -3,11 +3,13 @@ package com.academix.server.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.academix.server.dto.ListDto;
 import com.academix.server.model.SchoolClass;
 
 @Repository
@@ -44,6 +46,9 @@ public interface SchoolClassRepository extends JpaRepository<SchoolClass, Long>
     // Find active classes
     List<SchoolClass> findByIsActiveTrue();
 
+    // Count active classes
+    long countByIsActiveTrue();
+
     // Count students query
     @Query("SELECT c.name, c.currentCount, c.maxCapacity FROM SchoolClass c " +
            "WHERE c.academicYear = :academicYear AND c.isActive = true " +
@@ -67,4 +72,7 @@ public interface SchoolClassRepository extends JpaRepository<SchoolClass, Long>
 
     // Check if exists
     boolean existsByNameAndAcademicYear(String name, String academicYear);
+
+    // Keyset pages of classes as list items
+    List<ListDto.SchoolClassItem> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 }
@@ -0,0 +1,29 @@
+package com.academix.server.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.academix.server.model.StudentExamSummary;
+
+@Repository
+public interface StudentExamSummaryRepository extends JpaRepository<StudentExamSummary, Long>, StudentExamSummaryRepositoryCustom {
+
+    // Find the summary for a student in an exam
+    Optional<StudentExamSummary> findByStudentIdAndExamId(Long studentId, Long examId);
+
+    // Find all summaries for an exam
+    List<StudentExamSummary> findByExamId(Long examId);
+
+    // Stored overall positions of every student in an exam: [studentId, classPosition, streamPosition]
+    @Query("SELECT s.studentId, s.classPosition, s.streamPosition FROM StudentExamSummary s WHERE s.examId = :examId")
+    List<Object[]> findPositionsByExamId(@Param("examId") Long examId);
+
+    // Find summaries for a set of students in an exam
+    List<StudentExamSummary> findByExamIdAndStudentIdIn(Long examId, Collection<Long> studentIds);
+}
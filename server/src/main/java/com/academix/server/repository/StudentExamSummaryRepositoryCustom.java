@@ -0,0 +1,12 @@
+package com.academix.server.repository;
+
+/**
+ * Set-based writes for exam summaries.
+ * Implemented with JDBC batching in {@link StudentExamSummaryRepositoryImpl}.
+ */
+public interface StudentExamSummaryRepositoryCustom {
+
+    // Write overall class/stream positions in one batch, a stream position of 0 is stored as null.
+    // Returns the rows updated per student; 0 means the student has no summary row
+    int[] batchUpdatePositions(Long examId, long[] studentIds, int[] classPositions, int[] streamPositions);
+}
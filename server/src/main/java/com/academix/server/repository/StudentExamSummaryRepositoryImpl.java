@@ -0,0 +1,43 @@
+package com.academix.server.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * JDBC batch implementation of {@link StudentExamSummaryRepositoryCustom}.
+ */
+public class StudentExamSummaryRepositoryImpl implements StudentExamSummaryRepositoryCustom {
+
+    private static final String UPDATE_POSITIONS_SQL =
+        "UPDATE student_exam_summaries SET class_position = ?, stream_position = ? WHERE student_id = ? AND exam_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] batchUpdatePositions(Long examId, long[] studentIds, int[] classPositions, int[] streamPositions) {
+        return jdbcTemplate.batchUpdate(UPDATE_POSITIONS_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setInt(1, classPositions[i]);
+                if (streamPositions[i] > 0) {
+                    ps.setInt(2, streamPositions[i]);
+                } else {
+                    ps.setNull(2, Types.INTEGER);
+                }
+                ps.setLong(3, studentIds[i]);
+                ps.setLong(4, examId);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return studentIds.length;
+            }
+        });
+    }
+}
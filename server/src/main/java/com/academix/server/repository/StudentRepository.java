@@ -1,17 +1,20 @@
 package com.academix.server.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.academix.server.dto.ListDto;
 import com.academix.server.model.Student;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentRepositoryCustom {
     
     // Find by email
     Optional<Student> findByEmail(String email);
@@ -77,7 +80,43 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 
     // Count students by gender
     long countByGender(String gender);
+
+    // Count students by residence status
+    long countByResidenceStatus(Student.ResidenceStatus residenceStatus);
+
+    // Dashboard figures in one pass: total, active, male, female, boarding, day
+    @Query("SELECT COUNT(s), SUM(CASE WHEN s.isActive = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN s.gender = 'MALE' THEN 1 ELSE 0 END), SUM(CASE WHEN s.gender = 'FEMALE' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN s.residenceStatus = 'BOARDING' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN s.residenceStatus = 'DAY' THEN 1 ELSE 0 END) FROM Student s")
+    List<Object[]> getDashboardTotals();
     
+    // Report card header fields for students with results in an exam (optionally one class)
+    @Query("SELECT s.id, s.studentId, s.firstName, s.otherNames, s.lastName, s.currentClass, s.stream FROM Student s " +
+           "WHERE s.id IN (SELECT r.studentId FROM Result r WHERE r.examId = :examId " +
+           "AND (:className IS NULL OR r.className = :className))")
+    List<Object[]> findReportCardHeaders(@Param("examId") Long examId, @Param("className") String className);
+
+    // Roll call roster of a class (optionally one stream): id, studentId, first, other and last names, stream
+    @Query("SELECT s.id, s.studentId, s.firstName, s.otherNames, s.lastName, s.stream FROM Student s " +
+           "WHERE s.currentClass = :className AND (:stream IS NULL OR s.stream = :stream) AND s.isActive = true")
+    List<Object[]> findRollCallRoster(@Param("className") String className, @Param("stream") String stream);
+
+    // Guardian contacts of students: id, guardianName, guardianEmail, guardianPhone
+    @Query("SELECT s.id, s.guardianName, s.guardianEmail, s.guardianPhone FROM Student s WHERE s.id IN :ids")
+    List<Object[]> findGuardianContacts(@Param("ids") Collection<Long> ids);
+
     // Find students by district
     List<Student> findByDistrict(String district);
+
+    // Which of these LINNs / student numbers are taken (bulk intake dedupe)
+    @Query("SELECT s.linn FROM Student s WHERE s.linn IN :linns")
+    List<String> findExistingLinns(@Param("linns") Collection<String> linns);
+
+    @Query("SELECT s.studentId FROM Student s WHERE s.studentId IN :studentIds")
+    List<String> findExistingStudentIds(@Param("studentIds") Collection<String> studentIds);
+
+    // Keyset pages of students as list items
+    List<ListDto.StudentItem> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+    List<ListDto.StudentItem> findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 }
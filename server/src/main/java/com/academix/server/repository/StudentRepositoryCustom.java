@@ -0,0 +1,15 @@
+package com.academix.server.repository;
+
+import java.util.List;
+
+import com.academix.server.model.Student;
+
+/**
+ * Set-based writes for bulk student intake.
+ * Implemented with JDBC batching in {@link StudentRepositoryImpl}.
+ */
+public interface StudentRepositoryCustom {
+
+    // Insert new students (users and students rows) in JDBC batches and set their generated ids
+    int batchInsert(List<Student> students);
+}
@@ -0,0 +1,118 @@
+package com.academix.server.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.academix.server.model.Student;
+
+/**
+ * JDBC batch implementation of {@link StudentRepositoryCustom}.
+ * Students are joined to users and use IDENTITY keys, so Hibernate inserts
+ * them one by one, two statements each. Here the users rows go in one batch,
+ * their ids are read back by email (unique) in one query, and the students
+ * rows follow in a second batch. Run inside a transaction.
+ */
+public class StudentRepositoryImpl implements StudentRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_USER_SQL =
+        "INSERT INTO users (first_name, last_name, other_names, email, password, nin, phone_number, " +
+        "disability_status, gender, date_of_birth, nationality, district, county, sub_county, parish, village, " +
+        "email_verification_token, email_verification_expiry, email_verified, created_at, updated_at, " +
+        "is_active, is_deleted, version) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_STUDENT_SQL =
+        "INSERT INTO students (id, student_id, linn, current_class, stream, house, residence_status, combination, " +
+        "guardian_name, guardian_email, guardian_phone) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int batchInsert(List<Student> students) {
+        if (students.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, students, BATCH_SIZE, (ps, s) -> {
+            ps.setString(1, s.getFirstName());
+            ps.setString(2, s.getLastName());
+            ps.setString(3, s.getOtherNames());
+            ps.setString(4, s.getEmail());
+            ps.setString(5, s.getPassword());
+            ps.setString(6, s.getNin());
+            ps.setString(7, s.getPhoneNumber());
+            ps.setString(8, s.getDisabilityStatus());
+            ps.setString(9, s.getGender());
+            ps.setObject(10, s.getDateOfBirth());
+            ps.setString(11, s.getNationality());
+            ps.setString(12, s.getDistrict());
+            ps.setString(13, s.getCounty());
+            ps.setString(14, s.getSubCounty());
+            ps.setString(15, s.getParish());
+            ps.setString(16, s.getVillage());
+            ps.setString(17, s.getEmailVerificationToken());
+            ps.setObject(18, s.getEmailVerificationExpiry());
+            ps.setBoolean(19, Boolean.TRUE.equals(s.getEmailVerified()));
+            ps.setTimestamp(20, now);
+            ps.setTimestamp(21, now);
+            ps.setBoolean(22, !Boolean.FALSE.equals(s.getIsActive()));
+            ps.setBoolean(23, false);
+        });
+
+        Map<String, Long> ids = findIdsByEmail(students);
+        for (Student s : students) {
+            Long id = ids.get(s.getEmail());
+            if (id == null) {
+                throw new IllegalStateException("Inserted user not found by email: " + s.getEmail());
+            }
+            s.setId(id);
+            s.setVersion(0L);
+        }
+
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_STUDENT_SQL, students, BATCH_SIZE, (ps, s) -> {
+            ps.setLong(1, s.getId());
+            ps.setString(2, s.getStudentId());
+            ps.setString(3, s.getLinn());
+            ps.setString(4, s.getCurrentClass());
+            ps.setString(5, s.getStream());
+            ps.setString(6, s.getHouse());
+            ps.setString(7, s.getResidenceStatus() != null ? s.getResidenceStatus().name() : null);
+            ps.setString(8, s.getCombination());
+            ps.setString(9, s.getGuardianName());
+            ps.setString(10, s.getGuardianEmail());
+            ps.setString(11, s.getGuardianPhone());
+        });
+
+        int written = 0;
+        for (int[] batch : counts) {
+            written += batch.length;
+        }
+        return written;
+    }
+
+    private Map<String, Long> findIdsByEmail(List<Student> students) {
+        Map<String, Long> ids = new HashMap<>();
+        for (int from = 0; from < students.size(); from += BATCH_SIZE) {
+            List<Student> chunk = students.subList(from, Math.min(students.size(), from + BATCH_SIZE));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            Object[] emails = chunk.stream().map(Student::getEmail).toArray();
+            jdbcTemplate.query("SELECT id, email FROM users WHERE email IN (" + placeholders + ")",
+                rs -> {
+                    ids.put(rs.getString(2), rs.getLong(1));
+                }, emails);
+        }
+        return ids;
+    }
+}
@@ -64,6 +64,14 @@ public interface SubjectRepository extends JpaRepository<Subject, Long> {
     // Count active
     long countByIsActiveTrue();
 
+    // Dashboard figures in one pass: total, active, science, arts, compulsory, O-Level, A-Level
+    @Query("SELECT COUNT(s), SUM(CASE WHEN s.isActive = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN s.isScience = true THEN 1 ELSE 0 END), SUM(CASE WHEN s.isArts = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN s.isCompulsory = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN s.level = 'O_LEVEL' OR s.level = 'BOTH' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN s.level = 'A_LEVEL' OR s.level = 'BOTH' THEN 1 ELSE 0 END) FROM Subject s")
+    List<Object[]> getDashboardTotals();
+
     // Count students in department subjects (for Department service)
     @Query("SELECT COUNT(DISTINCT ss.student.id) FROM StudentSubject ss WHERE ss.subject.department = " +
            "(SELECT d.name FROM Department d WHERE d.id = :departmentId)")
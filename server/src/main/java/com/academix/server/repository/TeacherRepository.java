@@ -3,11 +3,13 @@ package com.academix.server.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.academix.server.dto.ListDto;
 import com.academix.server.model.Teacher;
 
 @Repository
@@ -91,4 +93,32 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
 
     // Count by employment type
     long countByEmploymentType(Teacher.EmploymentType employmentType);
+
+    // Count class teachers and department heads
+    long countByIsClassTeacherTrue();
+    long countByIsDepartmentHeadTrue();
+
+    // Dashboard figures in one pass: total, active, permanent, contract, part time, class teachers, department heads
+    @Query("SELECT COUNT(t), SUM(CASE WHEN t.isActive = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN t.employmentType = 'PERMANENT' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN t.employmentType = 'CONTRACT' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN t.employmentType = 'PART_TIME' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN t.isClassTeacher = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN t.isDepartmentHead = true THEN 1 ELSE 0 END) FROM Teacher t")
+    List<Object[]> getDashboardTotals();
+
+    // Keyset pages of teachers as list items; departmentName is transient on Teacher, so it comes from the join
+    @Query("SELECT t.id AS id, t.teacherId AS teacherId, t.firstName AS firstName, t.otherNames AS otherNames, " +
+           "t.lastName AS lastName, t.email AS email, t.phoneNumber AS phoneNumber, d.name AS departmentName, " +
+           "t.primarySubject AS primarySubject, t.employmentType AS employmentType, " +
+           "t.employmentStatus AS employmentStatus, t.isClassTeacher AS isClassTeacher, t.isActive AS isActive " +
+           "FROM Teacher t LEFT JOIN t.department d WHERE t.id > :afterId ORDER BY t.id ASC")
+    List<ListDto.TeacherItem> findByIdGreaterThanOrderByIdAsc(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT t.id AS id, t.teacherId AS teacherId, t.firstName AS firstName, t.otherNames AS otherNames, " +
+           "t.lastName AS lastName, t.email AS email, t.phoneNumber AS phoneNumber, d.name AS departmentName, " +
+           "t.primarySubject AS primarySubject, t.employmentType AS employmentType, " +
+           "t.employmentStatus AS employmentStatus, t.isClassTeacher AS isClassTeacher, t.isActive AS isActive " +
+           "FROM Teacher t LEFT JOIN t.department d WHERE t.isActive = true AND t.id > :afterId ORDER BY t.id ASC")
+    List<ListDto.TeacherItem> findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(@Param("afterId") Long afterId, Limit limit);
 }
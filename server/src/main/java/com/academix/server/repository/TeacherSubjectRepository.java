@@ -45,6 +45,13 @@ public interface TeacherSubjectRepository extends JpaRepository<TeacherSubject,
            "WHERE ts.teacher.id = :teacherId AND ts.status = 'ACTIVE'")
     List<TeacherSubject> findSubjectsTaughtByTeacher(@Param("teacherId") Long teacherId);
 
+    // Active assignments with teacher and subject, for timetable generation
+    @Query("SELECT ts FROM TeacherSubject ts " +
+           "JOIN FETCH ts.teacher " +
+           "JOIN FETCH ts.subject " +
+           "WHERE ts.status = 'ACTIVE'")
+    List<TeacherSubject> findActiveAssignments();
+
     // Count teachers for a subject
     long countBySubjectIdAndStatus(Long subjectId, TeacherSubject.AssignmentStatus status);
 
@@ -3,15 +3,17 @@ package com.academix.server.repository;
 import java.time.LocalTime;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.academix.server.dto.ListDto;
 import com.academix.server.model.Timetable;
 
 @Repository
-public interface TimetableRepository extends JpaRepository<Timetable, Long> {
+public interface TimetableRepository extends JpaRepository<Timetable, Long>, TimetableRepositoryCustom {
 
     // Find by class
     List<Timetable> findByClassName(String className);
@@ -36,6 +38,10 @@ public interface TimetableRepository extends JpaRepository<Timetable, Long> {
     // Find by room
     List<Timetable> findByRoom(String room);
 
+    // Room schedule ignoring case and surrounding spaces; pass the room trimmed and upper-cased
+    @Query("SELECT t FROM Timetable t WHERE UPPER(TRIM(t.room)) = :room")
+    List<Timetable> findByNormalizedRoom(@Param("room") String room);
+
     List<Timetable> findByRoomAndDayOfWeek(String room, Timetable.DayOfWeek dayOfWeek);
 
     // Find by subject
@@ -46,6 +52,15 @@ public interface TimetableRepository extends JpaRepository<Timetable, Long> {
     // Find by academic period
     List<Timetable> findByAcademicYearAndTerm(String academicYear, Integer term);
 
+    // Active entries of a term, to load the occupancy index
+    List<Timetable> findByAcademicYearAndTermAndIsActiveTrue(String academicYear, Integer term);
+
+    // Entries of a term written after a known id, to read back a batch insert
+    List<Timetable> findByAcademicYearAndTermAndIdGreaterThanOrderByIdAsc(String academicYear, Integer term, Long afterId);
+
+    @Query("SELECT COALESCE(MAX(t.id), 0) FROM Timetable t")
+    long findMaxId();
+
     // Find by period type
     List<Timetable> findByPeriodType(Timetable.PeriodType periodType);
 
@@ -145,4 +160,7 @@ public interface TimetableRepository extends JpaRepository<Timetable, Long> {
 
     @Query("SELECT COUNT(t) FROM Timetable t WHERE t.isActive = true AND t.periodType = 'LESSON'")
     long countLessonEntries();
+
+    // Keyset pages of timetable entries as list items
+    List<ListDto.TimetableItem> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
 }
@@ -0,0 +1,15 @@
+package com.academix.server.repository;
+
+import java.util.List;
+
+import com.academix.server.model.Timetable;
+
+/**
+ * Set-based writes for timetable drafts.
+ * Implemented with JDBC batching in {@link TimetableRepositoryImpl}.
+ */
+public interface TimetableRepositoryCustom {
+
+    // Insert validated draft entries in JDBC batches, returns number of rows written
+    int batchInsert(List<Timetable> entries);
+}
@@ -0,0 +1,69 @@
+package com.academix.server.repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.academix.server.model.Timetable;
+
+/**
+ * JDBC batch implementation of {@link TimetableRepositoryCustom}.
+ * A term's draft is hundreds of entries; they are written in one batch
+ * instead of one IDENTITY insert each.
+ */
+public class TimetableRepositoryImpl implements TimetableRepositoryCustom {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL =
+        "INSERT INTO timetables (class_name, stream, day_of_week, period_number, period_name, start_time, end_time, " +
+        "subject_code, subject_name, teacher_id, teacher_name, room, building, academic_year, term, period_type, " +
+        "is_double_period, is_active, notes, created_at, updated_at, created_by) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int batchInsert(List<Timetable> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, entries, BATCH_SIZE, (ps, t) -> {
+            ps.setString(1, t.getClassName());
+            ps.setString(2, t.getStream());
+            ps.setString(3, t.getDayOfWeek().name());
+            ps.setInt(4, t.getPeriodNumber());
+            ps.setString(5, t.getPeriodName());
+            ps.setObject(6, t.getStartTime());
+            ps.setObject(7, t.getEndTime());
+            ps.setString(8, t.getSubjectCode());
+            ps.setString(9, t.getSubjectName());
+            ps.setObject(10, t.getTeacherId(), Types.BIGINT);
+            ps.setString(11, t.getTeacherName());
+            ps.setString(12, t.getRoom());
+            ps.setString(13, t.getBuilding());
+            ps.setString(14, t.getAcademicYear());
+            ps.setInt(15, t.getTerm());
+            ps.setString(16, t.getPeriodType().name());
+            ps.setBoolean(17, t.getIsDoublePeriod());
+            ps.setBoolean(18, t.getIsActive());
+            ps.setString(19, t.getNotes());
+            ps.setTimestamp(20, now);
+            ps.setTimestamp(21, now);
+            ps.setObject(22, t.getCreatedBy(), Types.BIGINT);
+        });
+
+        int written = 0;
+        for (int[] batch : counts) {
+            written += batch.length;
+        }
+        return written;
+    }
+}
@@ -0,0 +1,33 @@
+package com.academix.server.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.academix.server.model.User;
+
+@Repository
+public interface UserRepository extends JpaRepository<User, Long> {
+
+    // Find any kind of user by email (idx_user_email)
+    Optional<User> findByEmail(String email);
+
+    // Check existence across students, teachers and staff
+    boolean existsByEmail(String email);
+
+    // Which of these emails / NINs are taken by any user (bulk intake dedupe)
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u.nin FROM User u WHERE u.nin IN :nins")
+    List<String> findExistingNins(@Param("nins") Collection<String> nins);
+
+    // Find by one-time tokens
+    Optional<User> findByEmailVerificationToken(String token);
+    Optional<User> findByResetPasswordToken(String token);
+}
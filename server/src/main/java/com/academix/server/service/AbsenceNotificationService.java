@@ -0,0 +1,375 @@
+package com.academix.server.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.academix.server.event.AttendanceMarkedEvent;
+import com.academix.server.model.AbsenceNotification;
+import com.academix.server.model.Attendance;
+import com.academix.server.repository.AbsenceNotificationRepository;
+import com.academix.server.repository.AttendanceRepository;
+import com.academix.server.repository.StudentRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Tells guardians about absences through a durable outbox.
+ * An ABSENT mark writes its outbox rows in the marking transaction, so a
+ * notification exists exactly when the mark commits and delivery never adds
+ * to the latency of marking. A background dispatcher sends due rows,
+ * one message per guardian and channel, with a per-channel rate limit and
+ * exponential backoff on failure.
+ */
+@Service
+public class AbsenceNotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbsenceNotificationService.class);
+
+    @Autowired
+    private AbsenceNotificationRepository notificationRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    // Absences of the same guardian within this window go out together
+    @Value("${academix.notifications.coalesce-seconds:300}")
+    private long coalesceSeconds;
+
+    @Value("${academix.notifications.dispatch-ms:15000}")
+    private long dispatchMillis;
+
+    @Value("${academix.notifications.batch-size:500}")
+    private int batchSize;
+
+    @Value("${academix.notifications.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${academix.notifications.retry-base-seconds:60}")
+    private long retryBaseSeconds;
+
+    @Value("${academix.notifications.retry-max-seconds:3600}")
+    private long retryMaxSeconds;
+
+    @Value("${academix.notifications.email.per-minute:30}")
+    private int emailPerMinute;
+
+    @Value("${academix.notifications.sms.per-minute:30}")
+    private int smsPerMinute;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<AbsenceNotification.Channel, NotificationSender> senders =
+        new EnumMap<>(AbsenceNotification.Channel.class);
+
+    private final Map<AbsenceNotification.Channel, RateLimiter> rateLimiters =
+        new EnumMap<>(AbsenceNotification.Channel.class);
+
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "absence-notifier");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AbsenceNotificationService(PlatformTransactionManager transactionManager, List<NotificationSender> senders) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (NotificationSender sender : senders) {
+            this.senders.put(sender.getChannel(), sender);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startDispatcher() {
+        rateLimiters.put(AbsenceNotification.Channel.EMAIL, new RateLimiter(emailPerMinute));
+        rateLimiters.put(AbsenceNotification.Channel.SMS, new RateLimiter(smsPerMinute));
+        dispatcher.scheduleWithFixedDelay(this::dispatchSafely, dispatchMillis, dispatchMillis, TimeUnit.MILLISECONDS);
+        logger.info("Absence notification dispatcher started - channels {}", senders.keySet());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    // ============ OUTBOX ============
+
+    /**
+     * Runs synchronously inside the transaction that wrote the marks:
+     * new absences get outbox rows, and absences that were corrected or
+     * deleted before delivery have their pending rows cancelled.
+     */
+    @EventListener
+    public void onAttendanceMarked(AttendanceMarkedEvent event) {
+        List<AttendanceMarkedEvent.Entry> absences = new ArrayList<>();
+        for (AttendanceMarkedEvent.Entry entry : event.entries()) {
+            boolean wasAbsent = entry.previousStatus() == Attendance.AttendanceStatus.ABSENT;
+            boolean isAbsent = entry.status() == Attendance.AttendanceStatus.ABSENT;
+            if (isAbsent && !wasAbsent) {
+                absences.add(entry);
+            } else if (wasAbsent && !isAbsent) {
+                cancelPending(entry);
+            }
+        }
+        if (!absences.isEmpty()) {
+            enqueue(absences);
+        }
+    }
+
+    private void enqueue(List<AttendanceMarkedEvent.Entry> absences) {
+        // Guardian contacts: id -> [id, guardianName, guardianEmail, guardianPhone]
+        Map<Long, Object[]> contacts = new HashMap<>();
+        List<Long> studentIds = absences.stream().map(AttendanceMarkedEvent.Entry::studentId).distinct().toList();
+        for (Object[] row : studentRepository.findGuardianContacts(studentIds)) {
+            contacts.put((Long) row[0], row);
+        }
+
+        LocalDateTime due = LocalDateTime.now().plusSeconds(coalesceSeconds);
+        List<AbsenceNotification> rows = new ArrayList<>();
+        for (AttendanceMarkedEvent.Entry entry : absences) {
+            Object[] contact = contacts.get(entry.studentId());
+            if (contact == null) {
+                continue;
+            }
+            addRow(rows, entry, AbsenceNotification.Channel.EMAIL, (String) contact[2], (String) contact[1], due);
+            addRow(rows, entry, AbsenceNotification.Channel.SMS, (String) contact[3], (String) contact[1], due);
+        }
+
+        // Students without a guardian contact are not queued
+        notificationRepository.batchInsert(rows);
+    }
+
+    private void addRow(List<AbsenceNotification> rows, AttendanceMarkedEvent.Entry entry,
+                        AbsenceNotification.Channel channel, String recipient, String recipientName,
+                        LocalDateTime due) {
+        if (recipient == null || recipient.isBlank() || !senders.containsKey(channel)) {
+            return;
+        }
+        AbsenceNotification notification = new AbsenceNotification();
+        notification.setStudentId(entry.studentId());
+        notification.setStudentNumber(entry.studentNumber());
+        notification.setStudentName(entry.studentName());
+        notification.setClassName(entry.className());
+        notification.setDate(entry.date());
+        notification.setSessionType(sessionOf(entry));
+        notification.setChannel(channel);
+        notification.setRecipient(recipient.trim());
+        notification.setRecipientName(recipientName);
+        notification.setNextAttemptAt(due);
+        rows.add(notification);
+    }
+
+    private void cancelPending(AttendanceMarkedEvent.Entry entry) {
+        List<AbsenceNotification> pending = notificationRepository.findByStudentIdAndDateAndSessionTypeAndStatus(
+            entry.studentId(), entry.date(), sessionOf(entry), AbsenceNotification.Status.PENDING);
+        for (AbsenceNotification notification : pending) {
+            notification.setStatus(AbsenceNotification.Status.CANCELLED);
+        }
+        notificationRepository.saveAll(pending);
+    }
+
+    // Outbox rows store a mark without a session as a full day, so lookups must default the same way
+    private static Attendance.SessionType sessionOf(AttendanceMarkedEvent.Entry entry) {
+        return entry.sessionType() != null ? entry.sessionType() : Attendance.SessionType.FULL_DAY;
+    }
+
+    // ============ DISPATCH ============
+
+    private void dispatchSafely() {
+        try {
+            dispatch();
+        } catch (Exception e) {
+            // Keep the dispatcher scheduled; rows stay pending for the next pass
+            logger.error("Absence notification dispatch failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Send every due notification, one message per guardian and channel.
+     * Returns the number of messages delivered.
+     */
+    public int dispatch() {
+        List<AbsenceNotification> due = notificationRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+            AbsenceNotification.Status.PENDING, LocalDateTime.now(), Limit.of(batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<AbsenceNotification>> byRecipient = new LinkedHashMap<>();
+        for (AbsenceNotification notification : due) {
+            String key = notification.getChannel() + ":" + notification.getRecipient().toLowerCase();
+            byRecipient.computeIfAbsent(key, k -> new ArrayList<>()).add(notification);
+        }
+
+        int delivered = 0;
+        for (List<AbsenceNotification> group : byRecipient.values()) {
+            AbsenceNotification first = group.get(0);
+            NotificationSender sender = senders.get(first.getChannel());
+            RateLimiter limiter = rateLimiters.get(first.getChannel());
+            if (sender == null || (limiter != null && !limiter.tryAcquire())) {
+                // Channel unavailable or over its rate; the group waits for a later pass
+                continue;
+            }
+
+            try {
+                sender.send(first.getRecipient(), first.getRecipientName(), subjectOf(group), bodyOf(group));
+                markDelivered(group);
+                delivered++;
+            } catch (Exception e) {
+                markFailed(group, e);
+            }
+        }
+
+        logger.debug("Absence notifications: {} due rows, {} messages delivered", due.size(), delivered);
+        return delivered;
+    }
+
+    private void markDelivered(List<AbsenceNotification> group) {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (AbsenceNotification notification : group) {
+                notification.setStatus(AbsenceNotification.Status.SENT);
+                notification.setAttempts(notification.getAttempts() + 1);
+                notification.setSentAt(now);
+                notification.setLastError(null);
+            }
+            notificationRepository.saveAll(group);
+            attendanceRepository.markParentsNotified(group, now);
+        });
+    }
+
+    private void markFailed(List<AbsenceNotification> group, Exception error) {
+        int attempts = group.get(0).getAttempts() + 1;
+        boolean giveUp = attempts >= maxAttempts;
+        long delay = Math.min(retryMaxSeconds, retryBaseSeconds << Math.min(attempts - 1, 20));
+        LocalDateTime next = LocalDateTime.now().plusSeconds(delay);
+        String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (AbsenceNotification notification : group) {
+                notification.setAttempts(notification.getAttempts() + 1);
+                notification.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+                if (giveUp) {
+                    notification.setStatus(AbsenceNotification.Status.FAILED);
+                } else {
+                    notification.setNextAttemptAt(next);
+                }
+            }
+            notificationRepository.saveAll(group);
+        });
+
+        if (giveUp) {
+            logger.error("Giving up on absence notice to {} after {} attempts: {}",
+                group.get(0).getRecipient(), attempts, message);
+        } else {
+            logger.warn("Absence notice to {} failed (attempt {}), retrying in {}s: {}",
+                group.get(0).getRecipient(), attempts, delay, message);
+        }
+    }
+
+    private static String subjectOf(List<AbsenceNotification> group) {
+        if (group.size() > 1) {
+            return "Absence notice - Academix";
+        }
+        return "Absence notice for " + group.get(0).getStudentName() + " - Academix";
+    }
+
+    private static String bodyOf(List<AbsenceNotification> group) {
+        List<AbsenceNotification> sorted = new ArrayList<>(group);
+        sorted.sort(Comparator.comparing(AbsenceNotification::getStudentName, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(AbsenceNotification::getDate)
+            .thenComparing(AbsenceNotification::getSessionType));
+
+        String name = group.get(0).getRecipientName();
+        StringBuilder body = new StringBuilder();
+        body.append("Dear ").append(name != null && !name.isBlank() ? name : "Parent/Guardian").append(",\n\n");
+        body.append("The following absences were recorded at school:\n\n");
+        for (AbsenceNotification notification : sorted) {
+            body.append("- ").append(notification.getStudentName());
+            if (notification.getClassName() != null) {
+                body.append(" (").append(notification.getClassName()).append(")");
+            }
+            body.append(": ").append(notification.getDate());
+            if (notification.getSessionType() != Attendance.SessionType.FULL_DAY) {
+                body.append(", ").append(notification.getSessionType().name().toLowerCase().replace('_', ' '));
+            }
+            body.append("\n");
+        }
+        body.append("\nIf you believe this is a mistake, or to explain the absence, please contact the school.\n\n");
+        body.append("Best regards,\n");
+        body.append("The Academix Team");
+        return body.toString();
+    }
+
+    /**
+     * Outbox counts by status and the channels with a sender
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Long> byStatus = new HashMap<>();
+        for (Object[] row : notificationRepository.countByStatus()) {
+            byStatus.put(row[0].toString(), (Long) row[1]);
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("byStatus", byStatus);
+        stats.put("channels", senders.keySet());
+        stats.put("coalesceSeconds", coalesceSeconds);
+        stats.put("maxAttempts", maxAttempts);
+        return stats;
+    }
+
+    /**
+     * Notifications queued for a student, newest first
+     */
+    public List<AbsenceNotification> getNotificationsForStudent(Long studentId) {
+        return notificationRepository.findByStudentIdOrderByIdDesc(studentId);
+    }
+
+    /**
+     * Token bucket refilled continuously up to one minute's allowance
+     */
+    private static final class RateLimiter {
+        private final double capacity;
+        private final double refillPerNano;
+        private double tokens;
+        private long lastRefill = System.nanoTime();
+
+        RateLimiter(int perMinute) {
+            this.capacity = Math.max(1, perMinute);
+            this.refillPerNano = capacity / TimeUnit.MINUTES.toNanos(1);
+            this.tokens = capacity;
+        }
+
+        synchronized boolean tryAcquire() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+    }
+}
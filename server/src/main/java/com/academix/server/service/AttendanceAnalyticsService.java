@@ -0,0 +1,132 @@
+package com.academix.server.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Rolling attendance rates and early-warning scores.
+ * Everything is read from {@link AttendanceBitmapService}, which is updated
+ * as marks commit, so a student's 7-day, 30-day and term-to-date rates are a
+ * few bitset cardinalities rather than a scan of their rows. A class's
+ * ranked at-risk list is cached until a mark of that class arrives or the
+ * day rolls over.
+ */
+@Service
+public class AttendanceAnalyticsService {
+
+    private static final int SHORT_WINDOW_DAYS = 7;
+    private static final int LONG_WINDOW_DAYS = 30;
+
+    // Risk score weights of the missed share of each window, and points per day of the current absence streak
+    private static final double SHORT_WEIGHT = 0.5;
+    private static final double LONG_WEIGHT = 0.3;
+    private static final double TERM_WEIGHT = 0.2;
+    private static final double STREAK_POINTS = 10.0;
+    private static final double MAX_STREAK_POINTS = 30.0;
+
+    private static final double HIGH_RISK = 50.0;
+    private static final double MEDIUM_RISK = 25.0;
+
+    @Autowired
+    private AttendanceBitmapService attendanceBitmapService;
+
+    private record RankingKey(String className, String academicYear, Integer term) {
+    }
+
+    private record Ranking(LocalDate day, long classVersion, List<Map<String, Object>> rows) {
+    }
+
+    private final Map<RankingKey, Ranking> rankings = new ConcurrentHashMap<>();
+
+    /**
+     * Rolling rates, streaks and risk score of a student
+     */
+    public Map<String, Object> getStudentAnalytics(Long studentId, String academicYear, Integer term) {
+        requireReady();
+        return analyse(studentId, academicYear, term, LocalDate.now());
+    }
+
+    /**
+     * Students of a class ordered by risk score, highest first, limited to those at some risk
+     */
+    public List<Map<String, Object>> getAtRiskStudents(String className, String academicYear, Integer term, int limit) {
+        requireReady();
+        LocalDate today = LocalDate.now();
+        RankingKey key = new RankingKey(className, academicYear, term);
+        long version = attendanceBitmapService.getClassVersion(className);
+
+        Ranking ranking = rankings.get(key);
+        if (ranking == null || ranking.classVersion() != version || !ranking.day().equals(today)) {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (Long studentId : attendanceBitmapService.getStudentsOfClass(className)) {
+                Map<String, Object> analytics = analyse(studentId, academicYear, term, today);
+                analytics.put("className", className);
+                if ((Double) analytics.get("riskScore") > 0) {
+                    rows.add(analytics);
+                }
+            }
+            rows.sort(Comparator.comparingDouble((Map<String, Object> row) -> (Double) row.get("riskScore")).reversed());
+            ranking = new Ranking(today, version, List.copyOf(rows));
+            rankings.put(key, ranking);
+        }
+
+        List<Map<String, Object>> rows = ranking.rows();
+        return rows.size() > limit ? rows.subList(0, limit) : rows;
+    }
+
+    private Map<String, Object> analyse(Long studentId, String academicYear, Integer term, LocalDate today) {
+        AttendanceBitmapService.WindowCounts shortWindow =
+            attendanceBitmapService.countWindow(studentId, today.minusDays(SHORT_WINDOW_DAYS - 1), today);
+        AttendanceBitmapService.WindowCounts longWindow =
+            attendanceBitmapService.countWindow(studentId, today.minusDays(LONG_WINDOW_DAYS - 1), today);
+        Map<String, Object> termStats = attendanceBitmapService.getStudentStats(studentId, academicYear, term);
+        Map<String, Object> streaks = attendanceBitmapService.getStreaks(studentId, academicYear, term);
+
+        long termMarked = (Long) termStats.get("totalDays");
+        double termRate = termMarked > 0 ? ((Number) termStats.get("attendancePercentage")).doubleValue() : 0.0;
+        int currentStreak = (Integer) streaks.get("currentAbsenceStreak");
+
+        double score = missedShare(shortWindow.marked(), shortWindow.rate()) * SHORT_WEIGHT
+            + missedShare(longWindow.marked(), longWindow.rate()) * LONG_WEIGHT
+            + missedShare(termMarked, termRate) * TERM_WEIGHT
+            + Math.min(MAX_STREAK_POINTS, currentStreak * STREAK_POINTS);
+        score = Math.min(100.0, score);
+
+        Map<String, Object> analytics = new HashMap<>();
+        analytics.put("studentId", studentId);
+        analytics.put("studentName", attendanceBitmapService.getStudentName(studentId));
+        analytics.put("academicYear", academicYear);
+        analytics.put("term", term);
+        analytics.put("asOf", today);
+        analytics.put("rate7Days", shortWindow.marked() > 0 ? shortWindow.rate() : null);
+        analytics.put("absences7Days", shortWindow.absent());
+        analytics.put("rate30Days", longWindow.marked() > 0 ? longWindow.rate() : null);
+        analytics.put("absences30Days", longWindow.absent());
+        analytics.put("termRate", termMarked > 0 ? termRate : null);
+        analytics.put("termAbsences", ((Number) termStats.get("absentDays")).longValue());
+        analytics.put("currentAbsenceStreak", currentStreak);
+        analytics.put("longestAbsenceStreak", streaks.get("longestAbsenceStreak"));
+        analytics.put("riskScore", Math.round(score * 10) / 10.0);
+        analytics.put("riskLevel", score >= HIGH_RISK ? "HIGH" : score >= MEDIUM_RISK ? "MEDIUM" : "LOW");
+        return analytics;
+    }
+
+    // Percentage of marked slots missed, nothing when the window has no marks
+    private static double missedShare(long marked, double rate) {
+        return marked > 0 ? 100.0 - rate : 0.0;
+    }
+
+    private void requireReady() {
+        if (!attendanceBitmapService.isReady()) {
+            throw new RuntimeException("Attendance history is still loading, try again shortly");
+        }
+    }
+}
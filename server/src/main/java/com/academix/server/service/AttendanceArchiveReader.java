@@ -0,0 +1,161 @@
+package com.academix.server.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.academix.server.model.Attendance;
+import com.academix.server.model.AttendanceArchive;
+import com.academix.server.repository.AttendanceArchiveRepository;
+
+/**
+ * Read-only access to archived terms of attendance.
+ * Only archives whose date span overlaps a query are opened, and the most
+ * recently used terms are kept decoded in memory. Returned marks are
+ * detached copies and must not be saved.
+ */
+@Component
+public class AttendanceArchiveReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceArchiveReader.class);
+
+    @Autowired
+    private AttendanceArchiveRepository archiveRepository;
+
+    @Value("${academix.attendance.archive-cache-terms:4}")
+    private int cacheTerms;
+
+    // Decoded terms by archive id, least recently used first; guarded by itself
+    private final Map<Long, List<Attendance>> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * All archived terms, oldest first
+     */
+    public List<AttendanceArchive> getArchives() {
+        return archiveRepository.findAllByOrderByStartDateAsc();
+    }
+
+    /**
+     * Whether a term has been moved to the archive
+     */
+    public boolean isArchived(String academicYear, Integer term) {
+        return archiveRepository.existsByAcademicYearAndTerm(academicYear, term);
+    }
+
+    /**
+     * Archived marks of a class between two dates inclusive
+     */
+    public List<Attendance> findByClassNameAndDateBetween(String className, LocalDate startDate, LocalDate endDate) {
+        return scan(startDate, endDate, a -> className.equals(a.getClassName()) && inRange(a, startDate, endDate));
+    }
+
+    /**
+     * Archived marks of a student between two dates inclusive
+     */
+    public List<Attendance> findByStudentIdAndDateBetween(Long studentId, LocalDate startDate, LocalDate endDate) {
+        return scan(startDate, endDate, a -> studentId.equals(a.getStudentId()) && inRange(a, startDate, endDate));
+    }
+
+    /**
+     * Archived marks of a student in one term
+     */
+    public List<Attendance> findByStudentIdAndTerm(Long studentId, String academicYear, Integer term) {
+        return archiveRepository.findByAcademicYearAndTerm(academicYear, term)
+            .map(archive -> filter(readTerm(archive), a -> studentId.equals(a.getStudentId())))
+            .orElse(List.of());
+    }
+
+    /**
+     * Every archived mark of a student
+     */
+    public List<Attendance> findByStudentId(Long studentId) {
+        List<Attendance> result = new ArrayList<>();
+        for (AttendanceArchive archive : getArchives()) {
+            result.addAll(filter(readTerm(archive), a -> studentId.equals(a.getStudentId())));
+        }
+        return result;
+    }
+
+    /**
+     * Decoded marks of an archived term, served from the cache when possible
+     */
+    public List<Attendance> readTerm(AttendanceArchive archive) {
+        synchronized (cache) {
+            List<Attendance> cached = cache.get(archive.getId());
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        List<Attendance> rows = Collections.unmodifiableList(decode(archive));
+        synchronized (cache) {
+            cache.put(archive.getId(), rows);
+            while (cache.size() > Math.max(1, cacheTerms)) {
+                Long eldest = cache.keySet().iterator().next();
+                cache.remove(eldest);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Decode a term without keeping it cached, for one-off full scans
+     */
+    public List<Attendance> readTermUncached(AttendanceArchive archive) {
+        synchronized (cache) {
+            List<Attendance> cached = cache.get(archive.getId());
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return decode(archive);
+    }
+
+    private List<Attendance> decode(AttendanceArchive archive) {
+        long start = System.currentTimeMillis();
+        try {
+            List<Attendance> rows = AttendanceColumnFile.read(Path.of(archive.getFilePath()));
+            logger.debug("Attendance archive {} term {} decoded - {} marks in {} ms", archive.getAcademicYear(),
+                archive.getTerm(), rows.size(), System.currentTimeMillis() - start);
+            return rows;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read attendance archive for " + archive.getAcademicYear() +
+                " term " + archive.getTerm() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private List<Attendance> scan(LocalDate startDate, LocalDate endDate, Predicate<Attendance> matches) {
+        List<Attendance> result = new ArrayList<>();
+        for (AttendanceArchive archive : archiveRepository
+                .findByStartDateLessThanEqualAndEndDateGreaterThanEqualOrderByStartDateAsc(endDate, startDate)) {
+            result.addAll(filter(readTerm(archive), matches));
+        }
+        return result;
+    }
+
+    private static List<Attendance> filter(List<Attendance> rows, Predicate<Attendance> matches) {
+        List<Attendance> result = new ArrayList<>();
+        for (Attendance row : rows) {
+            if (matches.test(row)) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    private static boolean inRange(Attendance a, LocalDate startDate, LocalDate endDate) {
+        return !a.getDate().isBefore(startDate) && !a.getDate().isAfter(endDate);
+    }
+}
@@ -0,0 +1,198 @@
+package com.academix.server.service;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.academix.server.model.Attendance;
+import com.academix.server.model.AttendanceArchive;
+import com.academix.server.repository.AttendanceArchiveRepository;
+import com.academix.server.repository.AttendanceRepository;
+
+/**
+ * Moves closed terms out of the attendance table.
+ * A term is written to a compressed columnar file, read back to verify,
+ * then recorded and deleted from the table in one transaction, so the
+ * table only holds open terms and historical queries go through
+ * {@link AttendanceArchiveReader}. The in-memory attendance bitmaps keep the
+ * archived marks; nothing is reported as deleted.
+ */
+@Service
+public class AttendanceArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceArchiveService.class);
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private AttendanceArchiveRepository archiveRepository;
+
+    @Value("${academix.attendance.archive-dir:data/attendance-archive}")
+    private String archiveDir;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public AttendanceArchiveService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Archive a closed term: every mark of it must be dated before today
+     */
+    public synchronized AttendanceArchive archiveTerm(String academicYear, Integer term, Long requestedBy) {
+        if (archiveRepository.existsByAcademicYearAndTerm(academicYear, term)) {
+            throw new RuntimeException("Attendance for " + academicYear + " term " + term + " is already archived");
+        }
+
+        // first date, last date, rows, highest id
+        Object[] span = attendanceRepository.getTermSpan(academicYear, term).get(0);
+        long rowCount = span[2] != null ? ((Number) span[2]).longValue() : 0L;
+        if (rowCount == 0) {
+            throw new RuntimeException("No attendance recorded for " + academicYear + " term " + term);
+        }
+        LocalDate startDate = (LocalDate) span[0];
+        LocalDate endDate = (LocalDate) span[1];
+        Long lastId = (Long) span[3];
+        if (!endDate.isBefore(LocalDate.now())) {
+            throw new RuntimeException("Term " + term + " of " + academicYear + " is still open (marks up to " + endDate + ")");
+        }
+
+        long start = System.currentTimeMillis();
+        List<Attendance> rows = loadTerm(academicYear, term, lastId);
+
+        Path file = Path.of(archiveDir, "attendance-" + academicYear.replaceAll("[^A-Za-z0-9_-]", "_") + "-T" + term + ".acol");
+        long fileBytes = writeVerified(file, rows);
+        long written = fingerprintOf(rows);
+
+        try {
+            AttendanceArchive archive = transactionTemplate.execute(status -> {
+                AttendanceArchive created = new AttendanceArchive();
+                created.setAcademicYear(academicYear);
+                created.setTerm(term);
+                created.setStartDate(startDate);
+                created.setEndDate(endDate);
+                created.setRowCount((long) rows.size());
+                created.setLastAttendanceId(lastId);
+                created.setFilePath(file.toAbsolutePath().toString());
+                created.setFileBytes(fileBytes);
+                created.setArchivedBy(requestedBy);
+                AttendanceArchive saved = archiveRepository.save(created);
+
+                // Lock the term's marks so no write lands between this check and the delete,
+                // then make sure none changed since they were read for the file
+                long current = 1L;
+                for (Object[] mark : attendanceRepository.lockTermMarks(academicYear, term, lastId)) {
+                    current = fingerprint(current, (Long) mark[0], (String) mark[1], (LocalDateTime) mark[2], (Boolean) mark[3]);
+                }
+                if (current != written) {
+                    throw new RuntimeException("Attendance for " + academicYear + " term " + term +
+                        " changed during archiving, try again");
+                }
+
+                int deleted = attendanceRepository.deleteArchivedTerm(academicYear, term, lastId);
+                if (deleted != rows.size()) {
+                    // Marks changed while the file was written; keep them in the table
+                    throw new RuntimeException("Attendance for " + academicYear + " term " + term +
+                        " changed during archiving (" + deleted + " rows vs " + rows.size() + " written), try again");
+                }
+                return saved;
+            });
+
+            logger.info("Archived attendance {} term {} - {} marks, {} KB in {} ms", academicYear, term,
+                rows.size(), fileBytes / 1024, System.currentTimeMillis() - start);
+            return archive;
+        } catch (RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+    }
+
+    /**
+     * All archived terms, oldest first
+     */
+    public List<AttendanceArchive> getArchives() {
+        return archiveRepository.findAllByOrderByStartDateAsc();
+    }
+
+    private static long fingerprintOf(List<Attendance> rows) {
+        long hash = 1L;
+        for (Attendance row : rows) {
+            hash = fingerprint(hash, row.getId(), row.getStatus().name(), row.getUpdatedAt(), row.getParentNotified());
+        }
+        return hash;
+    }
+
+    // Every write to a mark sets its status and updated_at, apart from the parent-notified flag
+    private static long fingerprint(long hash, Long id, String status, LocalDateTime updatedAt, Boolean parentNotified) {
+        return 31 * hash + Objects.hash(id, status, updatedAt, Boolean.TRUE.equals(parentNotified));
+    }
+
+    private List<Attendance> loadTerm(String academicYear, Integer term, Long lastId) {
+        List<Attendance> rows = new ArrayList<>();
+        long afterId = 0L;
+        List<Attendance> batch;
+        do {
+            batch = attendanceRepository.findByAcademicYearAndTermAndIdGreaterThanOrderByIdAsc(
+                academicYear, term, afterId, Limit.of(LOAD_BATCH_SIZE));
+            for (Attendance row : batch) {
+                if (row.getId() <= lastId) {
+                    rows.add(row);
+                }
+                afterId = row.getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        return rows;
+    }
+
+    // Write through a temporary file and read it back before it replaces anything
+    private long writeVerified(Path file, List<Attendance> rows) {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            AttendanceColumnFile.write(temp, rows);
+
+            List<Attendance> check = AttendanceColumnFile.read(temp);
+            if (check.size() != rows.size()
+                    || (!rows.isEmpty() && !check.get(check.size() - 1).getId().equals(rows.get(rows.size() - 1).getId()))) {
+                throw new IOException("verification failed, " + check.size() + " of " + rows.size() + " marks read back");
+            }
+
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return Files.size(file);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new RuntimeException("Could not write attendance archive " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,508 @@
+package com.academix.server.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.academix.server.event.AttendanceMarkedEvent;
+import com.academix.server.model.Attendance;
+import com.academix.server.model.AttendanceArchive;
+import com.academix.server.repository.AttendanceRepository;
+
+/**
+ * Compact in-memory copy of attendance history: per student and term, one
+ * bitset per status with a bit for every (day, session) slot. The attendance
+ * table allows one mark per student, date and session, so every row maps to
+ * exactly one bit and counts are bitset cardinalities. Term statistics,
+ * streaks and high-absence lists are answered from here instead of scanning
+ * the table. Kept in sync from {@link AttendanceMarkedEvent} after commit.
+ * A rebuild loads into a fresh set of maps and swaps it in whole, so queries
+ * keep answering from the previous copy while it runs.
+ */
+@Service
+public class AttendanceBitmapService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceBitmapService.class);
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+    private static final int SESSIONS = Attendance.SessionType.values().length;
+    private static final Attendance.AttendanceStatus[] STATUSES = Attendance.AttendanceStatus.values();
+
+    // Statuses counted as attending, as in AttendanceRepository.countPresentDaysForStudent
+    private static final Attendance.AttendanceStatus[] PRESENT_STATUSES = {
+        Attendance.AttendanceStatus.PRESENT, Attendance.AttendanceStatus.LATE,
+        Attendance.AttendanceStatus.EARLY_DEPARTURE, Attendance.AttendanceStatus.HALF_DAY
+    };
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    @Autowired
+    private AttendanceArchiveReader attendanceArchiveReader;
+
+    private record TermKey(String academicYear, Integer term) {
+    }
+
+    /**
+     * Marked, attended and absent slots of a student in a date window
+     */
+    public record WindowCounts(long marked, long present, long absent) {
+
+        public double rate() {
+            return marked > 0 ? present * 100.0 / marked : 0.0;
+        }
+    }
+
+    /**
+     * All student bitmaps of one term. Slot 0 is the first session of
+     * baseDay; an earlier date rebases every student of the term.
+     */
+    private static final class TermBitmaps {
+        private long baseDay = Long.MIN_VALUE;
+        private final Map<Long, StudentBitmaps> students = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * One student's marks in a term: bitsets by status ordinal, created on first use
+     */
+    private static final class StudentBitmaps {
+        private final BitSet[] byStatus = new BitSet[STATUSES.length];
+        private String studentName;
+        private String className;
+
+        BitSet status(Attendance.AttendanceStatus status) {
+            BitSet bits = byStatus[status.ordinal()];
+            if (bits == null) {
+                bits = new BitSet();
+                byStatus[status.ordinal()] = bits;
+            }
+            return bits;
+        }
+
+        BitSet union(Attendance.AttendanceStatus... statuses) {
+            BitSet union = new BitSet();
+            for (Attendance.AttendanceStatus status : statuses) {
+                if (byStatus[status.ordinal()] != null) {
+                    union.or(byStatus[status.ordinal()]);
+                }
+            }
+            return union;
+        }
+
+        int count(Attendance.AttendanceStatus status) {
+            BitSet bits = byStatus[status.ordinal()];
+            return bits != null ? bits.cardinality() : 0;
+        }
+    }
+
+    /**
+     * Everything a rebuild replaces at once
+     */
+    private static final class Bitmaps {
+        private final Map<TermKey, TermBitmaps> terms = new ConcurrentHashMap<>();
+
+        // Terms each student has marks in, so windows only visit those terms
+        private final Map<Long, Set<TermKey>> termsByStudent = new ConcurrentHashMap<>();
+
+        // Latest name and class of each student, and the students of each class
+        private final Map<Long, String> nameOfStudent = new ConcurrentHashMap<>();
+        private final Map<Long, String> classOfStudent = new ConcurrentHashMap<>();
+        private final Map<String, Set<Long>> studentsByClass = new ConcurrentHashMap<>();
+    }
+
+    // A committed mark, kept while a rebuild runs so it can be applied to the new copy too
+    private record Mark(Long studentId, String studentName, String className, LocalDate date,
+                        Attendance.SessionType sessionType, String academicYear, Integer term,
+                        Attendance.AttendanceStatus status) {
+    }
+
+    private volatile Bitmaps history = new Bitmaps();
+
+    // Bumped on every mark applied to a class, for callers caching per-class results
+    private final Map<String, AtomicLong> classVersions = new ConcurrentHashMap<>();
+
+    // Guards applying event marks, the replay list and the swap
+    private final Object writeLock = new Object();
+
+    // Marks committed during a rebuild; null when none is running
+    private List<Mark> replay;
+
+    private volatile boolean ready;
+
+    /**
+     * Whether the history has been loaded; callers fall back to SQL until then
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Reload every bitmap from the attendance table
+     */
+    public synchronized Map<String, Object> rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (writeLock) {
+            replay = new ArrayList<>();
+        }
+
+        Bitmaps building = new Bitmaps();
+        long rows = 0;
+        try {
+            long afterId = 0L;
+            List<Object[]> batch;
+            do {
+                // id, studentId, studentName, className, date, sessionType, status, academicYear, term
+                batch = attendanceRepository.findBitmapRowsAfter(afterId, Limit.of(LOAD_BATCH_SIZE));
+                for (Object[] row : batch) {
+                    apply(building, (Long) row[1], (String) row[2], (String) row[3], (LocalDate) row[4],
+                        (Attendance.SessionType) row[5], (String) row[7], (Integer) row[8], (Attendance.AttendanceStatus) row[6]);
+                    afterId = (Long) row[0];
+                }
+                rows += batch.size();
+            } while (batch.size() == LOAD_BATCH_SIZE);
+
+            // Closed terms moved out of the table are still history
+            for (AttendanceArchive archive : attendanceArchiveReader.getArchives()) {
+                for (Attendance a : attendanceArchiveReader.readTermUncached(archive)) {
+                    apply(building, a.getStudentId(), a.getStudentName(), a.getClassName(), a.getDate(),
+                        a.getSessionType(), a.getAcademicYear(), a.getTerm(), a.getStatus());
+                }
+                rows += archive.getRowCount();
+            }
+
+            // Marks committed while loading may be missing from the pages already read
+            synchronized (writeLock) {
+                for (Mark mark : replay) {
+                    apply(building, mark);
+                }
+                history = building;
+            }
+        } finally {
+            synchronized (writeLock) {
+                replay = null;
+            }
+        }
+        // Per-class results cached against the old copy are stale now
+        for (AtomicLong version : classVersions.values()) {
+            version.incrementAndGet();
+        }
+
+        ready = true;
+        long elapsed = System.currentTimeMillis() - start;
+        logger.info("Attendance bitmaps built - {} marks across {} terms in {} ms", rows, building.terms.size(), elapsed);
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("marks", rows);
+        stats.put("terms", building.terms.size());
+        stats.put("buildMillis", elapsed);
+        return stats;
+    }
+
+    /**
+     * Apply committed marks; a null status removes the mark
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceMarked(AttendanceMarkedEvent event) {
+        for (AttendanceMarkedEvent.Entry entry : event.entries()) {
+            if (entry.academicYear() == null || entry.term() == null || entry.date() == null) {
+                continue;
+            }
+            Mark mark = new Mark(entry.studentId(), entry.studentName(), entry.className(), entry.date(),
+                entry.sessionType(), entry.academicYear(), entry.term(), entry.status());
+            synchronized (writeLock) {
+                apply(history, mark);
+                if (replay != null) {
+                    replay.add(mark);
+                }
+            }
+        }
+    }
+
+    private void apply(Bitmaps target, Mark mark) {
+        apply(target, mark.studentId(), mark.studentName(), mark.className(), mark.date(),
+            mark.sessionType(), mark.academicYear(), mark.term(), mark.status());
+    }
+
+    private void apply(Bitmaps target, Long studentId, String studentName, String className, LocalDate date,
+                       Attendance.SessionType sessionType, String academicYear, Integer term,
+                       Attendance.AttendanceStatus status) {
+        TermKey termKey = new TermKey(academicYear, term);
+        TermBitmaps termBitmaps = target.terms.computeIfAbsent(termKey, key -> new TermBitmaps());
+        target.termsByStudent.computeIfAbsent(studentId, id -> ConcurrentHashMap.newKeySet()).add(termKey);
+        Attendance.SessionType session = sessionType != null ? sessionType : Attendance.SessionType.FULL_DAY;
+
+        synchronized (termBitmaps) {
+            long day = date.toEpochDay();
+            if (termBitmaps.baseDay == Long.MIN_VALUE) {
+                termBitmaps.baseDay = day;
+            } else if (day < termBitmaps.baseDay) {
+                rebase(termBitmaps, day);
+            }
+            int slot = (int) (day - termBitmaps.baseDay) * SESSIONS + session.ordinal();
+
+            StudentBitmaps student = termBitmaps.students.computeIfAbsent(studentId, id -> new StudentBitmaps());
+            // One mark per slot: clear whatever status the slot had before
+            for (BitSet bits : student.byStatus) {
+                if (bits != null) {
+                    bits.clear(slot);
+                }
+            }
+            if (status != null) {
+                student.status(status).set(slot);
+            }
+            if (studentName != null) {
+                student.studentName = studentName;
+            }
+            if (className != null) {
+                student.className = className;
+            }
+        }
+        if (studentName != null) {
+            target.nameOfStudent.put(studentId, studentName);
+        }
+        trackClass(target, studentId, className);
+    }
+
+    private void trackClass(Bitmaps target, Long studentId, String className) {
+        if (className == null) {
+            return;
+        }
+        String previous = target.classOfStudent.put(studentId, className);
+        if (previous != null && !previous.equals(className)) {
+            Set<Long> members = target.studentsByClass.get(previous);
+            if (members != null) {
+                members.remove(studentId);
+            }
+            classVersions.computeIfAbsent(previous, key -> new AtomicLong()).incrementAndGet();
+        }
+        target.studentsByClass.computeIfAbsent(className, key -> ConcurrentHashMap.newKeySet()).add(studentId);
+        classVersions.computeIfAbsent(className, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    // Move every slot of the term so that newBase becomes slot 0
+    private void rebase(TermBitmaps bitmaps, long newBase) {
+        int shift = (int) (bitmaps.baseDay - newBase) * SESSIONS;
+        for (StudentBitmaps student : bitmaps.students.values()) {
+            for (int s = 0; s < student.byStatus.length; s++) {
+                BitSet bits = student.byStatus[s];
+                if (bits == null) {
+                    continue;
+                }
+                BitSet shifted = new BitSet(bits.length() + shift);
+                for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+                    shifted.set(i + shift);
+                }
+                student.byStatus[s] = shifted;
+            }
+        }
+        bitmaps.baseDay = newBase;
+    }
+
+    // ============ QUERIES ============
+
+    /**
+     * Students whose latest mark was in this class
+     */
+    public Set<Long> getStudentsOfClass(String className) {
+        Set<Long> members = history.studentsByClass.get(className);
+        return members != null ? Set.copyOf(members) : Set.of();
+    }
+
+    /**
+     * Name of a student as on their latest mark
+     */
+    public String getStudentName(Long studentId) {
+        return history.nameOfStudent.get(studentId);
+    }
+
+    /**
+     * Changes whenever a mark of the class is applied
+     */
+    public long getClassVersion(String className) {
+        AtomicLong version = classVersions.get(className);
+        return version != null ? version.get() : 0L;
+    }
+
+    /**
+     * Slot counts of a student between two dates inclusive, across terms
+     */
+    public WindowCounts countWindow(Long studentId, LocalDate from, LocalDate to) {
+        long marked = 0;
+        long present = 0;
+        long absent = 0;
+        Bitmaps current = history;
+        for (TermKey termKey : current.termsByStudent.getOrDefault(studentId, Set.of())) {
+            TermBitmaps bitmaps = current.terms.get(termKey);
+            if (bitmaps == null) {
+                continue;
+            }
+            synchronized (bitmaps) {
+                StudentBitmaps student = bitmaps.students.get(studentId);
+                if (student == null) {
+                    continue;
+                }
+                long fromSlot = Math.max(0, (from.toEpochDay() - bitmaps.baseDay) * SESSIONS);
+                long toSlot = (to.toEpochDay() - bitmaps.baseDay + 1) * SESSIONS;
+                if (toSlot <= fromSlot) {
+                    continue;
+                }
+                int end = (int) Math.min(toSlot, Integer.MAX_VALUE);
+                for (Attendance.AttendanceStatus status : STATUSES) {
+                    BitSet bits = student.byStatus[status.ordinal()];
+                    if (bits == null) {
+                        continue;
+                    }
+                    long count = bits.get((int) fromSlot, end).cardinality();
+                    marked += count;
+                    if (status == Attendance.AttendanceStatus.ABSENT) {
+                        absent += count;
+                    }
+                }
+                present += student.union(PRESENT_STATUSES).get((int) fromSlot, end).cardinality();
+            }
+        }
+        return new WindowCounts(marked, present, absent);
+    }
+
+    /**
+     * Term totals for a student, the same figures as the SQL statistics
+     */
+    public Map<String, Object> getStudentStats(Long studentId, String academicYear, Integer term) {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("studentId", studentId);
+        stats.put("academicYear", academicYear);
+        stats.put("term", term);
+
+        long totalDays = 0;
+        long presentDays = 0;
+        Map<String, Long> byStatus = new HashMap<>();
+
+        TermBitmaps bitmaps = history.terms.get(new TermKey(academicYear, term));
+        StudentBitmaps student = bitmaps != null ? bitmaps.students.get(studentId) : null;
+        if (student != null) {
+            synchronized (bitmaps) {
+                for (Attendance.AttendanceStatus status : STATUSES) {
+                    int count = student.count(status);
+                    if (count > 0) {
+                        byStatus.put(status.name(), (long) count);
+                        totalDays += count;
+                    }
+                }
+                presentDays = student.union(PRESENT_STATUSES).cardinality();
+            }
+        }
+
+        stats.put("totalDays", totalDays);
+        stats.put("presentDays", presentDays);
+        stats.put("absentDays", totalDays - presentDays);
+        stats.put("attendancePercentage", totalDays > 0 ? (presentDays * 100.0 / totalDays) : 0);
+        stats.put("byStatus", byStatus);
+        return stats;
+    }
+
+    /**
+     * Students with at least threshold ABSENT marks in a term, most absences first
+     */
+    public List<Map<String, Object>> getStudentsWithHighAbsences(String academicYear, Integer term, long threshold) {
+        List<Map<String, Object>> result = new ArrayList<>();
+        TermBitmaps bitmaps = history.terms.get(new TermKey(academicYear, term));
+        if (bitmaps == null) {
+            return result;
+        }
+
+        synchronized (bitmaps) {
+            for (Map.Entry<Long, StudentBitmaps> entry : bitmaps.students.entrySet()) {
+                long absences = entry.getValue().count(Attendance.AttendanceStatus.ABSENT);
+                if (absences >= threshold && absences > 0) {
+                    Map<String, Object> row = new HashMap<>();
+                    row.put("studentId", entry.getKey());
+                    row.put("studentName", entry.getValue().studentName);
+                    row.put("className", entry.getValue().className);
+                    row.put("absences", absences);
+                    result.add(row);
+                }
+            }
+        }
+        result.sort(Comparator.comparingLong((Map<String, Object> row) -> (Long) row.get("absences")).reversed());
+        return result;
+    }
+
+    /**
+     * Absence streaks over the days a student was marked in a term.
+     * A day counts as absent when any of its sessions was marked ABSENT and
+     * none was attended; unmarked days (weekends, holidays) do not break a streak.
+     */
+    public Map<String, Object> getStreaks(Long studentId, String academicYear, Integer term) {
+        Map<String, Object> streaks = new HashMap<>();
+        streaks.put("studentId", studentId);
+        streaks.put("academicYear", academicYear);
+        streaks.put("term", term);
+
+        int current = 0;
+        int longest = 0;
+        int presentStreak = 0;
+        LocalDate lastMarked = null;
+
+        TermBitmaps bitmaps = history.terms.get(new TermKey(academicYear, term));
+        StudentBitmaps student = bitmaps != null ? bitmaps.students.get(studentId) : null;
+        if (student != null) {
+            synchronized (bitmaps) {
+                BitSet marked = student.union(STATUSES);
+                BitSet present = student.union(PRESENT_STATUSES);
+                BitSet absent = student.union(Attendance.AttendanceStatus.ABSENT);
+
+                int lastDay = marked.isEmpty() ? -1 : (marked.length() - 1) / SESSIONS;
+                for (int day = 0; day <= lastDay; day++) {
+                    int from = day * SESSIONS;
+                    int to = from + SESSIONS;
+                    if (marked.nextSetBit(from) < 0 || marked.nextSetBit(from) >= to) {
+                        continue;
+                    }
+                    boolean attended = inRange(present, from, to);
+                    boolean absentDay = !attended && inRange(absent, from, to);
+                    if (absentDay) {
+                        current++;
+                        longest = Math.max(longest, current);
+                        presentStreak = 0;
+                    } else {
+                        current = 0;
+                        presentStreak = attended ? presentStreak + 1 : 0;
+                    }
+                    lastMarked = LocalDate.ofEpochDay(bitmaps.baseDay + day);
+                }
+            }
+        }
+
+        streaks.put("currentAbsenceStreak", current);
+        streaks.put("longestAbsenceStreak", longest);
+        streaks.put("currentPresenceStreak", presentStreak);
+        streaks.put("lastMarkedDate", lastMarked);
+        return streaks;
+    }
+
+    private static boolean inRange(BitSet bits, int from, int to) {
+        int next = bits.nextSetBit(from);
+        return next >= 0 && next < to;
+    }
+}
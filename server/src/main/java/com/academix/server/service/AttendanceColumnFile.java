@@ -0,0 +1,264 @@
+package com.academix.server.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.academix.server.model.Attendance;
+
+/**
+ * Compressed columnar file format for archived attendance.
+ * Rows are sorted by id and stored column by column: numbers as zigzag
+ * varint deltas, text and enums through a per-column dictionary, each with a
+ * null bitmap, all behind GZIP. A term of marks repeats the same few
+ * classes, names, dates and statuses, so it shrinks to a small fraction of
+ * its row size.
+ */
+final class AttendanceColumnFile {
+
+    private static final int MAGIC = 0x41434F4C; // "ACOL"
+    private static final int VERSION = 1;
+
+    private AttendanceColumnFile() {
+    }
+
+    static void write(Path file, List<Attendance> rows) throws IOException {
+        try (OutputStream raw = Files.newOutputStream(file);
+             DataOutputStream out = new DataOutputStream(
+                 new BufferedOutputStream(new GZIPOutputStream(raw, 1 << 16)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeVarLong(out, rows.size());
+
+            writeLongs(out, rows, Attendance::getId);
+            writeLongs(out, rows, Attendance::getStudentId);
+            writeStrings(out, rows, Attendance::getStudentNumber);
+            writeStrings(out, rows, Attendance::getStudentName);
+            writeStrings(out, rows, Attendance::getClassName);
+            writeStrings(out, rows, Attendance::getStream);
+            writeLongs(out, rows, a -> a.getDate() != null ? a.getDate().toEpochDay() : null);
+            writeStrings(out, rows, a -> name(a.getStatus()));
+            writeStrings(out, rows, a -> name(a.getSessionType()));
+            writeLongs(out, rows, a -> a.getCheckInTime() != null ? (long) a.getCheckInTime().toSecondOfDay() : null);
+            writeLongs(out, rows, a -> a.getCheckOutTime() != null ? (long) a.getCheckOutTime().toSecondOfDay() : null);
+            writeStrings(out, rows, Attendance::getSubjectCode);
+            writeStrings(out, rows, Attendance::getSubjectName);
+            writeLongs(out, rows, a -> a.getPeriodNumber() != null ? (long) a.getPeriodNumber() : null);
+            writeStrings(out, rows, Attendance::getAcademicYear);
+            writeLongs(out, rows, a -> a.getTerm() != null ? (long) a.getTerm() : null);
+            writeLongs(out, rows, a -> a.getWeekNumber() != null ? (long) a.getWeekNumber() : null);
+            writeStrings(out, rows, a -> name(a.getAbsenceReason()));
+            writeStrings(out, rows, Attendance::getAbsenceNote);
+            writeLongs(out, rows, a -> flag(a.getIsExcused()));
+            writeLongs(out, rows, a -> flag(a.getParentNotified()));
+            writeLongs(out, rows, a -> epochSecond(a.getParentNotifiedAt()));
+            writeLongs(out, rows, Attendance::getMarkedBy);
+            writeStrings(out, rows, Attendance::getMarkedByName);
+            writeLongs(out, rows, a -> epochSecond(a.getCreatedAt()));
+            writeLongs(out, rows, a -> epochSecond(a.getUpdatedAt()));
+            writeLongs(out, rows, Attendance::getModifiedBy);
+        }
+    }
+
+    static List<Attendance> read(Path file) throws IOException {
+        try (InputStream raw = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(
+                 new BufferedInputStream(new GZIPInputStream(raw, 1 << 16)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not an attendance archive: " + file);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported attendance archive version " + version + ": " + file);
+            }
+
+            int size = (int) readVarLong(in);
+            List<Attendance> rows = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                rows.add(new Attendance());
+            }
+
+            readLongs(in, rows, Attendance::setId);
+            readLongs(in, rows, Attendance::setStudentId);
+            readStrings(in, rows, Attendance::setStudentNumber);
+            readStrings(in, rows, Attendance::setStudentName);
+            readStrings(in, rows, Attendance::setClassName);
+            readStrings(in, rows, Attendance::setStream);
+            readLongs(in, rows, (a, v) -> a.setDate(v != null ? LocalDate.ofEpochDay(v) : null));
+            readStrings(in, rows, (a, v) -> a.setStatus(v != null ? Attendance.AttendanceStatus.valueOf(v) : null));
+            readStrings(in, rows, (a, v) -> a.setSessionType(v != null ? Attendance.SessionType.valueOf(v) : null));
+            readLongs(in, rows, (a, v) -> a.setCheckInTime(v != null ? LocalTime.ofSecondOfDay(v) : null));
+            readLongs(in, rows, (a, v) -> a.setCheckOutTime(v != null ? LocalTime.ofSecondOfDay(v) : null));
+            readStrings(in, rows, Attendance::setSubjectCode);
+            readStrings(in, rows, Attendance::setSubjectName);
+            readLongs(in, rows, (a, v) -> a.setPeriodNumber(v != null ? v.intValue() : null));
+            readStrings(in, rows, Attendance::setAcademicYear);
+            readLongs(in, rows, (a, v) -> a.setTerm(v != null ? v.intValue() : null));
+            readLongs(in, rows, (a, v) -> a.setWeekNumber(v != null ? v.intValue() : null));
+            readStrings(in, rows, (a, v) -> a.setAbsenceReason(v != null ? Attendance.AbsenceReason.valueOf(v) : null));
+            readStrings(in, rows, Attendance::setAbsenceNote);
+            readLongs(in, rows, (a, v) -> a.setIsExcused(v != null ? v != 0 : null));
+            readLongs(in, rows, (a, v) -> a.setParentNotified(v != null ? v != 0 : null));
+            readLongs(in, rows, (a, v) -> a.setParentNotifiedAt(dateTime(v)));
+            readLongs(in, rows, Attendance::setMarkedBy);
+            readStrings(in, rows, Attendance::setMarkedByName);
+            readLongs(in, rows, (a, v) -> a.setCreatedAt(dateTime(v)));
+            readLongs(in, rows, (a, v) -> a.setUpdatedAt(dateTime(v)));
+            readLongs(in, rows, Attendance::setModifiedBy);
+            return rows;
+        }
+    }
+
+    // ============ COLUMNS ============
+
+    // Null bitmap, then deltas between consecutive non-null values
+    private static void writeLongs(DataOutputStream out, List<Attendance> rows,
+                                   Function<Attendance, Long> column) throws IOException {
+        BitSet present = new BitSet(rows.size());
+        long[] values = new long[rows.size()];
+        int count = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            Long value = column.apply(rows.get(i));
+            if (value != null) {
+                present.set(i);
+                values[count++] = value;
+            }
+        }
+        writeBitmap(out, present);
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            writeVarLong(out, zigzag(values[i] - previous));
+            previous = values[i];
+        }
+    }
+
+    private static void readLongs(DataInputStream in, List<Attendance> rows,
+                                  BiConsumer<Attendance, Long> column) throws IOException {
+        BitSet present = readBitmap(in);
+        long previous = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            if (present.get(i)) {
+                previous += unzigzag(readVarLong(in));
+                column.accept(rows.get(i), previous);
+            } else {
+                column.accept(rows.get(i), null);
+            }
+        }
+    }
+
+    // Dictionary of distinct values, then one code per row (0 for null)
+    private static void writeStrings(DataOutputStream out, List<Attendance> rows,
+                                     Function<Attendance, String> column) throws IOException {
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        int[] codes = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            String value = column.apply(rows.get(i));
+            if (value != null) {
+                Integer code = dictionary.get(value);
+                if (code == null) {
+                    code = entries.size() + 1;
+                    dictionary.put(value, code);
+                    entries.add(value);
+                }
+                codes[i] = code;
+            }
+        }
+        writeVarLong(out, entries.size());
+        for (String entry : entries) {
+            out.writeUTF(entry);
+        }
+        for (int code : codes) {
+            writeVarLong(out, code);
+        }
+    }
+
+    private static void readStrings(DataInputStream in, List<Attendance> rows,
+                                    BiConsumer<Attendance, String> column) throws IOException {
+        int size = (int) readVarLong(in);
+        String[] entries = new String[size + 1];
+        for (int i = 1; i <= size; i++) {
+            entries[i] = in.readUTF();
+        }
+        for (Attendance row : rows) {
+            column.accept(row, entries[(int) readVarLong(in)]);
+        }
+    }
+
+    private static void writeBitmap(DataOutputStream out, BitSet bits) throws IOException {
+        byte[] bytes = bits.toByteArray();
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static BitSet readBitmap(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[(int) readVarLong(in)];
+        in.readFully(bytes);
+        return BitSet.valueOf(bytes);
+    }
+
+    // ============ ENCODING ============
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static String name(Enum<?> value) {
+        return value != null ? value.name() : null;
+    }
+
+    private static Long flag(Boolean value) {
+        return value != null ? (value ? 1L : 0L) : null;
+    }
+
+    private static Long epochSecond(LocalDateTime value) {
+        return value != null ? value.toEpochSecond(ZoneOffset.UTC) : null;
+    }
+
+    private static LocalDateTime dateTime(Long epochSecond) {
+        return epochSecond != null ? LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC) : null;
+    }
+}
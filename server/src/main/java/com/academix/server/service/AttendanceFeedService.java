@@ -0,0 +1,234 @@
+package com.academix.server.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.academix.server.event.AttendanceMarkedEvent;
+import com.academix.server.model.Attendance;
+import com.academix.server.repository.AttendanceRepository;
+
+/**
+ * Pushes committed attendance marks to STOMP subscribers.
+ * Every batch of marks goes out once on the school-wide topic and once per
+ * class on that class's topic, together with the change to the class's daily
+ * counts. A running copy of today's counts is kept so a client can take one
+ * snapshot on subscribe and apply the deltas from then on, instead of
+ * polling the daily summary.
+ */
+@Service
+public class AttendanceFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceFeedService.class);
+
+    public static final String SCHOOL_TOPIC = "/topic/attendance";
+    public static final String CLASS_TOPIC_PREFIX = "/topic/attendance/class/";
+
+    // Index of each count in a class's counts array, as in getDailyAttendanceSummary
+    private static final int PRESENT = 0;
+    private static final int ABSENT = 1;
+    private static final int LATE = 2;
+    private static final int TOTAL = 3;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    // Increases with every published batch; a client drops deltas already covered by its snapshot
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Today's counts per class, guarded by this
+    private LocalDate summaryDate;
+    private final Map<String, long[]> summary = new TreeMap<>();
+
+    /**
+     * Destination of a class's feed
+     */
+    public static String classTopic(String className) {
+        return CLASS_TOPIC_PREFIX + className;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void onApplicationReady() {
+        ensureToday();
+    }
+
+    /**
+     * Runs under the same lock as the snapshot, so a snapshot's sequence
+     * number always matches the counts it contains
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAttendanceMarked(AttendanceMarkedEvent event) {
+        if (event.entries().isEmpty()) {
+            return;
+        }
+        try {
+            publish(event);
+        } catch (Exception e) {
+            // Subscribers resync from the snapshot; never fail the request that marked attendance
+            logger.warn("Could not push attendance feed: {}", e.getMessage());
+        }
+    }
+
+    private void publish(AttendanceMarkedEvent event) {
+        // Marks are committed by now, so counts reloaded here already contain this batch
+        boolean reloaded = ensureToday();
+
+        // Group marks by date and class, keeping the order they were written in
+        Map<LocalDate, Map<String, List<AttendanceMarkedEvent.Entry>>> grouped = new LinkedHashMap<>();
+        for (AttendanceMarkedEvent.Entry entry : event.entries()) {
+            grouped.computeIfAbsent(entry.date(), date -> new LinkedHashMap<>())
+                .computeIfAbsent(entry.className(), className -> new ArrayList<>())
+                .add(entry);
+        }
+
+        List<Map<String, Object>> classDeltas = new ArrayList<>();
+        for (Map.Entry<LocalDate, Map<String, List<AttendanceMarkedEvent.Entry>>> byDate : grouped.entrySet()) {
+            for (Map.Entry<String, List<AttendanceMarkedEvent.Entry>> byClass : byDate.getValue().entrySet()) {
+                long[] change = new long[4];
+                List<Map<String, Object>> marks = new ArrayList<>();
+                for (AttendanceMarkedEvent.Entry entry : byClass.getValue()) {
+                    count(change, entry.previousStatus(), -1);
+                    count(change, entry.status(), 1);
+                    marks.add(toMark(entry));
+                }
+
+                Map<String, Object> delta = new HashMap<>();
+                delta.put("date", byDate.getKey());
+                delta.put("className", byClass.getKey());
+                delta.put("change", toCounts(change));
+                delta.put("marks", marks);
+                Map<String, Object> totals = applyToSummary(byDate.getKey(), byClass.getKey(), change, reloaded);
+                if (totals != null) {
+                    delta.put("totals", totals);
+                }
+                classDeltas.add(delta);
+            }
+        }
+
+        long seq = sequence.incrementAndGet();
+        for (Map<String, Object> delta : classDeltas) {
+            if (delta.get("className") != null) {
+                send(classTopic((String) delta.get("className")), seq, List.of(delta));
+            }
+        }
+        send(SCHOOL_TOPIC, seq, classDeltas);
+    }
+
+    /**
+     * Today's per-class counts with the sequence number they are current to.
+     * Deltas with a higher sequence number apply on top of it.
+     */
+    public synchronized Map<String, Object> getTodaySnapshot(String className) {
+        ensureToday();
+        List<Map<String, Object>> classes = new ArrayList<>();
+        for (Map.Entry<String, long[]> entry : summary.entrySet()) {
+            if (className == null || className.equals(entry.getKey())) {
+                Map<String, Object> row = toCounts(entry.getValue());
+                row.put("className", entry.getKey());
+                classes.add(row);
+            }
+        }
+
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("type", "SNAPSHOT");
+        snapshot.put("sequence", sequence.get());
+        snapshot.put("date", summaryDate);
+        snapshot.put("classes", classes);
+        return snapshot;
+    }
+
+    // Update today's running counts; returns the class's new totals, or null for other dates
+    private Map<String, Object> applyToSummary(LocalDate date, String className, long[] change, boolean reloaded) {
+        if (!summaryDate.equals(date) || className == null) {
+            return null;
+        }
+        long[] counts = summary.computeIfAbsent(className, key -> new long[4]);
+        if (!reloaded) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += change[i];
+            }
+        }
+        return toCounts(counts);
+    }
+
+    // Reload the counts from the table when the day rolls over; true when they were reloaded
+    private boolean ensureToday() {
+        LocalDate today = LocalDate.now();
+        if (today.equals(summaryDate)) {
+            return false;
+        }
+        summary.clear();
+        for (Object[] row : attendanceRepository.getDailyAttendanceSummary(today)) {
+            summary.put((String) row[0], new long[] {
+                toLong(row[1]), toLong(row[2]), toLong(row[3]), toLong(row[4])
+            });
+        }
+        summaryDate = today;
+        return true;
+    }
+
+    private void send(String destination, long seq, List<Map<String, Object>> deltas) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", "DELTA");
+        message.put("sequence", seq);
+        message.put("deltas", deltas);
+        messagingTemplate.convertAndSend(destination, (Object) message);
+    }
+
+    private static void count(long[] counts, Attendance.AttendanceStatus status, int sign) {
+        if (status == null) {
+            return;
+        }
+        counts[TOTAL] += sign;
+        switch (status) {
+            case PRESENT -> counts[PRESENT] += sign;
+            case ABSENT -> counts[ABSENT] += sign;
+            case LATE -> counts[LATE] += sign;
+            default -> {
+            }
+        }
+    }
+
+    private static Map<String, Object> toMark(AttendanceMarkedEvent.Entry entry) {
+        Map<String, Object> mark = new HashMap<>();
+        mark.put("attendanceId", entry.attendanceId());
+        mark.put("studentId", entry.studentId());
+        mark.put("studentNumber", entry.studentNumber());
+        mark.put("studentName", entry.studentName());
+        mark.put("stream", entry.stream());
+        mark.put("sessionType", entry.sessionType());
+        mark.put("previousStatus", entry.previousStatus());
+        mark.put("status", entry.status());
+        return mark;
+    }
+
+    private static Map<String, Object> toCounts(long[] counts) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("present", counts[PRESENT]);
+        row.put("absent", counts[ABSENT]);
+        row.put("late", counts[LATE]);
+        row.put("total", counts[TOTAL]);
+        return row;
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -12,9 +13,15 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.academix.server.dto.AttendanceDto;
+import com.academix.server.dto.ListDto;
+import com.academix.server.event.AttendanceMarkedEvent;
 import com.academix.server.model.Attendance;
 import com.academix.server.model.Student;
 import com.academix.server.repository.AttendanceRepository;
@@ -32,6 +39,18 @@ public class AttendanceService {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AttendanceBitmapService attendanceBitmapService;
+
+    @Autowired
+    private AttendanceAnalyticsService attendanceAnalyticsService;
+
+    @Autowired
+    private AttendanceArchiveReader attendanceArchiveReader;
+
     /**
      * Mark attendance for a student
      * POST /api/attendance/mark
@@ -72,6 +91,7 @@ public class AttendanceService {
         }
 
         Attendance saved = attendanceRepository.save(attendance);
+        eventPublisher.publishEvent(AttendanceMarkedEvent.of(saved, null));
         logger.info("Attendance marked: {} - {} - {}", 
             student.getStudentId(), attendance.getDate(), attendance.getStatus());
 
@@ -107,12 +127,144 @@ public class AttendanceService {
         return result;
     }
 
+    /**
+     * Record a class roll call in one transaction.
+     * The class roster and the marks already taken for the session are read
+     * with one query each; new marks are then inserted and changed marks
+     * updated in JDBC batches.
+     * POST /api/attendance/roll-call
+     */
+    public Map<String, Object> recordRollCall(AttendanceDto.RollCallRequest request) {
+        String className = request.getClassName();
+        Attendance.SessionType sessionType = request.getSessionType() != null
+            ? request.getSessionType()
+            : Attendance.SessionType.FULL_DAY;
+
+        // Roster: id -> [id, studentId, firstName, otherNames, lastName, stream]
+        Map<Long, Object[]> roster = new LinkedHashMap<>();
+        for (Object[] row : studentRepository.findRollCallRoster(className, request.getStream())) {
+            roster.put((Long) row[0], row);
+        }
+        if (roster.isEmpty()) {
+            throw new RuntimeException("No active students found in class: " + className);
+        }
+
+        List<Map<String, Object>> errors = new ArrayList<>();
+        Map<Long, AttendanceDto.Mark> wanted = new LinkedHashMap<>();
+        for (AttendanceDto.Mark mark : request.getMarks()) {
+            if (!roster.containsKey(mark.getStudentId())) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("studentId", mark.getStudentId());
+                error.put("error", "Student is not an active member of class " + className);
+                errors.add(error);
+                continue;
+            }
+            wanted.put(mark.getStudentId(), mark);
+        }
+        if (request.getDefaultStatus() != null) {
+            for (Long studentId : roster.keySet()) {
+                if (!wanted.containsKey(studentId)) {
+                    AttendanceDto.Mark mark = new AttendanceDto.Mark();
+                    mark.setStudentId(studentId);
+                    mark.setStatus(request.getDefaultStatus());
+                    wanted.put(studentId, mark);
+                }
+            }
+        }
+
+        // Existing marks: studentId -> [id, studentId, status]
+        Map<Long, Object[]> existing = new HashMap<>();
+        if (!wanted.isEmpty()) {
+            for (Object[] row : attendanceRepository.findRollCallMarks(request.getDate(), sessionType, wanted.keySet())) {
+                existing.put((Long) row[1], row);
+            }
+        }
+
+        LocalTime now = LocalTime.now();
+        List<Attendance> inserts = new ArrayList<>();
+        List<Attendance> updates = new ArrayList<>();
+        List<AttendanceMarkedEvent.Entry> entries = new ArrayList<>();
+        int unchanged = 0;
+
+        for (AttendanceDto.Mark mark : wanted.values()) {
+            Object[] student = roster.get(mark.getStudentId());
+            Object[] previous = existing.get(mark.getStudentId());
+            Attendance.AttendanceStatus previousStatus = previous != null ? (Attendance.AttendanceStatus) previous[2] : null;
+
+            if (previous != null && previousStatus == mark.getStatus() && mark.getCheckInTime() == null
+                    && mark.getAbsenceReason() == null && mark.getAbsenceNote() == null) {
+                unchanged++;
+                continue;
+            }
+
+            Attendance attendance = new Attendance();
+            attendance.setStudentId(mark.getStudentId());
+            attendance.setStudentNumber((String) student[1]);
+            attendance.setStudentName(fullName((String) student[2], (String) student[3], (String) student[4]));
+            attendance.setClassName(className);
+            attendance.setStream((String) student[5]);
+            attendance.setDate(request.getDate());
+            attendance.setSessionType(sessionType);
+            attendance.setStatus(mark.getStatus());
+            attendance.setAcademicYear(request.getAcademicYear());
+            attendance.setTerm(request.getTerm());
+            attendance.setWeekNumber(request.getWeekNumber());
+            attendance.setAbsenceReason(mark.getAbsenceReason());
+            attendance.setAbsenceNote(mark.getAbsenceNote());
+            attendance.setMarkedBy(request.getMarkedBy());
+            attendance.setMarkedByName(request.getMarkedByName());
+
+            // Check-in time for arrivals, unless they were already checked in
+            attendance.setCheckInTime(mark.getCheckInTime());
+            boolean wasPresent = previousStatus != null && isArrival(previousStatus);
+            if (attendance.getCheckInTime() == null && isArrival(mark.getStatus()) && !wasPresent) {
+                attendance.setCheckInTime(now);
+            }
+
+            if (previous != null) {
+                attendance.setId((Long) previous[0]);
+                attendance.setModifiedBy(request.getMarkedBy());
+                updates.add(attendance);
+            } else {
+                inserts.add(attendance);
+            }
+            entries.add(AttendanceMarkedEvent.entryOf(attendance, previousStatus));
+        }
+
+        try {
+            attendanceRepository.batchInsert(inserts);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Attendance for " + className + " was marked concurrently, please retry the roll call");
+        }
+        attendanceRepository.batchUpdateMarks(updates);
+
+        if (!entries.isEmpty()) {
+            eventPublisher.publishEvent(new AttendanceMarkedEvent(entries));
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("className", className);
+        result.put("date", request.getDate());
+        result.put("sessionType", sessionType);
+        result.put("rosterSize", roster.size());
+        result.put("created", inserts.size());
+        result.put("updated", updates.size());
+        result.put("unchanged", unchanged);
+        result.put("failed", errors.size());
+        result.put("errors", errors);
+
+        logger.info("Roll call recorded for {} on {} ({}): {} created, {} updated, {} unchanged, {} failed",
+            className, request.getDate(), sessionType, inserts.size(), updates.size(), unchanged, errors.size());
+        return result;
+    }
+
     /**
      * Update attendance record
      */
     public Attendance updateAttendance(Long id, Attendance details) {
         Attendance attendance = attendanceRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Attendance record not found with id: " + id));
+        Attendance.AttendanceStatus previousStatus = attendance.getStatus();
 
         if (details.getStatus() != null) {
             attendance.setStatus(details.getStatus());
@@ -137,17 +289,21 @@ public class AttendanceService {
         }
 
         logger.info("Attendance updated: {} - {}", attendance.getStudentId(), attendance.getDate());
-        return attendanceRepository.save(attendance);
+        Attendance saved = attendanceRepository.save(attendance);
+        if (saved.getStatus() != previousStatus) {
+            eventPublisher.publishEvent(AttendanceMarkedEvent.of(saved, previousStatus));
+        }
+        return saved;
     }
 
     /**
      * Delete attendance record
      */
     public void deleteAttendance(Long id) {
-        if (!attendanceRepository.existsById(id)) {
-            throw new RuntimeException("Attendance record not found with id: " + id);
-        }
-        attendanceRepository.deleteById(id);
+        Attendance attendance = attendanceRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Attendance record not found with id: " + id));
+        attendanceRepository.delete(attendance);
+        eventPublisher.publishEvent(AttendanceMarkedEvent.deleted(attendance));
         logger.info("Attendance deleted: {}", id);
     }
 
@@ -168,6 +324,17 @@ public class AttendanceService {
         return attendanceRepository.findByClassName(className);
     }
 
+    /**
+     * Get a keyset page of a class's attendance records
+     */
+    @Transactional(readOnly = true)
+    public ListDto.CursorPage<ListDto.AttendanceItem> getAttendanceByClassPage(String className, String after, Integer limit) {
+        long afterId = ListDto.decodeCursor(after);
+        int size = ListDto.clampLimit(limit);
+        return ListDto.CursorPage.of(attendanceRepository.findByClassNameAndIdGreaterThanOrderByIdAsc(
+            className, afterId, Limit.of(size + 1)), size, ListDto.AttendanceItem::getId);
+    }
+
     /**
      * Get attendance by class and date
      */
@@ -181,7 +348,11 @@ public class AttendanceService {
      */
     @Transactional(readOnly = true)
     public List<Attendance> getAttendanceByClassAndDateRange(String className, LocalDate startDate, LocalDate endDate) {
-        return attendanceRepository.findByClassNameAndDateBetween(className, startDate, endDate);
+        // Archived terms first, then the marks still in the table
+        List<Attendance> result = new ArrayList<>(
+            attendanceArchiveReader.findByClassNameAndDateBetween(className, startDate, endDate));
+        result.addAll(attendanceRepository.findByClassNameAndDateBetween(className, startDate, endDate));
+        return result;
     }
 
     /**
@@ -190,7 +361,9 @@ public class AttendanceService {
      */
     @Transactional(readOnly = true)
     public List<Attendance> getAttendanceByStudent(Long studentId) {
-        return attendanceRepository.findByStudentId(studentId);
+        List<Attendance> result = new ArrayList<>(attendanceArchiveReader.findByStudentId(studentId));
+        result.addAll(attendanceRepository.findByStudentId(studentId));
+        return result;
     }
 
     /**
@@ -198,6 +371,9 @@ public class AttendanceService {
      */
     @Transactional(readOnly = true)
     public List<Attendance> getAttendanceByStudentAndPeriod(Long studentId, String academicYear, Integer term) {
+        if (attendanceArchiveReader.isArchived(academicYear, term)) {
+            return attendanceArchiveReader.findByStudentIdAndTerm(studentId, academicYear, term);
+        }
         return attendanceRepository.findByStudentIdAndAcademicYearAndTerm(studentId, academicYear, term);
     }
 
@@ -206,7 +382,10 @@ public class AttendanceService {
      */
     @Transactional(readOnly = true)
     public List<Attendance> getAttendanceByStudentAndDateRange(Long studentId, LocalDate startDate, LocalDate endDate) {
-        return attendanceRepository.findByStudentIdAndDateBetween(studentId, startDate, endDate);
+        List<Attendance> result = new ArrayList<>(
+            attendanceArchiveReader.findByStudentIdAndDateBetween(studentId, startDate, endDate));
+        result.addAll(attendanceRepository.findByStudentIdAndDateBetween(studentId, startDate, endDate));
+        return result;
     }
 
     /**
@@ -238,6 +417,10 @@ public class AttendanceService {
      */
     @Transactional(readOnly = true)
     public Map<String, Object> getStudentAttendanceStats(Long studentId, String academicYear, Integer term) {
+        if (attendanceBitmapService.isReady()) {
+            return attendanceBitmapService.getStudentStats(studentId, academicYear, term);
+        }
+
         Map<String, Object> stats = new HashMap<>();
         
         long totalDays = attendanceRepository.countTotalDaysForStudent(studentId, academicYear, term);
@@ -262,6 +445,33 @@ public class AttendanceService {
         return stats;
     }
 
+    /**
+     * Absence and presence streaks of a student in a term
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStudentAttendanceStreaks(Long studentId, String academicYear, Integer term) {
+        if (!attendanceBitmapService.isReady()) {
+            throw new RuntimeException("Attendance history is still loading, try again shortly");
+        }
+        return attendanceBitmapService.getStreaks(studentId, academicYear, term);
+    }
+
+    /**
+     * Rolling 7-day, 30-day and term rates with an early-warning score for a student
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStudentAttendanceAnalytics(Long studentId, String academicYear, Integer term) {
+        return attendanceAnalyticsService.getStudentAnalytics(studentId, academicYear, term);
+    }
+
+    /**
+     * Students of a class ranked by early-warning score
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAtRiskStudents(String className, String academicYear, Integer term, int limit) {
+        return attendanceAnalyticsService.getAtRiskStudents(className, academicYear, term, limit);
+    }
+
     /**
      * Get class attendance statistics for a date
      */
@@ -314,6 +524,10 @@ public class AttendanceService {
      */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getStudentsWithHighAbsences(String academicYear, Integer term, Long threshold) {
+        if (attendanceBitmapService.isReady()) {
+            return attendanceBitmapService.getStudentsWithHighAbsences(academicYear, term, threshold);
+        }
+
         List<Object[]> data = attendanceRepository.getStudentsWithHighAbsences(academicYear, term, threshold);
         List<Map<String, Object>> result = new ArrayList<>();
 
@@ -385,4 +599,16 @@ public class AttendanceService {
 
         return stats;
     }
+
+    private static boolean isArrival(Attendance.AttendanceStatus status) {
+        return status == Attendance.AttendanceStatus.PRESENT || status == Attendance.AttendanceStatus.LATE;
+    }
+
+    private static String fullName(String firstName, String otherNames, String lastName) {
+        StringBuilder fullName = new StringBuilder(firstName);
+        if (otherNames != null && !otherNames.trim().isEmpty()) {
+            fullName.append(" ").append(otherNames);
+        }
+        return fullName.append(" ").append(lastName).toString();
+    }
 }
@@ -1,12 +1,19 @@
 package com.academix.server.service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.academix.server.dto.AuthDto.AuthResponse;
@@ -23,6 +30,9 @@ import com.academix.server.model.Student;
 import com.academix.server.model.User;
 import com.academix.server.service.SecurityEnhancementService.PasswordValidationResult;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
 @Service
 public class AuthService {
 
@@ -40,9 +50,33 @@ public class AuthService {
     @Autowired
     private SecurityEnhancementService securityService; // Add security service
 
-    // In-memory storage for testing (replace with repository in production)
-    private final Map<String, User> userStorage = new HashMap<>();
-    private Long userIdCounter = 1L;
+    @Autowired
+    private UserStoreService userStore;
+
+    @Autowired
+    private PasswordHashingService passwordHashing;
+
+    // Threads that finish a login once its password is checked (0 = all cores)
+    @Value("${academix.auth.login-threads:0}")
+    private int loginThreads;
+
+    // Lookups, token signing and audit records of a login run here, keeping the hashing pool on BCrypt only
+    private ExecutorService loginExecutor;
+
+    @PostConstruct
+    public void start() {
+        int threads = loginThreads > 0 ? loginThreads : Runtime.getRuntime().availableProcessors();
+        loginExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "login-completion");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loginExecutor.shutdownNow();
+    }
 
     /**
      * Register a new user with enhanced security checks
@@ -55,7 +89,7 @@ public class AuthService {
             }
 
             // Check if email already exists
-            if (userStorage.values().stream().anyMatch(u -> u.getEmail().equals(request.getEmail()))) {
+            if (userStore.emailExists(request.getEmail())) {
                 securityService.recordSecurityEvent(request.getEmail(), "DUPLICATE_REGISTRATION", null);
                 throw new RuntimeException("Email already exists");
             }
@@ -65,7 +99,6 @@ public class AuthService {
 
             // Create new student (or appropriate user type)
             Student student = new Student();
-            student.setId(userIdCounter++);
             student.setFirstName(request.getFirstName());
             student.setOtherNames(request.getOtherNames());
             student.setLastName(request.getLastName());
@@ -73,7 +106,10 @@ public class AuthService {
             student.setPassword(generatedPassword);
             student.setPhoneNumber(request.getPhoneNumber());
             student.setDistrict(request.getDistrict());
-            student.setGender(request.getGender());
+            student.setGender(request.getGender() != null ? request.getGender().trim().toUpperCase() : null);
+            if (request.getDateOfBirth() != null && !request.getDateOfBirth().isBlank()) {
+                student.setDateOfBirth(LocalDate.parse(request.getDateOfBirth()));
+            }
             student.setCreatedAt(LocalDateTime.now());
             student.setUpdatedAt(LocalDateTime.now());
             student.setIsActive(true);
@@ -86,8 +122,8 @@ public class AuthService {
             // Generate email verification token
             String verificationToken = userService.generateEmailVerificationToken(student);
 
-            // Store user
-            userStorage.put(student.getEmail(), student);
+            // Store user; the unique email column rejects a concurrent duplicate
+            student = userStore.create(student);
 
             // Send verification email
             emailService.sendEmailVerificationEmail(student.getEmail(), verificationToken, student.getFullName());
@@ -104,6 +140,8 @@ public class AuthService {
 
             return new AuthResponse("Registration successful! Your login credentials have been sent to your email. Please also verify your email for full account activation.");
 
+        } catch (PasswordHashingService.BusyException e) {
+            throw e;
         } catch (Exception e) {
             securityService.recordSecurityEvent(request.getEmail(), "REGISTRATION_FAILED", e.getMessage());
             logger.error("Registration failed for email: {}", request.getEmail(), e);
@@ -112,9 +150,15 @@ public class AuthService {
     }
 
     /**
-     * Authenticate user login with enhanced security
+     * Authenticate user login with enhanced security. Only the password check
+     * runs on the hashing pool; the rest of the login continues on the login
+     * completion threads, so no request thread waits on BCrypt and the pool's
+     * threads are not held by database or token work. Fails with
+     * BusyException when the pool is saturated.
      */
-    public AuthResponse loginUser(LoginRequest request) {
+    public CompletableFuture<AuthResponse> loginUser(LoginRequest request) {
+        User user;
+        CompletableFuture<Boolean> verification;
         try {
             // Rate limiting check
             if (securityService.isRateLimited(request.getEmail(), "LOGIN")) {
@@ -127,60 +171,110 @@ public class AuthService {
             }
 
             // Find user by email
-            User user = userStorage.get(request.getEmail());
+            user = userStore.findByEmail(request.getEmail()).orElse(null);
             if (user == null) {
                 securityService.recordFailedLoginAttempt(request.getEmail());
                 throw new RuntimeException("Invalid email or password");
             }
 
             // Verify password
-            if (!userService.verifyPassword(request.getPassword(), user.getPassword())) {
-                securityService.recordFailedLoginAttempt(request.getEmail());
-                throw new RuntimeException("Invalid email or password");
-            }
+            verification = passwordHashing.matchesAsync(request.getPassword(), user.getPassword());
+        } catch (PasswordHashingService.BusyException e) {
+            securityService.recordSecurityEvent(request.getEmail(), "LOGIN_REJECTED_BUSY", null);
+            return CompletableFuture.failedFuture(e);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(loginFailed(request, e));
+        }
 
-            // Check if account is ready (active and verified)
-            if (!userService.isAccountReady(user)) {
-                if (!user.getEmailVerified()) {
-                    throw new RuntimeException("Please verify your email before logging in");
-                }
-                if (!user.getIsActive()) {
-                    throw new RuntimeException("Account is disabled. Please contact support");
+        return verification.handleAsync((matched, error) -> {
+            try {
+                if (error != null) {
+                    throw error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
                 }
+                return completeLogin(request, user, matched);
+            } catch (Throwable e) {
+                throw loginFailed(request, e);
             }
+        }, loginExecutor);
+    }
 
-            // Record successful login
-            securityService.recordSuccessfulLogin(request.getEmail());
-
-            // Generate tokens with shorter access token expiry for security
-            String accessToken = jwtService.generateToken(user.getEmail(), getUserRole(user), user.getId());
-            String refreshToken = jwtService.generateRefreshToken(user.getEmail());
-
-            // Create user info
-            UserInfo userInfo = new UserInfo(
-                user.getId(),
-                user.getEmail(),
-                user.getFullName(),
-                getUserRole(user),
-                user.getEmailVerified(),
-                user.getIsActive()
-            );
-
-            securityService.recordSecurityEvent(user.getEmail(), "LOGIN_SUCCESS", "Role: " + getUserRole(user));
-            logger.info("User logged in successfully: {}", user.getEmail());
-
-            return new AuthResponse(
-                "Login successful",
-                accessToken,
-                refreshToken,
-                jwtService.getJwtExpiration(),
-                userInfo
-            );
+    private AuthResponse completeLogin(LoginRequest request, User user, boolean passwordMatches) {
+        if (!passwordMatches) {
+            securityService.recordFailedLoginAttempt(request.getEmail());
+            throw new RuntimeException("Invalid email or password");
+        }
 
-        } catch (Exception e) {
-            securityService.recordSecurityEvent(request.getEmail(), "LOGIN_FAILED", e.getMessage());
-            logger.error("Login failed for email: {}", request.getEmail(), e);
-            throw new RuntimeException(e.getMessage());
+        // Check if account is ready (active and verified)
+        if (!userService.isAccountReady(user)) {
+            if (!user.getEmailVerified()) {
+                throw new RuntimeException("Please verify your email before logging in");
+            }
+            if (!user.getIsActive()) {
+                throw new RuntimeException("Account is disabled. Please contact support");
+            }
+        }
+
+        // Record successful login
+        securityService.recordSuccessfulLogin(request.getEmail());
+
+        // Stored with a lower cost than the current one: rehash now that we know the password
+        if (passwordHashing.needsUpgrade(user.getPassword())) {
+            upgradePasswordHash(user, request.getPassword());
+        }
+
+        // Generate tokens with shorter access token expiry for security
+        String accessToken = jwtService.generateToken(user.getEmail(), getUserRole(user), user.getId());
+        String refreshToken = jwtService.generateRefreshToken(user.getEmail());
+
+        // Create user info
+        UserInfo userInfo = new UserInfo(
+            user.getId(),
+            user.getEmail(),
+            user.getFullName(),
+            getUserRole(user),
+            user.getEmailVerified(),
+            user.getIsActive()
+        );
+
+        securityService.recordSecurityEvent(user.getEmail(), "LOGIN_SUCCESS", "Role: " + getUserRole(user));
+        logger.info("User logged in successfully: {}", user.getEmail());
+
+        return new AuthResponse(
+            "Login successful",
+            accessToken,
+            refreshToken,
+            jwtService.getJwtExpiration(),
+            userInfo
+        );
+    }
+
+    private RuntimeException loginFailed(LoginRequest request, Throwable e) {
+        securityService.recordSecurityEvent(request.getEmail(), "LOGIN_FAILED", e.getMessage());
+        logger.error("Login failed for email: {}", request.getEmail(), e);
+        return new RuntimeException(e.getMessage());
+    }
+
+    /**
+     * Replace a weaker stored hash in the background; skipped when the pool is
+     * busy or the password changed meanwhile, and retried at the next login
+     */
+    private void upgradePasswordHash(User user, String plainPassword) {
+        String previousHash = user.getPassword();
+        try {
+            passwordHashing.hashAsync(plainPassword).thenAcceptAsync(newHash ->
+                userStore.loadByEmail(user.getEmail())
+                    .filter(current -> previousHash.equals(current.getPassword()))
+                    .ifPresent(current -> {
+                        current.setPassword(newHash);
+                        userStore.save(current);
+                        logger.info("Password hash upgraded for user: {}", current.getEmail());
+                    }), loginExecutor
+            ).exceptionally(e -> {
+                logger.warn("Password hash upgrade failed for {}: {}", user.getEmail(), e.getMessage());
+                return null;
+            });
+        } catch (PasswordHashingService.BusyException e) {
+            logger.debug("Password hash upgrade for {} deferred, hashing pool busy", user.getEmail());
         }
     }
 
@@ -195,7 +289,7 @@ public class AuthService {
             }
 
             // Find user by email
-            User user = userStorage.get(request.getEmail());
+            User user = userStore.loadByEmail(request.getEmail()).orElse(null);
             if (user == null) {
                 // Don't reveal if email exists or not for security
                 securityService.recordSecurityEvent(request.getEmail(), "FORGOT_PASSWORD_UNKNOWN_EMAIL", null);
@@ -204,6 +298,7 @@ public class AuthService {
 
             // Generate password reset token
             String resetToken = userService.generatePasswordResetToken(user);
+            user = userStore.save(user);
 
             // Send password reset email
             emailService.sendPasswordResetEmail(user.getEmail(), resetToken, user.getFullName());
@@ -233,9 +328,8 @@ public class AuthService {
             }
 
             // Find user by reset token
-            User user = userStorage.values().stream()
+            User user = userStore.findByResetPasswordToken(request.getToken())
                 .filter(u -> userService.isPasswordResetTokenValid(u, request.getToken()))
-                .findFirst()
                 .orElseThrow(() -> new RuntimeException("Invalid or expired reset token"));
 
             // Update password
@@ -243,6 +337,7 @@ public class AuthService {
 
             // Clear reset token
             userService.clearPasswordResetToken(user);
+            user = userStore.save(user);
 
             // Blacklist any existing tokens for this user (force re-login)
             // Note: In production, you'd need to track and blacklist user's active tokens
@@ -252,6 +347,8 @@ public class AuthService {
 
             return new AuthResponse("Password has been reset successfully. You can now log in with your new password.");
 
+        } catch (PasswordHashingService.BusyException e) {
+            throw e;
         } catch (Exception e) {
             securityService.recordSecurityEvent("UNKNOWN", "PASSWORD_RESET_FAILED", e.getMessage());
             logger.error("Password reset failed", e);
@@ -270,7 +367,7 @@ public class AuthService {
             }
 
             String username = jwtService.extractUsername(request.getRefreshToken());
-            User user = userStorage.get(username);
+            User user = userStore.findByEmail(username).orElse(null);
 
             if (user != null && jwtService.isTokenValid(request.getRefreshToken(), username)) {
                 // Generate new access token
@@ -333,13 +430,13 @@ public class AuthService {
     public AuthResponse verifyEmail(VerifyEmailRequest request) {
         try {
             // Find user by verification token
-            User user = userStorage.values().stream()
+            User user = userStore.findByEmailVerificationToken(request.getToken())
                 .filter(u -> userService.isEmailVerificationTokenValid(u, request.getToken()))
-                .findFirst()
                 .orElseThrow(() -> new RuntimeException("Invalid or expired verification token"));
 
             // Verify email
             userService.verifyEmail(user);
+            user = userStore.save(user);
 
             // Send welcome email
             emailService.sendWelcomeEmail(user.getEmail(), user.getFullName());
@@ -367,7 +464,7 @@ public class AuthService {
             }
 
             // Find user by email
-            User user = userStorage.get(request.getEmail());
+            User user = userStore.loadByEmail(request.getEmail()).orElse(null);
             if (user == null) {
                 securityService.recordSecurityEvent(request.getEmail(), "RESEND_TOKEN_UNKNOWN_EMAIL", request.getTokenType());
                 return new AuthResponse("If the email exists in our system, the token will be resent.");
@@ -379,6 +476,7 @@ public class AuthService {
                 }
 
                 String verificationToken = userService.generateEmailVerificationToken(user);
+                user = userStore.save(user);
                 emailService.sendEmailVerificationEmail(user.getEmail(), verificationToken, user.getFullName());
                 securityService.recordSecurityEvent(user.getEmail(), "VERIFICATION_TOKEN_RESENT", null);
                 
@@ -386,6 +484,7 @@ public class AuthService {
 
             } else if ("reset".equals(request.getTokenType())) {
                 String resetToken = userService.generatePasswordResetToken(user);
+                user = userStore.save(user);
                 emailService.sendPasswordResetEmail(user.getEmail(), resetToken, user.getFullName());
                 securityService.recordSecurityEvent(user.getEmail(), "RESET_TOKEN_RESENT", null);
                 
@@ -420,10 +519,8 @@ public class AuthService {
             }
 
             // Find user by email
-            User user = userStorage.get(userEmail);
-            if (user == null) {
-                throw new RuntimeException("User not found");
-            }
+            User user = userStore.loadByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
 
             // Verify current password
             if (!userService.verifyPassword(request.getCurrentPassword(), user.getPassword())) {
@@ -433,6 +530,7 @@ public class AuthService {
 
             // Update password
             userService.updatePassword(user, request.getNewPassword());
+            user = userStore.save(user);
 
             // Blacklist existing tokens (force re-login for security)
             // Note: In production, track and blacklist user's active tokens
@@ -442,6 +540,8 @@ public class AuthService {
 
             return new AuthResponse("Password changed successfully.");
 
+        } catch (PasswordHashingService.BusyException e) {
+            throw e;
         } catch (Exception e) {
             securityService.recordSecurityEvent(userEmail, "PASSWORD_CHANGE_FAILED", e.getMessage());
             logger.error("Password change failed for user: {}", userEmail, e);
@@ -467,7 +567,9 @@ public class AuthService {
     public Map<String, Object> getSecurityStats() {
         return Map.of(
             "securityStats", securityService.getSecurityStats(),
-            "tokenStats", jwtService.getTokenUsageStats()
+            "tokenStats", jwtService.getTokenUsageStats(),
+            "userCache", userStore.getCacheStats(),
+            "passwordHashing", passwordHashing.getStats()
         );
     }
 
@@ -475,9 +577,10 @@ public class AuthService {
      * Get all users (for testing only)
      */
     public Map<String, Object> getAllUsers() {
+        List<User> users = userStore.findAll();
         Map<String, Object> response = new HashMap<>();
-        response.put("totalUsers", userStorage.size());
-        response.put("users", userStorage.values().stream()
+        response.put("totalUsers", users.size());
+        response.put("users", users.stream()
             .map(user -> {
                 Map<String, Object> userData = new HashMap<>();
                 userData.put("id", user.getId());
@@ -495,10 +598,8 @@ public class AuthService {
      * Debug method to get user details including tokens - FOR TESTING ONLY
      */
     public Map<String, Object> getDebugUserInfo(String email) {
-        User user = userStorage.get(email);
-        if (user == null) {
-            throw new RuntimeException("User not found");
-        }
+        User user = userStore.loadByEmail(email)
+            .orElseThrow(() -> new RuntimeException("User not found"));
 
         Map<String, Object> debugInfo = new HashMap<>();
         debugInfo.put("id", user.getId());
@@ -0,0 +1,264 @@
+package com.academix.server.service;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.academix.server.dto.DashboardSnapshot;
+import com.academix.server.event.AttendanceMarkedEvent;
+import com.academix.server.model.Attendance;
+import com.academix.server.model.Exam;
+import com.academix.server.model.SchoolClass;
+import com.academix.server.model.Student;
+import com.academix.server.model.Subject;
+import com.academix.server.model.Teacher;
+import com.academix.server.repository.AttendanceRepository;
+import com.academix.server.repository.ExamRepository;
+import com.academix.server.repository.SchoolClassRepository;
+import com.academix.server.repository.StudentRepository;
+import com.academix.server.repository.SubjectRepository;
+import com.academix.server.repository.TeacherRepository;
+
+/**
+ * Serves the admin dashboard from an in-memory snapshot.
+ * The figures are split into sections, each computed by one aggregate query.
+ * Committed writes mark their section dirty and a short scheduled pass
+ * recomputes only the dirty sections; a slower pass recomputes everything
+ * so date-dependent figures (today's attendance, ongoing exams) roll over.
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    enum Section {
+        STUDENTS, TEACHERS, SUBJECTS, CLASSES, EXAMS, ATTENDANCE
+    }
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private SubjectRepository subjectRepository;
+
+    @Autowired
+    private SchoolClassRepository schoolClassRepository;
+
+    @Autowired
+    private ExamRepository examRepository;
+
+    @Autowired
+    private AttendanceRepository attendanceRepository;
+
+    // Latest figures per section, only touched under the refresh lock
+    private final Map<Section, Map<String, Object>> sections = new EnumMap<>(Section.class);
+
+    private final Set<Section> dirty = ConcurrentHashMap.newKeySet();
+
+    // Distinguishes versions of different server runs in the ETag
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private volatile DashboardSnapshot snapshot;
+
+    /**
+     * Current snapshot, computed on first use
+     */
+    public DashboardSnapshot getSnapshot() {
+        DashboardSnapshot current = snapshot;
+        return current != null ? current : refreshAll();
+    }
+
+    /**
+     * Recompute every section
+     */
+    @Scheduled(fixedDelayString = "${academix.dashboard.full-refresh-ms:300000}")
+    public DashboardSnapshot refreshAll() {
+        dirty.addAll(EnumSet.allOf(Section.class));
+        return refreshDirty();
+    }
+
+    /**
+     * Recompute the sections changed since the last pass
+     */
+    @Scheduled(fixedDelayString = "${academix.dashboard.refresh-ms:5000}")
+    public synchronized DashboardSnapshot refreshDirty() {
+        if (dirty.isEmpty() && snapshot != null) {
+            return snapshot;
+        }
+
+        long start = System.nanoTime();
+        Set<Section> pending = EnumSet.noneOf(Section.class);
+        for (Section section : Section.values()) {
+            if (dirty.remove(section)) {
+                pending.add(section);
+            }
+        }
+        for (Section section : pending) {
+            try {
+                sections.put(section, compute(section));
+            } catch (Exception e) {
+                // Keep the previous figures and retry on the next pass
+                dirty.add(section);
+                logger.warn("Could not refresh dashboard section {}: {}", section, e.getMessage());
+            }
+        }
+
+        Map<String, Object> figures = new HashMap<>();
+        for (Map<String, Object> values : sections.values()) {
+            figures.putAll(values);
+        }
+        figures.put("electiveSubjects", toLong(figures.get("totalSubjects")) - toLong(figures.get("compulsorySubjects")));
+        figures.put("academicYear", "2024");
+        figures.put("currentTerm", 1);
+
+        DashboardSnapshot previous = snapshot;
+        if (previous != null && figures.equals(withoutMetadata(previous.stats()))) {
+            return previous;
+        }
+
+        long version = previous != null ? previous.version() + 1 : 1;
+        long now = System.currentTimeMillis();
+        Map<String, Object> stats = new HashMap<>(figures);
+        stats.put("version", version);
+        stats.put("lastUpdated", now);
+        snapshot = new DashboardSnapshot(version, epoch + "-" + version, now, Collections.unmodifiableMap(stats));
+
+        logger.debug("Dashboard snapshot v{} built - sections {} in {} us", version, pending,
+            (System.nanoTime() - start) / 1000);
+        return snapshot;
+    }
+
+    /**
+     * Mark the section fed by an entity as changed; called after each commit
+     */
+    public void markChanged(Class<?> entityClass) {
+        Section section = sectionOf(entityClass);
+        if (section != null) {
+            dirty.add(section);
+        }
+    }
+
+    /**
+     * Attendance written in batches bypasses the entity listener, so marks report here after commit
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendanceMarked(AttendanceMarkedEvent event) {
+        dirty.add(Section.ATTENDANCE);
+    }
+
+    /**
+     * Whether writes of this entity class affect the dashboard
+     */
+    public static boolean isTracked(Class<?> entityClass) {
+        return sectionOf(entityClass) != null;
+    }
+
+    private static Section sectionOf(Class<?> entityClass) {
+        if (Student.class.isAssignableFrom(entityClass)) {
+            return Section.STUDENTS;
+        } else if (Teacher.class.isAssignableFrom(entityClass)) {
+            return Section.TEACHERS;
+        } else if (Subject.class.isAssignableFrom(entityClass)) {
+            return Section.SUBJECTS;
+        } else if (SchoolClass.class.isAssignableFrom(entityClass)) {
+            return Section.CLASSES;
+        } else if (Exam.class.isAssignableFrom(entityClass)) {
+            return Section.EXAMS;
+        } else if (Attendance.class.isAssignableFrom(entityClass)) {
+            return Section.ATTENDANCE;
+        }
+        return null;
+    }
+
+    private Map<String, Object> compute(Section section) {
+        Map<String, Object> values = new HashMap<>();
+        switch (section) {
+            case STUDENTS -> {
+                Object[] row = studentRepository.getDashboardTotals().get(0);
+                long total = toLong(row[0]);
+                long active = toLong(row[1]);
+                values.put("totalStudents", total);
+                values.put("activeStudents", active);
+                values.put("inactiveStudents", total - active);
+                values.put("maleStudents", toLong(row[2]));
+                values.put("femaleStudents", toLong(row[3]));
+                values.put("boardingStudents", toLong(row[4]));
+                values.put("dayStudents", toLong(row[5]));
+            }
+            case TEACHERS -> {
+                Object[] row = teacherRepository.getDashboardTotals().get(0);
+                values.put("totalTeachers", toLong(row[0]));
+                values.put("activeTeachers", toLong(row[1]));
+                values.put("permanentTeachers", toLong(row[2]));
+                values.put("contractTeachers", toLong(row[3]));
+                values.put("partTimeTeachers", toLong(row[4]));
+                values.put("classTeachers", toLong(row[5]));
+                values.put("departmentHeads", toLong(row[6]));
+            }
+            case SUBJECTS -> {
+                Object[] row = subjectRepository.getDashboardTotals().get(0);
+                values.put("totalSubjects", toLong(row[0]));
+                values.put("activeSubjects", toLong(row[1]));
+                values.put("scienceSubjects", toLong(row[2]));
+                values.put("artsSubjects", toLong(row[3]));
+                values.put("compulsorySubjects", toLong(row[4]));
+                values.put("oLevelSubjects", toLong(row[5]));
+                values.put("aLevelSubjects", toLong(row[6]));
+            }
+            case CLASSES -> {
+                values.put("totalClasses", schoolClassRepository.count());
+                values.put("activeClasses", schoolClassRepository.countByIsActiveTrue());
+            }
+            case EXAMS -> {
+                Object[] row = examRepository.getDashboardTotals(LocalDate.now()).get(0);
+                values.put("totalExams", toLong(row[0]));
+                values.put("draftExams", toLong(row[1]));
+                values.put("scheduledExams", toLong(row[2]));
+                values.put("inProgressExams", toLong(row[3]));
+                values.put("completedExams", toLong(row[4]));
+                values.put("publishedExams", toLong(row[5]));
+                values.put("upcomingExams", toLong(row[6]));
+                values.put("ongoingExams", toLong(row[7]));
+            }
+            case ATTENDANCE -> {
+                long present = 0;
+                long total = 0;
+                List<Object[]> rows = attendanceRepository.getDailyAttendanceSummary(LocalDate.now());
+                for (Object[] row : rows) {
+                    present += toLong(row[1]);
+                    total += toLong(row[4]);
+                }
+                values.put("todayAttendance", present);
+                values.put("averageAttendance", total > 0 ? (present * 100.0 / total) : 0.0);
+            }
+        }
+        return values;
+    }
+
+    private static Map<String, Object> withoutMetadata(Map<String, Object> stats) {
+        Map<String, Object> figures = new HashMap<>(stats);
+        figures.remove("version");
+        figures.remove("lastUpdated");
+        return figures;
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
@@ -0,0 +1,39 @@
+package com.academix.server.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import com.academix.server.model.AbsenceNotification;
+
+/**
+ * Sends notifications as plain-text email straight over SMTP, not through the
+ * mail outbox, so a notice only counts as SENT once the server accepted it.
+ * Failures propagate and the notification dispatcher retries them.
+ */
+@Component
+public class EmailNotificationSender implements NotificationSender {
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Value("${spring.mail.username:noreply@academix.com}")
+    private String fromEmail;
+
+    @Override
+    public AbsenceNotification.Channel getChannel() {
+        return AbsenceNotification.Channel.EMAIL;
+    }
+
+    @Override
+    public void send(String recipient, String recipientName, String subject, String body) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(recipient);
+        message.setSubject(subject);
+        message.setText(body);
+        mailSender.send(message);
+    }
+}
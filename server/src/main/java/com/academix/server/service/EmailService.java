@@ -1,26 +1,36 @@
 package com.academix.server.service;
 
 import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import com.academix.server.dto.MailDto;
 import com.academix.server.model.Staff;
+import com.academix.server.service.MailTemplateService.MailTemplate;
 
 @Service
 public class EmailService {
 
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
     private static final SecureRandom random = new SecureRandom();
+    private static final int MAX_BULK_RECIPIENTS = 20000;
     private static final String PASSWORD_CHARS = "ABCDEFGHJKMNPQRSTUVWXYZabcdefghijkmnpqrstuvwxyz23456789!@#$%";
 
+    // Delivery goes through the outbox so callers never wait on SMTP
     @Autowired
-    private JavaMailSender mailSender;
+    private MailQueueService mailQueue;
+
+    @Autowired
+    private MailTemplateService mailTemplates;
 
     @Value("${spring.mail.username:noreply@academix.com}")
     private String fromEmail;
@@ -65,6 +75,11 @@ public class EmailService {
         }
         return new String(chars);
     }
+
+    // Optional template lines are left out for null values
+    private static String blankToNull(String value) {
+        return value != null && !value.trim().isEmpty() ? value : null;
+    }
     
     /**
      * Send password reset email
@@ -74,23 +89,14 @@ public class EmailService {
             SimpleMailMessage message = new SimpleMailMessage();
             message.setFrom(fromEmail);
             message.setTo(toEmail);
-            message.setSubject("Password Reset Request - Academix");
+            message.setSubject(MailTemplate.PASSWORD_RESET.getSubject());
             
             String resetLink = frontendUrl + "/reset-password?token=" + resetToken;
             
-            String emailBody = String.format(
-                "Dear %s,\n\n" +
-                "We received a request to reset your password for your Academix account.\n\n" +
-                "To reset your password, please click on the following link:\n" +
-                "%s\n\n" +
-                "This link will expire in 15 minutes for security purposes.\n\n" +
-                "If you did not request this password reset, please ignore this email. " +
-                "Your password will remain unchanged.\n\n" +
-                "For security reasons, please do not share this link with anyone.\n\n" +
-                "Best regards,\n" +
-                "The Academix Team",
-                fullName, resetLink
-            );
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("fullName", fullName);
+            variables.put("resetLink", resetLink);
+            String emailBody = mailTemplates.render(MailTemplate.PASSWORD_RESET, variables);
             
             message.setText(emailBody);
             
@@ -107,15 +113,8 @@ public class EmailService {
                 "===================================================\n",
                 toEmail, fromEmail, message.getSubject(), emailBody, resetToken);
             
-            try {
-                mailSender.send(message);
-                logger.info("✓ Password reset email sent successfully to: {}", toEmail);
-            } catch (Exception mailException) {
-                // Log email content for development instead of throwing exception
-                logger.warn("✗ SMTP sending failed - Password reset email will be displayed above");
-                logger.error("Email sending error: {}", mailException.getMessage());
-                // Don't re-throw - just log the issue
-            }
+            mailQueue.enqueue("PASSWORD_RESET", message);
+            logger.info("✓ Password reset email queued for: {}", toEmail);
             
         } catch (Exception e) {
             logger.error("Password reset email service error for {}: {}", toEmail, e.getMessage());
@@ -128,21 +127,14 @@ public class EmailService {
             SimpleMailMessage message = new SimpleMailMessage();
             message.setFrom(fromEmail);
             message.setTo(toEmail);
-            message.setSubject("Email Verification - Academix");
+            message.setSubject(MailTemplate.EMAIL_VERIFICATION.getSubject());
             
             String verificationLink = frontendUrl + "/verify-email?token=" + verificationToken;
             
-            String emailBody = String.format(
-                "Dear %s,\n\n" +
-                "Welcome to Academix! Please verify your email address to complete your registration.\n\n" +
-                "To verify your email, please click on the following link:\n" +
-                "%s\n\n" +
-                "This link will expire in 24 hours.\n\n" +
-                "If you did not create an account with Academix, please ignore this email.\n\n" +
-                "Best regards,\n" +
-                "The Academix Team",
-                fullName, verificationLink
-            );
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("fullName", fullName);
+            variables.put("verificationLink", verificationLink);
+            String emailBody = mailTemplates.render(MailTemplate.EMAIL_VERIFICATION, variables);
             
             message.setText(emailBody);
             
@@ -161,15 +153,8 @@ public class EmailService {
                 "===================================================\n",
                 toEmail, fromEmail, message.getSubject(), emailBody, verificationToken, verificationLink);
             
-            try {
-                mailSender.send(message);
-                logger.info("✓ Email verification email sent successfully to: {}", toEmail);
-            } catch (Exception mailException) {
-                // Log email content for development instead of breaking registration
-                logger.warn("✗ SMTP sending failed - Email verification template displayed above");
-                logger.error("Email sending error: {}", mailException.getMessage());
-                // Don't throw exception - allow registration to continue
-            }
+            mailQueue.enqueue("EMAIL_VERIFICATION", message);
+            logger.info("✓ Email verification email queued for: {}", toEmail);
             
         } catch (Exception e) {
             // Log error but don't throw - allow registration to continue
@@ -182,18 +167,11 @@ public class EmailService {
             SimpleMailMessage message = new SimpleMailMessage();
             message.setFrom(fromEmail);
             message.setTo(toEmail);
-            message.setSubject("Welcome to Academix!");
-            
-            String emailBody = String.format(
-                "Dear %s,\n\n" +
-                "Welcome to Academix School Management System!\n\n" +
-                "Your account has been successfully created and verified. You can now log in to access all features.\n\n" +
-                "Login URL: %s/login\n\n" +
-                "If you have any questions or need assistance, please don't hesitate to contact our support team.\n\n" +
-                "Best regards,\n" +
-                "The Academix Team",
-                fullName, frontendUrl
-            );
+            message.setSubject(MailTemplate.WELCOME.getSubject());
+            
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("fullName", fullName);
+            String emailBody = mailTemplates.render(MailTemplate.WELCOME, variables);
             
             message.setText(emailBody);
             
@@ -208,10 +186,10 @@ public class EmailService {
                 "=============================================\n",
                 toEmail, fromEmail, message.getSubject(), emailBody);
             
-            mailSender.send(message);
-            logger.info("✓ Welcome email sent successfully to: {}", toEmail);
+            mailQueue.enqueue("WELCOME", message);
+            logger.info("✓ Welcome email queued for: {}", toEmail);
         } catch (Exception e) {
-            logger.warn("✗ Failed to send welcome email to: {} - Error: {}", toEmail, e.getMessage());
+            logger.warn("✗ Failed to queue welcome email to: {} - Error: {}", toEmail, e.getMessage());
             // We are not throwing exception for welcome email failure
         }
     }
@@ -221,42 +199,8 @@ public class EmailService {
      */
     public void sendStudentRegistrationEmail(String toEmail, String fullName, String studentId, String currentClass, String stream, String generatedPassword) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject("Welcome to Academix - Your Student Account Details");
-            
-            String academicDetails = "";
-            if (currentClass != null && !currentClass.trim().isEmpty()) {
-                academicDetails += "Class: " + currentClass + "\n";
-            }
-            if (stream != null && !stream.trim().isEmpty()) {
-                academicDetails += "Stream: " + stream + "\n";
-            }
-            
-            String emailBody = String.format(
-                "Dear %s,\n\n" +
-                "Welcome to Academix School Management System!\n\n" +
-                "Your student account has been successfully created. Here are your account details:\n\n" +
-                "🆔 Student ID: %s\n" +
-                "📧 Email: %s\n" +
-                "🔐 Temporary Password: %s\n" +
-                "%s\n" +
-                "📱 Student Portal: %s/login\n\n" +
-                "IMPORTANT SECURITY INSTRUCTIONS:\n" +
-                "1. Login using your email and the temporary password above\n" +
-                "2. Change your password immediately after first login for security\n" +
-                "3. Keep your login credentials secure and private\n" +
-                "4. Never share your password with anyone\n\n" +
-                "You can change your password anytime from your student portal.\n\n" +
-                "For any questions or support, please contact our student services.\n\n" +
-                "Welcome to the Academix family!\n\n" +
-                "Best regards,\n" +
-                "The Academix Administrative Team",
-                fullName, studentId, toEmail, generatedPassword, academicDetails, frontendUrl
-            );
-            
-            message.setText(emailBody);
+            SimpleMailMessage message = studentRegistrationMessage(toEmail, fullName, studentId, currentClass, stream, generatedPassword);
+            String emailBody = message.getText();
             
             // Log complete email template for testing
             logger.info("\n" +
@@ -273,15 +217,8 @@ public class EmailService {
                 "===========================================================\n",
                 toEmail, fromEmail, message.getSubject(), emailBody, studentId, toEmail, generatedPassword);
             
-            try {
-                mailSender.send(message);
-                logger.info("✓ Student credentials email sent successfully to: {} (Student ID: {})", toEmail, studentId);
-            } catch (Exception mailException) {
-                // Log email content for development instead of breaking registration
-                logger.warn("✗ SMTP sending failed - Student credentials template displayed above");
-                logger.error("Email sending error: {}", mailException.getMessage());
-                // Don't throw exception - allow registration to continue
-            }
+            mailQueue.enqueue("STUDENT_REGISTRATION", message);
+            logger.info("✓ Student credentials email queued for: {} (Student ID: {})", toEmail, studentId);
             
         } catch (Exception e) {
             // Log error but don't throw - allow registration to continue
@@ -297,26 +234,13 @@ public class EmailService {
             SimpleMailMessage message = new SimpleMailMessage();
             message.setFrom(fromEmail);
             message.setTo(toEmail);
-            message.setSubject("Academix Account - Your Login Credentials");
-            
-            String emailBody = String.format(
-                "Dear %s,\n\n" +
-                "Welcome to Academix School Management System!\n\n" +
-                "Your account has been successfully created. Here are your login credentials:\n\n" +
-                "📧 Email: %s\n" +
-                "🔐 Password: %s\n" +
-                "📱 Login URL: %s/login\n\n" +
-                "IMPORTANT SECURITY INSTRUCTIONS:\n" +
-                "1. Login using the credentials above\n" +
-                "2. Change your password immediately after first login\n" +
-                "3. Keep your login credentials secure and private\n" +
-                "4. Never share your password with anyone\n\n" +
-                "You can change your password anytime after logging in.\n\n" +
-                "For any questions or support, please contact our support team.\n\n" +
-                "Best regards,\n" +
-                "The Academix Team",
-                fullName, toEmail, generatedPassword, frontendUrl
-            );
+            message.setSubject(MailTemplate.USER_CREDENTIALS.getSubject());
+            
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("fullName", fullName);
+            variables.put("email", toEmail);
+            variables.put("password", generatedPassword);
+            String emailBody = mailTemplates.render(MailTemplate.USER_CREDENTIALS, variables);
             
             message.setText(emailBody);
             
@@ -334,15 +258,8 @@ public class EmailService {
                 "=====================================================\n",
                 toEmail, fromEmail, message.getSubject(), emailBody, toEmail, generatedPassword);
             
-            try {
-                mailSender.send(message);
-                logger.info("✓ User credentials email sent successfully to: {}", toEmail);
-            } catch (Exception mailException) {
-                // Log email content for development instead of breaking registration
-                logger.warn("✗ SMTP sending failed - User credentials template displayed above");
-                logger.error("Email sending error: {}", mailException.getMessage());
-                // Don't throw exception - allow registration to continue
-            }
+            mailQueue.enqueue("USER_CREDENTIALS", message);
+            logger.info("✓ User credentials email queued for: {}", toEmail);
             
         } catch (Exception e) {
             // Log error but don't throw - allow registration to continue
@@ -350,6 +267,27 @@ public class EmailService {
         }
     }
 
+    /**
+     * Compose a student registration email without queueing or logging it, for
+     * bulk intake, which queues a whole chunk at once
+     */
+    public SimpleMailMessage studentRegistrationMessage(String toEmail, String fullName, String studentId, String currentClass, String stream, String generatedPassword) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(toEmail);
+        message.setSubject(MailTemplate.STUDENT_REGISTRATION.getSubject());
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("fullName", fullName);
+        variables.put("studentId", studentId);
+        variables.put("email", toEmail);
+        variables.put("password", generatedPassword);
+        variables.put("currentClass", blankToNull(currentClass));
+        variables.put("stream", blankToNull(stream));
+        message.setText(mailTemplates.render(MailTemplate.STUDENT_REGISTRATION, variables));
+        return message;
+    }
+
     /**
      * Send teacher registration welcome email with academic details and login credentials
      */
@@ -358,37 +296,16 @@ public class EmailService {
             SimpleMailMessage message = new SimpleMailMessage();
             message.setFrom(fromEmail);
             message.setTo(toEmail);
-            message.setSubject("Welcome to Academix - Your Teacher Account Details");
-            
-            String academicDetails = "";
-            if (department != null && !department.trim().isEmpty()) {
-                academicDetails += "Department: " + department + "\n";
-            }
-            if (subjects != null && !subjects.trim().isEmpty()) {
-                academicDetails += "Subjects: " + subjects + "\n";
-            }
+            message.setSubject(MailTemplate.TEACHER_REGISTRATION.getSubject());
             
-            String emailBody = String.format(
-                "Dear %s,\n\n" +
-                "Welcome to Academix School Management System!\n\n" +
-                "Your teacher account has been successfully created. Here are your account details:\n\n" +
-                "\ud83c\udd94 Teacher ID: %s\n" +
-                "\ud83d\udce7 Email: %s\n" +
-                "\ud83d\udd10 Temporary Password: %s\n" +
-                "%s\n" +
-                "\ud83d\udcf1 Staff Portal: %s/login\n\n" +
-                "IMPORTANT SECURITY INSTRUCTIONS:\n" +
-                "1. Login using your email and the temporary password above\n" +
-                "2. Change your password immediately after first login for security\n" +
-                "3. Keep your login credentials secure and private\n" +
-                "4. Never share your password with anyone\n\n" +
-                "You can change your password anytime from your staff portal.\n\n" +
-                "For any questions or support, please contact the administration.\n\n" +
-                "Welcome to the Academix family!\n\n" +
-                "Best regards,\n" +
-                "The Academix Administrative Team",
-                fullName, teacherId, toEmail, generatedPassword, academicDetails, frontendUrl
-            );
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("fullName", fullName);
+            variables.put("teacherId", teacherId);
+            variables.put("email", toEmail);
+            variables.put("password", generatedPassword);
+            variables.put("department", blankToNull(department));
+            variables.put("subjects", blankToNull(subjects));
+            String emailBody = mailTemplates.render(MailTemplate.TEACHER_REGISTRATION, variables);
             
             message.setText(emailBody);
             
@@ -407,15 +324,8 @@ public class EmailService {
                 "===========================================================\n",
                 toEmail, fromEmail, message.getSubject(), emailBody, teacherId, toEmail, generatedPassword);
             
-            try {
-                mailSender.send(message);
-                logger.info("✓ Teacher credentials email sent successfully to: {} (Teacher ID: {})", toEmail, teacherId);
-            } catch (Exception mailException) {
-                // Log email content for development instead of breaking registration
-                logger.warn("✗ SMTP sending failed - Teacher credentials template displayed above");
-                logger.error("Email sending error: {}", mailException.getMessage());
-                // Don't throw exception - allow registration to continue
-            }
+            mailQueue.enqueue("TEACHER_REGISTRATION", message);
+            logger.info("✓ Teacher credentials email queued for: {} (Teacher ID: {})", toEmail, teacherId);
             
         } catch (Exception e) {
             // Log error but don't throw - allow registration to continue
@@ -431,40 +341,17 @@ public class EmailService {
             SimpleMailMessage message = new SimpleMailMessage();
             message.setFrom(fromEmail);
             message.setTo(staff.getEmail());
-            message.setSubject("Welcome to Academix - Your Staff Account Details");
-            
-            String staffDetails = "";
-            if (staff.getDepartment() != null && !staff.getDepartment().trim().isEmpty()) {
-                staffDetails += "Department: " + staff.getDepartment() + "\n";
-            }
-            if (staff.getPosition() != null && !staff.getPosition().trim().isEmpty()) {
-                staffDetails += "Position: " + staff.getPosition() + "\n";
-            }
-            if (staff.getContractType() != null) {
-                staffDetails += "Contract Type: " + staff.getContractDisplayName() + "\n";
-            }
-            
-            String emailBody = String.format(
-                "Dear %s,\n\n" +
-                "Welcome to Academix School Management System!\n\n" +
-                "Your staff account has been successfully created. Here are your account details:\n\n" +
-                "\ud83c\udd94 Staff ID: %s\n" +
-                "\ud83d\udce7 Email: %s\n" +
-                "\ud83d\udd10 Temporary Password: %s\n" +
-                "%s\n" +
-                "\ud83d\udcf1 Staff Portal: %s/login\n\n" +
-                "IMPORTANT SECURITY INSTRUCTIONS:\n" +
-                "1. Login using your email and the temporary password above\n" +
-                "2. Change your password immediately after first login for security\n" +
-                "3. Keep your login credentials secure and private\n" +
-                "4. Never share your password with anyone\n\n" +
-                "You can change your password anytime from your staff portal.\n\n" +
-                "For any questions or support, please contact the administration.\n\n" +
-                "Welcome to the Academix family!\n\n" +
-                "Best regards,\n" +
-                "The Academix Administrative Team",
-                staff.getFullName(), staff.getStaffId(), staff.getEmail(), generatedPassword, staffDetails, frontendUrl
-            );
+            message.setSubject(MailTemplate.STAFF_REGISTRATION.getSubject());
+            
+            Map<String, Object> variables = new HashMap<>();
+            variables.put("fullName", staff.getFullName());
+            variables.put("staffId", staff.getStaffId());
+            variables.put("email", staff.getEmail());
+            variables.put("password", generatedPassword);
+            variables.put("department", blankToNull(staff.getDepartment()));
+            variables.put("position", blankToNull(staff.getPosition()));
+            variables.put("contractType", staff.getContractType() != null ? staff.getContractDisplayName() : null);
+            String emailBody = mailTemplates.render(MailTemplate.STAFF_REGISTRATION, variables);
             
             message.setText(emailBody);
             
@@ -483,19 +370,71 @@ public class EmailService {
                 "===========================================================\n",
                 staff.getEmail(), fromEmail, message.getSubject(), emailBody, staff.getStaffId(), staff.getEmail(), generatedPassword);
             
-            try {
-                mailSender.send(message);
-                logger.info("✓ Staff credentials email sent successfully to: {} (Staff ID: {})", staff.getEmail(), staff.getStaffId());
-            } catch (Exception mailException) {
-                // Log email content for development instead of breaking registration
-                logger.warn("✗ SMTP sending failed - Staff credentials template displayed above");
-                logger.error("Email sending error: {}", mailException.getMessage());
-                // Don't throw exception - allow registration to continue
-            }
+            mailQueue.enqueue("STAFF_REGISTRATION", message);
+            logger.info("✓ Staff credentials email queued for: {} (Staff ID: {})", staff.getEmail(), staff.getStaffId());
             
         } catch (Exception e) {
             // Log error but don't throw - allow registration to continue
             logger.error("Staff credentials email service error for {}, but registration will continue: {}", staff.getEmail(), e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Render one template per recipient in bulk, e.g. a term-start mailing,
+     * and optionally queue the messages with batched outbox inserts
+     */
+    public MailDto.BulkResult sendBulkEmails(MailDto.BulkRequest request) {
+        MailTemplate template = MailTemplateService.templateOf(request.getTemplate());
+        List<MailDto.BulkRecipient> recipients = request.getRecipients() != null ? request.getRecipients() : List.of();
+        if (recipients.isEmpty()) {
+            throw new RuntimeException("At least one recipient is required");
+        }
+        if (recipients.size() > MAX_BULK_RECIPIENTS) {
+            throw new RuntimeException("At most " + MAX_BULK_RECIPIENTS + " recipients per request");
+        }
+
+        List<Map<String, Object>> variables = new ArrayList<>(recipients.size());
+        for (int i = 0; i < recipients.size(); i++) {
+            MailDto.BulkRecipient recipient = recipients.get(i);
+            if (recipient.getEmail() == null || recipient.getEmail().isBlank()) {
+                throw new RuntimeException("Recipient " + (i + 1) + " has no email");
+            }
+            Map<String, Object> recipientVariables = new HashMap<>();
+            if (recipient.getVariables() != null) {
+                recipientVariables.putAll(recipient.getVariables());
+            }
+            recipientVariables.putIfAbsent("email", recipient.getEmail().trim());
+            variables.add(recipientVariables);
+        }
+
+        long start = System.nanoTime();
+        List<String> bodies = mailTemplates.renderAll(template, variables);
+        long renderNanos = Math.max(1, System.nanoTime() - start);
+
+        MailDto.BulkResult result = new MailDto.BulkResult();
+        result.setTemplate(template.name());
+        result.setRendered(bodies.size());
+        result.setRenderMs(renderNanos / 1_000_000);
+        result.setMessagesPerSecond(Math.round(bodies.size() * 1_000_000_000.0 / renderNanos));
+        result.setPreview(bodies.get(0));
+
+        if (Boolean.TRUE.equals(request.getQueue())) {
+            String subject = request.getSubject() != null && !request.getSubject().isBlank()
+                ? request.getSubject() : template.getSubject();
+            List<SimpleMailMessage> messages = new ArrayList<>(bodies.size());
+            for (int i = 0; i < bodies.size(); i++) {
+                SimpleMailMessage message = new SimpleMailMessage();
+                message.setFrom(fromEmail);
+                message.setTo(recipients.get(i).getEmail().trim());
+                message.setSubject(subject);
+                message.setText(bodies.get(i));
+                messages.add(message);
+            }
+            result.setQueued(mailQueue.enqueueAll(template.name(), messages));
+        }
+
+        logger.info("Bulk {} email: {} rendered in {} ms ({}/s), {} queued",
+            template.name(), result.getRendered(), result.getRenderMs(), result.getMessagesPerSecond(), result.getQueued());
+        return result;
+    }
+}
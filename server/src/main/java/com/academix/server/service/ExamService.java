@@ -9,10 +9,14 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.academix.server.dto.ListDto;
 import com.academix.server.model.Exam;
+import com.academix.server.model.RegradeJob;
 import com.academix.server.model.Result;
 import com.academix.server.repository.ExamRepository;
 import com.academix.server.repository.ResultRepository;
@@ -29,6 +33,9 @@ public class ExamService {
     @Autowired
     private ResultRepository resultRepository;
 
+    @Autowired
+    private RegradeService regradeService;
+
     /**
      * Create a new exam
      */
@@ -73,6 +80,16 @@ public class ExamService {
         return examRepository.findAll();
     }
 
+    /**
+     * Get a keyset page of exams
+     */
+    @Transactional(readOnly = true)
+    public ListDto.CursorPage<ListDto.ExamItem> getExamsPage(String after, Integer limit) {
+        long afterId = ListDto.decodeCursor(after);
+        int size = ListDto.clampLimit(limit);
+        return ListDto.CursorPage.of(examRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1)), size, ListDto.ExamItem::getId);
+    }
+
     /**
      * Get exam by ID
      */
@@ -201,6 +218,30 @@ public class ExamService {
         return examRepository.save(exam);
     }
 
+    /**
+     * Start (or resume) a background regrade of every result in an exam
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public RegradeJob regradeExam(Long id, Long requestedBy) {
+        return regradeService.startRegrade(id, requestedBy);
+    }
+
+    /**
+     * Get a regrade job by ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<RegradeJob> getRegradeJob(Long jobId) {
+        return regradeService.getJob(jobId);
+    }
+
+    /**
+     * Get the latest regrade job of an exam
+     */
+    @Transactional(readOnly = true)
+    public Optional<RegradeJob> getLatestRegradeJob(Long examId) {
+        return regradeService.getLatestJob(examId);
+    }
+
     /**
      * Get exams by academic year
      */
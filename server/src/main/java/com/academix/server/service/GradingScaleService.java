@@ -0,0 +1,205 @@
+package com.academix.server.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.academix.server.model.GradingBand;
+import com.academix.server.model.GradingScale;
+import com.academix.server.model.Result;
+import com.academix.server.repository.GradingBandRepository;
+
+/**
+ * Serves compiled grading scales per academic year.
+ * Bands configured in the database override the built-in Ugandan scales for
+ * their year; compiled scales are cached and recompiled when bands change.
+ */
+@Service
+@Transactional
+public class GradingScaleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradingScaleService.class);
+
+    // Aggregate interpretation for O-Level
+    private static final List<Map<String, Object>> AGGREGATE_INTERPRETATION = List.of(
+        Map.of("division", "Division 1", "minAggregate", 8, "maxAggregate", 32, "description", "Excellent"),
+        Map.of("division", "Division 2", "minAggregate", 33, "maxAggregate", 45, "description", "Very Good"),
+        Map.of("division", "Division 3", "minAggregate", 46, "maxAggregate", 58, "description", "Good"),
+        Map.of("division", "Division 4", "minAggregate", 59, "maxAggregate", 72, "description", "Satisfactory"),
+        Map.of("division", "Fail", "minAggregate", 73, "maxAggregate", 72, "description", "Fail")
+    );
+
+    @Autowired
+    private GradingBandRepository gradingBandRepository;
+
+    // Compiled scales keyed by "academicYear|type"
+    private final Map<String, GradingScale> scales = new ConcurrentHashMap<>();
+
+    // Scale descriptions served by /api/grades, keyed by academic year ("" for defaults)
+    private final Map<String, Map<String, Object>> descriptions = new ConcurrentHashMap<>();
+
+    /**
+     * Get the compiled scale for an academic year, falling back to the default
+     */
+    @Transactional(readOnly = true)
+    public GradingScale getScale(String academicYear, GradingScale.Type type) {
+        if (academicYear == null) {
+            return GradingScale.getDefault(type);
+        }
+        return scales.computeIfAbsent(academicYear + "|" + type, key -> loadScale(academicYear, type));
+    }
+
+    /**
+     * Digest of every scale in force for an academic year; it changes
+     * whenever any band of the year is changed or reset
+     */
+    @Transactional(readOnly = true)
+    public String scaleFingerprint(String academicYear) {
+        StringBuilder bands = new StringBuilder();
+        for (GradingScale.Type type : GradingScale.Type.values()) {
+            bands.append(type).append(getScale(academicYear, type).getBands()).append('\n');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bands.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Grade a result with the scale configured for its academic year
+     */
+    @Transactional(readOnly = true)
+    public void grade(Result result) {
+        GradingScale.Type type = result.getScaleType();
+        result.calculateGrade(type != null ? getScale(result.getAcademicYear(), type) : null);
+    }
+
+    /**
+     * Replace the bands of a scale for an academic year.
+     * The bands are compiled first so an invalid scale is never stored.
+     */
+    public GradingScale updateScale(String academicYear, GradingScale.Type type, List<GradingScale.Band> bands) {
+        GradingScale compiled = GradingScale.compile(type, academicYear, bands);
+
+        gradingBandRepository.deleteByAcademicYearAndScaleType(academicYear, type);
+        List<GradingBand> rows = new ArrayList<>();
+        for (GradingScale.Band band : compiled.getBands()) {
+            GradingBand row = new GradingBand();
+            row.setAcademicYear(academicYear);
+            row.setScaleType(type);
+            row.setGrade(band.grade());
+            row.setMinMark(band.minMark());
+            row.setMaxMark(band.maxMark());
+            row.setPoints(band.points());
+            row.setDescription(band.description());
+            rows.add(row);
+        }
+        gradingBandRepository.saveAll(rows);
+
+        // Cached only once the bands are committed; a rollback leaves the stored scale in force
+        String key = academicYear + "|" + type;
+        afterCommit(() -> {
+            scales.put(key, compiled);
+            descriptions.remove(academicYear);
+        });
+        logger.info("Grading scale {} updated for academic year {}", type, academicYear);
+        return compiled;
+    }
+
+    /**
+     * Remove the configured bands of a scale so the year uses the default again
+     */
+    public void resetScale(String academicYear, GradingScale.Type type) {
+        gradingBandRepository.deleteByAcademicYearAndScaleType(academicYear, type);
+        String key = academicYear + "|" + type;
+        afterCommit(() -> {
+            scales.remove(key);
+            descriptions.remove(academicYear);
+        });
+        logger.info("Grading scale {} reset to default for academic year {}", type, academicYear);
+    }
+
+    /**
+     * Drop every compiled scale so they are reloaded from the database,
+     * e.g. after bands were changed by another instance
+     */
+    public void reload() {
+        scales.clear();
+        descriptions.clear();
+    }
+
+    // Run once the current transaction commits, or at once outside a transaction
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Describe the grading scales for an academic year (defaults when null)
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getGradingScales(String academicYear) {
+        return descriptions.computeIfAbsent(academicYear != null ? academicYear : "", key -> {
+            Map<String, Object> info = new HashMap<>();
+            info.put("academicYear", academicYear);
+            info.put("oLevel", describe(getScale(academicYear, GradingScale.Type.O_LEVEL)));
+            info.put("aLevelPrincipal", describe(getScale(academicYear, GradingScale.Type.A_LEVEL_PRINCIPAL)));
+            info.put("aLevelSubsidiary", describe(getScale(academicYear, GradingScale.Type.A_LEVEL_SUBSIDIARY)));
+            info.put("aggregateInterpretation", AGGREGATE_INTERPRETATION);
+            return Collections.unmodifiableMap(info);
+        });
+    }
+
+    private GradingScale loadScale(String academicYear, GradingScale.Type type) {
+        List<GradingBand> rows = gradingBandRepository.findByAcademicYearAndScaleType(academicYear, type);
+        if (rows.isEmpty()) {
+            return GradingScale.getDefault(type);
+        }
+
+        List<GradingScale.Band> bands = new ArrayList<>();
+        for (GradingBand row : rows) {
+            bands.add(new GradingScale.Band(row.getGrade(), row.getMinMark(), row.getMaxMark(),
+                row.getPoints(), row.getDescription()));
+        }
+        return GradingScale.compile(type, academicYear, bands);
+    }
+
+    private List<Map<String, Object>> describe(GradingScale scale) {
+        List<Map<String, Object>> grades = new ArrayList<>();
+        for (GradingScale.Band band : scale.getBands()) {
+            grades.add(Map.of(
+                "grade", band.grade(),
+                "minMark", band.minMark(),
+                "maxMark", band.maxMark(),
+                "points", band.points(),
+                "description", band.description() != null ? band.description() : ""
+            ));
+        }
+        return List.copyOf(grades);
+    }
+}
@@ -0,0 +1,540 @@
+package com.academix.server.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.academix.server.dto.MailDto;
+import com.academix.server.model.OutboundEmail;
+import com.academix.server.repository.OutboundEmailRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Delivers email through a durable outbox, off the request path.
+ * Callers only write an outbox row, in their own transaction when they have
+ * one, and the dispatcher is woken once it commits. Due rows are claimed in
+ * batches and handed to a small worker pool; each batch goes out over a
+ * single SMTP connection. Failed messages are retried with exponential
+ * backoff and dead-lettered after the maximum number of attempts.
+ * Delivery is at least once: a batch whose outcome is unknown is retried.
+ * Several instances can share the outbox: a row is claimed with a
+ * conditional update and held under a lease, and only rows whose lease ran
+ * out are taken back. Bodies are cleared once sent and finished rows are
+ * purged after the retention period.
+ */
+@Service
+public class MailQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailQueueService.class);
+
+    @Autowired
+    private OutboundEmailRepository emailRepository;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Value("${spring.mail.username:noreply@academix.com}")
+    private String fromEmail;
+
+    @Value("${academix.mail.workers:2}")
+    private int workerCount;
+
+    // Messages sent over one SMTP connection
+    @Value("${academix.mail.batch-size:50}")
+    private int batchSize;
+
+    // Pass for retries that came due; new emails wake the dispatcher at once
+    @Value("${academix.mail.poll-ms:10000}")
+    private long pollMillis;
+
+    @Value("${academix.mail.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${academix.mail.retry-base-seconds:30}")
+    private long retryBaseSeconds;
+
+    @Value("${academix.mail.retry-max-seconds:3600}")
+    private long retryMaxSeconds;
+
+    // How long a claimed batch may take before another pass may send it again
+    @Value("${academix.mail.lease-seconds:600}")
+    private long leaseSeconds;
+
+    // SENT and DEAD rows are deleted after this many days
+    @Value("${academix.mail.retention-days:30}")
+    private long retentionDays;
+
+    // Identifies this instance's claims in the outbox
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong claimPasses = new AtomicLong();
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "mail-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile ThreadPoolExecutor workers;
+    private final AtomicInteger batchesInFlight = new AtomicInteger();
+    private final AtomicBoolean wakeScheduled = new AtomicBoolean();
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failedAttempts = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong batchNanos = new AtomicLong();
+
+    // Enqueue-to-accepted latency of recent deliveries
+    private final LatencyWindow deliveryLatency = new LatencyWindow(1024);
+
+    public MailQueueService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "mail-sender");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        // Batches of a crashed instance are only taken back once their lease ran out;
+        // other instances may still be sending theirs
+        int requeued = emailRepository.requeueExpiredLeases(LocalDateTime.now());
+
+        dispatcher.scheduleWithFixedDelay(this::pollSafely, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+        dispatcher.scheduleWithFixedDelay(this::purgeSafely, 1, 60, TimeUnit.MINUTES);
+        wake();
+        logger.info("Mail queue started as {} - {} workers, batches of {}, {} expired claims requeued",
+            instanceId, workerCount, batchSize, requeued);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    // ============ OUTBOX ============
+
+    /**
+     * Queue a composed message for delivery. Joins the caller's transaction,
+     * so the email exists exactly when the caller's changes commit.
+     */
+    public OutboundEmail enqueue(String kind, SimpleMailMessage message) {
+        OutboundEmail saved = emailRepository.save(toOutboxRow(kind, message));
+        enqueued.incrementAndGet();
+        wakeAfterCommit();
+        return saved;
+    }
+
+    /**
+     * Queue many composed messages with batched inserts, e.g. a mass mailing.
+     * Returns the number queued.
+     */
+    public int enqueueAll(String kind, List<SimpleMailMessage> messages) {
+        List<OutboundEmail> rows = new ArrayList<>(messages.size());
+        for (SimpleMailMessage message : messages) {
+            rows.add(toOutboxRow(kind, message));
+        }
+        int written = emailRepository.batchInsert(rows);
+        enqueued.addAndGet(written);
+        wakeAfterCommit();
+        return written;
+    }
+
+    private static OutboundEmail toOutboxRow(String kind, SimpleMailMessage message) {
+        String[] to = message.getTo();
+        if (to == null || to.length == 0 || to[0] == null || to[0].isBlank()) {
+            throw new RuntimeException("Email recipient is required");
+        }
+
+        OutboundEmail email = new OutboundEmail();
+        email.setKind(kind);
+        email.setRecipient(to[0].trim());
+        email.setSubject(message.getSubject() != null ? message.getSubject() : "");
+        email.setBody(message.getText() != null ? message.getText() : "");
+        email.setNextAttemptAt(LocalDateTime.now());
+        return email;
+    }
+
+    private void wakeAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wake();
+                }
+            });
+        } else {
+            wake();
+        }
+    }
+
+    // Run a dispatch pass soon; wake-ups before it starts share the pass
+    private void wake() {
+        if (wakeScheduled.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(this::dispatchSafely);
+            } catch (RuntimeException e) {
+                // Shutting down; the rows stay pending for the next start
+                wakeScheduled.set(false);
+            }
+        }
+    }
+
+    // ============ DISPATCH ============
+
+    // Scheduled pass: take back expired claims, then send whatever is due
+    private void pollSafely() {
+        try {
+            int requeued = emailRepository.requeueExpiredLeases(LocalDateTime.now());
+            if (requeued > 0) {
+                logger.warn("Requeued {} emails whose claim expired before delivery was recorded", requeued);
+            }
+        } catch (Exception e) {
+            logger.error("Mail lease check failed: {}", e.getMessage());
+        }
+        dispatchSafely();
+    }
+
+    private void dispatchSafely() {
+        wakeScheduled.set(false);
+        try {
+            dispatch();
+        } catch (Exception e) {
+            // Keep the dispatcher scheduled; rows stay pending for the next pass
+            logger.error("Mail dispatch failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Claim due emails for every idle worker and hand them over in batches.
+     * Returns the number of emails claimed.
+     */
+    public int dispatch() {
+        int idle = workerCount - batchesInFlight.get();
+        if (idle <= 0 || workers == null) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> due = emailRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                OutboundEmail.Status.PENDING, now, Limit.of(idle * batchSize))
+            .stream().map(OutboundEmail::getId).toList();
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        // Rows another instance or pass claimed in the meantime are skipped by the conditional update
+        String claim = instanceId + "#" + claimPasses.incrementAndGet();
+        emailRepository.claim(due, claim, now.plusSeconds(leaseSeconds));
+        List<OutboundEmail> claimed = emailRepository.findByClaimedByOrderByIdAsc(claim);
+
+        for (int from = 0; from < claimed.size(); from += batchSize) {
+            List<OutboundEmail> batch = claimed.subList(from, Math.min(from + batchSize, claimed.size()));
+            batchesInFlight.incrementAndGet();
+            workers.execute(() -> {
+                try {
+                    deliver(batch);
+                } finally {
+                    batchesInFlight.decrementAndGet();
+                    // A worker is free again; pick up any backlog without waiting for the poll
+                    wake();
+                }
+            });
+        }
+        return claimed.size();
+    }
+
+    /**
+     * Send one batch over a single SMTP connection and record each outcome
+     */
+    private void deliver(List<OutboundEmail> batch) {
+        Map<SimpleMailMessage, OutboundEmail> byMessage = new IdentityHashMap<>();
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            messages[i] = toMessage(batch.get(i));
+            byMessage.put(messages[i], batch.get(i));
+        }
+
+        Map<OutboundEmail, Exception> failures = new IdentityHashMap<>();
+        long start = System.nanoTime();
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            // Per-message failures; anything else in the batch was accepted
+            for (Map.Entry<Object, Exception> failure : e.getFailedMessages().entrySet()) {
+                OutboundEmail email = byMessage.get(failure.getKey());
+                if (email != null) {
+                    failures.put(email, failure.getValue());
+                }
+            }
+            if (failures.isEmpty()) {
+                // No per-message detail, e.g. the connection failed: the outcome is unknown
+                for (OutboundEmail email : batch) {
+                    failures.put(email, e);
+                }
+            }
+        } catch (Exception e) {
+            for (OutboundEmail email : batch) {
+                failures.put(email, e);
+            }
+        }
+        batches.incrementAndGet();
+        batchNanos.addAndGet(System.nanoTime() - start);
+
+        try {
+            recordOutcomes(batch, failures);
+        } catch (Exception e) {
+            // Rows stay SENDING and are requeued once their lease runs out
+            logger.error("Failed to record outcome of {} emails: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    private void recordOutcomes(List<OutboundEmail> batch, Map<OutboundEmail, Exception> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboundEmail> dead = new ArrayList<>();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            for (OutboundEmail email : batch) {
+                email.setAttempts(email.getAttempts() + 1);
+                email.setClaimedBy(null);
+                email.setLeaseUntil(null);
+                Exception error = failures.get(email);
+                if (error == null) {
+                    email.setStatus(OutboundEmail.Status.SENT);
+                    email.setSentAt(now);
+                    email.setLastError(null);
+                    email.setBody(null);
+                    continue;
+                }
+
+                String message = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+                email.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+                if (email.getAttempts() >= maxAttempts) {
+                    email.setStatus(OutboundEmail.Status.DEAD);
+                    dead.add(email);
+                } else {
+                    long delay = Math.min(retryMaxSeconds, retryBaseSeconds << Math.min(email.getAttempts() - 1, 20));
+                    email.setStatus(OutboundEmail.Status.PENDING);
+                    email.setNextAttemptAt(now.plusSeconds(delay));
+                }
+            }
+            emailRepository.saveAll(batch);
+        });
+
+        int delivered = batch.size() - failures.size();
+        sent.addAndGet(delivered);
+        failedAttempts.addAndGet(failures.size());
+        deadLettered.addAndGet(dead.size());
+        for (OutboundEmail email : batch) {
+            if (email.getStatus() == OutboundEmail.Status.SENT && email.getCreatedAt() != null) {
+                deliveryLatency.add(Duration.between(email.getCreatedAt(), now).toMillis());
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            logger.warn("Mail batch: {} of {} sent, {} to retry, {} dead-lettered - {}",
+                delivered, batch.size(), failures.size() - dead.size(), dead.size(),
+                failures.values().iterator().next().getMessage());
+        } else {
+            logger.debug("Mail batch: {} sent", delivered);
+        }
+        for (OutboundEmail email : dead) {
+            logger.error("Giving up on {} email to {} after {} attempts: {}",
+                email.getKind(), email.getRecipient(), email.getAttempts(), email.getLastError());
+        }
+    }
+
+    private SimpleMailMessage toMessage(OutboundEmail email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(email.getRecipient());
+        message.setSubject(email.getSubject());
+        message.setText(email.getBody());
+        return message;
+    }
+
+    // ============ RETENTION ============
+
+    /**
+     * Delete SENT and DEAD rows older than the retention period.
+     * Returns the number deleted.
+     */
+    public int purgeFinished() {
+        int purged = emailRepository.purgeFinished(LocalDateTime.now().minusDays(retentionDays));
+        if (purged > 0) {
+            logger.info("Purged {} sent and dead-lettered emails older than {} days", purged, retentionDays);
+        }
+        return purged;
+    }
+
+    private void purgeSafely() {
+        try {
+            purgeFinished();
+        } catch (Exception e) {
+            logger.error("Mail outbox purge failed: {}", e.getMessage());
+        }
+    }
+
+    // ============ DEAD LETTERS ============
+
+    /**
+     * Dead-lettered emails, newest first, without their bodies
+     * (credentials emails carry temporary passwords)
+     */
+    public List<MailDto.DeadLetter> getDeadLetters(int limit) {
+        List<MailDto.DeadLetter> letters = new ArrayList<>();
+        for (OutboundEmail email : emailRepository.findByStatusOrderByIdDesc(
+                OutboundEmail.Status.DEAD, Limit.of(Math.max(1, Math.min(limit, 500))))) {
+            MailDto.DeadLetter letter = new MailDto.DeadLetter();
+            letter.setId(email.getId());
+            letter.setKind(email.getKind());
+            letter.setRecipient(email.getRecipient());
+            letter.setSubject(email.getSubject());
+            letter.setAttempts(email.getAttempts());
+            letter.setLastError(email.getLastError());
+            letter.setCreatedAt(email.getCreatedAt());
+            letters.add(letter);
+        }
+        return letters;
+    }
+
+    /**
+     * Put dead letters back in the queue with a fresh set of attempts;
+     * all of them when no ids are given. Returns the number requeued.
+     */
+    public int retryDeadLetters(List<Long> ids) {
+        Integer requeued = transactionTemplate.execute(status -> {
+            List<OutboundEmail> dead = ids == null || ids.isEmpty()
+                ? emailRepository.findByStatus(OutboundEmail.Status.DEAD)
+                : emailRepository.findAllById(ids).stream()
+                    .filter(email -> email.getStatus() == OutboundEmail.Status.DEAD)
+                    .toList();
+            LocalDateTime now = LocalDateTime.now();
+            for (OutboundEmail email : dead) {
+                email.setStatus(OutboundEmail.Status.PENDING);
+                email.setAttempts(0);
+                email.setNextAttemptAt(now);
+            }
+            emailRepository.saveAll(dead);
+            return dead.size();
+        });
+        if (requeued > 0) {
+            logger.info("Requeued {} dead-lettered emails", requeued);
+            wake();
+        }
+        return requeued;
+    }
+
+    // ============ METRICS ============
+
+    /**
+     * Queue depth by status, age of the oldest waiting email, delivery
+     * latency percentiles and counters since startup
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Long> byStatus = new HashMap<>();
+        for (Object[] row : emailRepository.countByStatus()) {
+            byStatus.put(row[0].toString(), (Long) row[1]);
+        }
+        LocalDateTime oldestPending = emailRepository.findOldestCreatedAt(OutboundEmail.Status.PENDING);
+        long batchCount = batches.get();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("byStatus", byStatus);
+        stats.put("queueDepth", byStatus.getOrDefault(OutboundEmail.Status.PENDING.name(), 0L)
+            + byStatus.getOrDefault(OutboundEmail.Status.SENDING.name(), 0L));
+        stats.put("oldestPendingAgeSeconds", oldestPending != null
+            ? Math.max(0, Duration.between(oldestPending, LocalDateTime.now()).toSeconds()) : 0);
+        stats.put("workers", workerCount);
+        stats.put("batchesInFlight", batchesInFlight.get());
+        stats.put("batchSize", batchSize);
+        stats.put("enqueued", enqueued.get());
+        stats.put("sent", sent.get());
+        stats.put("failedAttempts", failedAttempts.get());
+        stats.put("deadLettered", deadLettered.get());
+        stats.put("batches", batchCount);
+        stats.put("averageBatchMs", batchCount > 0 ? batchNanos.get() / batchCount / 1_000_000 : 0);
+        stats.putAll(deliveryLatency.percentiles("deliveryLatency"));
+        stats.put("maxAttempts", maxAttempts);
+        return stats;
+    }
+
+    /**
+     * Most recent samples in a ring, for percentiles without unbounded memory
+     */
+    private static final class LatencyWindow {
+        private final long[] samples;
+        private int next;
+        private int count;
+
+        LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        synchronized void add(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % samples.length;
+            count = Math.min(count + 1, samples.length);
+        }
+
+        synchronized Map<String, Object> percentiles(String prefix) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put(prefix + "P50Ms", percentile(sorted, 0.50));
+            result.put(prefix + "P95Ms", percentile(sorted, 0.95));
+            result.put(prefix + "MaxMs", sorted.length > 0 ? sorted[sorted.length - 1] : 0);
+            result.put(prefix + "Samples", sorted.length);
+            return result;
+        }
+
+        private static long percentile(long[] sorted, double fraction) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(fraction * sorted.length) - 1)];
+        }
+    }
+}
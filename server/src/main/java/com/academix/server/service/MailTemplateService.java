@@ -0,0 +1,193 @@
+package com.academix.server.service;
+
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Renders email bodies from the plain-text Thymeleaf templates in
+ * templates/email. Every template is parsed once at startup and kept in the
+ * engine's cache for the life of the process, so a send only evaluates
+ * expressions against an already parsed template. Each thread renders into
+ * its own reusable buffer and context, which keeps bulk rendering for mass
+ * mailings free of per-message allocation beyond the resulting string.
+ */
+@Service
+public class MailTemplateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailTemplateService.class);
+
+    // Buffers that grew past this for an unusually long message are shrunk again
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    public enum MailTemplate {
+        PASSWORD_RESET("password-reset", "Password Reset Request - Academix"),
+        EMAIL_VERIFICATION("email-verification", "Email Verification - Academix"),
+        WELCOME("welcome", "Welcome to Academix!"),
+        STUDENT_REGISTRATION("student-registration", "Welcome to Academix - Your Student Account Details"),
+        USER_CREDENTIALS("user-credentials", "Academix Account - Your Login Credentials"),
+        TEACHER_REGISTRATION("teacher-registration", "Welcome to Academix - Your Teacher Account Details"),
+        STAFF_REGISTRATION("staff-registration", "Welcome to Academix - Your Staff Account Details");
+
+        private final String file;
+        private final String subject;
+
+        MailTemplate(String file, String subject) {
+            this.file = file;
+            this.subject = subject;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+    }
+
+    @Value("${app.frontend.url:http://localhost:5173}")
+    private String frontendUrl;
+
+    private final SpringTemplateEngine engine = new SpringTemplateEngine();
+
+    private final ThreadLocal<Renderer> renderers = ThreadLocal.withInitial(Renderer::new);
+
+    @PostConstruct
+    public void start() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/email/");
+        resolver.setSuffix(".txt");
+        resolver.setTemplateMode(TemplateMode.TEXT);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+        // No TTL: templates ship with the application and only change on redeploy
+        resolver.setCacheTTLMs(null);
+        engine.setTemplateResolver(resolver);
+        engine.setEnableSpringELCompiler(true);
+
+        // Parse every template now, so a missing or broken one fails startup instead of a send
+        long start = System.nanoTime();
+        for (MailTemplate template : MailTemplate.values()) {
+            render(template, Map.of());
+        }
+        logger.info("Mail templates parsed and cached - {} templates in {} ms",
+            MailTemplate.values().length, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Render one message body. The frontend URL is always available as
+     * ${frontendUrl}; blank values should be passed as null so that
+     * optional lines are left out.
+     */
+    public String render(MailTemplate template, Map<String, ?> variables) {
+        return renderers.get().render(template, variables);
+    }
+
+    /**
+     * Render one body per variable set, in order, on the calling thread's
+     * buffer. Meant for term-start mass mailings of thousands of messages.
+     */
+    public List<String> renderAll(MailTemplate template, List<? extends Map<String, ?>> variables) {
+        Renderer renderer = renderers.get();
+        List<String> bodies = new ArrayList<>(variables.size());
+        for (Map<String, ?> messageVariables : variables) {
+            bodies.add(renderer.render(template, messageVariables));
+        }
+        return bodies;
+    }
+
+    /**
+     * Template by enum name or file name, e.g. "WELCOME" or "welcome"
+     */
+    public static MailTemplate templateOf(String name) {
+        if (name != null) {
+            for (MailTemplate template : MailTemplate.values()) {
+                if (template.name().equalsIgnoreCase(name.trim()) || template.getFile().equalsIgnoreCase(name.trim())) {
+                    return template;
+                }
+            }
+        }
+        throw new RuntimeException("Unknown email template: " + name);
+    }
+
+    /**
+     * A thread's reusable context and output buffer
+     */
+    private final class Renderer {
+        private final Context context = new Context();
+        private final StringBuilderWriter buffer = new StringBuilderWriter();
+
+        String render(MailTemplate template, Map<String, ?> variables) {
+            context.clearVariables();
+            context.setVariable("frontendUrl", frontendUrl);
+            for (Map.Entry<String, ?> variable : variables.entrySet()) {
+                context.setVariable(variable.getKey(), variable.getValue());
+            }
+            buffer.reset();
+            engine.process(template.getFile(), context, buffer);
+            return buffer.toString();
+        }
+    }
+
+    /**
+     * Unsynchronized writer over a StringBuilder that is cleared, not replaced, between messages
+     */
+    private static final class StringBuilderWriter extends Writer {
+        private StringBuilder builder = new StringBuilder(2048);
+
+        void reset() {
+            if (builder.capacity() > MAX_RETAINED_BUFFER) {
+                builder = new StringBuilder(2048);
+            } else {
+                builder.setLength(0);
+            }
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            builder.append(chars, offset, length);
+        }
+
+        @Override
+        public void write(String string, int offset, int length) {
+            builder.append(string, offset, offset + length);
+        }
+
+        @Override
+        public void write(int c) {
+            builder.append((char) c);
+        }
+
+        @Override
+        public Writer append(CharSequence sequence) {
+            builder.append(sequence);
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
+}
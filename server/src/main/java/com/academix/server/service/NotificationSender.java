@@ -0,0 +1,15 @@
+package com.academix.server.service;
+
+import com.academix.server.model.AbsenceNotification;
+
+/**
+ * Delivers a composed notification over one channel.
+ * Every sender bean is picked up by the absence notification dispatcher;
+ * a failed delivery throws and is retried with backoff.
+ */
+public interface NotificationSender {
+
+    AbsenceNotification.Channel getChannel();
+
+    void send(String recipient, String recipientName, String subject, String body);
+}
@@ -0,0 +1,209 @@
+package com.academix.server.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs password hashing and verification on a dedicated pool sized to the
+ * cores, so a login burst cannot tie up request threads with BCrypt work.
+ * The queue in front of the pool is bounded: when it is full the call fails
+ * at once with {@link BusyException}, which controllers turn into
+ * 503 Service Unavailable with a Retry-After estimated from the backlog.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    /**
+     * The hashing queue is full; retry after the given number of seconds
+     */
+    public static class BusyException extends RuntimeException {
+        private final long retryAfterSeconds;
+
+        public BusyException(long retryAfterSeconds) {
+            super("Server is busy. Please try again in " + retryAfterSeconds + " seconds.");
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${academix.auth.hashing.threads:0}")
+    private int configuredThreads;
+
+    @Value("${academix.auth.hashing.queue-capacity:256}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+    private int threads;
+    private int cost;
+
+    // Moving average of one hash, for the Retry-After estimate
+    private volatile double averageHashMs;
+    private final AtomicLong rejected = new AtomicLong();
+
+    @PostConstruct
+    public void start() {
+        threads = configuredThreads > 0 ? configuredThreads : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "password-hashing");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        long start = System.nanoTime();
+        String sample = passwordEncoder.encode("calibration");
+        averageHashMs = (System.nanoTime() - start) / 1_000_000.0;
+        cost = bcryptCost(sample);
+        logger.info("Password hashing pool started - {} threads, queue of {}, cost {} (~{} ms per hash)",
+            threads, queueCapacity, cost, Math.round(averageHashMs));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public CompletableFuture<String> hashAsync(String plainPassword) {
+        return submit(() -> passwordEncoder.encode(plainPassword));
+    }
+
+    public CompletableFuture<Boolean> matchesAsync(String plainPassword, String hashedPassword) {
+        return submit(() -> passwordEncoder.matches(plainPassword, hashedPassword));
+    }
+
+    /**
+     * Hash on the pool and wait for the result
+     */
+    public String hash(String plainPassword) {
+        return await(hashAsync(plainPassword));
+    }
+
+    /**
+     * Verify on the pool and wait for the result
+     */
+    public boolean matches(String plainPassword, String hashedPassword) {
+        return await(matchesAsync(plainPassword, hashedPassword));
+    }
+
+    /**
+     * Hash many passwords across the pool for a background job. At most one
+     * task per thread is in flight, so interactive logins still find room
+     * in the queue; a full queue makes the job wait instead of failing.
+     */
+    public List<String> hashAll(List<String> plainPasswords) {
+        Semaphore inFlight = new Semaphore(threads);
+        List<CompletableFuture<String>> hashes = new ArrayList<>(plainPasswords.size());
+        try {
+            for (String plainPassword : plainPasswords) {
+                inFlight.acquire();
+                CompletableFuture<String> hash = null;
+                while (hash == null) {
+                    try {
+                        hash = hashAsync(plainPassword);
+                    } catch (BusyException e) {
+                        Thread.sleep(Math.max(10, Math.round(averageHashMs)));
+                    }
+                }
+                hash.whenComplete((result, error) -> inFlight.release());
+                hashes.add(hash);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Password hashing interrupted");
+        }
+        List<String> result = new ArrayList<>(hashes.size());
+        for (CompletableFuture<String> hash : hashes) {
+            result.add(await(hash));
+        }
+        return result;
+    }
+
+    /**
+     * Whether a stored hash is weaker than the current cost and should be replaced
+     */
+    public boolean needsUpgrade(String hashedPassword) {
+        return hashedPassword != null && passwordEncoder.upgradeEncoding(hashedPassword);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", threads);
+        stats.put("cost", cost);
+        stats.put("averageHashMs", Math.round(averageHashMs));
+        stats.put("active", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("completed", executor.getCompletedTaskCount());
+        stats.put("rejected", rejected.get());
+        return stats;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                T result = work.get();
+                averageHashMs = averageHashMs * 0.9 + (System.nanoTime() - start) / 1_000_000.0 * 0.1;
+                return result;
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new BusyException(retryAfterSeconds());
+        }
+    }
+
+    // Time for the pool to work through everything ahead of a new request
+    private long retryAfterSeconds() {
+        double backlogMs = (executor.getQueue().size() + threads) * averageHashMs / threads;
+        return Math.max(1, (long) Math.ceil(backlogMs / 1000));
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // "$2a$12$..." -> 12
+    private static int bcryptCost(String hash) {
+        try {
+            return Integer.parseInt(hash.substring(4, 6));
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+}
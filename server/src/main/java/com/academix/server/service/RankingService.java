@@ -0,0 +1,271 @@
+package com.academix.server.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.academix.server.repository.ResultRepository;
+import com.academix.server.repository.StudentExamSummaryRepository;
+
+/**
+ * Ranking engine for exam results.
+ * Computes subject positions (class and stream) and overall positions
+ * (class and stream, by average percentage) over primitive arrays, using
+ * competition ranking: equal scores share a position and the next position
+ * skips, e.g. 1, 2, 2, 4.
+ */
+@Service
+@Transactional
+public class RankingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RankingService.class);
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    @Autowired
+    private StudentExamSummaryRepository summaryRepository;
+
+    @Autowired
+    private StudentExamSummaryService summaryService;
+
+    /**
+     * Rank one class in an exam and write the positions back
+     */
+    public Map<String, Object> rankClass(Long examId, String className) {
+        ClassRanking ranking = rankRows(className, resultRepository.findRankingRows(examId, className));
+        write(examId, ranking);
+
+        logger.info("Positions calculated for class {} in exam {} - {} results, {} students",
+            className, examId, ranking.resultCount, ranking.studentIds.length);
+        return createSummary(examId, List.of(ranking));
+    }
+
+    /**
+     * Rank every class in an exam. The exam is read with one query and the
+     * classes are ranked in parallel; writes happen on the calling transaction.
+     */
+    public Map<String, Object> rankExam(Long examId) {
+        Map<String, List<Object[]>> byClass = new HashMap<>();
+        for (Object[] row : resultRepository.findRankingRowsByExam(examId)) {
+            byClass.computeIfAbsent((String) row[6], k -> new ArrayList<>()).add(row);
+        }
+
+        List<ClassRanking> rankings = byClass.entrySet().parallelStream()
+            .map(entry -> rankRows(entry.getKey(), entry.getValue()))
+            .toList();
+
+        for (ClassRanking ranking : rankings) {
+            write(examId, ranking);
+        }
+
+        logger.info("Positions calculated for {} classes in exam {}", rankings.size(), examId);
+        return createSummary(examId, rankings);
+    }
+
+    /**
+     * Competition ranking of scores, highest first.
+     * Each score is packed with its index into a long so a single primitive
+     * sort orders them without boxing.
+     */
+    public static int[] rankDescending(int[] scores) {
+        int n = scores.length;
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = ((long) scores[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        int[] ranks = new int[n];
+        int rank = 0;
+        int previous = 0;
+        for (int k = 0; k < n; k++) {
+            long key = keys[n - 1 - k];
+            int score = (int) (key >> 32);
+            if (k == 0 || score != previous) {
+                rank = k + 1;
+            }
+            ranks[(int) key] = rank;
+            previous = score;
+        }
+        return ranks;
+    }
+
+    /**
+     * Competition ranking within groups (e.g. streams). Members of a null
+     * group get position 0, which is written back as null.
+     */
+    public static int[] rankWithinGroups(int[] scores, String[] groups) {
+        Map<String, int[]> members = new HashMap<>();
+        Map<String, Integer> sizes = new HashMap<>();
+        for (String group : groups) {
+            if (group != null) sizes.merge(group, 1, Integer::sum);
+        }
+        for (int i = 0; i < groups.length; i++) {
+            if (groups[i] == null) continue;
+            int[] indexes = members.computeIfAbsent(groups[i], g -> new int[sizes.get(g) + 1]);
+            // slot 0 holds the fill count
+            indexes[++indexes[0]] = i;
+        }
+
+        int[] ranks = new int[scores.length];
+        for (int[] indexes : members.values()) {
+            int size = indexes[0];
+            int[] groupScores = new int[size];
+            for (int k = 0; k < size; k++) {
+                groupScores[k] = scores[indexes[k + 1]];
+            }
+            int[] groupRanks = rankDescending(groupScores);
+            for (int k = 0; k < size; k++) {
+                ranks[indexes[k + 1]] = groupRanks[k];
+            }
+        }
+        return ranks;
+    }
+
+    /**
+     * Rank the rows of one class: columns are id, studentId, subjectCode,
+     * stream, marksObtained, percentage.
+     */
+    private ClassRanking rankRows(String className, List<Object[]> rows) {
+        ClassRanking ranking = new ClassRanking(className, rows.size());
+
+        // Subject positions
+        Map<String, List<Object[]>> bySubject = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            bySubject.computeIfAbsent((String) row[2], k -> new ArrayList<>()).add(row);
+        }
+        for (Map.Entry<String, List<Object[]>> entry : bySubject.entrySet()) {
+            List<Object[]> subjectRows = entry.getValue();
+            int n = subjectRows.size();
+            long[] ids = new long[n];
+            int[] marks = new int[n];
+            String[] streams = new String[n];
+            for (int i = 0; i < n; i++) {
+                Object[] row = subjectRows.get(i);
+                ids[i] = (Long) row[0];
+                marks[i] = row[4] != null ? (Integer) row[4] : 0;
+                streams[i] = (String) row[3];
+            }
+            ranking.subjects.add(new Positions(ids, rankDescending(marks), rankWithinGroups(marks, streams)));
+        }
+
+        // Overall positions by average percentage, to two decimals as shown on the report card
+        Map<Long, double[]> totals = new LinkedHashMap<>();
+        Map<Long, String> streamOf = new HashMap<>();
+        for (Object[] row : rows) {
+            Long studentId = (Long) row[1];
+            double[] total = totals.computeIfAbsent(studentId, k -> new double[2]);
+            total[0] += row[5] != null ? (Double) row[5] : 0.0;
+            total[1]++;
+            if (row[3] != null) streamOf.putIfAbsent(studentId, (String) row[3]);
+        }
+        int students = totals.size();
+        long[] studentIds = new long[students];
+        int[] averages = new int[students];
+        String[] streams = new String[students];
+        int i = 0;
+        for (Map.Entry<Long, double[]> entry : totals.entrySet()) {
+            studentIds[i] = entry.getKey();
+            averages[i] = (int) Math.round(entry.getValue()[0] / entry.getValue()[1] * 100.0);
+            streams[i] = streamOf.get(entry.getKey());
+            i++;
+        }
+        ranking.studentIds = studentIds;
+        ranking.overall = new Positions(studentIds, rankDescending(averages), rankWithinGroups(averages, streams));
+
+        return ranking;
+    }
+
+    /**
+     * One batched UPDATE per subject, then one for the overall positions.
+     * Students ranked before their summary row exists get it created first,
+     * so no overall position is dropped.
+     */
+    private void write(Long examId, ClassRanking ranking) {
+        for (Positions subject : ranking.subjects) {
+            resultRepository.batchUpdatePositions(subject.ids, subject.classPositions, subject.streamPositions);
+        }
+        Positions overall = ranking.overall;
+        int[] updated = summaryRepository.batchUpdatePositions(examId, overall.ids,
+            overall.classPositions, overall.streamPositions);
+
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(i);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        long[] ids = new long[missing.size()];
+        int[] classPositions = new int[missing.size()];
+        int[] streamPositions = new int[missing.size()];
+        List<Long> studentIds = new ArrayList<>(missing.size());
+        for (int i = 0; i < missing.size(); i++) {
+            int index = missing.get(i);
+            ids[i] = overall.ids[index];
+            classPositions[i] = overall.classPositions[index];
+            streamPositions[i] = overall.streamPositions[index];
+            studentIds.add(ids[i]);
+        }
+        summaryService.refreshStudents(examId, studentIds);
+        summaryRepository.flush();
+        summaryRepository.batchUpdatePositions(examId, ids, classPositions, streamPositions);
+        logger.debug("Created {} missing exam summaries in {} before writing positions", ids.length, ranking.className);
+    }
+
+    private Map<String, Object> createSummary(Long examId, List<ClassRanking> rankings) {
+        int results = 0;
+        int students = 0;
+        List<String> classes = new ArrayList<>();
+        for (ClassRanking ranking : rankings) {
+            results += ranking.resultCount;
+            students += ranking.studentIds.length;
+            classes.add(ranking.className);
+        }
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("examId", examId);
+        summary.put("classes", classes);
+        summary.put("resultsRanked", results);
+        summary.put("studentsRanked", students);
+        return summary;
+    }
+
+    private static class Positions {
+        final long[] ids;
+        final int[] classPositions;
+        final int[] streamPositions;
+
+        Positions(long[] ids, int[] classPositions, int[] streamPositions) {
+            this.ids = ids;
+            this.classPositions = classPositions;
+            this.streamPositions = streamPositions;
+        }
+    }
+
+    private static class ClassRanking {
+        final String className;
+        final int resultCount;
+        final List<Positions> subjects = new ArrayList<>();
+        long[] studentIds;
+        Positions overall;
+
+        ClassRanking(String className, int resultCount) {
+            this.className = className;
+            this.resultCount = resultCount;
+        }
+    }
+}
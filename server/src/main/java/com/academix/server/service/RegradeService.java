@@ -0,0 +1,306 @@
+package com.academix.server.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.academix.server.event.ResultsChangedEvent;
+import com.academix.server.model.Exam;
+import com.academix.server.model.GradingScale;
+import com.academix.server.model.RegradeJob;
+import com.academix.server.model.Result;
+import com.academix.server.repository.ExamRepository;
+import com.academix.server.repository.RegradeJobRepository;
+import com.academix.server.repository.ResultRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Regrades every result of an exam in the background, e.g. after a grading
+ * boundary change. Results are read in keyset-paged chunks, graded with the
+ * bulk grading API, and only rows whose grade changed are written back.
+ * Each chunk commits together with the job's checkpoint, so a failed or
+ * interrupted job resumes from its last committed chunk.
+ */
+@Service
+public class RegradeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegradeService.class);
+
+    private static final int CHUNK_SIZE = 1000;
+
+    @Autowired
+    private RegradeJobRepository jobRepository;
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    @Autowired
+    private ExamRepository examRepository;
+
+    @Autowired
+    private GradingScaleService gradingScaleService;
+
+    @Autowired
+    private StudentExamSummaryService summaryService;
+
+    @Autowired
+    private RankingService rankingService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "regrade-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Exams with a job currently executing on this instance
+    private final Set<Long> runningExams = ConcurrentHashMap.newKeySet();
+
+    public RegradeService(PlatformTransactionManager transactionManager) {
+        // Every chunk commits on its own, even when the job is started from inside a transaction
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Start a regrade of an exam, or resume its latest unfinished job when
+     * the grading scales are still the ones that job was grading with
+     */
+    public RegradeJob startRegrade(Long examId, Long requestedBy) {
+        Exam exam = examRepository.findById(examId)
+            .orElseThrow(() -> new RuntimeException("Exam not found with id: " + examId));
+
+        if (exam.getIsLocked()) {
+            throw new RuntimeException("Exam is locked. Cannot regrade results.");
+        }
+        if (!runningExams.add(examId)) {
+            throw new RuntimeException("A regrade is already running for exam: " + exam.getCode());
+        }
+
+        RegradeJob job;
+        try {
+            String fingerprint = gradingScaleService.scaleFingerprint(exam.getAcademicYear());
+            job = transactionTemplate.execute(status -> {
+                long total = resultRepository.countByExamId(examId);
+                Optional<RegradeJob> latest = jobRepository.findFirstByExamIdOrderByIdDesc(examId);
+                if (latest.isPresent() && latest.get().getStatus() != RegradeJob.JobStatus.COMPLETED
+                        && fingerprint.equals(latest.get().getScaleFingerprint())) {
+                    // Same scales as the unfinished job: resume from its last committed chunk
+                    RegradeJob resumed = latest.get();
+                    resumed.setStatus(RegradeJob.JobStatus.PENDING);
+                    resumed.setErrorMessage(null);
+                    resumed.setTotalResults(total);
+                    return jobRepository.save(resumed);
+                }
+
+                // No unfinished job, or the scales changed since it ran: rows before its
+                // checkpoint were graded with the old bands, so start over
+                RegradeJob created = new RegradeJob();
+                created.setExamId(examId);
+                created.setRequestedBy(requestedBy);
+                created.setScaleFingerprint(fingerprint);
+                created.setTotalResults(total);
+                return jobRepository.save(created);
+            });
+        } catch (RuntimeException e) {
+            runningExams.remove(examId);
+            throw e;
+        }
+
+        Long jobId = job.getId();
+        executor.submit(() -> run(jobId, examId));
+        logger.info("Regrade job {} queued for exam {} (resume from result id {})",
+            jobId, exam.getCode(), job.getLastResultId());
+        return job;
+    }
+
+    /**
+     * Get a regrade job by ID
+     */
+    public Optional<RegradeJob> getJob(Long jobId) {
+        return jobRepository.findById(jobId);
+    }
+
+    /**
+     * Get the latest regrade job of an exam
+     */
+    public Optional<RegradeJob> getLatestJob(Long examId) {
+        return jobRepository.findFirstByExamIdOrderByIdDesc(examId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(Long jobId, Long examId) {
+        try {
+            updateJob(jobId, job -> {
+                job.setStatus(RegradeJob.JobStatus.RUNNING);
+                if (job.getStartedAt() == null) {
+                    job.setStartedAt(LocalDateTime.now());
+                }
+            });
+
+            while (Boolean.TRUE.equals(transactionTemplate.execute(status -> processChunk(jobId)))) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new RuntimeException("Regrade interrupted");
+                }
+            }
+
+            // Grades changed: refresh report card summaries, positions and statistics
+            transactionTemplate.executeWithoutResult(status -> {
+                summaryService.refreshExam(examId);
+                rankingService.rankExam(examId);
+                examRepository.findById(examId).ifPresent(exam ->
+                    eventPublisher.publishEvent(ResultsChangedEvent.of(exam.getAcademicYear(), exam.getTerm())));
+
+                RegradeJob job = jobRepository.findById(jobId).orElseThrow();
+                job.setStatus(RegradeJob.JobStatus.COMPLETED);
+                job.setFinishedAt(LocalDateTime.now());
+                jobRepository.save(job);
+            });
+
+            logger.info("Regrade job {} completed for exam {}", jobId, examId);
+        } catch (Exception e) {
+            logger.error("Regrade job {} failed for exam {}: {}", jobId, examId, e.getMessage(), e);
+            String message = e.getMessage() != null && e.getMessage().length() > 500
+                ? e.getMessage().substring(0, 500)
+                : e.getMessage();
+            updateJob(jobId, job -> {
+                job.setStatus(RegradeJob.JobStatus.FAILED);
+                job.setErrorMessage(message);
+            });
+        } finally {
+            runningExams.remove(examId);
+        }
+    }
+
+    /**
+     * Regrade the next chunk after the job's checkpoint and advance it.
+     * Returns false once there are no more results.
+     */
+    private boolean processChunk(Long jobId) {
+        RegradeJob job = jobRepository.findById(jobId)
+            .orElseThrow(() -> new RuntimeException("Regrade job not found with id: " + jobId));
+
+        List<Object[]> rows = resultRepository.findGradingRowsAfter(
+            job.getExamId(), job.getLastResultId(), PageRequest.of(0, CHUNK_SIZE));
+        if (rows.isEmpty()) {
+            return false;
+        }
+
+        int n = rows.size();
+        long[] ids = new long[n];
+        double[] percentages = new double[n];
+        String[] grades = new String[n];
+        int[] points = new int[n];
+        String[] remarks = new String[n];
+
+        // Rows grouped by compiled scale so each group is graded with one bulk call
+        Map<GradingScale, List<Integer>> byScale = new IdentityHashMap<>();
+
+        for (int i = 0; i < n; i++) {
+            Object[] row = rows.get(i);
+            ids[i] = (Long) row[0];
+            Result input = new Result();
+            input.setMarksObtained((Integer) row[1]);
+            input.setMaxMarks((Integer) row[2]);
+            input.setGradingScale((Result.GradingScaleType) row[3]);
+            input.setIsSubsidiary((Boolean) row[4]);
+            input.setAcademicYear((String) row[5]);
+
+            GradingScale.Type type = input.getScaleType();
+            if (type == null) {
+                // Simple percentage grading has no bands
+                input.calculateGrade();
+                percentages[i] = input.getPercentage();
+                grades[i] = input.getGrade();
+                points[i] = input.getGradePoints();
+                remarks[i] = null; // keep the stored remarks
+                continue;
+            }
+
+            percentages[i] = (input.getMarksObtained() * 100.0) / input.getMaxMarks();
+            GradingScale scale = gradingScaleService.getScale(input.getAcademicYear(), type);
+            byScale.computeIfAbsent(scale, k -> new ArrayList<>()).add(i);
+        }
+
+        for (Map.Entry<GradingScale, List<Integer>> entry : byScale.entrySet()) {
+            GradingScale scale = entry.getKey();
+            List<Integer> indexes = entry.getValue();
+            int[] rounded = new int[indexes.size()];
+            for (int k = 0; k < rounded.length; k++) {
+                rounded[k] = (int) Math.round(percentages[indexes.get(k)]);
+            }
+            byte[] graded = scale.grade(rounded);
+            for (int k = 0; k < graded.length; k++) {
+                int i = indexes.get(k);
+                grades[i] = scale.code(graded[k]);
+                points[i] = scale.points(graded[k]);
+                remarks[i] = scale.remark(graded[k]);
+            }
+        }
+
+        // Compact the rows that actually changed to the front of the arrays
+        int changed = 0;
+        for (int i = 0; i < n; i++) {
+            Object[] row = rows.get(i);
+            boolean differs = row[6] == null || Double.compare((Double) row[6], percentages[i]) != 0
+                || !grades[i].equals(row[7])
+                || row[8] == null || (Integer) row[8] != points[i];
+            if (!differs) {
+                continue;
+            }
+            ids[changed] = ids[i];
+            percentages[changed] = percentages[i];
+            grades[changed] = grades[i];
+            points[changed] = points[i];
+            remarks[changed] = remarks[i];
+            changed++;
+        }
+        long lastId = (Long) rows.get(n - 1)[0];
+
+        resultRepository.batchUpdateGrades(changed, ids, percentages, grades, points, remarks);
+
+        job.setProcessedResults(job.getProcessedResults() + n);
+        job.setChangedResults(job.getChangedResults() + changed);
+        job.setLastResultId(lastId);
+        jobRepository.save(job);
+
+        logger.debug("Regrade job {} - chunk of {} results, {} changed, checkpoint {}", jobId, n, changed, lastId);
+        return true;
+    }
+
+    private void updateJob(Long jobId, Consumer<RegradeJob> change) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jobRepository.findById(jobId).ifPresent(job -> {
+                change.accept(job);
+                jobRepository.save(job);
+            });
+        });
+    }
+}
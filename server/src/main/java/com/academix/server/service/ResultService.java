@@ -1,33 +1,53 @@
 package com.academix.server.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.academix.server.dto.ListDto;
+import com.academix.server.event.ResultsChangedEvent;
 import com.academix.server.model.Exam;
 import com.academix.server.model.Result;
 import com.academix.server.model.Student;
+import com.academix.server.model.StudentExamSummary;
 import com.academix.server.repository.ExamRepository;
 import com.academix.server.repository.ResultRepository;
+import com.academix.server.repository.StudentExamSummaryRepository;
 import com.academix.server.repository.StudentRepository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import tools.jackson.databind.json.JsonMapper;
+
 @Service
 @Transactional
 public class ResultService {
 
     private static final Logger logger = LoggerFactory.getLogger(ResultService.class);
 
+    // Maximum number of ids bound into a single IN (...) query
+    private static final int IN_CLAUSE_CHUNK = 1000;
+
+    // Report cards written between flushes of a streamed response
+    private static final int REPORT_CARD_FLUSH_INTERVAL = 50;
+
     @Autowired
     private ResultRepository resultRepository;
 
@@ -37,6 +57,30 @@ public class ResultService {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private StudentExamSummaryService summaryService;
+
+    @Autowired
+    private StudentExamSummaryRepository summaryRepository;
+
+    @Autowired
+    private RankingService rankingService;
+
+    @Autowired
+    private GradingScaleService gradingScaleService;
+
+    @Autowired
+    private ResultStatisticsService statisticsService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
      * Create/Enter a result
      */
@@ -59,6 +103,148 @@ public class ResultService {
             throw new RuntimeException("Result already exists for this student, exam, and subject");
         }
 
+        prepareResult(result, exam, student);
+
+        Result saved = resultRepository.save(result);
+        summaryService.refresh(saved.getStudentId(), saved.getExamId());
+        eventPublisher.publishEvent(ResultsChangedEvent.of(saved.getAcademicYear(), saved.getTerm()));
+        logger.info("Result created - Student: {}, Exam: {}, Subject: {}, Grade: {}",
+            student.getStudentId(), exam.getCode(), result.getSubjectCode(), result.getGrade());
+
+        return saved;
+    }
+
+    /**
+     * Bulk create/enter results.
+     * Exams and students are loaded once for the whole upload, duplicates are
+     * checked with one query per exam and valid rows are written in JDBC batches.
+     * Returns a report with the per-row errors for rows that were skipped.
+     */
+    public Map<String, Object> createBulkResults(List<Result> results) {
+        Set<Long> examIds = new HashSet<>();
+        Set<Long> studentIds = new HashSet<>();
+        for (Result result : results) {
+            if (result.getExamId() != null) examIds.add(result.getExamId());
+            if (result.getStudentId() != null) studentIds.add(result.getStudentId());
+        }
+
+        Map<Long, Exam> exams = new HashMap<>();
+        for (Exam exam : examRepository.findAllById(examIds)) {
+            exams.put(exam.getId(), exam);
+        }
+        Map<Long, Student> students = new HashMap<>();
+        for (Student student : studentRepository.findAllById(studentIds)) {
+            students.put(student.getId(), student);
+        }
+
+        Set<String> existing = findExistingEntries(results, exams);
+
+        List<Result> toInsert = new ArrayList<>();
+        List<Map<String, Object>> errors = new ArrayList<>();
+
+        for (int row = 0; row < results.size(); row++) {
+            Result result = results.get(row);
+            Exam exam = exams.get(result.getExamId());
+            Student student = students.get(result.getStudentId());
+            String key = entryKey(result.getExamId(), result.getStudentId(), result.getSubjectCode());
+
+            String error = null;
+            if (result.getStudentId() == null || result.getSubjectCode() == null) {
+                error = "Student ID and subject code are required";
+            } else if (exam == null) {
+                error = "Exam not found with id: " + result.getExamId();
+            } else if (exam.getIsLocked()) {
+                error = "Exam is locked. Cannot enter marks.";
+            } else if (student == null) {
+                error = "Student not found with id: " + result.getStudentId();
+            } else if (student.getCurrentClass() == null) {
+                error = "Student has no current class: " + result.getStudentId();
+            } else if (!existing.add(key)) {
+                error = "Result already exists for this student, exam, and subject";
+            }
+
+            if (error != null) {
+                errors.add(createRowError(row, result, error));
+                continue;
+            }
+
+            prepareResult(result, exam, student);
+            toInsert.add(result);
+        }
+
+        int created = resultRepository.batchInsert(toInsert);
+
+        // Refresh the report card summaries of every student touched, per exam
+        Map<Long, Set<Long>> touched = new HashMap<>();
+        for (Result result : toInsert) {
+            touched.computeIfAbsent(result.getExamId(), k -> new HashSet<>()).add(result.getStudentId());
+        }
+        touched.forEach(summaryService::refreshStudents);
+
+        Set<ResultsChangedEvent.Period> periods = new HashSet<>();
+        for (Result result : toInsert) {
+            periods.add(new ResultsChangedEvent.Period(result.getAcademicYear(), result.getTerm()));
+        }
+        if (!periods.isEmpty()) {
+            eventPublisher.publishEvent(new ResultsChangedEvent(periods));
+        }
+
+        if (!errors.isEmpty()) {
+            logger.warn("Bulk result entry had {} errors out of {} rows", errors.size(), results.size());
+        }
+        logger.info("Bulk result entry - Submitted: {}, Created: {}", results.size(), created);
+
+        Map<String, Object> report = new HashMap<>();
+        report.put("submitted", results.size());
+        report.put("created", created);
+        report.put("failed", errors.size());
+        report.put("errors", errors);
+        return report;
+    }
+
+    /**
+     * Keys of results already stored for the exams and students in an upload,
+     * fetched with one IN query per exam (chunked to keep the parameter list bounded).
+     */
+    private Set<String> findExistingEntries(List<Result> results, Map<Long, Exam> exams) {
+        Map<Long, Set<Long>> studentsByExam = new HashMap<>();
+        for (Result result : results) {
+            if (result.getStudentId() != null && exams.containsKey(result.getExamId())) {
+                studentsByExam.computeIfAbsent(result.getExamId(), k -> new HashSet<>()).add(result.getStudentId());
+            }
+        }
+
+        Set<String> existing = new HashSet<>();
+        for (Map.Entry<Long, Set<Long>> entry : studentsByExam.entrySet()) {
+            List<Long> ids = new ArrayList<>(entry.getValue());
+            for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+                List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK, ids.size()));
+                for (Object[] row : resultRepository.findExistingEntries(entry.getKey(), chunk)) {
+                    existing.add(entryKey(entry.getKey(), (Long) row[0], (String) row[1]));
+                }
+            }
+        }
+        return existing;
+    }
+
+    private String entryKey(Long examId, Long studentId, String subjectCode) {
+        return examId + ":" + studentId + ":" + subjectCode;
+    }
+
+    private Map<String, Object> createRowError(int row, Result result, String error) {
+        Map<String, Object> info = new HashMap<>();
+        info.put("row", row);
+        info.put("studentId", result.getStudentId());
+        info.put("examId", result.getExamId());
+        info.put("subjectCode", result.getSubjectCode());
+        info.put("error", error);
+        return info;
+    }
+
+    /**
+     * Copy student and exam details onto a new result, total the papers and grade it
+     */
+    private void prepareResult(Result result, Exam exam, Student student) {
         // Set additional fields from student
         result.setStudentNumber(student.getStudentId());
         result.setClassName(student.getCurrentClass());
@@ -86,38 +272,10 @@ public class ResultService {
         }
 
         // Calculate grade
-        result.calculateGrade();
+        gradingScaleService.grade(result);
 
         // Set entry info
         result.setEnteredAt(LocalDateTime.now());
-
-        Result saved = resultRepository.save(result);
-        logger.info("Result created - Student: {}, Exam: {}, Subject: {}, Grade: {}",
-            student.getStudentId(), exam.getCode(), result.getSubjectCode(), result.getGrade());
-
-        return saved;
-    }
-
-    /**
-     * Bulk create/enter results
-     */
-    public List<Result> createBulkResults(List<Result> results) {
-        List<Result> savedResults = new ArrayList<>();
-        List<String> errors = new ArrayList<>();
-
-        for (Result result : results) {
-            try {
-                savedResults.add(createResult(result));
-            } catch (Exception e) {
-                errors.add("Student " + result.getStudentId() + ", Subject " + result.getSubjectCode() + ": " + e.getMessage());
-            }
-        }
-
-        if (!errors.isEmpty()) {
-            logger.warn("Bulk result entry had {} errors: {}", errors.size(), errors);
-        }
-
-        return savedResults;
     }
 
     /**
@@ -172,11 +330,15 @@ public class ResultService {
         }
 
         // Recalculate grade
-        result.calculateGrade();
+        gradingScaleService.grade(result);
         result.setModifiedBy(details.getModifiedBy());
 
+        Result saved = resultRepository.save(result);
+        summaryService.refresh(saved.getStudentId(), saved.getExamId());
+        eventPublisher.publishEvent(ResultsChangedEvent.of(saved.getAcademicYear(), saved.getTerm()));
+
         logger.info("Result updated - ID: {}, New Grade: {}", id, result.getGrade());
-        return resultRepository.save(result);
+        return saved;
     }
 
     /**
@@ -195,6 +357,8 @@ public class ResultService {
         }
 
         resultRepository.deleteById(id);
+        summaryService.refresh(result.getStudentId(), result.getExamId());
+        eventPublisher.publishEvent(ResultsChangedEvent.of(result.getAcademicYear(), result.getTerm()));
         logger.info("Result deleted - ID: {}", id);
     }
 
@@ -206,6 +370,16 @@ public class ResultService {
         return resultRepository.findAll();
     }
 
+    /**
+     * Get a keyset page of results
+     */
+    @Transactional(readOnly = true)
+    public ListDto.CursorPage<ListDto.ResultItem> getResultsPage(String after, Integer limit) {
+        long afterId = ListDto.decodeCursor(after);
+        int size = ListDto.clampLimit(limit);
+        return ListDto.CursorPage.of(resultRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1)), size, ListDto.ResultItem::getId);
+    }
+
     /**
      * Get result by ID
      */
@@ -267,56 +441,132 @@ public class ResultService {
 
         List<Result> results = resultRepository.findByStudentIdAndExamId(studentId, examId);
 
+        // Precomputed figures, kept up to date on every result write
+        StudentExamSummary summary = summaryService.getSummary(studentId, examId);
+
+        return buildReportCard(student.getStudentId(), student.getFullName(),
+            student.getCurrentClass(), student.getStream(), exam, summary, results);
+    }
+
+    /**
+     * Stream report cards for every student in a class (or every class when
+     * className is null) as newline-delimited JSON.
+     * Results are read once in student order and each card is written as soon
+     * as the student's rows are complete, so only one student is buffered.
+     */
+    @Transactional(readOnly = true)
+    public int writeReportCards(Long examId, String className, OutputStream out) throws IOException {
+        Exam exam = getExam(examId);
+
+        // Header fields for every student in the run, read as a narrow projection
+        Map<Long, Object[]> headers = new HashMap<>();
+        for (Object[] row : studentRepository.findReportCardHeaders(examId, className)) {
+            headers.put((Long) row[0], row);
+        }
+
+        // Overall positions come from the stored summaries, the only place ranking writes them
+        Map<Long, Object[]> positions = new HashMap<>();
+        for (Object[] row : summaryRepository.findPositionsByExamId(examId)) {
+            positions.put((Long) row[0], row);
+        }
+
+        int written = 0;
+        List<Result> buffer = new ArrayList<>();
+        try (Stream<Result> stream = className != null
+                ? resultRepository.streamByClassNameAndExamId(className, examId)
+                : resultRepository.streamByExamId(examId)) {
+            Iterator<Result> it = stream.iterator();
+            while (it.hasNext()) {
+                Result result = it.next();
+                entityManager.detach(result);
+                if (!buffer.isEmpty() && !buffer.get(0).getStudentId().equals(result.getStudentId())) {
+                    writeReportCard(out, exam, headers, positions, buffer);
+                    buffer = new ArrayList<>();
+                    if (++written % REPORT_CARD_FLUSH_INTERVAL == 0) {
+                        out.flush();
+                    }
+                }
+                buffer.add(result);
+            }
+        }
+        if (!buffer.isEmpty()) {
+            writeReportCard(out, exam, headers, positions, buffer);
+            written++;
+        }
+        out.flush();
+
+        logger.info("Streamed {} report cards for exam {} (class: {})", written, exam.getCode(),
+            className != null ? className : "all");
+        return written;
+    }
+
+    private void writeReportCard(OutputStream out, Exam exam, Map<Long, Object[]> headers,
+            Map<Long, Object[]> positions, List<Result> results) throws IOException {
+        Result first = results.get(0);
+        Object[] header = headers.get(first.getStudentId());
+
+        // Same figures as the stored summary, computed from the rows already in hand
+        StudentExamSummary summary = new StudentExamSummary();
+        summary.setStudentId(first.getStudentId());
+        summary.setExamId(exam.getId());
+        summary.recalculate(results);
+        Object[] position = positions.get(first.getStudentId());
+        if (position != null) {
+            summary.setClassPosition((Integer) position[1]);
+            summary.setStreamPosition((Integer) position[2]);
+        }
+
+        Map<String, Object> card;
+        if (header != null) {
+            String otherNames = (String) header[3];
+            String fullName = header[2] + (otherNames != null && !otherNames.trim().isEmpty() ? " " + otherNames : "")
+                + " " + header[4];
+            card = buildReportCard((String) header[1], fullName, (String) header[5], (String) header[6],
+                exam, summary, results);
+        } else {
+            card = buildReportCard(first.getStudentNumber(), null, first.getClassName(), first.getStream(),
+                exam, summary, results);
+        }
+
+        out.write(jsonMapper.writeValueAsBytes(card));
+        out.write('\n');
+    }
+
+    private Map<String, Object> buildReportCard(String studentNumber, String studentName, String className,
+            String stream, Exam exam, StudentExamSummary summary, List<Result> results) {
         Map<String, Object> reportCard = new HashMap<>();
-        reportCard.put("studentId", student.getStudentId());
-        reportCard.put("studentName", student.getFullName());
-        reportCard.put("className", student.getCurrentClass());
-        reportCard.put("stream", student.getStream());
+        reportCard.put("studentId", studentNumber);
+        reportCard.put("studentName", studentName);
+        reportCard.put("className", className);
+        reportCard.put("stream", stream);
         reportCard.put("examCode", exam.getCode());
         reportCard.put("examName", exam.getName());
         reportCard.put("academicYear", exam.getAcademicYear());
         reportCard.put("term", exam.getTerm());
 
-        // Calculate aggregates for O-Level
+        // Aggregates for O-Level (best 8 subjects)
         if (exam.getGradingScale() == Exam.GradingScale.O_LEVEL) {
-            // Best 8 subjects aggregate
-            List<Result> sortedResults = results.stream()
-                .sorted(Comparator.comparingInt(Result::getGradePoints))
-                .limit(8)
-                .collect(Collectors.toList());
-
-            int aggregate = sortedResults.stream()
-                .mapToInt(Result::getGradePoints)
-                .sum();
-
-            reportCard.put("aggregate", aggregate);
-            reportCard.put("aggregateGrade", getAggregateGrade(aggregate));
-            reportCard.put("distinction", resultRepository.countDistinctions(studentId, examId));
-            reportCard.put("credits", resultRepository.countCredits(studentId, examId));
-            reportCard.put("passes", resultRepository.countPasses(studentId, examId));
-            reportCard.put("failures", resultRepository.countFailures(studentId, examId));
+            reportCard.put("aggregate", summary.getAggregate());
+            reportCard.put("aggregateGrade", summary.getDivision());
+            reportCard.put("distinction", summary.getDistinctions().longValue());
+            reportCard.put("credits", summary.getCredits().longValue());
+            reportCard.put("passes", summary.getPasses().longValue());
+            reportCard.put("failures", summary.getFailures().longValue());
         }
 
-        // Calculate A-Level points
+        // A-Level points
         if (exam.getGradingScale() == Exam.GradingScale.A_LEVEL) {
-            int principalPoints = results.stream()
-                .filter(Result::getIsPrincipal)
-                .mapToInt(Result::getGradePoints)
-                .sum();
-
-            int subsidiaryPoints = results.stream()
-                .filter(Result::getIsSubsidiary)
-                .mapToInt(Result::getGradePoints)
-                .sum();
-
-            reportCard.put("principalPoints", principalPoints);
-            reportCard.put("subsidiaryPoints", subsidiaryPoints);
-            reportCard.put("totalPoints", principalPoints + subsidiaryPoints);
+            reportCard.put("principalPoints", summary.getPrincipalPoints());
+            reportCard.put("subsidiaryPoints", summary.getSubsidiaryPoints());
+            reportCard.put("totalPoints", summary.getTotalPoints());
         }
 
         // Average
-        Double average = resultRepository.getStudentAverageForExam(examId, studentId);
-        reportCard.put("averagePercentage", average != null ? Math.round(average * 100.0) / 100.0 : 0);
+        reportCard.put("averagePercentage", Math.round(summary.getAveragePercentage() * 100.0) / 100.0);
+
+        // Overall positions, available once positions have been calculated
+        reportCard.put("classPosition", summary.getClassPosition());
+        reportCard.put("streamPosition", summary.getStreamPosition());
 
         reportCard.put("totalSubjects", results.size());
         reportCard.put("results", results);
@@ -324,6 +574,25 @@ public class ResultService {
         return reportCard;
     }
 
+    /**
+     * Get an exam or fail with a not found error
+     */
+    @Transactional(readOnly = true)
+    public Exam getExam(Long examId) {
+        return examRepository.findById(examId)
+            .orElseThrow(() -> new RuntimeException("Exam not found with id: " + examId));
+    }
+
+    /**
+     * Rebuild the precomputed report card summaries for an exam
+     */
+    public void rebuildSummaries(Long examId) {
+        examRepository.findById(examId)
+            .orElseThrow(() -> new RuntimeException("Exam not found with id: " + examId));
+        summaryService.refreshExam(examId);
+        logger.info("Report card summaries rebuilt for exam {}", examId);
+    }
+
     /**
      * Get grade distribution for a class in an exam
      */
@@ -346,186 +615,33 @@ public class ResultService {
     }
 
     /**
-     * Calculate and update positions for a class in an exam
+     * Calculate and update subject, stream and overall positions for a class in an exam
      */
-    public void calculatePositions(Long examId, String className) {
-        List<Result> results = resultRepository.findByClassNameAndExamId(className, examId);
-
-        // Group by subject
-        Map<String, List<Result>> bySubject = results.stream()
-            .collect(Collectors.groupingBy(Result::getSubjectCode));
-
-        for (Map.Entry<String, List<Result>> entry : bySubject.entrySet()) {
-            List<Result> subjectResults = entry.getValue();
-
-            // Sort by marks descending
-            subjectResults.sort((a, b) -> b.getMarksObtained().compareTo(a.getMarksObtained()));
-
-            // Assign positions
-            int position = 1;
-            for (int i = 0; i < subjectResults.size(); i++) {
-                if (i > 0 && !subjectResults.get(i).getMarksObtained()
-                        .equals(subjectResults.get(i - 1).getMarksObtained())) {
-                    position = i + 1;
-                }
-                subjectResults.get(i).setClassPosition(position);
-            }
-
-            resultRepository.saveAll(subjectResults);
-        }
-
-        logger.info("Positions calculated for class {} in exam {}", className, examId);
+    public Map<String, Object> calculatePositions(Long examId, String className) {
+        return rankingService.rankClass(examId, className);
     }
 
     /**
-     * Get Ugandan grading scale information
+     * Calculate and update positions for every class in an exam
      */
-    @Transactional(readOnly = true)
-    public Map<String, Object> getGradingScales() {
-        Map<String, Object> scales = new HashMap<>();
-
-        // O-Level grading (UCE)
-        List<Map<String, Object>> oLevelGrades = List.of(
-            createGradeInfo("D1", 80, 100, 1, "Distinction"),
-            createGradeInfo("D2", 70, 79, 2, "Distinction"),
-            createGradeInfo("C3", 65, 69, 3, "Credit"),
-            createGradeInfo("C4", 60, 64, 4, "Credit"),
-            createGradeInfo("C5", 55, 59, 5, "Credit"),
-            createGradeInfo("C6", 50, 54, 6, "Credit"),
-            createGradeInfo("P7", 40, 49, 7, "Pass"),
-            createGradeInfo("P8", 34, 39, 8, "Pass"),
-            createGradeInfo("F9", 0, 33, 9, "Fail")
-        );
-        scales.put("oLevel", oLevelGrades);
-
-        // A-Level Principal grading (UACE)
-        List<Map<String, Object>> aLevelPrincipalGrades = List.of(
-            createGradeInfo("A", 80, 100, 6, "Excellent"),
-            createGradeInfo("B", 70, 79, 5, "Very Good"),
-            createGradeInfo("C", 60, 69, 4, "Good"),
-            createGradeInfo("D", 50, 59, 3, "Satisfactory"),
-            createGradeInfo("E", 40, 49, 2, "Pass"),
-            createGradeInfo("O", 34, 39, 1, "Subsidiary Pass"),
-            createGradeInfo("F", 0, 33, 0, "Fail")
-        );
-        scales.put("aLevelPrincipal", aLevelPrincipalGrades);
-
-        // A-Level Subsidiary grading
-        List<Map<String, Object>> aLevelSubsidiaryGrades = List.of(
-            createGradeInfo("O", 50, 100, 1, "Pass"),
-            createGradeInfo("F", 0, 49, 0, "Fail")
-        );
-        scales.put("aLevelSubsidiary", aLevelSubsidiaryGrades);
-
-        // Aggregate interpretation for O-Level
-        List<Map<String, Object>> aggregateInterpretation = List.of(
-            createAggregateInfo("Division 1", 8, 32, "Excellent"),
-            createAggregateInfo("Division 2", 33, 45, "Very Good"),
-            createAggregateInfo("Division 3", 46, 58, "Good"),
-            createAggregateInfo("Division 4", 59, 72, "Satisfactory"),
-            createAggregateInfo("Fail", 73, 72, "Fail")
-        );
-        scales.put("aggregateInterpretation", aggregateInterpretation);
-
-        return scales;
+    public Map<String, Object> calculateExamPositions(Long examId) {
+        getExam(examId);
+        return rankingService.rankExam(examId);
     }
 
-    private Map<String, Object> createGradeInfo(String grade, int minMark, int maxMark, int points, String description) {
-        Map<String, Object> info = new HashMap<>();
-        info.put("grade", grade);
-        info.put("minMark", minMark);
-        info.put("maxMark", maxMark);
-        info.put("points", points);
-        info.put("description", description);
-        return info;
-    }
-
-    private Map<String, Object> createAggregateInfo(String division, int minAggregate, int maxAggregate, String description) {
-        Map<String, Object> info = new HashMap<>();
-        info.put("division", division);
-        info.put("minAggregate", minAggregate);
-        info.put("maxAggregate", maxAggregate);
-        info.put("description", description);
-        return info;
-    }
-
-    private String getAggregateGrade(int aggregate) {
-        if (aggregate >= 8 && aggregate <= 32) return "Division 1";
-        if (aggregate >= 33 && aggregate <= 45) return "Division 2";
-        if (aggregate >= 46 && aggregate <= 58) return "Division 3";
-        if (aggregate >= 59 && aggregate <= 72) return "Division 4";
-        return "Fail";
+    /**
+     * Get Ugandan grading scale information, as configured for an academic year
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getGradingScales(String academicYear) {
+        return gradingScaleService.getGradingScales(academicYear);
     }
 
     /**
-     * Get overall result statistics
+     * Get overall result statistics, optionally for one academic year and term
      */
-    public Map<String, Object> getResultStatistics() {
-        List<Result> allResults = resultRepository.findAll();
-
-        Map<String, Object> stats = new HashMap<>();
-
-        // Total results count
-        stats.put("totalResults", allResults.size());
-
-        // Count by grade
-        Map<String, Long> gradeDistribution = allResults.stream()
-            .collect(Collectors.groupingBy(Result::getGrade, Collectors.counting()));
-        stats.put("gradeDistribution", gradeDistribution);
-
-        // Average marks
-        double avgMarks = allResults.stream()
-            .mapToDouble(r -> r.getMarksObtained() != null ? r.getMarksObtained() : 0)
-            .average()
-            .orElse(0.0);
-        stats.put("averageMarks", String.format("%.2f", avgMarks));
-
-        // Highest marks
-        int highestMarks = allResults.stream()
-            .mapToInt(r -> r.getMarksObtained() != null ? r.getMarksObtained() : 0)
-            .max()
-            .orElse(0);
-        stats.put("highestMarks", highestMarks);
-
-        // Lowest marks
-        int lowestMarks = allResults.stream()
-            .mapToInt(r -> r.getMarksObtained() != null ? r.getMarksObtained() : 0)
-            .min()
-            .orElse(0);
-        stats.put("lowestMarks", lowestMarks);
-
-        // Results by academic year
-        Map<String, Long> yearDistribution = allResults.stream()
-            .collect(Collectors.groupingBy(Result::getAcademicYear, Collectors.counting()));
-        stats.put("resultsByYear", yearDistribution);
-
-        // Pass/Fail count
-        long passCount = allResults.stream()
-            .filter(r -> r.getGrade() != null && !r.getGrade().equals("F9") && !r.getGrade().equals("F"))
-            .count();
-        long failCount = allResults.size() - passCount;
-        stats.put("passCount", passCount);
-        stats.put("failCount", failCount);
-        stats.put("passPercentage", allResults.size() > 0 
-            ? String.format("%.2f%%", (passCount * 100.0) / allResults.size()) 
-            : "0.00%");
-
-        // Distinct subjects
-        long distinctSubjects = allResults.stream()
-            .map(Result::getSubjectCode)
-            .distinct()
-            .count();
-        stats.put("distinctSubjects", distinctSubjects);
-
-        // Distinct students
-        long distinctStudents = allResults.stream()
-            .map(Result::getStudentId)
-            .distinct()
-            .count();
-        stats.put("distinctStudents", distinctStudents);
-
-        logger.info("Result statistics retrieved - Total results: {}", allResults.size());
-
-        return stats;
+    @Transactional(readOnly = true)
+    public Map<String, Object> getResultStatistics(String academicYear, Integer term) {
+        return statisticsService.getStatistics(academicYear, term);
     }
 }
@@ -0,0 +1,134 @@
+package com.academix.server.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.academix.server.event.ResultsChangedEvent;
+import com.academix.server.repository.ResultRepository;
+
+/**
+ * Result statistics computed with GROUP BY queries and cached per
+ * academic year and term. Cached snapshots are dropped after any result
+ * write in the same period commits.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ResultStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResultStatisticsService.class);
+
+    private static final String ANY = "*";
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    // Snapshots keyed by "academicYear|term", with "*" for an unfiltered dimension
+    private final Map<String, Map<String, Object>> snapshots = new ConcurrentHashMap<>();
+
+    // Bumped on every eviction so a snapshot computed across a write is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Get result statistics, optionally filtered by academic year and term
+     */
+    public Map<String, Object> getStatistics(String academicYear, Integer term) {
+        String key = cacheKey(academicYear, term);
+        Map<String, Object> cached = snapshots.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long startGeneration = generation.get();
+        Map<String, Object> stats = Collections.unmodifiableMap(computeStatistics(academicYear, term));
+        if (generation.get() == startGeneration) {
+            snapshots.put(key, stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Drop the cached snapshots covering the periods a committed write touched
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onResultsChanged(ResultsChangedEvent event) {
+        generation.incrementAndGet();
+        for (ResultsChangedEvent.Period period : event.periods()) {
+            String year = period.academicYear() != null ? period.academicYear() : ANY;
+            String term = period.term() != null ? period.term().toString() : ANY;
+            snapshots.keySet().removeIf(key -> {
+                String[] parts = key.split("\\|");
+                return (parts[0].equals(ANY) || parts[0].equals(year))
+                    && (parts[1].equals(ANY) || parts[1].equals(term));
+            });
+        }
+    }
+
+    private Map<String, Object> computeStatistics(String academicYear, Integer term) {
+        Object[] totals = resultRepository.getResultTotals(academicYear, term).get(0);
+        long totalResults = toLong(totals[0]);
+        double avgMarks = totals[1] != null ? ((Number) totals[1]).doubleValue() : 0.0;
+        long passCount = toLong(totals[6]);
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("academicYear", academicYear);
+        stats.put("term", term);
+
+        // Total results count
+        stats.put("totalResults", totalResults);
+
+        // Count by grade
+        stats.put("gradeDistribution", toCountMap(resultRepository.countByGrade(academicYear, term)));
+
+        // Average, highest and lowest marks
+        stats.put("averageMarks", String.format("%.2f", avgMarks));
+        stats.put("highestMarks", totals[2] != null ? ((Number) totals[2]).intValue() : 0);
+        stats.put("lowestMarks", totals[3] != null ? ((Number) totals[3]).intValue() : 0);
+
+        // Results by academic year
+        stats.put("resultsByYear", toCountMap(resultRepository.countByAcademicYear(academicYear, term)));
+
+        // Pass/Fail count
+        stats.put("passCount", passCount);
+        stats.put("failCount", totalResults - passCount);
+        stats.put("passPercentage", totalResults > 0
+            ? String.format("%.2f%%", (passCount * 100.0) / totalResults)
+            : "0.00%");
+
+        // Distinct subjects and students
+        stats.put("distinctSubjects", toLong(totals[4]));
+        stats.put("distinctStudents", toLong(totals[5]));
+
+        logger.info("Result statistics computed - Year: {}, Term: {}, Total results: {}",
+            academicYear, term, totalResults);
+        return stats;
+    }
+
+    private Map<String, Long> toCountMap(List<Object[]> rows) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            counts.put((String) row[0], toLong(row[1]));
+        }
+        return counts;
+    }
+
+    private long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private String cacheKey(String academicYear, Integer term) {
+        return (academicYear != null ? academicYear : ANY) + "|" + (term != null ? term.toString() : ANY);
+    }
+}
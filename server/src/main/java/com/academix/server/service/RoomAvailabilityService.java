@@ -0,0 +1,353 @@
+package com.academix.server.service;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.academix.server.model.Room;
+import com.academix.server.model.Timetable;
+import com.academix.server.repository.RoomRepository;
+import com.academix.server.repository.TimetableRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Room availability and utilization from the timetable.
+ * Per term, every slot (day x template period) holds a bitset of occupied
+ * rooms and every room a bitset of occupied slots. Rooms are indexed in
+ * descending capacity, so "capacity at least N" is a prefix mask, and type,
+ * building and availability are precomputed masks: a free-room query is a
+ * few word ANDs per slot. A term is rebuilt on the next query after a
+ * committed timetable write to it; room changes rebuild everything.
+ */
+@Service
+@Slf4j
+public class RoomAvailabilityService {
+
+    private static final List<Timetable.DayOfWeek> TEACHING_DAYS = List.of(
+        Timetable.DayOfWeek.MONDAY, Timetable.DayOfWeek.TUESDAY, Timetable.DayOfWeek.WEDNESDAY,
+        Timetable.DayOfWeek.THURSDAY, Timetable.DayOfWeek.FRIDAY);
+
+    private static final int DAYS = Timetable.DayOfWeek.values().length;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private TimetableRepository timetableRepository;
+
+    private record TermKey(String academicYear, Integer term) {
+    }
+
+    private record Period(int number, String name, LocalTime start, LocalTime end, boolean lesson) {
+    }
+
+    /**
+     * Rooms in descending capacity with their filter masks
+     */
+    private static final class Catalogue {
+        final Room[] rooms;
+        final int[] capacities;
+        final List<Map<String, Object>> summaries;
+        final Map<String, Integer> indexByNumber = new HashMap<>();
+        final Map<String, BitSet> typeMasks = new HashMap<>();
+        final Map<String, BitSet> buildingMasks = new HashMap<>();
+        final BitSet availableMask = new BitSet();
+
+        Catalogue(List<Room> all) {
+            rooms = all.stream()
+                .sorted(Comparator.comparingInt(RoomAvailabilityService::capacityOf).reversed()
+                    .thenComparing(Room::getRoomNumber))
+                .toArray(Room[]::new);
+            capacities = new int[rooms.length];
+            List<Map<String, Object>> summaryList = new ArrayList<>(rooms.length);
+            for (int r = 0; r < rooms.length; r++) {
+                Room room = rooms[r];
+                capacities[r] = capacityOf(room);
+                indexByNumber.put(TimetableScheduleService.normalizeRoom(room.getRoomNumber()), r);
+                typeMasks.computeIfAbsent(key(room.getRoomType()), k -> new BitSet()).set(r);
+                buildingMasks.computeIfAbsent(key(room.getBuilding()), k -> new BitSet()).set(r);
+                if (!Boolean.FALSE.equals(room.getIsAvailable())) {
+                    availableMask.set(r);
+                }
+                Map<String, Object> summary = new LinkedHashMap<>();
+                summary.put("id", room.getId());
+                summary.put("roomNumber", room.getRoomNumber());
+                summary.put("roomName", room.getRoomName());
+                summary.put("roomType", room.getRoomType());
+                summary.put("capacity", room.getCapacity());
+                summary.put("building", room.getBuilding());
+                summaryList.add(Collections.unmodifiableMap(summary));
+            }
+            summaries = Collections.unmodifiableList(summaryList);
+        }
+
+        // Rooms with capacity >= minCapacity are the first k
+        int prefixFor(int minCapacity) {
+            int low = 0;
+            int high = capacities.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (capacities[mid] >= minCapacity) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Occupancy of one term: rooms per slot and slots per room
+     */
+    private static final class TermRooms {
+        final Catalogue catalogue;
+        final BitSet[] roomsBySlot;
+        final BitSet[] slotsByRoom;
+
+        TermRooms(Catalogue catalogue, int slots) {
+            this.catalogue = catalogue;
+            this.roomsBySlot = new BitSet[slots];
+            this.slotsByRoom = new BitSet[catalogue.rooms.length];
+            for (int s = 0; s < slots; s++) {
+                roomsBySlot[s] = new BitSet(catalogue.rooms.length);
+            }
+            for (int r = 0; r < slotsByRoom.length; r++) {
+                slotsByRoom[r] = new BitSet(slots);
+            }
+        }
+    }
+
+    private volatile List<Period> periods;
+    private volatile Catalogue catalogue;
+    private final Map<TermKey, TermRooms> terms = new ConcurrentHashMap<>();
+
+    /**
+     * Free rooms per slot of a term. Day and period narrow the slots; type,
+     * minimum capacity and building narrow the rooms. Rooms flagged
+     * unavailable are never free.
+     */
+    public List<Map<String, Object>> findFreeRooms(String academicYear, Integer term, Timetable.DayOfWeek day,
+                                                   Integer period, String roomType, Integer minCapacity,
+                                                   String building) {
+        long start = System.nanoTime();
+        List<Period> template = periods();
+        TermRooms occupancy = termRooms(academicYear, term);
+        Catalogue rooms = occupancy.catalogue;
+
+        BitSet candidates = (BitSet) rooms.availableMask.clone();
+        if (roomType != null && !roomType.isBlank()) {
+            candidates.and(rooms.typeMasks.getOrDefault(key(roomType), new BitSet()));
+        }
+        if (building != null && !building.isBlank()) {
+            candidates.and(rooms.buildingMasks.getOrDefault(key(building), new BitSet()));
+        }
+        if (minCapacity != null && minCapacity > 0) {
+            candidates.clear(rooms.prefixFor(minCapacity), rooms.rooms.length);
+        }
+
+        List<Timetable.DayOfWeek> days = day != null ? List.of(day) : TEACHING_DAYS;
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Timetable.DayOfWeek d : days) {
+            for (int p = 0; p < template.size(); p++) {
+                Period slotPeriod = template.get(p);
+                if (period != null ? slotPeriod.number() != period : !slotPeriod.lesson()) {
+                    continue;
+                }
+                BitSet free = (BitSet) candidates.clone();
+                free.andNot(occupancy.roomsBySlot[slot(d, p, template.size())]);
+                List<Map<String, Object>> freeRooms = new ArrayList<>(free.cardinality());
+                for (int r = free.nextSetBit(0); r >= 0; r = free.nextSetBit(r + 1)) {
+                    freeRooms.add(rooms.summaries.get(r));
+                }
+
+                Map<String, Object> slot = new LinkedHashMap<>();
+                slot.put("day", d);
+                slot.put("period", slotPeriod.number());
+                slot.put("periodName", slotPeriod.name());
+                slot.put("startTime", slotPeriod.start().toString());
+                slot.put("endTime", slotPeriod.end().toString());
+                slot.put("freeCount", freeRooms.size());
+                slot.put("freeRooms", freeRooms);
+                result.add(slot);
+            }
+        }
+        if (period != null && result.isEmpty()) {
+            throw new RuntimeException("Unknown period: " + period);
+        }
+        log.debug("Free rooms for {} term {} - {} slots in {} us", academicYear, term, result.size(),
+            (System.nanoTime() - start) / 1000);
+        return result;
+    }
+
+    /**
+     * Share of weekday lesson periods each room is booked, per room and per building
+     */
+    public Map<String, Object> getUtilization(String academicYear, Integer term) {
+        List<Period> template = periods();
+        TermRooms occupancy = termRooms(academicYear, term);
+        Catalogue rooms = occupancy.catalogue;
+
+        BitSet teaching = new BitSet(template.size() * DAYS);
+        for (Timetable.DayOfWeek d : TEACHING_DAYS) {
+            for (int p = 0; p < template.size(); p++) {
+                if (template.get(p).lesson()) {
+                    teaching.set(slot(d, p, template.size()));
+                }
+            }
+        }
+        int teachingSlots = teaching.cardinality();
+
+        List<Map<String, Object>> roomRows = new ArrayList<>(rooms.rooms.length);
+        Map<String, long[]> byBuilding = new TreeMap<>();
+        long bookedTotal = 0;
+        for (int r = 0; r < rooms.rooms.length; r++) {
+            BitSet slots = (BitSet) occupancy.slotsByRoom[r].clone();
+            slots.and(teaching);
+            int booked = slots.cardinality();
+            bookedTotal += booked;
+
+            Map<String, Object> row = new LinkedHashMap<>(rooms.summaries.get(r));
+            row.put("isAvailable", rooms.rooms[r].getIsAvailable());
+            row.put("bookedPeriods", booked);
+            row.put("utilization", percent(booked, teachingSlots));
+            roomRows.add(row);
+
+            String building = rooms.rooms[r].getBuilding() != null ? rooms.rooms[r].getBuilding() : "Unassigned";
+            long[] totals = byBuilding.computeIfAbsent(building, b -> new long[2]);
+            totals[0]++;
+            totals[1] += booked;
+        }
+        roomRows.sort(Comparator.comparing((Map<String, Object> row) -> (Double) row.get("utilization")).reversed());
+
+        List<Map<String, Object>> buildingRows = new ArrayList<>();
+        for (Map.Entry<String, long[]> entry : byBuilding.entrySet()) {
+            long[] totals = entry.getValue();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("building", entry.getKey());
+            row.put("rooms", totals[0]);
+            row.put("bookedPeriods", totals[1]);
+            row.put("utilization", percent(totals[1], totals[0] * teachingSlots));
+            buildingRows.add(row);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("academicYear", academicYear);
+        result.put("term", term);
+        result.put("periodsPerRoom", teachingSlots);
+        result.put("utilization", percent(bookedTotal, (long) rooms.rooms.length * teachingSlots));
+        result.put("buildings", buildingRows);
+        result.put("rooms", roomRows);
+        return result;
+    }
+
+    /**
+     * A committed timetable write: the entry's term is rebuilt on next use
+     */
+    public void timetableChanged(Timetable entry) {
+        terms.remove(new TermKey(entry.getAcademicYear(), entry.getTerm()));
+    }
+
+    /**
+     * A committed room write: indexes change, so every term is rebuilt
+     */
+    public void roomsChanged() {
+        catalogue = null;
+        terms.clear();
+    }
+
+    /**
+     * Whether writes of this entity class change availability
+     */
+    public static boolean isTracked(Class<?> entityClass) {
+        return Timetable.class.isAssignableFrom(entityClass) || Room.class.isAssignableFrom(entityClass);
+    }
+
+    private TermRooms termRooms(String academicYear, Integer term) {
+        return terms.computeIfAbsent(new TermKey(academicYear, term), this::build);
+    }
+
+    private TermRooms build(TermKey key) {
+        long start = System.nanoTime();
+        List<Period> template = periods();
+        Catalogue rooms = catalogue();
+        TermRooms occupancy = new TermRooms(rooms, template.size() * DAYS);
+        int booked = 0;
+        for (Timetable entry : timetableRepository.findByAcademicYearAndTermAndIsActiveTrue(
+                key.academicYear(), key.term())) {
+            if (entry.getRoom() == null || entry.getDayOfWeek() == null
+                    || entry.getStartTime() == null || entry.getEndTime() == null) {
+                continue;
+            }
+            Integer room = rooms.indexByNumber.get(TimetableScheduleService.normalizeRoom(entry.getRoom()));
+            if (room == null) {
+                continue;
+            }
+            for (int p = 0; p < template.size(); p++) {
+                Period period = template.get(p);
+                if (period.start().isBefore(entry.getEndTime()) && entry.getStartTime().isBefore(period.end())) {
+                    int slot = slot(entry.getDayOfWeek(), p, template.size());
+                    occupancy.roomsBySlot[slot].set(room);
+                    occupancy.slotsByRoom[room].set(slot);
+                }
+            }
+            booked++;
+        }
+        log.debug("Room occupancy for {} term {} built - {} rooms, {} bookings in {} us", key.academicYear(),
+            key.term(), rooms.rooms.length, booked, (System.nanoTime() - start) / 1000);
+        return occupancy;
+    }
+
+    private Catalogue catalogue() {
+        Catalogue current = catalogue;
+        if (current == null) {
+            current = new Catalogue(roomRepository.findAll());
+            catalogue = current;
+        }
+        return current;
+    }
+
+    private List<Period> periods() {
+        List<Period> current = periods;
+        if (current == null) {
+            List<Period> built = new ArrayList<>();
+            for (Map<String, Object> period : TimetableService.standardPeriodTemplate()) {
+                built.add(new Period((Integer) period.get("order"), (String) period.get("name"),
+                    LocalTime.parse((String) period.get("startTime")), LocalTime.parse((String) period.get("endTime")),
+                    Timetable.PeriodType.LESSON.name().equals(period.get("type"))));
+            }
+            current = List.copyOf(built);
+            periods = current;
+        }
+        return current;
+    }
+
+    private static int slot(Timetable.DayOfWeek day, int periodIndex, int periodsPerDay) {
+        return day.ordinal() * periodsPerDay + periodIndex;
+    }
+
+    private static int capacityOf(Room room) {
+        return room.getCapacity() != null ? room.getCapacity() : 0;
+    }
+
+    private static String key(String value) {
+        return value != null ? value.trim().toUpperCase(Locale.ROOT) : "";
+    }
+
+    private static double percent(long part, long whole) {
+        return whole > 0 ? Math.round(part * 1000.0 / whole) / 10.0 : 0.0;
+    }
+}
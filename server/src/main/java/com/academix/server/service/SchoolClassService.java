@@ -9,9 +9,11 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.academix.server.dto.ListDto;
 import com.academix.server.model.Course;
 import com.academix.server.model.SchoolClass;
 import com.academix.server.model.Teacher;
@@ -34,6 +36,9 @@ public class SchoolClassService {
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private SearchIndexService searchIndexService;
+
     /**
      * Create a new class
      */
@@ -107,6 +112,16 @@ public class SchoolClassService {
         return classes;
     }
 
+    /**
+     * Get a keyset page of classes
+     */
+    @Transactional(readOnly = true)
+    public ListDto.CursorPage<ListDto.SchoolClassItem> getClassesPage(String after, Integer limit) {
+        long afterId = ListDto.decodeCursor(after);
+        int size = ListDto.clampLimit(limit);
+        return ListDto.CursorPage.of(schoolClassRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1)), size, ListDto.SchoolClassItem::getId);
+    }
+
     /**
      * Get class by ID
      */
@@ -278,7 +293,11 @@ public class SchoolClassService {
      */
     @Transactional(readOnly = true)
     public List<SchoolClass> searchClasses(String searchTerm) {
-        return schoolClassRepository.searchClasses(searchTerm);
+        if (!searchIndexService.isReady()) {
+            return schoolClassRepository.searchClasses(searchTerm);
+        }
+        List<Long> ids = searchIndexService.searchIds(SearchIndexService.Type.CLASS, searchTerm, Integer.MAX_VALUE);
+        return SearchIndexService.inRankOrder(ids, schoolClassRepository.findAllById(ids), SchoolClass::getId);
     }
 
     /**
@@ -333,7 +352,7 @@ public class SchoolClassService {
     public Map<String, Object> getClassStatistics() {
         Map<String, Object> stats = new HashMap<>();
         stats.put("totalClasses", schoolClassRepository.count());
-        stats.put("activeClasses", schoolClassRepository.findByIsActiveTrue().size());
+        stats.put("activeClasses", schoolClassRepository.countByIsActiveTrue());
         return stats;
     }
 }
@@ -0,0 +1,551 @@
+package com.academix.server.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.academix.server.dto.ListDto;
+import com.academix.server.model.Department;
+import com.academix.server.model.SchoolClass;
+import com.academix.server.model.Student;
+import com.academix.server.model.Teacher;
+import com.academix.server.model.Timetable;
+import com.academix.server.repository.SchoolClassRepository;
+import com.academix.server.repository.StudentRepository;
+import com.academix.server.repository.TeacherRepository;
+import com.academix.server.repository.TimetableRepository;
+
+/**
+ * In-memory inverted index over students, teachers, classes and timetable
+ * entries. Every searchable field is split into lowercase terms kept in a
+ * sorted term dictionary, so a typeahead query is a prefix range scan
+ * instead of a LIKE '%term%' table scan. Identifier fields (student and
+ * teacher numbers, subject codes, rooms) also index their suffixes so a
+ * partial number still matches. The index is loaded at startup and kept in
+ * sync by {@link com.academix.server.event.EntityCommitListener} after each
+ * committed write.
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int MIN_SUFFIX_LENGTH = 3;
+
+    // Term weights: exact term matches score double
+    private static final int WEIGHT_IDENTIFIER = 5;
+    private static final int WEIGHT_NAME = 4;
+    private static final int WEIGHT_OTHER = 2;
+    private static final int WEIGHT_SUFFIX = 1;
+
+    public enum Type {
+        STUDENT, TEACHER, CLASS, TIMETABLE
+    }
+
+    public record DocKey(Type type, Long id) {
+    }
+
+    /**
+     * One indexed entity: display text and its terms with their weights
+     */
+    public record Document(DocKey key, String title, String subtitle, NavigableMap<String, Integer> terms) {
+    }
+
+    /**
+     * One ranked match
+     */
+    public record Hit(Type type, Long id, String title, String subtitle, int score) {
+    }
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private SchoolClassRepository schoolClassRepository;
+
+    @Autowired
+    private TimetableRepository timetableRepository;
+
+    /**
+     * Term dictionary (term -> documents containing it) and the documents.
+     * A rebuild fills a new one off to the side and swaps it in whole.
+     */
+    private record Index(ConcurrentSkipListMap<String, Set<DocKey>> postings, Map<DocKey, Document> documents) {
+        Index() {
+            this(new ConcurrentSkipListMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    private volatile Index index = new Index();
+
+    // A committed write: the new document, or null when the key was removed
+    private record Change(DocKey key, Document document) {
+    }
+
+    // Guards writes to the served index and the replay list
+    private final Object writeLock = new Object();
+
+    // Writes committed while a rebuild loads, replayed onto the new index before the swap
+    private List<Change> replay;
+
+    private volatile boolean ready;
+
+    /**
+     * Whether the initial load has finished; callers fall back to SQL search until then
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Reload the whole index from the database. Searches keep using the
+     * current index until the new one is complete; writes committed during
+     * the load are applied to both and replayed onto the new index, since
+     * the load may have read the rows before they changed.
+     */
+    @Transactional(readOnly = true)
+    public synchronized Map<String, Object> rebuild() {
+        long start = System.currentTimeMillis();
+        Index building = new Index();
+        synchronized (writeLock) {
+            replay = new ArrayList<>();
+        }
+        try {
+            long afterId = 0L;
+            List<ListDto.StudentItem> students;
+            do {
+                students = studentRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(LOAD_BATCH_SIZE));
+                for (ListDto.StudentItem s : students) {
+                    put(building, studentDocument(s.getId(), s.getStudentId(), s.getFirstName(), s.getOtherNames(),
+                        s.getLastName(), s.getEmail(), s.getCurrentClass(), s.getStream()));
+                    afterId = s.getId();
+                }
+            } while (students.size() == LOAD_BATCH_SIZE);
+
+            afterId = 0L;
+            List<ListDto.TeacherItem> teachers;
+            do {
+                teachers = teacherRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(LOAD_BATCH_SIZE));
+                for (ListDto.TeacherItem t : teachers) {
+                    put(building, teacherDocument(t.getId(), t.getTeacherId(), t.getFirstName(), t.getOtherNames(),
+                        t.getLastName(), t.getEmail(), t.getDepartmentName(), t.getPrimarySubject()));
+                    afterId = t.getId();
+                }
+            } while (teachers.size() == LOAD_BATCH_SIZE);
+
+            afterId = 0L;
+            List<ListDto.SchoolClassItem> classes;
+            do {
+                classes = schoolClassRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(LOAD_BATCH_SIZE));
+                for (ListDto.SchoolClassItem c : classes) {
+                    put(building, classDocument(c.getId(), c.getName(), c.getStream(), c.getClassroom(),
+                        c.getAcademicYear()));
+                    afterId = c.getId();
+                }
+            } while (classes.size() == LOAD_BATCH_SIZE);
+
+            afterId = 0L;
+            List<ListDto.TimetableItem> entries;
+            do {
+                entries = timetableRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(LOAD_BATCH_SIZE));
+                for (ListDto.TimetableItem t : entries) {
+                    if (Boolean.TRUE.equals(t.getIsActive())) {
+                        put(building, timetableDocument(t.getId(), t.getClassName(), t.getSubjectCode(),
+                            t.getSubjectName(), t.getTeacherName(), t.getRoom(), t.getDayOfWeek(), t.getPeriodNumber()));
+                    }
+                    afterId = t.getId();
+                }
+            } while (entries.size() == LOAD_BATCH_SIZE);
+
+            synchronized (writeLock) {
+                for (Change change : replay) {
+                    write(building, change.key(), change.document());
+                }
+                index = building;
+            }
+        } finally {
+            // A failed load leaves the served index as it was
+            synchronized (writeLock) {
+                replay = null;
+            }
+        }
+        ready = true;
+        long elapsed = System.currentTimeMillis() - start;
+        logger.info("Search index built - {} documents, {} terms in {} ms",
+            building.documents().size(), building.postings().size(), elapsed);
+
+        Map<String, Object> stats = getStats();
+        stats.put("buildMillis", elapsed);
+        return stats;
+    }
+
+    // ============ INDEX MAINTENANCE ============
+
+    /**
+     * Index or re-index an entity after its write committed
+     */
+    public void index(Object entity) {
+        if (entity instanceof Student s) {
+            apply(new DocKey(Type.STUDENT, s.getId()), studentDocument(s.getId(), s.getStudentId(), s.getFirstName(),
+                s.getOtherNames(), s.getLastName(), s.getEmail(), s.getCurrentClass(), s.getStream()));
+        } else if (entity instanceof Teacher t) {
+            apply(new DocKey(Type.TEACHER, t.getId()), teacherDocument(t.getId(), t.getTeacherId(), t.getFirstName(),
+                t.getOtherNames(), t.getLastName(), t.getEmail(), departmentNameOf(t), t.getPrimarySubject()));
+        } else if (entity instanceof SchoolClass c) {
+            apply(new DocKey(Type.CLASS, c.getId()),
+                classDocument(c.getId(), c.getName(), c.getStream(), c.getClassroom(), c.getAcademicYear()));
+        } else if (entity instanceof Timetable t) {
+            apply(new DocKey(Type.TIMETABLE, t.getId()), Boolean.TRUE.equals(t.getIsActive())
+                ? timetableDocument(t.getId(), t.getClassName(), t.getSubjectCode(), t.getSubjectName(),
+                    t.getTeacherName(), t.getRoom(), t.getDayOfWeek(), t.getPeriodNumber())
+                : null);
+        }
+    }
+
+    /**
+     * Drop an entity from the index after its delete committed
+     */
+    public void unindex(Object entity) {
+        if (entity instanceof Student s) {
+            apply(new DocKey(Type.STUDENT, s.getId()), null);
+        } else if (entity instanceof Teacher t) {
+            apply(new DocKey(Type.TEACHER, t.getId()), null);
+        } else if (entity instanceof SchoolClass c) {
+            apply(new DocKey(Type.CLASS, c.getId()), null);
+        } else if (entity instanceof Timetable t) {
+            apply(new DocKey(Type.TIMETABLE, t.getId()), null);
+        }
+    }
+
+    // Apply a committed change to the served index, and remember it for a rebuild in progress
+    private void apply(DocKey key, Document document) {
+        if (key.id() == null) {
+            return;
+        }
+        synchronized (writeLock) {
+            write(index, key, document);
+            if (replay != null) {
+                replay.add(new Change(key, document));
+            }
+        }
+    }
+
+    // A null document removes the key
+    private static void write(Index target, DocKey key, Document document) {
+        if (document != null) {
+            put(target, document);
+        } else {
+            remove(target, key.type(), key.id());
+        }
+    }
+
+    /**
+     * Whether entities of this class are indexed
+     */
+    public static boolean isIndexed(Class<?> entityClass) {
+        return Student.class.isAssignableFrom(entityClass)
+            || Teacher.class.isAssignableFrom(entityClass)
+            || SchoolClass.class.isAssignableFrom(entityClass)
+            || Timetable.class.isAssignableFrom(entityClass);
+    }
+
+    private static void put(Index target, Document document) {
+        if (document.key().id() == null) {
+            return;
+        }
+        Document previous = target.documents().put(document.key(), document);
+        if (previous != null) {
+            for (String term : previous.terms().keySet()) {
+                if (!document.terms().containsKey(term)) {
+                    removePosting(target, term, previous.key());
+                }
+            }
+        }
+        for (String term : document.terms().keySet()) {
+            target.postings().computeIfAbsent(term, k -> ConcurrentHashMap.newKeySet()).add(document.key());
+        }
+    }
+
+    private static void remove(Index target, Type type, Long id) {
+        Document previous = target.documents().remove(new DocKey(type, id));
+        if (previous != null) {
+            for (String term : previous.terms().keySet()) {
+                removePosting(target, term, previous.key());
+            }
+        }
+    }
+
+    private static void removePosting(Index target, String term, DocKey key) {
+        target.postings().computeIfPresent(term, (k, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    // ============ QUERIES ============
+
+    /**
+     * Ranked prefix search. Every query word must prefix-match a term of the
+     * document; candidates come from the most selective (longest) word's
+     * dictionary range and are then filtered against the other words.
+     */
+    public List<Hit> search(String query, Set<Type> types, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<Type> wanted = types == null || types.isEmpty() ? EnumSet.allOf(Type.class) : types;
+
+        words.sort(Comparator.comparingInt(String::length).reversed());
+        String lead = words.get(0);
+
+        // One index for the whole query, even if a rebuild swaps it meanwhile
+        Index current = index;
+        Map<DocKey, Integer> scores = new HashMap<>();
+        for (Map.Entry<String, Set<DocKey>> entry : prefixRange(current, lead).entrySet()) {
+            for (DocKey key : entry.getValue()) {
+                if (!wanted.contains(key.type())) {
+                    continue;
+                }
+                Document document = current.documents().get(key);
+                if (document == null) {
+                    continue;
+                }
+                int score = termScore(document, entry.getKey(), lead);
+                scores.merge(key, score, Math::max);
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        for (Map.Entry<DocKey, Integer> candidate : scores.entrySet()) {
+            Document document = current.documents().get(candidate.getKey());
+            if (document == null) {
+                continue;
+            }
+            int total = candidate.getValue();
+            for (int i = 1; i < words.size() && total > 0; i++) {
+                int best = bestScore(document, words.get(i));
+                total = best > 0 ? total + best : 0;
+            }
+            if (total > 0) {
+                hits.add(new Hit(document.key().type(), document.key().id(),
+                    document.title(), document.subtitle(), total));
+            }
+        }
+
+        hits.sort(Comparator.comparingInt(Hit::score).reversed()
+            .thenComparing(Hit::title, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(Hit::id));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * Ids of one entity type matching a query, best match first
+     */
+    public List<Long> searchIds(Type type, String query, int limit) {
+        List<Long> ids = new ArrayList<>();
+        for (Hit hit : search(query, EnumSet.of(type), limit)) {
+            ids.add(hit.id());
+        }
+        return ids;
+    }
+
+    /**
+     * Order loaded entities like the ids they were fetched by
+     */
+    public static <T> List<T> inRankOrder(List<Long> ids, List<T> rows, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T row : rows) {
+            byId.put(idOf.apply(row), row);
+        }
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T row = byId.get(id);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+
+    public Map<String, Object> getStats() {
+        Index current = index;
+        Map<String, Long> byType = new TreeMap<>();
+        for (DocKey key : current.documents().keySet()) {
+            byType.merge(key.type().name(), 1L, Long::sum);
+        }
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("ready", ready);
+        stats.put("documents", current.documents().size());
+        stats.put("terms", current.postings().size());
+        stats.put("documentsByType", byType);
+        return stats;
+    }
+
+    private static NavigableMap<String, Set<DocKey>> prefixRange(Index target, String prefix) {
+        return target.postings().subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private int bestScore(Document document, String word) {
+        int best = 0;
+        for (Map.Entry<String, Integer> term : document.terms().tailMap(word, true).entrySet()) {
+            if (!term.getKey().startsWith(word)) {
+                break;
+            }
+            best = Math.max(best, termScore(document, term.getKey(), word));
+        }
+        return best;
+    }
+
+    private int termScore(Document document, String term, String word) {
+        int weight = document.terms().getOrDefault(term, 0);
+        return term.length() == word.length() ? weight * 2 : weight;
+    }
+
+    // ============ DOCUMENTS ============
+
+    private Document studentDocument(Long id, String studentId, String firstName, String otherNames,
+                                     String lastName, String email, String currentClass, String stream) {
+        NavigableMap<String, Integer> terms = new TreeMap<>();
+        addIdentifier(terms, studentId);
+        addWords(terms, firstName, WEIGHT_NAME);
+        addWords(terms, otherNames, WEIGHT_NAME);
+        addWords(terms, lastName, WEIGHT_NAME);
+        addEmail(terms, email);
+        return new Document(new DocKey(Type.STUDENT, id), fullName(firstName, otherNames, lastName),
+            join(studentId, join(currentClass, stream, " "), " - "), terms);
+    }
+
+    private Document teacherDocument(Long id, String teacherId, String firstName, String otherNames,
+                                     String lastName, String email, String departmentName, String primarySubject) {
+        NavigableMap<String, Integer> terms = new TreeMap<>();
+        addIdentifier(terms, teacherId);
+        addWords(terms, firstName, WEIGHT_NAME);
+        addWords(terms, otherNames, WEIGHT_NAME);
+        addWords(terms, lastName, WEIGHT_NAME);
+        addEmail(terms, email);
+        addWords(terms, departmentName, WEIGHT_OTHER);
+        addWords(terms, primarySubject, WEIGHT_OTHER);
+        return new Document(new DocKey(Type.TEACHER, id), fullName(firstName, otherNames, lastName),
+            join(teacherId, departmentName, " - "), terms);
+    }
+
+    // departmentName on Teacher is only request input; the department relation holds the name
+    private static String departmentNameOf(Teacher teacher) {
+        Department department = teacher.getDepartment();
+        if (department == null) {
+            return null;
+        }
+        // A lazy department nobody touched cannot be loaded once the write has committed
+        return Hibernate.isInitialized(department) ? department.getName() : teacher.getDepartmentName();
+    }
+
+    private Document classDocument(Long id, String name, String stream, String classroom, String academicYear) {
+        NavigableMap<String, Integer> terms = new TreeMap<>();
+        addWords(terms, name, WEIGHT_IDENTIFIER);
+        addWords(terms, stream, WEIGHT_OTHER);
+        addIdentifier(terms, classroom);
+        return new Document(new DocKey(Type.CLASS, id), join(name, stream, " "),
+            join(classroom, academicYear, " - "), terms);
+    }
+
+    private Document timetableDocument(Long id, String className, String subjectCode, String subjectName,
+                                       String teacherName, String room, Timetable.DayOfWeek dayOfWeek,
+                                       Integer periodNumber) {
+        NavigableMap<String, Integer> terms = new TreeMap<>();
+        addWords(terms, className, WEIGHT_OTHER);
+        addIdentifier(terms, subjectCode);
+        addWords(terms, subjectName, WEIGHT_NAME);
+        addWords(terms, teacherName, WEIGHT_OTHER);
+        addIdentifier(terms, room);
+        String when = dayOfWeek != null ? dayOfWeek.name() + (periodNumber != null ? " P" + periodNumber : "") : null;
+        return new Document(new DocKey(Type.TIMETABLE, id), join(className, subjectName, " - "),
+            join(when, join(teacherName, room, ", "), " - "), terms);
+    }
+
+    private static void addWords(Map<String, Integer> terms, String text, int weight) {
+        for (String word : tokenize(text)) {
+            terms.merge(word, weight, Math::max);
+        }
+    }
+
+    /**
+     * Index an identifier as a whole, as its words and by its suffixes
+     */
+    private static void addIdentifier(Map<String, Integer> terms, String identifier) {
+        if (identifier == null || identifier.isBlank()) {
+            return;
+        }
+        String compact = identifier.toLowerCase().replaceAll("[^\\p{L}\\p{N}]", "");
+        terms.merge(compact, WEIGHT_IDENTIFIER, Math::max);
+        addWords(terms, identifier, WEIGHT_IDENTIFIER);
+        for (int i = 1; i <= compact.length() - MIN_SUFFIX_LENGTH; i++) {
+            terms.merge(compact.substring(i), WEIGHT_SUFFIX, Math::max);
+        }
+    }
+
+    private static void addEmail(Map<String, Integer> terms, String email) {
+        if (email == null || email.isBlank()) {
+            return;
+        }
+        terms.merge(email.toLowerCase(), WEIGHT_OTHER, Math::max);
+        addWords(terms, email, WEIGHT_OTHER);
+    }
+
+    /**
+     * Split text into lowercase letter/digit words
+     */
+    private static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static String fullName(String firstName, String otherNames, String lastName) {
+        return join(join(firstName, otherNames, " "), lastName, " ");
+    }
+
+    private static String join(String first, String second, String separator) {
+        boolean hasFirst = first != null && !first.isBlank();
+        boolean hasSecond = second != null && !second.isBlank();
+        if (hasFirst && hasSecond) {
+            return first + separator + second;
+        }
+        return hasFirst ? first : (hasSecond ? second : "");
+    }
+}
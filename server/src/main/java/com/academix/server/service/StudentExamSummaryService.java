@@ -0,0 +1,126 @@
+package com.academix.server.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.academix.server.model.Result;
+import com.academix.server.model.StudentExamSummary;
+import com.academix.server.repository.ResultRepository;
+import com.academix.server.repository.StudentExamSummaryRepository;
+
+/**
+ * Maintains the precomputed StudentExamSummary rows.
+ * Every result write refreshes only the (student, exam) summaries it touched.
+ */
+@Service
+@Transactional
+public class StudentExamSummaryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentExamSummaryService.class);
+
+    // Maximum number of ids bound into a single IN (...) query
+    private static final int IN_CLAUSE_CHUNK = 1000;
+
+    @Autowired
+    private StudentExamSummaryRepository summaryRepository;
+
+    @Autowired
+    private ResultRepository resultRepository;
+
+    /**
+     * Recompute the summary for one student in one exam
+     */
+    public void refresh(Long studentId, Long examId) {
+        List<Result> results = resultRepository.findByStudentIdAndExamId(studentId, examId);
+        Optional<StudentExamSummary> existing = summaryRepository.findByStudentIdAndExamId(studentId, examId);
+
+        if (results.isEmpty()) {
+            existing.ifPresent(summaryRepository::delete);
+            return;
+        }
+
+        StudentExamSummary summary = existing.orElseGet(() -> newSummary(studentId, examId));
+        summary.recalculate(results);
+        summaryRepository.save(summary);
+    }
+
+    /**
+     * Recompute the summaries for a set of students in an exam,
+     * reading their results and current summaries with chunked IN queries
+     */
+    public void refreshStudents(Long examId, Collection<Long> studentIds) {
+        List<Long> ids = new ArrayList<>(studentIds);
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK, ids.size()));
+
+            Map<Long, List<Result>> byStudent = new HashMap<>();
+            for (Result result : resultRepository.findByExamIdAndStudentIdIn(examId, chunk)) {
+                byStudent.computeIfAbsent(result.getStudentId(), k -> new ArrayList<>()).add(result);
+            }
+
+            Map<Long, StudentExamSummary> summaries = new HashMap<>();
+            for (StudentExamSummary summary : summaryRepository.findByExamIdAndStudentIdIn(examId, chunk)) {
+                summaries.put(summary.getStudentId(), summary);
+            }
+
+            List<StudentExamSummary> toSave = new ArrayList<>();
+            List<StudentExamSummary> toDelete = new ArrayList<>();
+            for (Long studentId : chunk) {
+                List<Result> results = byStudent.get(studentId);
+                StudentExamSummary summary = summaries.get(studentId);
+                if (results == null) {
+                    if (summary != null) toDelete.add(summary);
+                    continue;
+                }
+                if (summary == null) {
+                    summary = newSummary(studentId, examId);
+                }
+                summary.recalculate(results);
+                toSave.add(summary);
+            }
+
+            summaryRepository.saveAll(toSave);
+            summaryRepository.deleteAll(toDelete);
+        }
+
+        logger.debug("Refreshed {} exam summaries for exam {}", ids.size(), examId);
+    }
+
+    /**
+     * Recompute every summary for an exam
+     */
+    public void refreshExam(Long examId) {
+        refreshStudents(examId, resultRepository.findDistinctStudentIdsByExamId(examId));
+    }
+
+    /**
+     * Get the summary for a student in an exam.
+     * Falls back to computing it from the results when no row has been stored yet.
+     */
+    @Transactional(readOnly = true)
+    public StudentExamSummary getSummary(Long studentId, Long examId) {
+        return summaryRepository.findByStudentIdAndExamId(studentId, examId)
+            .orElseGet(() -> {
+                StudentExamSummary summary = newSummary(studentId, examId);
+                summary.recalculate(resultRepository.findByStudentIdAndExamId(studentId, examId));
+                return summary;
+            });
+    }
+
+    private StudentExamSummary newSummary(Long studentId, Long examId) {
+        StudentExamSummary summary = new StudentExamSummary();
+        summary.setStudentId(studentId);
+        summary.setExamId(examId);
+        return summary;
+    }
+}
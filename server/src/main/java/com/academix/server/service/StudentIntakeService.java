@@ -0,0 +1,625 @@
+package com.academix.server.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.academix.server.dto.StudentIntakeDto.IntakeJobView;
+import com.academix.server.dto.StudentIntakeDto.IntakeRow;
+import com.academix.server.dto.StudentIntakeDto.JobStatus;
+import com.academix.server.dto.StudentIntakeDto.RowOutcome;
+import com.academix.server.dto.StudentIntakeDto.RowStatus;
+import com.academix.server.model.Student;
+import com.academix.server.repository.StudentRepository;
+import com.academix.server.repository.UserRepository;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk student intake, e.g. a whole new class at the start of term.
+ * A job runs in the background in stages: every row is validated with the
+ * student rules, emails, NINs and LINNs are deduplicated within the file and
+ * against all users with a few set queries, passwords are hashed across the
+ * hashing pool, and students are inserted in JDBC batches, one transaction per
+ * chunk. Credentials emails are queued for delivery after each chunk commits.
+ * Jobs and their per-row outcomes are kept in memory for the latest intakes.
+ */
+@Service
+public class StudentIntakeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentIntakeService.class);
+
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_ROWS = 20000;
+    private static final int RETAINED_JOBS = 20;
+    // Values per IN (...) dedupe query
+    private static final int QUERY_BATCH = 1000;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordHashingService passwordHashing;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private MailQueueService mailQueue;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // One intake at a time; the hashing pool already uses every core
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "student-intake");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<Long, IntakeJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong jobIds = new AtomicLong();
+
+    private static final class IntakeJob {
+        final Long id;
+        final List<IntakeRow> rows;
+        final boolean sendEmails;
+        final RowOutcome[] outcomes;
+        final AtomicInteger processed = new AtomicInteger();
+        final AtomicInteger created = new AtomicInteger();
+        final AtomicInteger duplicates = new AtomicInteger();
+        final AtomicInteger invalid = new AtomicInteger();
+        final AtomicInteger failed = new AtomicInteger();
+        final AtomicInteger emailsQueued = new AtomicInteger();
+        final LocalDateTime createdAt = LocalDateTime.now();
+        volatile JobStatus status = JobStatus.QUEUED;
+        volatile String stage = "queued";
+        volatile String errorMessage;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+
+        IntakeJob(Long id, List<IntakeRow> rows, boolean sendEmails) {
+            this.id = id;
+            this.rows = rows;
+            this.sendEmails = sendEmails;
+            this.outcomes = new RowOutcome[rows.size()];
+        }
+
+        void settle(int index, RowStatus status, String message) {
+            RowOutcome outcome = new RowOutcome();
+            outcome.setRow(index + 1);
+            outcome.setEmail(rows.get(index).getEmail());
+            outcome.setStatus(status);
+            outcome.setMessage(message);
+            outcomes[index] = outcome;
+            switch (status) {
+                case DUPLICATE -> duplicates.incrementAndGet();
+                case INVALID -> invalid.incrementAndGet();
+                case FAILED -> failed.incrementAndGet();
+                case CREATED -> created.incrementAndGet();
+            }
+            processed.incrementAndGet();
+        }
+
+        boolean finished() {
+            return status == JobStatus.COMPLETED || status == JobStatus.FAILED;
+        }
+    }
+
+    // A row that passed validation and deduplication, on its way into the table
+    private record Pending(int index, Student student, String password) {
+    }
+
+    public StudentIntakeService(PlatformTransactionManager transactionManager) {
+        // Every chunk commits on its own
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Queue an intake of new students and return its job
+     */
+    public IntakeJobView startIntake(List<IntakeRow> rows, boolean sendEmails) {
+        if (rows == null || rows.isEmpty()) {
+            throw new RuntimeException("No students to import");
+        }
+        if (rows.contains(null)) {
+            throw new RuntimeException("Intake contains an empty student entry");
+        }
+        if (rows.size() > MAX_ROWS) {
+            throw new RuntimeException("At most " + MAX_ROWS + " students per intake, got " + rows.size());
+        }
+        IntakeJob job = new IntakeJob(jobIds.incrementAndGet(), List.copyOf(rows), sendEmails);
+        jobs.put(job.id, job);
+        dropOldJobs();
+        executor.submit(() -> run(job));
+        logger.info("Student intake job {} queued - {} rows", job.id, rows.size());
+        return view(job, false);
+    }
+
+    /**
+     * Progress of an intake job, with per-row outcomes when asked
+     */
+    public Optional<IntakeJobView> getJob(Long jobId, boolean includeOutcomes) {
+        return Optional.ofNullable(jobs.get(jobId)).map(job -> view(job, includeOutcomes));
+    }
+
+    /**
+     * Rows of an intake CSV: a header row naming the columns (see IntakeRow),
+     * then one student per line. Quoted fields may contain commas, quotes ("")
+     * and line breaks.
+     */
+    public List<IntakeRow> parseCsv(String csv) {
+        List<List<String>> records = readCsv(csv);
+        if (records.isEmpty()) {
+            throw new RuntimeException("CSV is empty");
+        }
+        List<String> header = records.get(0);
+        List<BiConsumer<IntakeRow, String>> setters = new ArrayList<>(header.size());
+        boolean hasEmail = false;
+        for (String column : header) {
+            BiConsumer<IntakeRow, String> setter = CSV_COLUMNS.get(columnKey(column));
+            setters.add(setter);
+            hasEmail |= "email".equals(columnKey(column));
+        }
+        if (!hasEmail) {
+            throw new RuntimeException("CSV header must include an email column");
+        }
+
+        List<IntakeRow> rows = new ArrayList<>(records.size() - 1);
+        for (List<String> record : records.subList(1, records.size())) {
+            if (record.stream().allMatch(String::isBlank)) {
+                continue;
+            }
+            IntakeRow row = new IntakeRow();
+            for (int c = 0; c < record.size() && c < setters.size(); c++) {
+                if (setters.get(c) != null) {
+                    setters.get(c).accept(row, record.get(c));
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ============ PIPELINE ============
+
+    private void run(IntakeJob job) {
+        job.status = JobStatus.RUNNING;
+        job.startedAt = LocalDateTime.now();
+        long start = System.currentTimeMillis();
+        try {
+            job.stage = "validating";
+            List<Pending> pending = validate(job);
+
+            job.stage = "deduplicating";
+            pending = deduplicate(job, pending);
+
+            job.stage = "hashing passwords";
+            prepare(pending);
+
+            job.stage = "inserting";
+            for (int from = 0; from < pending.size(); from += CHUNK_SIZE) {
+                insertChunk(job, pending.subList(from, Math.min(pending.size(), from + CHUNK_SIZE)));
+            }
+
+            job.stage = "done";
+            job.status = JobStatus.COMPLETED;
+            logger.info("Student intake job {} completed in {} ms - {} created, {} duplicates, {} invalid, {} failed",
+                job.id, System.currentTimeMillis() - start, job.created.get(), job.duplicates.get(),
+                job.invalid.get(), job.failed.get());
+        } catch (Exception e) {
+            logger.error("Student intake job {} failed at {}: {}", job.id, job.stage, e.getMessage(), e);
+            String message = e.getMessage() != null && e.getMessage().length() > 500
+                ? e.getMessage().substring(0, 500)
+                : e.getMessage();
+            job.errorMessage = message;
+            job.status = JobStatus.FAILED;
+        } finally {
+            job.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    // Build each student and check it against the entity's validation rules
+    private List<Pending> validate(IntakeJob job) {
+        List<Pending> valid = new ArrayList<>(job.rows.size());
+        for (int i = 0; i < job.rows.size(); i++) {
+            Student student;
+            try {
+                student = toStudent(job.rows.get(i));
+            } catch (RuntimeException e) {
+                job.settle(i, RowStatus.INVALID, e.getMessage());
+                continue;
+            }
+            Set<ConstraintViolation<Student>> violations = validator.validate(student);
+            if (!violations.isEmpty()) {
+                job.settle(i, RowStatus.INVALID, violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .reduce((a, b) -> a + "; " + b)
+                    .orElse("Invalid"));
+                continue;
+            }
+            valid.add(new Pending(i, student, null));
+        }
+        return valid;
+    }
+
+    // Repeats within the file first, then one set query per key kind against all users
+    private List<Pending> deduplicate(IntakeJob job, List<Pending> pending) {
+        Map<String, Integer> emails = new HashMap<>();
+        Map<String, Integer> nins = new HashMap<>();
+        Map<String, Integer> linns = new HashMap<>();
+        List<Pending> unique = new ArrayList<>(pending.size());
+        for (Pending p : pending) {
+            Student s = p.student();
+            Integer first = emails.putIfAbsent(s.getEmail().toLowerCase(Locale.ROOT), p.index());
+            if (first == null && s.getNin() != null) {
+                first = nins.putIfAbsent(s.getNin(), p.index());
+            }
+            if (first == null && s.getLinn() != null) {
+                first = linns.putIfAbsent(s.getLinn(), p.index());
+            }
+            if (first != null) {
+                job.settle(p.index(), RowStatus.DUPLICATE, "Repeats row " + (first + 1) + " of the file");
+            } else {
+                unique.add(p);
+            }
+        }
+
+        Set<String> takenEmails = lowerCase(existing(unique, Student::getEmail, userRepository::findExistingEmails));
+        Set<String> takenNins = existing(unique, Student::getNin, userRepository::findExistingNins);
+        Set<String> takenLinns = existing(unique, Student::getLinn, studentRepository::findExistingLinns);
+
+        List<Pending> fresh = new ArrayList<>(unique.size());
+        for (Pending p : unique) {
+            Student s = p.student();
+            if (takenEmails.contains(s.getEmail().toLowerCase(Locale.ROOT))) {
+                job.settle(p.index(), RowStatus.DUPLICATE, "Email already exists: " + s.getEmail());
+            } else if (s.getNin() != null && takenNins.contains(s.getNin())) {
+                job.settle(p.index(), RowStatus.DUPLICATE, "NIN already exists: " + s.getNin());
+            } else if (s.getLinn() != null && takenLinns.contains(s.getLinn())) {
+                job.settle(p.index(), RowStatus.DUPLICATE, "LINN already exists: " + s.getLinn());
+            } else {
+                fresh.add(p);
+            }
+        }
+        return fresh;
+    }
+
+    // Passwords hashed in parallel, then student IDs and verification tokens
+    private void prepare(List<Pending> pending) {
+        List<String> passwords = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            passwords.add(emailService.generateSecurePassword(10));
+        }
+        List<String> hashes = passwordHashing.hashAll(passwords);
+        for (int i = 0; i < pending.size(); i++) {
+            Pending p = pending.get(i);
+            p.student().setPassword(hashes.get(i));
+            userService.generateEmailVerificationToken(p.student());
+            pending.set(i, new Pending(p.index(), p.student(), passwords.get(i)));
+        }
+        assignStudentIds(pending);
+    }
+
+    // Same format as single registration, numbered on from the current count
+    private void assignStudentIds(List<Pending> pending) {
+        long next = studentRepository.count() + 1;
+        List<Student> unassigned = new ArrayList<>(pending.size());
+        for (Pending p : pending) {
+            unassigned.add(p.student());
+        }
+        for (int attempt = 0; attempt < 5 && !unassigned.isEmpty(); attempt++) {
+            Map<String, Student> candidates = new LinkedHashMap<>();
+            for (Student s : unassigned) {
+                String prefix = StudentService.studentIdPrefix(s.getCurrentClass());
+                String candidate;
+                do {
+                    candidate = prefix + String.format("%03d%02d", next++, ThreadLocalRandom.current().nextInt(100));
+                } while (candidates.containsKey(candidate));
+                candidates.put(candidate, s);
+            }
+            Set<String> taken = new HashSet<>();
+            List<String> ids = new ArrayList<>(candidates.keySet());
+            for (int from = 0; from < ids.size(); from += QUERY_BATCH) {
+                taken.addAll(studentRepository.findExistingStudentIds(
+                    ids.subList(from, Math.min(ids.size(), from + QUERY_BATCH))));
+            }
+            unassigned = new ArrayList<>();
+            for (Map.Entry<String, Student> entry : candidates.entrySet()) {
+                if (taken.contains(entry.getKey())) {
+                    unassigned.add(entry.getValue());
+                } else {
+                    entry.getValue().setStudentId(entry.getKey());
+                }
+            }
+        }
+        if (!unassigned.isEmpty()) {
+            throw new RuntimeException("Could not generate unique student IDs for " + unassigned.size() + " students");
+        }
+    }
+
+    /**
+     * Insert one chunk in a transaction. If the batch is rejected (e.g. an
+     * email registered since deduplication), insert its rows one by one so
+     * only the offending rows fail.
+     */
+    private void insertChunk(IntakeJob job, List<Pending> chunk) {
+        List<Student> students = chunk.stream().map(Pending::student).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> studentRepository.batchInsert(students));
+            committed(job, chunk);
+            return;
+        } catch (DataAccessException e) {
+            logger.warn("Student intake job {}: batch of {} rejected, inserting rows one by one - {}",
+                job.id, chunk.size(), e.getMostSpecificCause().getMessage());
+        }
+
+        for (Pending p : chunk) {
+            p.student().setId(null);
+            p.student().setVersion(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> studentRepository.batchInsert(List.of(p.student())));
+                committed(job, List.of(p));
+            } catch (DataAccessException e) {
+                job.settle(p.index(), RowStatus.FAILED, e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    // After commit: outcomes, search index, dashboard and one outbox batch of credentials emails
+    private void committed(IntakeJob job, List<Pending> inserted) {
+        List<SimpleMailMessage> messages = new ArrayList<>(job.sendEmails ? inserted.size() : 0);
+        for (Pending p : inserted) {
+            Student s = p.student();
+            job.settle(p.index(), RowStatus.CREATED, null);
+            job.outcomes[p.index()].setId(s.getId());
+            job.outcomes[p.index()].setStudentId(s.getStudentId());
+            // Batch inserts bypass the entity listener
+            searchIndexService.index(s);
+            if (job.sendEmails) {
+                messages.add(emailService.studentRegistrationMessage(s.getEmail(), s.getFullName(), s.getStudentId(),
+                    s.getCurrentClass(), s.getStream(), p.password()));
+            }
+        }
+        dashboardService.markChanged(Student.class);
+
+        if (!messages.isEmpty()) {
+            try {
+                job.emailsQueued.addAndGet(mailQueue.enqueueAll("STUDENT_REGISTRATION", messages));
+            } catch (Exception e) {
+                // The students are committed; only their credentials emails are lost
+                logger.error("Student intake job {}: could not queue {} credentials emails - {}",
+                    job.id, messages.size(), e.getMessage());
+            }
+        }
+    }
+
+    // ============ HELPERS ============
+
+    private static Student toStudent(IntakeRow row) {
+        Student s = new Student();
+        s.setFirstName(clean(row.getFirstName()));
+        s.setOtherNames(clean(row.getOtherNames()));
+        s.setLastName(clean(row.getLastName()));
+        s.setEmail(clean(row.getEmail()));
+        String gender = clean(row.getGender());
+        s.setGender(gender != null ? gender.toUpperCase(Locale.ROOT) : null);
+        String dateOfBirth = clean(row.getDateOfBirth());
+        if (dateOfBirth != null) {
+            try {
+                s.setDateOfBirth(LocalDate.parse(dateOfBirth));
+            } catch (DateTimeParseException e) {
+                throw new RuntimeException("Date of birth must be YYYY-MM-DD: " + dateOfBirth);
+            }
+        }
+        s.setPhoneNumber(clean(row.getPhoneNumber()));
+        String nin = clean(row.getNin());
+        s.setNin(nin != null ? nin.toUpperCase(Locale.ROOT) : null);
+        s.setLinn(clean(row.getLinn()));
+        s.setNationality(clean(row.getNationality()));
+        s.setDistrict(clean(row.getDistrict()));
+        s.setCurrentClass(clean(row.getCurrentClass()));
+        s.setStream(clean(row.getStream()));
+        s.setHouse(clean(row.getHouse()));
+        String residence = clean(row.getResidenceStatus());
+        if (residence != null) {
+            try {
+                s.setResidenceStatus(Student.ResidenceStatus.valueOf(residence.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Residence status must be DAY or BOARDING: " + residence);
+            }
+        }
+        s.setCombination(clean(row.getCombination()));
+        s.setGuardianName(clean(row.getGuardianName()));
+        s.setGuardianEmail(clean(row.getGuardianEmail()));
+        s.setGuardianPhone(clean(row.getGuardianPhone()));
+        s.setIsActive(true);
+        s.setIsDeleted(false);
+        s.setEmailVerified(false);
+        return s;
+    }
+
+    private static String clean(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static Set<String> existing(List<Pending> pending, Function<Student, String> key,
+                                        Function<Collection<String>, List<String>> query) {
+        List<String> values = pending.stream().map(p -> key.apply(p.student())).filter(v -> v != null).toList();
+        Set<String> found = new HashSet<>();
+        for (int from = 0; from < values.size(); from += QUERY_BATCH) {
+            found.addAll(query.apply(values.subList(from, Math.min(values.size(), from + QUERY_BATCH))));
+        }
+        return found;
+    }
+
+    private static Set<String> lowerCase(Set<String> values) {
+        Set<String> lower = new HashSet<>(values.size() * 2);
+        for (String value : values) {
+            lower.add(value.toLowerCase(Locale.ROOT));
+        }
+        return lower;
+    }
+
+    private void dropOldJobs() {
+        if (jobs.size() <= RETAINED_JOBS) {
+            return;
+        }
+        jobs.values().stream()
+            .filter(IntakeJob::finished)
+            .map(job -> job.id)
+            .sorted()
+            .limit(jobs.size() - RETAINED_JOBS)
+            .toList()
+            .forEach(jobs::remove);
+    }
+
+    private static IntakeJobView view(IntakeJob job, boolean includeOutcomes) {
+        IntakeJobView view = new IntakeJobView();
+        view.setJobId(job.id);
+        view.setStatus(job.status);
+        view.setStage(job.stage);
+        view.setTotalRows(job.rows.size());
+        view.setProcessedRows(job.processed.get());
+        view.setCreated(job.created.get());
+        view.setDuplicates(job.duplicates.get());
+        view.setInvalid(job.invalid.get());
+        view.setFailed(job.failed.get());
+        view.setEmailsQueued(job.emailsQueued.get());
+        view.setProgressPercentage(Math.round(job.processed.get() * 1000.0 / job.rows.size()) / 10.0);
+        view.setErrorMessage(job.errorMessage);
+        view.setCreatedAt(job.createdAt);
+        view.setStartedAt(job.startedAt);
+        view.setFinishedAt(job.finishedAt);
+        if (includeOutcomes) {
+            view.setOutcomes(Arrays.stream(job.outcomes.clone()).filter(o -> o != null).toList());
+        }
+        return view;
+    }
+
+    private static final Map<String, BiConsumer<IntakeRow, String>> CSV_COLUMNS = Map.ofEntries(
+        Map.entry("firstname", IntakeRow::setFirstName),
+        Map.entry("othernames", IntakeRow::setOtherNames),
+        Map.entry("lastname", IntakeRow::setLastName),
+        Map.entry("email", IntakeRow::setEmail),
+        Map.entry("gender", IntakeRow::setGender),
+        Map.entry("dateofbirth", IntakeRow::setDateOfBirth),
+        Map.entry("phonenumber", IntakeRow::setPhoneNumber),
+        Map.entry("nin", IntakeRow::setNin),
+        Map.entry("linn", IntakeRow::setLinn),
+        Map.entry("nationality", IntakeRow::setNationality),
+        Map.entry("district", IntakeRow::setDistrict),
+        Map.entry("currentclass", IntakeRow::setCurrentClass),
+        Map.entry("stream", IntakeRow::setStream),
+        Map.entry("house", IntakeRow::setHouse),
+        Map.entry("residencestatus", IntakeRow::setResidenceStatus),
+        Map.entry("combination", IntakeRow::setCombination),
+        Map.entry("guardianname", IntakeRow::setGuardianName),
+        Map.entry("guardianemail", IntakeRow::setGuardianEmail),
+        Map.entry("guardianphone", IntakeRow::setGuardianPhone));
+
+    // "Date of Birth", "date_of_birth" and "dateOfBirth" name the same column
+    private static String columnKey(String header) {
+        return header.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static List<List<String>> readCsv(String csv) {
+        List<List<String>> records = new ArrayList<>();
+        if (csv == null) {
+            return records;
+        }
+        List<String> record = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = csv.startsWith("\uFEFF") ? 1 : 0;
+        for (; i < csv.length(); i++) {
+            char c = csv.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < csv.length() && csv.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && i + 1 < csv.length() && csv.charAt(i + 1) == '\n') {
+                    i++;
+                }
+                record.add(field.toString());
+                field.setLength(0);
+                records.add(record);
+                record = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+        if (field.length() > 0 || !record.isEmpty()) {
+            record.add(field.toString());
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -10,13 +10,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.academix.server.dto.ListDto;
 import com.academix.server.model.Student;
-import com.academix.server.repository.StaffRepository;
 import com.academix.server.repository.StudentRepository;
-import com.academix.server.repository.TeacherRepository;
+import com.academix.server.repository.UserRepository;
 
 @Service
 @Transactional
@@ -28,10 +29,7 @@ public class StudentService {
     private StudentRepository studentRepository;
 
     @Autowired
-    private TeacherRepository teacherRepository;
-
-    @Autowired
-    private StaffRepository staffRepository;
+    private UserRepository userRepository;
 
     @Autowired
     private UserService userService;
@@ -39,6 +37,9 @@ public class StudentService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private SearchIndexService searchIndexService;
+
     /**
      * Create a new student
      */
@@ -118,10 +119,9 @@ public class StudentService {
         return savedStudent;
     }
 
+    // Students, teachers and staff share the users table: one indexed probe
     private boolean isEmailAlreadyInUse(String email) {
-        return studentRepository.existsByEmail(email)
-            || teacherRepository.existsByEmail(email)
-            || staffRepository.existsByEmail(email);
+        return userRepository.existsByEmail(email);
     }
 
     private String resolveUniqueConstraintMessage(DataIntegrityViolationException exception, Student student) {
@@ -167,6 +167,18 @@ public class StudentService {
         return studentRepository.findByIsActiveTrue();
     }
 
+    /**
+     * Get a keyset page of students
+     */
+    @Transactional(readOnly = true)
+    public ListDto.CursorPage<ListDto.StudentItem> getStudentsPage(boolean activeOnly, String after, Integer limit) {
+        long afterId = ListDto.decodeCursor(after);
+        int size = ListDto.clampLimit(limit);
+        return ListDto.CursorPage.of(activeOnly
+            ? studentRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1))
+            : studentRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1)), size, ListDto.StudentItem::getId);
+    }
+
     /**
      * Get student by ID
      */
@@ -235,6 +247,17 @@ public class StudentService {
             student.setResidenceStatus(studentDetails.getResidenceStatus());
         }
 
+        // Update guardian contact
+        if (studentDetails.getGuardianName() != null) {
+            student.setGuardianName(studentDetails.getGuardianName());
+        }
+        if (studentDetails.getGuardianEmail() != null) {
+            student.setGuardianEmail(studentDetails.getGuardianEmail());
+        }
+        if (studentDetails.getGuardianPhone() != null) {
+            student.setGuardianPhone(studentDetails.getGuardianPhone());
+        }
+
         // Update address info
         if (studentDetails.getDistrict() != null) {
             student.setDistrict(studentDetails.getDistrict());
@@ -292,7 +315,11 @@ public class StudentService {
      */
     @Transactional(readOnly = true)
     public List<Student> searchStudents(String searchTerm) {
-        return studentRepository.searchStudents(searchTerm);
+        if (!searchIndexService.isReady()) {
+            return studentRepository.searchStudents(searchTerm);
+        }
+        List<Long> ids = searchIndexService.searchIds(SearchIndexService.Type.STUDENT, searchTerm, Integer.MAX_VALUE);
+        return SearchIndexService.inRankOrder(ids, studentRepository.findAllById(ids), Student::getId);
     }
 
     /**
@@ -423,13 +450,21 @@ public class StudentService {
         stats.put("inactiveStudents", total - active);
         stats.put("maleStudents", studentRepository.countByGender("MALE"));
         stats.put("femaleStudents", studentRepository.countByGender("FEMALE"));
-        stats.put("boardingStudents", studentRepository.findByResidenceStatus(Student.ResidenceStatus.BOARDING).size());
-        stats.put("dayStudents", studentRepository.findByResidenceStatus(Student.ResidenceStatus.DAY).size());
+        stats.put("boardingStudents", studentRepository.countByResidenceStatus(Student.ResidenceStatus.BOARDING));
+        stats.put("dayStudents", studentRepository.countByResidenceStatus(Student.ResidenceStatus.DAY));
         return stats;
     }
 
     // Helper method to generate student ID
     private String generateStudentId(String currentClass) {
+        long count = studentRepository.count() + 1;
+        int randomNum = (int) (Math.random() * 100);
+
+        return studentIdPrefix(currentClass) + String.format("%03d%02d", count, randomNum);
+    }
+
+    // Class code and year that start a student ID, e.g. "S32025"
+    static String studentIdPrefix(String currentClass) {
         String year = String.valueOf(LocalDateTime.now().getYear());
         String classCode = "STU";
 
@@ -449,9 +484,6 @@ public class StudentService {
             }
         }
 
-        long count = studentRepository.count() + 1;
-        int randomNum = (int) (Math.random() * 100);
-
-        return classCode + year + String.format("%03d%02d", count, randomNum);
+        return classCode + year;
     }
 }
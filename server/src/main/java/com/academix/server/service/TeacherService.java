@@ -10,11 +10,13 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
+import com.academix.server.dto.ListDto;
 import com.academix.server.model.Department;
 import com.academix.server.model.Teacher;
 import com.academix.server.repository.DepartmentRepository;
@@ -38,6 +40,9 @@ public class TeacherService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private SearchIndexService searchIndexService;
+
     /**
      * Create a new teacher
      */
@@ -143,6 +148,18 @@ public class TeacherService {
         return teacherRepository.findByIsActiveTrue();
     }
 
+    /**
+     * Get a keyset page of teachers
+     */
+    @Transactional(readOnly = true)
+    public ListDto.CursorPage<ListDto.TeacherItem> getTeachersPage(boolean activeOnly, String after, Integer limit) {
+        long afterId = ListDto.decodeCursor(after);
+        int size = ListDto.clampLimit(limit);
+        return ListDto.CursorPage.of(activeOnly
+            ? teacherRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1))
+            : teacherRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1)), size, ListDto.TeacherItem::getId);
+    }
+
     /**
      * Get teacher by ID
      */
@@ -320,7 +337,11 @@ public class TeacherService {
      */
     @Transactional(readOnly = true)
     public List<Teacher> searchTeachers(String searchTerm) {
-        return teacherRepository.searchTeachers(searchTerm);
+        if (!searchIndexService.isReady()) {
+            return teacherRepository.searchTeachers(searchTerm);
+        }
+        List<Long> ids = searchIndexService.searchIds(SearchIndexService.Type.TEACHER, searchTerm, Integer.MAX_VALUE);
+        return SearchIndexService.inRankOrder(ids, teacherRepository.findAllById(ids), Teacher::getId);
     }
 
     /**
@@ -515,8 +536,8 @@ public class TeacherService {
         stats.put("permanentTeachers", teacherRepository.countByEmploymentType(Teacher.EmploymentType.PERMANENT));
         stats.put("contractTeachers", teacherRepository.countByEmploymentType(Teacher.EmploymentType.CONTRACT));
         stats.put("partTimeTeachers", teacherRepository.countByEmploymentType(Teacher.EmploymentType.PART_TIME));
-        stats.put("classTeachers", teacherRepository.findByIsClassTeacherTrue().size());
-        stats.put("departmentHeads", teacherRepository.findByIsDepartmentHeadTrue().size());
+        stats.put("classTeachers", teacherRepository.countByIsClassTeacherTrue());
+        stats.put("departmentHeads", teacherRepository.countByIsDepartmentHeadTrue());
         return stats;
     }
 
@@ -0,0 +1,399 @@
+package com.academix.server.service;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.academix.server.dto.TimetableDto;
+import com.academix.server.model.Room;
+import com.academix.server.model.SchoolClass;
+import com.academix.server.model.TeacherSubject;
+import com.academix.server.model.Timetable;
+import com.academix.server.repository.RoomRepository;
+import com.academix.server.repository.SchoolClassRepository;
+import com.academix.server.repository.TeacherSubjectRepository;
+import com.academix.server.repository.TimetableRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Generates a term's timetable for a set of classes.
+ * Lessons come from teacher-subject assignments and weekly period counts,
+ * slots from the LESSON periods of the standard template, rooms from the
+ * room register by type and capacity. Entries already in the term stay
+ * fixed. The search runs on every core within a time budget (see
+ * {@link TimetableSolver}); lessons it cannot place are listed, not dropped.
+ */
+@Service
+public class TimetableGeneratorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimetableGeneratorService.class);
+
+    private static final String DEFAULT_ROOM_TYPE = "CLASSROOM";
+
+    private static final List<Timetable.DayOfWeek> WEEKDAYS = List.of(
+        Timetable.DayOfWeek.MONDAY, Timetable.DayOfWeek.TUESDAY, Timetable.DayOfWeek.WEDNESDAY,
+        Timetable.DayOfWeek.THURSDAY, Timetable.DayOfWeek.FRIDAY);
+
+    @Autowired
+    private TimetableService timetableService;
+
+    @Autowired
+    private TimetableRepository timetableRepository;
+
+    @Autowired
+    private TeacherSubjectRepository teacherSubjectRepository;
+
+    @Autowired
+    private SchoolClassRepository schoolClassRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Value("${academix.timetable.generator-threads:0}")
+    private int generatorThreads;
+
+    @Value("${academix.timetable.default-budget-ms:5000}")
+    private long defaultBudgetMs;
+
+    @Value("${academix.timetable.max-budget-ms:60000}")
+    private long maxBudgetMs;
+
+    private final int cores = Runtime.getRuntime().availableProcessors();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(cores, runnable -> {
+        Thread thread = new Thread(runnable, "timetable-solver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private record Period(int number, String name, LocalTime start, LocalTime end) {
+    }
+
+    private record Lesson(SchoolClass schoolClass, TeacherSubject assignment, String roomType) {
+    }
+
+    /**
+     * Generate a timetable, and save its placed lessons when asked
+     */
+    public TimetableDto.GenerateResult generate(TimetableDto.GenerateRequest request) {
+        long start = System.currentTimeMillis();
+        TimetableDto.GenerateResult result = new TimetableDto.GenerateResult();
+        result.setAcademicYear(request.getAcademicYear());
+        result.setTerm(request.getTerm());
+
+        List<Timetable.DayOfWeek> days = request.getDays() != null && !request.getDays().isEmpty()
+            ? request.getDays().stream().distinct().sorted().toList() : WEEKDAYS;
+        List<Period> periods = lessonPeriods();
+        List<SchoolClass> classes = targetClasses(request);
+        if (classes.isEmpty()) {
+            throw new RuntimeException("No classes to generate a timetable for in " + request.getAcademicYear());
+        }
+        List<Lesson> lessons = buildLessons(request, classes, result.getWarnings());
+        if (lessons.isEmpty()) {
+            throw new RuntimeException("No teacher-subject assignments found for the selected classes");
+        }
+        List<Room> rooms = roomRepository.findByIsAvailable(true).stream()
+            .sorted(Comparator.comparing((Room r) -> r.getCapacity() != null ? r.getCapacity() : Integer.MAX_VALUE)
+                .thenComparing(Room::getRoomNumber))
+            .toList();
+        if (rooms.isEmpty()) {
+            result.getWarnings().add("No available rooms registered; lessons are generated without rooms");
+        }
+
+        // ============ INDEX ============
+
+        Map<Long, Integer> teacherIndex = new HashMap<>();
+        Map<String, Integer> classIndex = new HashMap<>();
+        Map<String, Integer> roomIndex = new HashMap<>();
+        Map<String, Integer> classSubjectIndex = new HashMap<>();
+        for (SchoolClass schoolClass : classes) {
+            classIndex.put(schoolClass.getName(), classIndex.size());
+        }
+        for (Room room : rooms) {
+            roomIndex.put(room.getRoomNumber(), roomIndex.size());
+        }
+
+        TimetableSolver.Problem problem = new TimetableSolver.Problem();
+        problem.days = days.size();
+        problem.periodsPerDay = periods.size();
+        problem.classes = classes.size();
+        problem.rooms = rooms.size();
+        problem.useRooms = !rooms.isEmpty();
+
+        int n = lessons.size();
+        problem.lessonClass = new int[n];
+        problem.lessonTeacher = new int[n];
+        problem.lessonClassSubject = new int[n];
+        problem.lessonHomeRoom = new int[n];
+        problem.lessonRooms = new int[n][];
+        Map<String, int[]> roomsByFit = new HashMap<>();
+        for (int l = 0; l < n; l++) {
+            Lesson lesson = lessons.get(l);
+            SchoolClass schoolClass = lesson.schoolClass();
+            problem.lessonClass[l] = classIndex.get(schoolClass.getName());
+            problem.lessonTeacher[l] = teacherIndex.computeIfAbsent(
+                lesson.assignment().getTeacher().getId(), id -> teacherIndex.size());
+            problem.lessonClassSubject[l] = classSubjectIndex.computeIfAbsent(
+                schoolClass.getName() + "|" + lesson.assignment().getSubject().getCode(), key -> classSubjectIndex.size());
+            Integer home = schoolClass.getClassroom() != null ? roomIndex.get(schoolClass.getClassroom()) : null;
+            problem.lessonHomeRoom[l] = home != null ? home : TimetableSolver.FREE;
+
+            int size = classSize(schoolClass);
+            problem.lessonRooms[l] = roomsByFit.computeIfAbsent(lesson.roomType() + "|" + size,
+                key -> fittingRooms(rooms, lesson.roomType(), size));
+        }
+        problem.teachers = teacherIndex.size();
+        problem.classSubjects = classSubjectIndex.size();
+
+        int slots = problem.slots();
+        problem.teacherFixed = new boolean[problem.teachers][slots];
+        problem.classFixed = new boolean[problem.classes][slots];
+        problem.roomFixed = new boolean[problem.rooms][slots];
+        int fixedEntries = blockExisting(request, days, periods, problem, teacherIndex, classIndex, roomIndex);
+
+        // ============ SEARCH ============
+
+        int workers = generatorThreads > 0 ? Math.min(generatorThreads, cores) : cores;
+        long budget = request.getTimeBudgetMs() != null ? request.getTimeBudgetMs() : defaultBudgetMs;
+        budget = Math.max(100, Math.min(budget, maxBudgetMs));
+        TimetableSolver.Solution solution = TimetableSolver.solve(problem, workers, budget, executor);
+
+        // ============ RESULT ============
+
+        List<Timetable> entries = new ArrayList<>();
+        for (int l = 0; l < n; l++) {
+            Lesson lesson = lessons.get(l);
+            int slot = solution.slotOf()[l];
+            if (slot == TimetableSolver.FREE) {
+                TimetableDto.UnplacedLesson unplaced = new TimetableDto.UnplacedLesson();
+                unplaced.setClassName(lesson.schoolClass().getName());
+                unplaced.setSubjectCode(lesson.assignment().getSubject().getCode());
+                unplaced.setTeacherId(lesson.assignment().getTeacher().getId());
+                unplaced.setTeacherName(teacherName(lesson.assignment()));
+                unplaced.setReason(problem.unplacedReason(l));
+                result.getUnplaced().add(unplaced);
+                continue;
+            }
+            int room = solution.roomOf()[l];
+            entries.add(toEntry(request, lesson, days.get(slot / periods.size()), periods.get(slot % periods.size()),
+                room != TimetableSolver.FREE ? rooms.get(room) : null));
+        }
+        entries.sort(Comparator.comparing(Timetable::getClassName)
+            .thenComparing(Timetable::getDayOfWeek)
+            .thenComparing(Timetable::getPeriodNumber));
+
+        result.setTotalLessons(n);
+        result.setPlacedLessons(n - solution.unplaced());
+        result.setRepeatedSubjectDays(solution.repeatedSubjectDays());
+        result.setOffHomeRoomLessons(solution.offHomeRoom());
+        result.setQualityScore(qualityScore(n, solution));
+        result.setWorkers(workers);
+        result.setIterations(solution.iterations());
+
+        if (Boolean.TRUE.equals(request.getSave()) && !entries.isEmpty()) {
+            entries = timetableService.createBulkTimetableEntries(entries);
+            result.setSaved(true);
+        }
+        result.setEntries(entries);
+        result.setElapsedMs(System.currentTimeMillis() - start);
+
+        logger.info("Timetable generated for {} term {} - {} classes, {}/{} lessons placed, {} fixed entries, " +
+            "quality {}, {} workers, {} iterations in {} ms", request.getAcademicYear(), request.getTerm(),
+            classes.size(), result.getPlacedLessons(), n, fixedEntries, result.getQualityScore(), workers,
+            solution.iterations(), result.getElapsedMs());
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 100 for a complete timetable with every subject spread over the week
+     * in the class's own room; unplaced lessons cost the most.
+     */
+    private static double qualityScore(int total, TimetableSolver.Solution solution) {
+        if (total == 0) {
+            return 0;
+        }
+        int placed = total - solution.unplaced();
+        double score = 100.0 * placed / total
+            - 20.0 * solution.repeatedSubjectDays() / total
+            - 5.0 * solution.offHomeRoom() / total;
+        return Math.round(Math.max(0, score) * 10.0) / 10.0;
+    }
+
+    // LESSON rows of the standard template, numbered by their template order
+    private List<Period> lessonPeriods() {
+        List<Period> periods = new ArrayList<>();
+        for (Map<String, Object> period : timetableService.getStandardPeriodTemplate()) {
+            if (Timetable.PeriodType.LESSON.name().equals(period.get("type"))) {
+                periods.add(new Period((Integer) period.get("order"), (String) period.get("name"),
+                    LocalTime.parse((String) period.get("startTime")), LocalTime.parse((String) period.get("endTime"))));
+            }
+        }
+        return periods;
+    }
+
+    private List<SchoolClass> targetClasses(TimetableDto.GenerateRequest request) {
+        List<SchoolClass> active = schoolClassRepository.findByAcademicYearAndIsActiveTrue(request.getAcademicYear());
+        if (request.getClassNames() == null || request.getClassNames().isEmpty()) {
+            return active;
+        }
+        Map<String, SchoolClass> byName = new HashMap<>();
+        for (SchoolClass schoolClass : active) {
+            byName.put(schoolClass.getName(), schoolClass);
+        }
+        List<SchoolClass> classes = new ArrayList<>();
+        for (String name : request.getClassNames().stream().distinct().toList()) {
+            SchoolClass schoolClass = byName.get(name);
+            if (schoolClass == null) {
+                throw new RuntimeException("Class not found for " + request.getAcademicYear() + ": " + name);
+            }
+            classes.add(schoolClass);
+        }
+        return classes;
+    }
+
+    // One lesson per weekly period of each subject a class is assigned, primary teachers first
+    private List<Lesson> buildLessons(TimetableDto.GenerateRequest request, List<SchoolClass> classes,
+                                      List<String> warnings) {
+        List<TeacherSubject> assignments = teacherSubjectRepository.findActiveAssignments().stream()
+            .filter(ts -> ts.getAcademicYear() == null || ts.getAcademicYear().equals(request.getAcademicYear()))
+            .filter(ts -> ts.getAssignedClasses() != null && !ts.getAssignedClasses().isBlank())
+            .sorted(Comparator.comparing((TeacherSubject ts) -> !Boolean.TRUE.equals(ts.getIsPrimary()))
+                .thenComparing(TeacherSubject::getId))
+            .toList();
+
+        Map<String, Map<String, TeacherSubject>> byClass = new LinkedHashMap<>();
+        for (TeacherSubject assignment : assignments) {
+            for (String className : assignment.getAssignedClasses().split(",")) {
+                byClass.computeIfAbsent(className.trim().toUpperCase(Locale.ROOT), key -> new LinkedHashMap<>())
+                    .putIfAbsent(assignment.getSubject().getCode(), assignment);
+            }
+        }
+
+        int defaultPeriods = request.getDefaultPeriodsPerWeek() != null ? request.getDefaultPeriodsPerWeek() : 4;
+        Map<String, Integer> periodsPerWeek = request.getPeriodsPerWeek() != null ? request.getPeriodsPerWeek() : Map.of();
+        Map<String, String> roomTypes = request.getRoomTypes() != null ? request.getRoomTypes() : Map.of();
+        List<Lesson> lessons = new ArrayList<>();
+        for (SchoolClass schoolClass : classes) {
+            Map<String, TeacherSubject> subjects = byClass.get(schoolClass.getName().trim().toUpperCase(Locale.ROOT));
+            if (subjects == null) {
+                warnings.add("Class " + schoolClass.getName() + " has no teacher-subject assignments");
+                continue;
+            }
+            for (TeacherSubject assignment : subjects.values()) {
+                String code = assignment.getSubject().getCode();
+                int count = periodsPerWeek.getOrDefault(code, defaultPeriods);
+                String roomType = roomTypes.getOrDefault(code, DEFAULT_ROOM_TYPE);
+                for (int i = 0; i < count; i++) {
+                    lessons.add(new Lesson(schoolClass, assignment, roomType));
+                }
+            }
+        }
+        return lessons;
+    }
+
+    // Mark slots taken by the term's existing entries; returns how many entries were involved
+    private int blockExisting(TimetableDto.GenerateRequest request, List<Timetable.DayOfWeek> days,
+                              List<Period> periods, TimetableSolver.Problem problem, Map<Long, Integer> teacherIndex,
+                              Map<String, Integer> classIndex, Map<String, Integer> roomIndex) {
+        int involved = 0;
+        for (Timetable entry : timetableRepository.findByAcademicYearAndTermAndIsActiveTrue(
+                request.getAcademicYear(), request.getTerm())) {
+            int day = days.indexOf(entry.getDayOfWeek());
+            if (day < 0) {
+                continue;
+            }
+            Integer teacher = entry.getTeacherId() != null ? teacherIndex.get(entry.getTeacherId()) : null;
+            Integer clazz = classIndex.get(entry.getClassName());
+            Integer room = entry.getRoom() != null ? roomIndex.get(entry.getRoom()) : null;
+            if (teacher == null && clazz == null && room == null) {
+                continue;
+            }
+            involved++;
+            for (int p = 0; p < periods.size(); p++) {
+                Period period = periods.get(p);
+                if (period.start().isBefore(entry.getEndTime()) && entry.getStartTime().isBefore(period.end())) {
+                    int slot = day * periods.size() + p;
+                    if (teacher != null) {
+                        problem.teacherFixed[teacher][slot] = true;
+                    }
+                    if (clazz != null) {
+                        problem.classFixed[clazz][slot] = true;
+                    }
+                    if (room != null) {
+                        problem.roomFixed[room][slot] = true;
+                    }
+                }
+            }
+        }
+        return involved;
+    }
+
+    private static int[] fittingRooms(List<Room> rooms, String roomType, int size) {
+        List<Integer> fitting = new ArrayList<>();
+        for (int r = 0; r < rooms.size(); r++) {
+            Room room = rooms.get(r);
+            if (roomType.equalsIgnoreCase(room.getRoomType())
+                    && (room.getCapacity() == null || room.getCapacity() >= size)) {
+                fitting.add(r);
+            }
+        }
+        return fitting.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int classSize(SchoolClass schoolClass) {
+        if (schoolClass.getCurrentCount() != null && schoolClass.getCurrentCount() > 0) {
+            return schoolClass.getCurrentCount();
+        }
+        return schoolClass.getMaxCapacity() != null ? schoolClass.getMaxCapacity() : 0;
+    }
+
+    private static String teacherName(TeacherSubject assignment) {
+        return assignment.getTeacher().getFirstName() + " " + assignment.getTeacher().getLastName();
+    }
+
+    private static Timetable toEntry(TimetableDto.GenerateRequest request, Lesson lesson,
+                                     Timetable.DayOfWeek day, Period period, Room room) {
+        Timetable entry = new Timetable();
+        entry.setClassName(lesson.schoolClass().getName());
+        entry.setStream(lesson.schoolClass().getStream());
+        entry.setDayOfWeek(day);
+        entry.setPeriodNumber(period.number());
+        entry.setPeriodName(period.name());
+        entry.setStartTime(period.start());
+        entry.setEndTime(period.end());
+        entry.setSubjectCode(lesson.assignment().getSubject().getCode());
+        entry.setSubjectName(lesson.assignment().getSubject().getName());
+        entry.setTeacherId(lesson.assignment().getTeacher().getId());
+        entry.setTeacherName(teacherName(lesson.assignment()));
+        if (room != null) {
+            entry.setRoom(room.getRoomNumber());
+            entry.setBuilding(room.getBuilding());
+        }
+        entry.setAcademicYear(request.getAcademicYear());
+        entry.setTerm(request.getTerm());
+        entry.setPeriodType(Timetable.PeriodType.LESSON);
+        entry.setIsDoublePeriod(false);
+        entry.setIsActive(true);
+        entry.setCreatedBy(request.getCreatedBy());
+        return entry;
+    }
+}
@@ -0,0 +1,343 @@
+package com.academix.server.service;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.academix.server.model.Timetable;
+import com.academix.server.repository.TimetableRepository;
+
+/**
+ * In-memory occupancy of teachers, rooms and classes per academic year and term.
+ * Bookings are grouped by (teacher | room | class, day), so a conflict check
+ * is one hash lookup plus a scan of that day's few periods, with the same
+ * time-overlap rule as the old conflict queries. A term is loaded on first
+ * use and kept current from committed timetable writes; writers also book
+ * their entries before commit so concurrent requests see each other.
+ */
+@Service
+public class TimetableOccupancyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimetableOccupancyService.class);
+
+    enum Resource {
+        TEACHER, ROOM, CLASS
+    }
+
+    record TermKey(String academicYear, Integer term) {
+    }
+
+    private record SlotKey(Resource resource, String key, Timetable.DayOfWeek day) {
+    }
+
+    private record Booking(Long id, LocalTime startTime, LocalTime endTime, String className, String subjectCode) {
+
+        boolean overlaps(LocalTime start, LocalTime end) {
+            return startTime.isBefore(end) && start.isBefore(endTime);
+        }
+    }
+
+    /**
+     * Bookings of one term. The lock serialises check-then-book across requests.
+     */
+    static final class TermOccupancy {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<SlotKey, List<Booking>> slots = new HashMap<>();
+        private final Map<Long, List<SlotKey>> keysById = new HashMap<>();
+        private volatile boolean loaded;
+    }
+
+    @Autowired
+    private TimetableRepository timetableRepository;
+
+    private final Map<TermKey, TermOccupancy> terms = new ConcurrentHashMap<>();
+
+    // Term each indexed entry was booked in, to unbook it when it moves
+    private final Map<Long, TermKey> termById = new ConcurrentHashMap<>();
+
+    /**
+     * Lock of a term's occupancy, loading it first if needed. Callers hold it
+     * from validation until their entries are booked.
+     */
+    public ReentrantLock lockFor(String academicYear, Integer term) {
+        return load(new TermKey(academicYear, term)).lock;
+    }
+
+    /**
+     * Lock every term a draft touches, in a fixed order so two drafts cannot deadlock
+     */
+    public List<ReentrantLock> lockTerms(List<Timetable> entries) {
+        List<TermKey> termKeys = entries.stream()
+            .map(TimetableOccupancyService::termOf)
+            .distinct()
+            .sorted(Comparator.comparing(TermKey::academicYear).thenComparing(TermKey::term))
+            .toList();
+        List<ReentrantLock> locks = new ArrayList<>(termKeys.size());
+        try {
+            for (TermKey termKey : termKeys) {
+                ReentrantLock lock = load(termKey).lock;
+                lock.lock();
+                locks.add(lock);
+            }
+        } catch (RuntimeException e) {
+            unlockAll(locks);
+            throw e;
+        }
+        return locks;
+    }
+
+    public void unlockAll(List<ReentrantLock> locks) {
+        for (int i = locks.size() - 1; i >= 0; i--) {
+            locks.get(i).unlock();
+        }
+    }
+
+    /**
+     * First conflict of an entry with the booked timetable, or null.
+     * Only lessons are checked, as before.
+     */
+    public String findConflict(Timetable entry, Long excludeId) {
+        if (entry.getPeriodType() != Timetable.PeriodType.LESSON) {
+            return null;
+        }
+        TermOccupancy occupancy = load(new TermKey(entry.getAcademicYear(), entry.getTerm()));
+        occupancy.lock.lock();
+        try {
+            return conflictIn(occupancy, entry, excludeId);
+        } finally {
+            occupancy.lock.unlock();
+        }
+    }
+
+    /**
+     * Conflicts of a whole draft, against the booked timetable and within the draft itself
+     */
+    public List<String> validateDraft(List<Timetable> draft) {
+        List<String> errors = new ArrayList<>();
+        TermOccupancy scratch = new TermOccupancy();
+        long draftId = -1;
+        for (Timetable entry : draft) {
+            String label = entry.getClassName() + " " + entry.getDayOfWeek() + " Period " + entry.getPeriodNumber();
+            String conflict = findConflict(entry, null);
+            if (conflict == null && entry.getPeriodType() == Timetable.PeriodType.LESSON) {
+                conflict = conflictIn(scratch, entry, null);
+                if (conflict != null) {
+                    conflict = "Conflicts with another entry of the draft - " + conflict;
+                }
+            }
+            if (conflict != null) {
+                errors.add(label + ": " + conflict);
+            } else {
+                // Draft entries have no id yet; book them under temporary negative ids
+                book(scratch, entry, draftId--);
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Book an entry, replacing whatever it booked before; inactive entries are only unbooked
+     */
+    public void index(Timetable entry) {
+        if (entry.getId() == null) {
+            return;
+        }
+        unindex(entry);
+        if (!Boolean.TRUE.equals(entry.getIsActive()) || entry.getAcademicYear() == null || entry.getTerm() == null) {
+            return;
+        }
+        TermKey termKey = new TermKey(entry.getAcademicYear(), entry.getTerm());
+        TermOccupancy occupancy = terms.get(termKey);
+        if (occupancy == null || !occupancy.loaded) {
+            // Not loaded yet; the entry is picked up when the term loads
+            return;
+        }
+        occupancy.lock.lock();
+        try {
+            book(occupancy, entry, entry.getId());
+            termById.put(entry.getId(), termKey);
+        } finally {
+            occupancy.lock.unlock();
+        }
+    }
+
+    /**
+     * Book entries written by the current transaction before it commits, so
+     * requests checked after this one already see them. If the transaction
+     * rolls back, the terms involved are reloaded from the table.
+     */
+    public void reserve(List<Timetable> entries) {
+        Set<TermKey> termKeys = new HashSet<>();
+        for (Timetable entry : entries) {
+            TermKey previous = entry.getId() != null ? termById.get(entry.getId()) : null;
+            if (previous != null) {
+                termKeys.add(previous);
+            }
+            termKeys.add(termOf(entry));
+            index(entry);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        invalidate(termKeys);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Remove every booking of an entry
+     */
+    public void unindex(Timetable entry) {
+        if (entry.getId() == null) {
+            return;
+        }
+        TermKey termKey = termById.remove(entry.getId());
+        TermOccupancy occupancy = termKey != null ? terms.get(termKey) : null;
+        if (occupancy == null) {
+            return;
+        }
+        occupancy.lock.lock();
+        try {
+            unbook(occupancy, entry.getId());
+        } finally {
+            occupancy.lock.unlock();
+        }
+    }
+
+    // Drop loaded terms so they reload from the table
+    void invalidate(Collection<TermKey> termKeys) {
+        for (TermKey termKey : termKeys) {
+            TermOccupancy removed = terms.remove(termKey);
+            if (removed != null) {
+                termById.values().removeIf(termKey::equals);
+            }
+        }
+    }
+
+    /**
+     * Whether writes of this entity class change the occupancy
+     */
+    public static boolean isTracked(Class<?> entityClass) {
+        return Timetable.class.isAssignableFrom(entityClass);
+    }
+
+    static TermKey termOf(Timetable entry) {
+        return new TermKey(entry.getAcademicYear(), entry.getTerm());
+    }
+
+    private TermOccupancy load(TermKey termKey) {
+        TermOccupancy occupancy = terms.computeIfAbsent(termKey, key -> new TermOccupancy());
+        if (occupancy.loaded) {
+            return occupancy;
+        }
+        occupancy.lock.lock();
+        try {
+            if (!occupancy.loaded) {
+                long start = System.currentTimeMillis();
+                List<Timetable> entries = timetableRepository.findByAcademicYearAndTermAndIsActiveTrue(
+                    termKey.academicYear(), termKey.term());
+                for (Timetable entry : entries) {
+                    book(occupancy, entry, entry.getId());
+                    termById.put(entry.getId(), termKey);
+                }
+                occupancy.loaded = true;
+                logger.debug("Timetable occupancy for {} term {} loaded - {} entries in {} ms",
+                    termKey.academicYear(), termKey.term(), entries.size(), System.currentTimeMillis() - start);
+            }
+        } finally {
+            occupancy.lock.unlock();
+        }
+        return occupancy;
+    }
+
+    private static String conflictIn(TermOccupancy occupancy, Timetable entry, Long excludeId) {
+        if (entry.getTeacherId() != null) {
+            Booking clash = findClash(occupancy, Resource.TEACHER, entry.getTeacherId().toString(), entry, excludeId);
+            if (clash != null) {
+                return "Teacher is already scheduled at this time: " + clash.className() + " " + clash.subjectCode();
+            }
+        }
+        if (entry.getRoom() != null && !entry.getRoom().isEmpty()) {
+            Booking clash = findClash(occupancy, Resource.ROOM, entry.getRoom(), entry, excludeId);
+            if (clash != null) {
+                return "Room is already booked at this time: " + clash.className() + " " + clash.subjectCode();
+            }
+        }
+        Booking clash = findClash(occupancy, Resource.CLASS, entry.getClassName(), entry, excludeId);
+        if (clash != null) {
+            return "Class already has a lesson scheduled at this time: " + clash.subjectCode();
+        }
+        return null;
+    }
+
+    private static Booking findClash(TermOccupancy occupancy, Resource resource, String key,
+                                     Timetable entry, Long excludeId) {
+        List<Booking> bookings = occupancy.slots.get(new SlotKey(resource, key, entry.getDayOfWeek()));
+        if (bookings == null) {
+            return null;
+        }
+        for (Booking booking : bookings) {
+            if (!booking.id().equals(excludeId) && booking.overlaps(entry.getStartTime(), entry.getEndTime())) {
+                return booking;
+            }
+        }
+        return null;
+    }
+
+    private static void book(TermOccupancy occupancy, Timetable entry, Long id) {
+        if (entry.getDayOfWeek() == null || entry.getStartTime() == null || entry.getEndTime() == null) {
+            return;
+        }
+        Booking booking = new Booking(id, entry.getStartTime(), entry.getEndTime(),
+            entry.getClassName(), entry.getSubjectCode());
+        List<SlotKey> keys = new ArrayList<>(3);
+        if (entry.getTeacherId() != null) {
+            keys.add(new SlotKey(Resource.TEACHER, entry.getTeacherId().toString(), entry.getDayOfWeek()));
+        }
+        if (entry.getRoom() != null && !entry.getRoom().isEmpty()) {
+            keys.add(new SlotKey(Resource.ROOM, entry.getRoom(), entry.getDayOfWeek()));
+        }
+        if (entry.getClassName() != null) {
+            keys.add(new SlotKey(Resource.CLASS, entry.getClassName(), entry.getDayOfWeek()));
+        }
+        for (SlotKey key : keys) {
+            occupancy.slots.computeIfAbsent(key, k -> new ArrayList<>(4)).add(booking);
+        }
+        occupancy.keysById.put(id, keys);
+    }
+
+    private static void unbook(TermOccupancy occupancy, Long id) {
+        List<SlotKey> keys = occupancy.keysById.remove(id);
+        if (keys == null) {
+            return;
+        }
+        for (SlotKey key : keys) {
+            List<Booking> bookings = occupancy.slots.get(key);
+            if (bookings != null) {
+                bookings.removeIf(booking -> booking.id().equals(id));
+                if (bookings.isEmpty()) {
+                    occupancy.slots.remove(key);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.academix.server.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.academix.server.model.Timetable;
+import com.academix.server.repository.TimetableRepository;
+
+/**
+ * Precomputed weekly schedules per teacher, room and class, and teacher
+ * workloads per term, for the frequently polled "my schedule" screens.
+ * A schedule is built from the table on first request and kept until a
+ * committed write touches one of its entries; only the teacher, room and
+ * class keys of that entry (before and after the change) are dropped.
+ * Every build gets a new version, used as the ETag.
+ */
+@Service
+public class TimetableScheduleService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimetableScheduleService.class);
+
+    private static final Comparator<Timetable> WEEK_ORDER = Comparator
+        .comparing(Timetable::getAcademicYear, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(Timetable::getTerm, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(Timetable::getDayOfWeek, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(Timetable::getStartTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(Timetable::getClassName, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    public enum Kind {
+        TEACHER, ROOM, CLASS
+    }
+
+    private record ScheduleKey(Kind kind, String key) {
+    }
+
+    private record TermKey(String academicYear, Integer term) {
+    }
+
+    /**
+     * Entries of one teacher, room or class in week order, with week grids per term built on demand
+     */
+    public static final class Schedule {
+        private final String etag;
+        private final Timetable[] entries;
+        private final Map<TermKey, Map<String, Object>> weeks = new ConcurrentHashMap<>();
+
+        private Schedule(String etag, Timetable[] entries) {
+            this.etag = etag;
+            this.entries = entries;
+        }
+
+        public String etag() {
+            return etag;
+        }
+
+        public List<Timetable> entries() {
+            return Collections.unmodifiableList(Arrays.asList(entries));
+        }
+
+        /**
+         * Active entries of a term grouped by day
+         */
+        public Map<String, Object> week(String academicYear, Integer term) {
+            return weeks.computeIfAbsent(new TermKey(academicYear, term), key -> {
+                Map<Timetable.DayOfWeek, List<Timetable>> days = new EnumMap<>(Timetable.DayOfWeek.class);
+                int periods = 0;
+                for (Timetable entry : entries) {
+                    if (academicYear.equals(entry.getAcademicYear()) && term.equals(entry.getTerm())
+                            && Boolean.TRUE.equals(entry.getIsActive()) && entry.getDayOfWeek() != null) {
+                        days.computeIfAbsent(entry.getDayOfWeek(), d -> new ArrayList<>()).add(entry);
+                        if (entry.getPeriodType() == Timetable.PeriodType.LESSON) {
+                            periods++;
+                        }
+                    }
+                }
+                Map<String, Object> week = new LinkedHashMap<>();
+                week.put("academicYear", academicYear);
+                week.put("term", term);
+                week.put("lessonsPerWeek", periods);
+                week.put("days", Collections.unmodifiableMap(days));
+                return Collections.unmodifiableMap(week);
+            });
+        }
+
+        /**
+         * ETag of one term's week grid
+         */
+        public String weekEtag(String academicYear, Integer term) {
+            return etag + "-" + Integer.toString(Math.abs((academicYear + "|" + term).hashCode()), 36);
+        }
+    }
+
+    /**
+     * Teacher workloads of a term
+     */
+    public record Workloads(String etag, List<Map<String, Object>> teachers) {
+    }
+
+    @Autowired
+    private TimetableRepository timetableRepository;
+
+    // Distinguishes versions of different server runs in the ETag
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong versions = new AtomicLong();
+
+    private final Map<ScheduleKey, Schedule> schedules = new ConcurrentHashMap<>();
+    private final Map<TermKey, Workloads> workloads = new ConcurrentHashMap<>();
+
+    // Bumped on every eviction so a build that raced with a write is not cached
+    private final Map<Object, Long> generations = new ConcurrentHashMap<>();
+
+    // Keys each entry was last seen under, to drop them after the entry moves
+    private final Map<Long, Set<ScheduleKey>> keysById = new ConcurrentHashMap<>();
+    private final Map<Long, TermKey> termById = new ConcurrentHashMap<>();
+
+    /**
+     * Schedule of a teacher across all terms
+     */
+    public Schedule getTeacherSchedule(Long teacherId) {
+        return schedule(new ScheduleKey(Kind.TEACHER, teacherId.toString()),
+            () -> timetableRepository.findByTeacherId(teacherId));
+    }
+
+    /**
+     * Schedule of a room; the room is matched ignoring case and surrounding spaces
+     */
+    public Schedule getRoomSchedule(String room) {
+        String key = normalizeRoom(room);
+        return schedule(new ScheduleKey(Kind.ROOM, key), () -> timetableRepository.findByNormalizedRoom(key));
+    }
+
+    /**
+     * Schedule of a class across all terms
+     */
+    public Schedule getClassSchedule(String className) {
+        return schedule(new ScheduleKey(Kind.CLASS, className), () -> timetableRepository.findByClassName(className));
+    }
+
+    /**
+     * Lessons per week of every teacher in a term
+     */
+    public Workloads getTeacherWorkloads(String academicYear, Integer term) {
+        TermKey key = new TermKey(academicYear, term);
+        Workloads cached = workloads.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = generations.getOrDefault(key, 0L);
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Object[] row : timetableRepository.getTeacherWorkloads(academicYear, term)) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("teacherId", row[0]);
+            entry.put("teacherName", row[1]);
+            entry.put("periodsPerWeek", row[2]);
+            result.add(Collections.unmodifiableMap(entry));
+        }
+        Workloads built = new Workloads(nextEtag(), Collections.unmodifiableList(result));
+        return cacheIfCurrent(workloads, key, generation, built);
+    }
+
+    /**
+     * Drop every view a committed write to this entry may have changed
+     */
+    public void evict(Timetable entry) {
+        for (ScheduleKey key : keysOf(entry)) {
+            evictKey(schedules, key);
+        }
+        if (entry.getId() != null) {
+            Set<ScheduleKey> previous = keysById.remove(entry.getId());
+            if (previous != null) {
+                for (ScheduleKey key : previous) {
+                    evictKey(schedules, key);
+                }
+            }
+            TermKey previousTerm = termById.remove(entry.getId());
+            if (previousTerm != null) {
+                evictKey(workloads, previousTerm);
+            }
+        }
+        evictKey(workloads, new TermKey(entry.getAcademicYear(), entry.getTerm()));
+    }
+
+    /**
+     * Whether writes of this entity class change the schedules
+     */
+    public static boolean isTracked(Class<?> entityClass) {
+        return Timetable.class.isAssignableFrom(entityClass);
+    }
+
+    static String normalizeRoom(String room) {
+        return room.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private Schedule schedule(ScheduleKey key, Supplier<List<Timetable>> loader) {
+        Schedule cached = schedules.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = generations.getOrDefault(key, 0L);
+        long start = System.nanoTime();
+        Timetable[] entries = loader.get().toArray(new Timetable[0]);
+        Arrays.sort(entries, WEEK_ORDER);
+        for (Timetable entry : entries) {
+            keysById.computeIfAbsent(entry.getId(), id -> ConcurrentHashMap.newKeySet()).add(key);
+            termById.put(entry.getId(), new TermKey(entry.getAcademicYear(), entry.getTerm()));
+        }
+        Schedule built = new Schedule(nextEtag(), entries);
+        logger.debug("{} schedule {} built - {} entries in {} us", key.kind(), key.key(), entries.length,
+            (System.nanoTime() - start) / 1000);
+        return cacheIfCurrent(schedules, key, generation, built);
+    }
+
+    // Cache a build unless the key was evicted while it was loading
+    private <K, V> V cacheIfCurrent(Map<K, V> cache, K key, long generation, V built) {
+        V current = cache.compute(key, (k, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            return generations.getOrDefault(k, 0L) == generation ? built : null;
+        });
+        return current != null ? current : built;
+    }
+
+    private <K> void evictKey(Map<K, ?> cache, K key) {
+        generations.merge(key, 1L, Long::sum);
+        cache.remove(key);
+    }
+
+    private static List<ScheduleKey> keysOf(Timetable entry) {
+        List<ScheduleKey> keys = new ArrayList<>(3);
+        if (entry.getTeacherId() != null) {
+            keys.add(new ScheduleKey(Kind.TEACHER, entry.getTeacherId().toString()));
+        }
+        if (entry.getRoom() != null && !entry.getRoom().isBlank()) {
+            keys.add(new ScheduleKey(Kind.ROOM, normalizeRoom(entry.getRoom())));
+        }
+        if (entry.getClassName() != null) {
+            keys.add(new ScheduleKey(Kind.CLASS, entry.getClassName()));
+        }
+        return keys;
+    }
+
+    private String nextEtag() {
+        return epoch + "-" + Long.toString(versions.incrementAndGet(), 36);
+    }
+}
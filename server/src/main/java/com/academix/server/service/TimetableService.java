@@ -3,18 +3,26 @@ package com.academix.server.service;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.academix.server.dto.ListDto;
 import com.academix.server.model.Teacher;
 import com.academix.server.model.Timetable;
+import com.academix.server.repository.TeacherRepository;
 import com.academix.server.repository.TimetableRepository;
 
 @Service
@@ -29,6 +37,21 @@ public class TimetableService {
     @Autowired
     private TeacherService teacherService;
 
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private TimetableOccupancyService occupancyService;
+
+    @Autowired
+    private TimetableScheduleService scheduleService;
+
+    @Autowired
+    private RoomAvailabilityService roomAvailabilityService;
+
     /**
      * Populate teacher name based on teacher ID
      */
@@ -55,12 +78,100 @@ public class TimetableService {
      * Create a new timetable entry
      */
     public Timetable createTimetableEntry(Timetable timetable) {
-        // Validate no conflicts
-        validateNoConflicts(timetable, null);
+        applyDefaults(timetable);
+
+        ReentrantLock lock = occupancyService.lockFor(timetable.getAcademicYear(), timetable.getTerm());
+        lock.lock();
+        try {
+            // Validate no conflicts
+            validateNoConflicts(timetable, null);
+
+            // Populate teacher name if teacherId is provided
+            populateTeacherName(timetable);
+
+            Timetable saved = timetableRepository.save(timetable);
+            occupancyService.reserve(List.of(saved));
+            logger.info("Timetable entry created: {} - {} - Period {} - Teacher: {}", 
+                saved.getClassName(), saved.getDayOfWeek(), saved.getPeriodNumber(), saved.getTeacherName());
+            return saved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Bulk create timetable entries.
+     * The whole draft is checked against the term's occupancy and against
+     * itself first; any conflict rejects it, otherwise it is written in one batch.
+     */
+    public List<Timetable> createBulkTimetableEntries(List<Timetable> entries) {
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        entries.forEach(this::applyDefaults);
+
+        List<ReentrantLock> locks = occupancyService.lockTerms(entries);
+        try {
+            List<String> errors = occupancyService.validateDraft(entries);
+            if (!errors.isEmpty()) {
+                logger.warn("Bulk timetable entry rejected with {} conflicts: {}", errors.size(), errors);
+                throw new RuntimeException("Timetable draft has " + errors.size() +
+                    " conflicts, no entries were created: " + String.join("; ", errors));
+            }
+
+            populateTeacherNames(entries);
 
-        // Populate teacher name if teacherId is provided
-        populateTeacherName(timetable);
+            long lastId = timetableRepository.findMaxId();
+            timetableRepository.batchInsert(entries);
 
+            // Read the rows back for their ids; the term locks keep other drafts out meanwhile
+            Set<String> seen = new LinkedHashSet<>();
+            List<Timetable> savedEntries = new ArrayList<>();
+            for (Timetable entry : entries) {
+                if (seen.add(entry.getAcademicYear() + "|" + entry.getTerm())) {
+                    savedEntries.addAll(timetableRepository.findByAcademicYearAndTermAndIdGreaterThanOrderByIdAsc(
+                        entry.getAcademicYear(), entry.getTerm(), lastId));
+                }
+            }
+            occupancyService.reserve(savedEntries);
+
+            // The batch insert bypasses the entity listener, so update the in-memory views after commit
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        publishInserted(savedEntries);
+                    }
+                });
+            } else {
+                publishInserted(savedEntries);
+            }
+
+            logger.info("Bulk timetable entry created {} entries", savedEntries.size());
+            return savedEntries;
+        } finally {
+            occupancyService.unlockAll(locks);
+        }
+    }
+
+    private void publishInserted(List<Timetable> entries) {
+        for (Timetable entry : entries) {
+            searchIndexService.index(entry);
+            scheduleService.evict(entry);
+            roomAvailabilityService.timetableChanged(entry);
+        }
+    }
+
+    /**
+     * Check a draft for conflicts without saving it
+     */
+    @Transactional(readOnly = true)
+    public List<String> validateTimetableDraft(List<Timetable> entries) {
+        entries.forEach(this::applyDefaults);
+        return occupancyService.validateDraft(entries);
+    }
+
+    private void applyDefaults(Timetable timetable) {
         if (timetable.getIsActive() == null) {
             timetable.setIsActive(true);
         }
@@ -70,34 +181,35 @@ public class TimetableService {
         if (timetable.getIsDoublePeriod() == null) {
             timetable.setIsDoublePeriod(false);
         }
-
-        Timetable saved = timetableRepository.save(timetable);
-        logger.info("Timetable entry created: {} - {} - Period {} - Teacher: {}", 
-            saved.getClassName(), saved.getDayOfWeek(), saved.getPeriodNumber(), saved.getTeacherName());
-        return saved;
     }
 
     /**
-     * Bulk create timetable entries
+     * Populate teacher names of a draft with one lookup
      */
-    public List<Timetable> createBulkTimetableEntries(List<Timetable> entries) {
-        List<Timetable> savedEntries = new ArrayList<>();
-        List<String> errors = new ArrayList<>();
-
+    private void populateTeacherNames(List<Timetable> entries) {
+        Set<Long> teacherIds = new LinkedHashSet<>();
         for (Timetable entry : entries) {
-            try {
-                savedEntries.add(createTimetableEntry(entry));
-            } catch (Exception e) {
-                errors.add(entry.getClassName() + " " + entry.getDayOfWeek() + 
-                    " Period " + entry.getPeriodNumber() + ": " + e.getMessage());
+            if (entry.getTeacherId() != null) {
+                teacherIds.add(entry.getTeacherId());
             }
         }
-
-        if (!errors.isEmpty()) {
-            logger.warn("Bulk timetable entry had {} errors: {}", errors.size(), errors);
+        if (teacherIds.isEmpty()) {
+            return;
+        }
+        Map<Long, String> names = new HashMap<>();
+        for (Teacher t : teacherRepository.findAllById(teacherIds)) {
+            names.put(t.getId(), t.getFirstName() + " " + t.getLastName());
+        }
+        for (Timetable entry : entries) {
+            if (entry.getTeacherId() != null) {
+                String teacherName = names.get(entry.getTeacherId());
+                if (teacherName == null) {
+                    logger.warn("Teacher not found with ID: {}", entry.getTeacherId());
+                    teacherName = "Teacher Not Found";
+                }
+                entry.setTeacherName(teacherName);
+            }
         }
-
-        return savedEntries;
     }
 
     /**
@@ -108,6 +220,16 @@ public class TimetableService {
         return timetableRepository.findAll();
     }
 
+    /**
+     * Get a keyset page of timetable entries
+     */
+    @Transactional(readOnly = true)
+    public ListDto.CursorPage<ListDto.TimetableItem> getTimetablePage(String after, Integer limit) {
+        long afterId = ListDto.decodeCursor(after);
+        int size = ListDto.clampLimit(limit);
+        return ListDto.CursorPage.of(timetableRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(size + 1)), size, ListDto.TimetableItem::getId);
+    }
+
     /**
      * Get timetable by ID
      */
@@ -145,7 +267,7 @@ public class TimetableService {
      */
     @Transactional(readOnly = true)
     public List<Timetable> getTeacherTimetable(Long teacherId) {
-        return timetableRepository.findByTeacherId(teacherId);
+        return scheduleService.getTeacherSchedule(teacherId).entries();
     }
 
     /**
@@ -161,7 +283,7 @@ public class TimetableService {
      */
     @Transactional(readOnly = true)
     public List<Timetable> getRoomSchedule(String room) {
-        return timetableRepository.findByRoom(room);
+        return scheduleService.getRoomSchedule(room).entries();
     }
 
     /**
@@ -171,9 +293,17 @@ public class TimetableService {
         Timetable timetable = timetableRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Timetable entry not found with id: " + id));
 
-        // Validate no conflicts (excluding this entry)
-        validateNoConflicts(details, id);
+        // Lock (and load) the term before the entity is changed, so the load cannot flush the edit
+        ReentrantLock lock = occupancyService.lockFor(timetable.getAcademicYear(), timetable.getTerm());
+        lock.lock();
+        try {
+            return applyUpdate(timetable, details);
+        } finally {
+            lock.unlock();
+        }
+    }
 
+    private Timetable applyUpdate(Timetable timetable, Timetable details) {
         if (details.getClassName() != null) {
             timetable.setClassName(details.getClassName());
         }
@@ -225,9 +355,14 @@ public class TimetableService {
             timetable.setNotes(details.getNotes());
         }
 
+        // Validate no conflicts (excluding this entry)
+        validateNoConflicts(timetable, timetable.getId());
+
+        Timetable saved = timetableRepository.save(timetable);
+        occupancyService.reserve(List.of(saved));
         logger.info("Timetable entry updated: {} - {} - Period {}", 
-            timetable.getClassName(), timetable.getDayOfWeek(), timetable.getPeriodNumber());
-        return timetableRepository.save(timetable);
+            saved.getClassName(), saved.getDayOfWeek(), saved.getPeriodNumber());
+        return saved;
     }
 
     /**
@@ -255,60 +390,12 @@ public class TimetableService {
     }
 
     /**
-     * Validate no scheduling conflicts
+     * Validate no scheduling conflicts against the occupancy index
      */
     private void validateNoConflicts(Timetable entry, Long excludeId) {
-        if (entry.getPeriodType() != Timetable.PeriodType.LESSON) {
-            return; // Only validate conflicts for actual lessons
-        }
-
-        // Check teacher conflicts
-        if (entry.getTeacherId() != null) {
-            List<Timetable> teacherConflicts = timetableRepository.findTeacherConflicts(
-                entry.getTeacherId(), entry.getDayOfWeek(), 
-                entry.getStartTime(), entry.getEndTime(),
-                entry.getAcademicYear(), entry.getTerm());
-
-            if (excludeId != null) {
-                teacherConflicts.removeIf(t -> t.getId().equals(excludeId));
-            }
-
-            if (!teacherConflicts.isEmpty()) {
-                throw new RuntimeException("Teacher is already scheduled at this time: " + 
-                    teacherConflicts.get(0).getClassName() + " " + teacherConflicts.get(0).getSubjectCode());
-            }
-        }
-
-        // Check room conflicts
-        if (entry.getRoom() != null && !entry.getRoom().isEmpty()) {
-            List<Timetable> roomConflicts = timetableRepository.findRoomConflicts(
-                entry.getRoom(), entry.getDayOfWeek(),
-                entry.getStartTime(), entry.getEndTime(),
-                entry.getAcademicYear(), entry.getTerm());
-
-            if (excludeId != null) {
-                roomConflicts.removeIf(t -> t.getId().equals(excludeId));
-            }
-
-            if (!roomConflicts.isEmpty()) {
-                throw new RuntimeException("Room is already booked at this time: " + 
-                    roomConflicts.get(0).getClassName() + " " + roomConflicts.get(0).getSubjectCode());
-            }
-        }
-
-        // Check class conflicts
-        List<Timetable> classConflicts = timetableRepository.findClassConflicts(
-            entry.getClassName(), entry.getDayOfWeek(),
-            entry.getStartTime(), entry.getEndTime(),
-            entry.getAcademicYear(), entry.getTerm());
-
-        if (excludeId != null) {
-            classConflicts.removeIf(t -> t.getId().equals(excludeId));
-        }
-
-        if (!classConflicts.isEmpty()) {
-            throw new RuntimeException("Class already has a lesson scheduled at this time: " + 
-                classConflicts.get(0).getSubjectCode());
+        String conflict = occupancyService.findConflict(entry, excludeId);
+        if (conflict != null) {
+            throw new RuntimeException(conflict);
         }
     }
 
@@ -325,7 +412,11 @@ public class TimetableService {
      */
     @Transactional(readOnly = true)
     public List<Timetable> searchTimetable(String searchTerm) {
-        return timetableRepository.searchTimetable(searchTerm);
+        if (!searchIndexService.isReady()) {
+            return timetableRepository.searchTimetable(searchTerm);
+        }
+        List<Long> ids = searchIndexService.searchIds(SearchIndexService.Type.TIMETABLE, searchTerm, Integer.MAX_VALUE);
+        return SearchIndexService.inRankOrder(ids, timetableRepository.findAllById(ids), Timetable::getId);
     }
 
     /**
@@ -333,18 +424,7 @@ public class TimetableService {
      */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getTeacherWorkloads(String academicYear, Integer term) {
-        List<Object[]> workloads = timetableRepository.getTeacherWorkloads(academicYear, term);
-        List<Map<String, Object>> result = new ArrayList<>();
-
-        for (Object[] row : workloads) {
-            Map<String, Object> entry = new HashMap<>();
-            entry.put("teacherId", row[0]);
-            entry.put("teacherName", row[1]);
-            entry.put("periodsPerWeek", row[2]);
-            result.add(entry);
-        }
-
-        return result;
+        return scheduleService.getTeacherWorkloads(academicYear, term).teachers();
     }
 
     /**
@@ -390,6 +470,11 @@ public class TimetableService {
      * Generate standard Ugandan secondary school timetable template
      */
     public List<Map<String, Object>> getStandardPeriodTemplate() {
+        return standardPeriodTemplate();
+    }
+
+    // Static so services that TimetableService itself depends on can read the template
+    static List<Map<String, Object>> standardPeriodTemplate() {
         List<Map<String, Object>> template = new ArrayList<>();
 
         // Morning Prep - Boarding schools
@@ -427,7 +512,7 @@ public class TimetableService {
         return template;
     }
 
-    private Map<String, Object> createPeriodTemplate(int order, String name, LocalTime start, LocalTime end, Timetable.PeriodType type) {
+    private static Map<String, Object> createPeriodTemplate(int order, String name, LocalTime start, LocalTime end, Timetable.PeriodType type) {
         Map<String, Object> period = new HashMap<>();
         period.put("order", order);
         period.put("name", name);
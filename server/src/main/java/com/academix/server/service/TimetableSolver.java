@@ -0,0 +1,500 @@
+package com.academix.server.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Search engine behind {@link TimetableGeneratorService}.
+ * Lessons are placed greedily, hardest first, then unplaced lessons are
+ * forced in by ejecting whatever blocks them (teacher, class or room) and
+ * re-queueing it, with a short tabu on recently moved lessons. Once every
+ * lesson is placed, the remaining time moves single lessons to lower the
+ * soft cost. Each worker runs its own seeded search; the best result wins.
+ * Teachers, classes, rooms and slots are dense int indexes.
+ */
+final class TimetableSolver {
+
+    static final int FREE = -1;
+    static final int FIXED = -2;
+
+    private static final int TABU_TENURE = 8;
+    private static final int STALL_LIMIT = 200_000;
+
+    private TimetableSolver() {
+    }
+
+    /**
+     * Indexed problem, shared read-only between workers
+     */
+    static final class Problem {
+        int days;
+        int periodsPerDay;
+        int teachers;
+        int classes;
+        int rooms;
+        int classSubjects;
+        boolean useRooms;
+
+        // Per lesson
+        int[] lessonClass;
+        int[] lessonTeacher;
+        int[] lessonClassSubject;
+        int[] lessonHomeRoom;   // room of the class, or FREE
+        int[][] lessonRooms;    // rooms that fit, smallest first
+
+        // Slots already taken by entries outside the generated lessons, [resource][slot]
+        boolean[][] teacherFixed;
+        boolean[][] classFixed;
+        boolean[][] roomFixed;
+
+        int slots() {
+            return days * periodsPerDay;
+        }
+
+        int lessons() {
+            return lessonClass.length;
+        }
+
+        /**
+         * Why a lesson could not be placed, as far as the inputs tell
+         */
+        String unplacedReason(int lesson) {
+            if (useRooms && lessonRooms[lesson].length == 0) {
+                return "No available room of the required type and capacity";
+            }
+            int teacher = lessonTeacher[lesson];
+            int clazz = lessonClass[lesson];
+            int teacherLessons = 0;
+            int classLessons = 0;
+            for (int l = 0; l < lessons(); l++) {
+                if (lessonTeacher[l] == teacher) {
+                    teacherLessons++;
+                }
+                if (lessonClass[l] == clazz) {
+                    classLessons++;
+                }
+            }
+            if (teacherLessons > freeSlots(teacherFixed[teacher])) {
+                return "Teacher has more lessons (" + teacherLessons + ") than free periods";
+            }
+            if (classLessons > freeSlots(classFixed[clazz])) {
+                return "Class has more lessons (" + classLessons + ") than free periods";
+            }
+            return "No conflict-free period found within the time budget";
+        }
+
+        private int freeSlots(boolean[] fixed) {
+            int free = 0;
+            for (boolean taken : fixed) {
+                if (!taken) {
+                    free++;
+                }
+            }
+            return free;
+        }
+    }
+
+    /**
+     * Placement of every lesson: slot and room per lesson, FREE when unplaced
+     */
+    record Solution(int[] slotOf, int[] roomOf, int unplaced, int repeatedSubjectDays,
+                    int offHomeRoom, long iterations) {
+
+        int softCost() {
+            return repeatedSubjectDays * 2 + offHomeRoom;
+        }
+
+        boolean betterThan(Solution other) {
+            if (other == null || unplaced != other.unplaced) {
+                return other == null || unplaced < other.unplaced;
+            }
+            return softCost() < other.softCost();
+        }
+    }
+
+    /**
+     * Run one search per worker until the deadline and return the best
+     */
+    static Solution solve(Problem problem, int workers, long budgetMillis, ExecutorService executor) {
+        long deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+        long seed = System.nanoTime();
+        List<Callable<Solution>> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            int worker = w;
+            tasks.add(() -> new Search(problem, new Random(seed + worker * 0x9E3779B97F4A7C15L)).run(worker, deadline));
+        }
+
+        Solution best = null;
+        long iterations = 0;
+        try {
+            for (Future<Solution> future : executor.invokeAll(tasks)) {
+                Solution solution = future.get();
+                iterations += solution.iterations();
+                if (solution.betterThan(best)) {
+                    best = solution;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Timetable generation was interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Timetable generation failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return new Solution(best.slotOf(), best.roomOf(), best.unplaced(), best.repeatedSubjectDays(),
+            best.offHomeRoom(), iterations);
+    }
+
+    /**
+     * One worker's mutable search state
+     */
+    private static final class Search {
+        private final Problem p;
+        private final Random random;
+        private final int slots;
+
+        private final int[] slotOf;
+        private final int[] roomOf;
+        private final int[] movedAt;
+        private final int[][] teacherAt;
+        private final int[][] classAt;
+        private final int[][] roomAt;
+        private final int[][] subjectOnDay;
+
+        // Unplaced lessons as a bag with O(1) add and remove
+        private final int[] bag;
+        private final int[] bagPos;
+        private int bagSize;
+
+        private int repeatedSubjectDays;
+        private int offHomeRoom;
+        private int iteration;
+
+        // Result of the last findMove
+        private int moveSlot;
+        private int moveRoom;
+        private int moveCost;
+        private final int[] moveEject = new int[3];
+        private int moveEjectCount;
+
+        Search(Problem p, Random random) {
+            this.p = p;
+            this.random = random;
+            this.slots = p.slots();
+            int n = p.lessons();
+            slotOf = new int[n];
+            roomOf = new int[n];
+            movedAt = new int[n];
+            Arrays.fill(slotOf, FREE);
+            Arrays.fill(roomOf, FREE);
+            Arrays.fill(movedAt, -TABU_TENURE);
+            teacherAt = occupancy(p.teachers, p.teacherFixed);
+            classAt = occupancy(p.classes, p.classFixed);
+            roomAt = occupancy(p.rooms, p.roomFixed);
+            subjectOnDay = new int[p.classSubjects][p.days];
+            bag = new int[n];
+            bagPos = new int[n];
+            Arrays.fill(bagPos, FREE);
+        }
+
+        Solution run(int worker, long deadline) {
+            for (int lesson : order(worker)) {
+                if (findMove(lesson, false)) {
+                    place(lesson, moveSlot, moveRoom);
+                } else {
+                    bagAdd(lesson);
+                }
+            }
+
+            Solution best = snapshot(0);
+            int stall = 0;
+            while (stall < STALL_LIMIT && (best.unplaced() > 0 || best.softCost() > 0)) {
+                if ((iteration & 63) == 0 && (System.nanoTime() > deadline || Thread.currentThread().isInterrupted())) {
+                    break;
+                }
+                iteration++;
+                stall++;
+
+                if (bagSize > 0) {
+                    repairStep();
+                } else if (!polishStep()) {
+                    continue;
+                }
+
+                if (bagSize < best.unplaced()
+                        || (bagSize == best.unplaced() && softCost() < best.softCost())) {
+                    best = snapshot(iteration);
+                    stall = 0;
+                }
+            }
+            return new Solution(best.slotOf(), best.roomOf(), best.unplaced(), best.repeatedSubjectDays(),
+                best.offHomeRoom(), iteration);
+        }
+
+        // Force one unplaced lesson in, ejecting what blocks it
+        private void repairStep() {
+            int lesson = bag[random.nextInt(bagSize)];
+            if (!findMove(lesson, true)) {
+                return;
+            }
+            int slot = moveSlot;
+            int room = moveRoom;
+            for (int i = 0; i < moveEjectCount; i++) {
+                int ejected = moveEject[i];
+                unplace(ejected);
+                bagAdd(ejected);
+            }
+            bagRemove(lesson);
+            place(lesson, slot, room);
+            movedAt[lesson] = iteration;
+        }
+
+        // Move one placed lesson to a free slot that is no worse; false when nothing moved
+        private boolean polishStep() {
+            int lesson = random.nextInt(p.lessons());
+            int slot = slotOf[lesson];
+            if (slot == FREE) {
+                return false;
+            }
+            int room = roomOf[lesson];
+            int before = softCost();
+            unplace(lesson);
+            if (findMove(lesson, false) && (moveSlot != slot || moveRoom != room)) {
+                place(lesson, moveSlot, moveRoom);
+                if (softCost() <= before) {
+                    return true;
+                }
+                unplace(lesson);
+            }
+            place(lesson, slot, room);
+            return false;
+        }
+
+        /**
+         * Cheapest slot and room for a lesson. Without ejection only free slots
+         * qualify; with it, slots held by generated lessons do too, at a cost
+         * per blocker and more for blockers moved in the last few steps.
+         */
+        private boolean findMove(int lesson, boolean eject) {
+            int teacher = p.lessonTeacher[lesson];
+            int clazz = p.lessonClass[lesson];
+            int classSubject = p.lessonClassSubject[lesson];
+            int home = p.lessonHomeRoom[lesson];
+            int[] candidates = p.lessonRooms[lesson];
+            if (p.useRooms && candidates.length == 0) {
+                return false;
+            }
+
+            moveCost = Integer.MAX_VALUE;
+            moveEjectCount = 0;
+            int start = random.nextInt(slots);
+            for (int k = 0; k < slots; k++) {
+                int slot = (start + k) % slots;
+                int teacherHolder = teacherAt[teacher][slot];
+                int classHolder = classAt[clazz][slot];
+                if (teacherHolder == FIXED || classHolder == FIXED) {
+                    continue;
+                }
+                if (!eject && (teacherHolder != FREE || classHolder != FREE)) {
+                    continue;
+                }
+
+                int room = FREE;
+                int roomHolder = FREE;
+                if (p.useRooms) {
+                    room = freeRoom(candidates, home, slot);
+                    if (room == FREE) {
+                        if (!eject) {
+                            continue;
+                        }
+                        room = ejectableRoom(candidates, slot, teacherHolder, classHolder);
+                        if (room == FREE) {
+                            continue;
+                        }
+                        roomHolder = roomAt[room][slot];
+                    }
+                }
+
+                int cost = subjectOnDay[classSubject][slot / p.periodsPerDay] * 2;
+                if (home != FREE && room != home) {
+                    cost++;
+                }
+                int blockers = 0;
+                cost += blockerCost(teacherHolder);
+                blockers += teacherHolder >= 0 ? 1 : 0;
+                if (classHolder >= 0 && classHolder != teacherHolder) {
+                    cost += blockerCost(classHolder);
+                    blockers++;
+                }
+                if (roomHolder >= 0 && roomHolder != teacherHolder && roomHolder != classHolder) {
+                    cost += blockerCost(roomHolder);
+                    blockers++;
+                }
+                if (eject && blockers > 0) {
+                    cost += random.nextInt(50);
+                }
+
+                if (cost < moveCost) {
+                    moveCost = cost;
+                    moveSlot = slot;
+                    moveRoom = room;
+                    moveEjectCount = 0;
+                    if (teacherHolder >= 0) {
+                        moveEject[moveEjectCount++] = teacherHolder;
+                    }
+                    if (classHolder >= 0 && classHolder != teacherHolder) {
+                        moveEject[moveEjectCount++] = classHolder;
+                    }
+                    if (roomHolder >= 0 && roomHolder != teacherHolder && roomHolder != classHolder) {
+                        moveEject[moveEjectCount++] = roomHolder;
+                    }
+                    if (cost == 0) {
+                        break;
+                    }
+                }
+            }
+            return moveCost != Integer.MAX_VALUE;
+        }
+
+        private int blockerCost(int holder) {
+            if (holder < 0) {
+                return 0;
+            }
+            return iteration - movedAt[holder] < TABU_TENURE ? 5000 : 1000;
+        }
+
+        // Home room if it fits and is free, else the smallest free room that fits
+        private int freeRoom(int[] candidates, int home, int slot) {
+            if (home != FREE && roomAt[home][slot] == FREE) {
+                for (int room : candidates) {
+                    if (room == home) {
+                        return home;
+                    }
+                }
+            }
+            for (int room : candidates) {
+                if (roomAt[room][slot] == FREE) {
+                    return room;
+                }
+            }
+            return FREE;
+        }
+
+        // A room held by a generated lesson, preferring one held by a lesson that is ejected anyway
+        private int ejectableRoom(int[] candidates, int slot, int teacherHolder, int classHolder) {
+            int fallback = FREE;
+            for (int room : candidates) {
+                int holder = roomAt[room][slot];
+                if (holder < 0) {
+                    continue;
+                }
+                if (holder == teacherHolder || holder == classHolder) {
+                    return room;
+                }
+                if (fallback == FREE || random.nextInt(3) == 0) {
+                    fallback = room;
+                }
+            }
+            return fallback;
+        }
+
+        private void place(int lesson, int slot, int room) {
+            slotOf[lesson] = slot;
+            roomOf[lesson] = room;
+            teacherAt[p.lessonTeacher[lesson]][slot] = lesson;
+            classAt[p.lessonClass[lesson]][slot] = lesson;
+            if (room != FREE) {
+                roomAt[room][slot] = lesson;
+            }
+            int[] onDay = subjectOnDay[p.lessonClassSubject[lesson]];
+            if (onDay[slot / p.periodsPerDay]++ > 0) {
+                repeatedSubjectDays++;
+            }
+            if (p.lessonHomeRoom[lesson] != FREE && room != p.lessonHomeRoom[lesson]) {
+                offHomeRoom++;
+            }
+        }
+
+        private void unplace(int lesson) {
+            int slot = slotOf[lesson];
+            int room = roomOf[lesson];
+            teacherAt[p.lessonTeacher[lesson]][slot] = FREE;
+            classAt[p.lessonClass[lesson]][slot] = FREE;
+            if (room != FREE) {
+                roomAt[room][slot] = FREE;
+            }
+            int[] onDay = subjectOnDay[p.lessonClassSubject[lesson]];
+            if (--onDay[slot / p.periodsPerDay] > 0) {
+                repeatedSubjectDays--;
+            }
+            if (p.lessonHomeRoom[lesson] != FREE && room != p.lessonHomeRoom[lesson]) {
+                offHomeRoom--;
+            }
+            slotOf[lesson] = FREE;
+            roomOf[lesson] = FREE;
+        }
+
+        // Hardest lessons first: busiest teacher and class, fewest rooms; later workers add noise
+        private int[] order(int worker) {
+            int n = p.lessons();
+            int[] teacherLoad = new int[p.teachers];
+            int[] classLoad = new int[p.classes];
+            for (int l = 0; l < n; l++) {
+                teacherLoad[p.lessonTeacher[l]]++;
+                classLoad[p.lessonClass[l]]++;
+            }
+            long[] keyed = new long[n];
+            for (int l = 0; l < n; l++) {
+                long difficulty = teacherLoad[p.lessonTeacher[l]] * 4L + classLoad[p.lessonClass[l]]
+                    + (p.useRooms ? Math.max(0, 16 - p.lessonRooms[l].length) * 8L : 0);
+                if (worker > 0) {
+                    difficulty += random.nextInt(16 * worker + 1);
+                }
+                // Sort descending by difficulty, lesson index in the low bits
+                keyed[l] = (((Long.MAX_VALUE >> 21) - difficulty) << 20) | l;
+            }
+            Arrays.sort(keyed);
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = (int) (keyed[i] & 0xFFFFF);
+            }
+            return order;
+        }
+
+        private int softCost() {
+            return repeatedSubjectDays * 2 + offHomeRoom;
+        }
+
+        private Solution snapshot(long iterations) {
+            return new Solution(slotOf.clone(), roomOf.clone(), bagSize, repeatedSubjectDays, offHomeRoom, iterations);
+        }
+
+        private void bagAdd(int lesson) {
+            bagPos[lesson] = bagSize;
+            bag[bagSize++] = lesson;
+        }
+
+        private void bagRemove(int lesson) {
+            int pos = bagPos[lesson];
+            int last = bag[--bagSize];
+            bag[pos] = last;
+            bagPos[last] = pos;
+            bagPos[lesson] = FREE;
+        }
+
+        private int[][] occupancy(int resources, boolean[][] fixed) {
+            int[][] at = new int[resources][slots];
+            for (int r = 0; r < resources; r++) {
+                for (int s = 0; s < slots; s++) {
+                    at[r][s] = fixed[r][s] ? FIXED : FREE;
+                }
+            }
+            return at;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.academix.server.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import com.academix.server.model.User;
 import java.time.LocalDateTime;
@@ -11,10 +10,10 @@ import java.util.UUID;
 public class UserService {
     
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashing;
     
     /**
-     * Hash a plain text password using BCrypt
+     * Hash a plain text password using BCrypt, on the hashing pool
      * @param plainPassword The plain text password
      * @return The hashed password
      */
@@ -22,7 +21,7 @@ public class UserService {
         if (plainPassword == null || plainPassword.trim().isEmpty()) {
             throw new IllegalArgumentException("Password cannot be null or empty");
         }
-        return passwordEncoder.encode(plainPassword);
+        return passwordHashing.hash(plainPassword);
     }
     
     /**
@@ -35,7 +34,7 @@ public class UserService {
         if (plainPassword == null || hashedPassword == null) {
             return false;
         }
-        return passwordEncoder.matches(plainPassword, hashedPassword);
+        return passwordHashing.matches(plainPassword, hashedPassword);
     }
     
     /**
@@ -0,0 +1,187 @@
+package com.academix.server.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.academix.server.model.User;
+import com.academix.server.repository.UserRepository;
+
+/**
+ * Users by email for authentication. Lookups go to the users table through
+ * idx_user_email, behind a bounded read-through cache. The table, not the
+ * cache, is the source of truth: its unique email constraint settles
+ * concurrent registrations, and cached entries expire after a short TTL so
+ * writes made by other instances are picked up. Committed writes on this
+ * instance evict their entry at once (see EntityCommitListener).
+ * Cached users are shared: read them, but load a fresh copy to modify.
+ */
+@Service
+public class UserStoreService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserStoreService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${academix.auth.user-cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${academix.auth.user-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private record Cached(User user, long expiresAt) {
+    }
+
+    private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+    // Insertion order of cached emails, oldest evicted first once the cache is full
+    private final Queue<String> order = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Map<Long, String> emailById = new ConcurrentHashMap<>();
+
+    // Bumped on every eviction so a load that raced with a write is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * User with this email, from the cache when fresh. For reading only.
+     */
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        String key = email.trim();
+        Cached cached = cache.get(key);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return Optional.of(cached.user());
+        }
+        long current = generation.get();
+        Optional<User> user = userRepository.findByEmail(key);
+        // Misses are not cached, so a user registered elsewhere is found immediately
+        user.ifPresent(u -> cacheIfCurrent(key, u, current));
+        return user;
+    }
+
+    /**
+     * User with this email straight from the table, safe to modify and save
+     */
+    public Optional<User> loadByEmail(String email) {
+        return email != null ? userRepository.findByEmail(email.trim()) : Optional.empty();
+    }
+
+    /**
+     * Whether any student, teacher or staff member uses this email
+     */
+    public boolean emailExists(String email) {
+        if (email == null) {
+            return false;
+        }
+        String key = email.trim();
+        return cache.containsKey(key) || userRepository.existsByEmail(key);
+    }
+
+    public Optional<User> findByEmailVerificationToken(String token) {
+        return token != null ? userRepository.findByEmailVerificationToken(token) : Optional.empty();
+    }
+
+    public Optional<User> findByResetPasswordToken(String token) {
+        return token != null ? userRepository.findByResetPasswordToken(token) : Optional.empty();
+    }
+
+    /**
+     * Insert a new user; fails with "Email already exists" when another
+     * registration for the same email committed first
+     */
+    public <T extends User> T create(T user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (userRepository.existsByEmail(user.getEmail())) {
+                throw new RuntimeException("Email already exists");
+            }
+            throw e;
+        }
+    }
+
+    public List<User> findAll() {
+        return userRepository.findAll();
+    }
+
+    public <T extends User> T save(T user) {
+        T saved = userRepository.save(user);
+        evict(saved);
+        return saved;
+    }
+
+    /**
+     * Drop a user that was written, under its current and previous email
+     */
+    public void evict(User user) {
+        generation.incrementAndGet();
+        if (user.getEmail() != null) {
+            cache.remove(user.getEmail().trim());
+        }
+        if (user.getId() != null) {
+            String previous = emailById.remove(user.getId());
+            if (previous != null) {
+                cache.remove(previous);
+            }
+        }
+    }
+
+    public Map<String, Object> getCacheStats() {
+        return Map.of("cachedUsers", cache.size(), "maxEntries", maxEntries, "ttlSeconds", ttlSeconds);
+    }
+
+    /**
+     * Whether writes of this entity class can change a cached user
+     */
+    public static boolean isTracked(Class<?> entityClass) {
+        return User.class.isAssignableFrom(entityClass);
+    }
+
+    private void cacheIfCurrent(String key, User user, long loadedAt) {
+        Cached entry = new Cached(user, System.currentTimeMillis() + ttlSeconds * 1000);
+        boolean[] added = new boolean[1];
+        cache.compute(key, (k, existing) -> {
+            if (generation.get() != loadedAt) {
+                return existing;
+            }
+            added[0] = existing == null;
+            return entry;
+        });
+        if (!added[0]) {
+            return;
+        }
+        if (user.getId() != null) {
+            emailById.put(user.getId(), key);
+        }
+        // A key can be queued again after an eviction; the queue, not the map, is
+        // bounded, and every cached key is in it, so the cache stays bounded too
+        order.add(key);
+        queued.incrementAndGet();
+        while (queued.get() > maxEntries) {
+            String oldest = order.poll();
+            if (oldest == null) {
+                break;
+            }
+            queued.decrementAndGet();
+            Cached removed = cache.remove(oldest);
+            if (removed != null && removed.user().getId() != null) {
+                emailById.remove(removed.user().getId(), oldest);
+            }
+        }
+        logger.trace("Cached user {} ({} cached)", key, cache.size());
+    }
+}
@@ -0,0 +1,54 @@
+package com.academix.server.controller;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Archiving deletes a closed term from the attendance table, so only admins
+ * may run it.
+ */
+@SpringBootTest
+class AttendanceArchiveControllerTest {
+
+	@Autowired
+	private WebApplicationContext context;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+	}
+
+	@Test
+	void anonymousCannotArchiveTerm() throws Exception {
+		mockMvc.perform(post("/api/attendance/archive").param("academicYear", "2026").param("term", "1"))
+			.andExpect(denied());
+	}
+
+	@Test
+	@WithMockUser(roles = "TEACHER")
+	void teacherCannotArchiveTerm() throws Exception {
+		mockMvc.perform(post("/api/attendance/archive").param("academicYear", "2026").param("term", "1"))
+			.andExpect(status().isForbidden());
+	}
+
+	private static ResultMatcher denied() {
+		return result -> {
+			int code = result.getResponse().getStatus();
+			assertTrue(code == 401 || code == 403, "expected 401 or 403, got " + code);
+		};
+	}
+}
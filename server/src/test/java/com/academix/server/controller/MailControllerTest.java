@@ -0,0 +1,84 @@
+package com.academix.server.controller;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * The mail endpoints render and queue mass mailings and expose dead letters,
+ * so only admins may reach them.
+ */
+@SpringBootTest
+class MailControllerTest {
+
+	private static final String BULK_REQUEST = """
+		{
+		  "template": "WELCOME",
+		  "recipients": [
+		    {"email": "first@example.test", "variables": {"fullName": "First Guardian"}},
+		    {"email": "second@example.test", "variables": {"fullName": "Second Guardian"}}
+		  ],
+		  "queue": false
+		}
+		""";
+
+	@Autowired
+	private WebApplicationContext context;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+	}
+
+	@Test
+	void anonymousCannotSendBulkMail() throws Exception {
+		mockMvc.perform(post("/api/mail/bulk").contentType(MediaType.APPLICATION_JSON).content(BULK_REQUEST))
+			.andExpect(denied());
+	}
+
+	@Test
+	void anonymousCannotReadDeadLetters() throws Exception {
+		mockMvc.perform(get("/api/mail/dead-letters")).andExpect(denied());
+		mockMvc.perform(get("/api/mail/stats")).andExpect(denied());
+	}
+
+	@Test
+	@WithMockUser(roles = "TEACHER")
+	void teacherCannotSendBulkMail() throws Exception {
+		mockMvc.perform(post("/api/mail/bulk").contentType(MediaType.APPLICATION_JSON).content(BULK_REQUEST))
+			.andExpect(status().isForbidden());
+	}
+
+	@Test
+	@WithMockUser(roles = "ADMIN")
+	void adminRendersBulkMail() throws Exception {
+		mockMvc.perform(post("/api/mail/bulk").contentType(MediaType.APPLICATION_JSON).content(BULK_REQUEST))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.template").value("WELCOME"))
+			.andExpect(jsonPath("$.rendered").value(2))
+			.andExpect(jsonPath("$.queued").value(0));
+	}
+
+	private static ResultMatcher denied() {
+		return result -> {
+			int code = result.getResponse().getStatus();
+			assertTrue(code == 401 || code == 403, "expected 401 or 403, got " + code);
+		};
+	}
+}
@@ -0,0 +1,67 @@
+package com.academix.server.controller;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Bulk intake creates student accounts and mails their credentials, so only
+ * admins may start or follow one.
+ */
+@SpringBootTest
+class StudentIntakeControllerTest {
+
+	private static final String EMPTY_INTAKE = """
+		{"students": [], "sendEmails": false}
+		""";
+
+	@Autowired
+	private WebApplicationContext context;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+	}
+
+	@Test
+	void anonymousCannotStartIntake() throws Exception {
+		mockMvc.perform(post("/api/students/intake").contentType(MediaType.APPLICATION_JSON).content(EMPTY_INTAKE))
+			.andExpect(denied());
+		mockMvc.perform(post("/api/students/intake/csv").contentType("text/csv").content("firstName,lastName\n"))
+			.andExpect(denied());
+	}
+
+	@Test
+	void anonymousCannotFollowIntake() throws Exception {
+		mockMvc.perform(get("/api/students/intake/1")).andExpect(denied());
+	}
+
+	@Test
+	@WithMockUser(roles = "TEACHER")
+	void teacherCannotStartIntake() throws Exception {
+		mockMvc.perform(post("/api/students/intake").contentType(MediaType.APPLICATION_JSON).content(EMPTY_INTAKE))
+			.andExpect(status().isForbidden());
+	}
+
+	private static ResultMatcher denied() {
+		return result -> {
+			int code = result.getResponse().getStatus();
+			assertTrue(code == 401 || code == 403, "expected 401 or 403, got " + code);
+		};
+	}
+}
@@ -0,0 +1,152 @@
+package com.academix.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.academix.server.event.AttendanceMarkedEvent;
+import com.academix.server.model.AbsenceNotification;
+import com.academix.server.model.Attendance;
+import com.academix.server.model.Student;
+import com.academix.server.repository.AttendanceRepository;
+import com.academix.server.repository.StudentRepository;
+import com.academix.server.support.SmtpStandIn;
+
+@SpringBootTest
+@DirtiesContext
+class AbsenceNotificationServiceTest {
+
+	private static final SmtpStandIn smtp = startSmtp();
+
+	@Autowired
+	private AbsenceNotificationService notificationService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private AttendanceRepository attendanceRepository;
+
+	@DynamicPropertySource
+	static void mailProperties(DynamicPropertyRegistry registry) {
+		// Own database, so mail dispatchers of other test contexts never see these rows
+		registry.add("spring.datasource.url", () -> "jdbc:h2:mem:notifications-" + UUID.randomUUID());
+		registry.add("spring.mail.host", () -> "localhost");
+		registry.add("spring.mail.port", smtp::getPort);
+		registry.add("spring.mail.username", () -> "noreply@academix.test");
+		registry.add("spring.mail.password", () -> "");
+		registry.add("spring.mail.properties.mail.smtp.auth", () -> "false");
+		registry.add("spring.mail.properties.mail.smtp.starttls.enable", () -> "false");
+		// Notices are due at once, and only the test runs the dispatcher
+		registry.add("academix.notifications.coalesce-seconds", () -> "0");
+		registry.add("academix.notifications.dispatch-ms", () -> "3600000");
+	}
+
+	@AfterAll
+	static void stopSmtp() throws IOException {
+		smtp.close();
+	}
+
+	@BeforeEach
+	void clearMailbox() {
+		smtp.clear();
+	}
+
+	@Test
+	void correctionWithoutSessionCancelsNoticeStoredAsFullDay() throws InterruptedException {
+		Student student = saveStudent("cancel");
+		LocalDate date = LocalDate.now();
+
+		notificationService.onAttendanceMarked(event(student, date, null, Attendance.AttendanceStatus.ABSENT));
+		List<AbsenceNotification> queued = notificationService.getNotificationsForStudent(student.getId());
+		assertEquals(1, queued.size());
+		assertEquals(Attendance.SessionType.FULL_DAY, queued.get(0).getSessionType());
+		assertEquals(AbsenceNotification.Status.PENDING, queued.get(0).getStatus());
+
+		// The roll call is corrected before the notice goes out, again without a session
+		notificationService.onAttendanceMarked(event(student, date, Attendance.AttendanceStatus.ABSENT,
+			Attendance.AttendanceStatus.PRESENT));
+		List<AbsenceNotification> after = notificationService.getNotificationsForStudent(student.getId());
+		assertEquals(AbsenceNotification.Status.CANCELLED, after.get(0).getStatus());
+
+		notificationService.dispatch();
+		assertTrue(smtp.awaitMessages(1, Duration.ofSeconds(2)).stream()
+			.noneMatch(message -> message.recipients().contains(student.getGuardianEmail())));
+	}
+
+	@Test
+	void uncorrectedAbsenceReachesGuardian() throws InterruptedException {
+		Student student = saveStudent("deliver");
+		// Marked without a session, as the notice filed for it is FULL_DAY
+		Attendance absence = saveAbsence(student, LocalDate.now());
+
+		notificationService.onAttendanceMarked(event(student, LocalDate.now(), null, Attendance.AttendanceStatus.ABSENT));
+		assertEquals(1, notificationService.dispatch());
+
+		List<SmtpStandIn.Received> received = smtp.awaitMessages(1, Duration.ofSeconds(10));
+		assertEquals(1, received.size());
+		assertEquals(List.of(student.getGuardianEmail()), received.get(0).recipients());
+		assertEquals("Absence notice for Test deliver - Academix", received.get(0).subject());
+		assertTrue(received.get(0).data().contains("Test deliver (S1)"));
+		assertEquals(AbsenceNotification.Status.SENT,
+			notificationService.getNotificationsForStudent(student.getId()).get(0).getStatus());
+		assertTrue(attendanceRepository.findById(absence.getId()).orElseThrow().getParentNotified());
+	}
+
+	private Student saveStudent(String name) {
+		Student student = new Student();
+		student.setFirstName("Test");
+		student.setLastName(name);
+		student.setEmail(name + "@student.academix.test");
+		student.setPassword("not-used");
+		student.setGender("FEMALE");
+		student.setDateOfBirth(LocalDate.of(2010, 1, 1));
+		student.setCurrentClass("S1");
+		student.setGuardianName("Guardian " + name);
+		student.setGuardianEmail("guardian." + name + "@example.test");
+		return studentRepository.save(student);
+	}
+
+	private Attendance saveAbsence(Student student, LocalDate date) {
+		Attendance attendance = new Attendance();
+		attendance.setStudentId(student.getId());
+		attendance.setClassName(student.getCurrentClass());
+		attendance.setDate(date);
+		attendance.setStatus(Attendance.AttendanceStatus.ABSENT);
+		attendance.setSessionType(null);
+		attendance.setAcademicYear("2026");
+		attendance.setTerm(1);
+		return attendanceRepository.save(attendance);
+	}
+
+	private static AttendanceMarkedEvent event(Student student, LocalDate date,
+											   Attendance.AttendanceStatus previousStatus,
+											   Attendance.AttendanceStatus status) {
+		return new AttendanceMarkedEvent(List.of(new AttendanceMarkedEvent.Entry(null, student.getId(), null,
+			student.getFirstName() + " " + student.getLastName(), student.getCurrentClass(), null, date, null,
+			"2026", 1, previousStatus, status)));
+	}
+
+	private static SmtpStandIn startSmtp() {
+		try {
+			return new SmtpStandIn();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package com.academix.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import com.academix.server.dto.AuthDto.AuthResponse;
+import com.academix.server.dto.AuthDto.LoginRequest;
+import com.academix.server.model.Student;
+import com.academix.server.repository.StudentRepository;
+
+/**
+ * Login throughput through AuthService: the hashing pool only checks
+ * passwords, and everything after the check runs on the login threads.
+ */
+@SpringBootTest(properties = {
+	"academix.auth.bcrypt-cost=4",
+	"academix.auth.hashing.queue-capacity=512"
+})
+class AuthServiceLoginTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(AuthServiceLoginTest.class);
+
+	private static final int USERS = 40;
+	// Stays under the per-email rate limit of ten a minute
+	private static final int LOGINS_PER_USER = 5;
+
+	@Autowired
+	private AuthService authService;
+
+	@Autowired
+	private StudentRepository studentRepository;
+
+	@Autowired
+	private PasswordEncoder passwordEncoder;
+
+	@MockitoSpyBean
+	private SecurityEnhancementService securityService;
+
+	@Test
+	void loginBurstCompletesOffTheHashingPool() {
+		String hash = passwordEncoder.encode("Burst-Password1");
+		for (int i = 0; i < USERS; i++) {
+			saveStudent("burst" + i + "@student.academix.test", hash);
+		}
+
+		Set<String> completionThreads = ConcurrentHashMap.newKeySet();
+		doAnswer(invocation -> {
+			completionThreads.add(Thread.currentThread().getName());
+			return invocation.callRealMethod();
+		}).when(securityService).recordSuccessfulLogin(anyString());
+
+		long start = System.nanoTime();
+		List<CompletableFuture<AuthResponse>> logins = new ArrayList<>();
+		for (int round = 0; round < LOGINS_PER_USER; round++) {
+			for (int i = 0; i < USERS; i++) {
+				LoginRequest request = new LoginRequest();
+				request.setEmail("burst" + i + "@student.academix.test");
+				request.setPassword("Burst-Password1");
+				logins.add(authService.loginUser(request));
+			}
+		}
+		for (CompletableFuture<AuthResponse> login : logins) {
+			AuthResponse response = login.orTimeout(30, TimeUnit.SECONDS).join();
+			assertNotNull(response.getAccessToken());
+		}
+		long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+		logger.info("Login burst through AuthService: {} logins in {} ms, {}/s",
+			logins.size(), elapsedMs, Math.round(logins.size() * 1000.0 / elapsedMs));
+
+		assertEquals(USERS * LOGINS_PER_USER, logins.size());
+		assertFalse(completionThreads.isEmpty());
+		assertTrue(completionThreads.stream().allMatch(name -> name.startsWith("login-completion")),
+			"logins completed on " + completionThreads);
+	}
+
+	private void saveStudent(String email, String passwordHash) {
+		Student student = new Student();
+		student.setFirstName("Burst");
+		student.setLastName("Login");
+		student.setEmail(email);
+		student.setPassword(passwordHash);
+		student.setGender("MALE");
+		student.setDateOfBirth(LocalDate.of(2009, 5, 1));
+		student.setEmailVerified(true);
+		student.setIsActive(true);
+		studentRepository.save(student);
+	}
+}
@@ -0,0 +1,135 @@
+package com.academix.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.academix.server.model.GradingScale;
+import com.academix.server.model.Result;
+
+/**
+ * The compiled grading scales grade every whole percentage exactly as the
+ * if/else ladders they replaced did, boundaries included.
+ */
+class GradingScaleTest {
+
+	@Test
+	void oLevelMatchesTheUceLadder() {
+		for (int pct = 0; pct <= 100; pct++) {
+			assertGrade(GradingScale.O_LEVEL, pct, oLevelLadder(pct));
+		}
+		assertGrade(GradingScale.O_LEVEL, 0, "F9", 9);
+		assertGrade(GradingScale.O_LEVEL, 33, "F9", 9);
+		assertGrade(GradingScale.O_LEVEL, 34, "P8", 8);
+		assertGrade(GradingScale.O_LEVEL, 49, "P7", 7);
+		assertGrade(GradingScale.O_LEVEL, 50, "C6", 6);
+		assertGrade(GradingScale.O_LEVEL, 64, "C4", 4);
+		assertGrade(GradingScale.O_LEVEL, 65, "C3", 3);
+		assertGrade(GradingScale.O_LEVEL, 79, "D2", 2);
+		assertGrade(GradingScale.O_LEVEL, 80, "D1", 1);
+		assertGrade(GradingScale.O_LEVEL, 100, "D1", 1);
+	}
+
+	@Test
+	void aLevelPrincipalMatchesTheUaceLadder() {
+		for (int pct = 0; pct <= 100; pct++) {
+			assertGrade(GradingScale.A_LEVEL_PRINCIPAL, pct, principalLadder(pct));
+		}
+		assertGrade(GradingScale.A_LEVEL_PRINCIPAL, 0, "F", 0);
+		assertGrade(GradingScale.A_LEVEL_PRINCIPAL, 33, "F", 0);
+		assertGrade(GradingScale.A_LEVEL_PRINCIPAL, 34, "O", 1);
+		assertGrade(GradingScale.A_LEVEL_PRINCIPAL, 39, "O", 1);
+		assertGrade(GradingScale.A_LEVEL_PRINCIPAL, 40, "E", 2);
+		assertGrade(GradingScale.A_LEVEL_PRINCIPAL, 79, "B", 5);
+		assertGrade(GradingScale.A_LEVEL_PRINCIPAL, 80, "A", 6);
+		assertGrade(GradingScale.A_LEVEL_PRINCIPAL, 100, "A", 6);
+	}
+
+	@Test
+	void aLevelSubsidiaryMatchesTheUaceLadder() {
+		for (int pct = 0; pct <= 100; pct++) {
+			assertGrade(GradingScale.A_LEVEL_SUBSIDIARY, pct, pct >= 50 ? "O" : "F");
+		}
+		assertGrade(GradingScale.A_LEVEL_SUBSIDIARY, 49, "F", 0);
+		assertGrade(GradingScale.A_LEVEL_SUBSIDIARY, 50, "O", 1);
+	}
+
+	@Test
+	void outOfRangePercentagesAreClamped() {
+		assertEquals("F9", code(GradingScale.O_LEVEL, -5));
+		assertEquals("D1", code(GradingScale.O_LEVEL, 120));
+	}
+
+	@Test
+	void bulkGradingAgreesWithSingleLookups() {
+		int[] percentages = {0, 33, 34, 50, 65, 79, 80, 100};
+		byte[] grades = GradingScale.O_LEVEL.grade(percentages);
+		for (int i = 0; i < percentages.length; i++) {
+			assertEquals(GradingScale.O_LEVEL.gradeOf(percentages[i]), grades[i]);
+		}
+	}
+
+	@Test
+	void resultRoundsToTheNearestWholePercentageFirst() {
+		Result result = new Result();
+		result.setGradingScale(Result.GradingScaleType.O_LEVEL);
+		result.setMaxMarks(200);
+		// 79.5% rounds up into D1, as the ladder rounded before comparing
+		result.setMarksObtained(159);
+		result.calculateGrade(GradingScale.O_LEVEL);
+		assertEquals("D1", result.getGrade());
+		assertEquals(1, result.getGradePoints());
+		assertEquals("Distinction", result.getRemarks());
+	}
+
+	@Test
+	void gapsAndOverlapsAreRejected() {
+		assertThrows(RuntimeException.class, () -> GradingScale.compile(GradingScale.Type.O_LEVEL, "2026", List.of(
+			new GradingScale.Band("A", 50, 100, 1, "Pass"),
+			new GradingScale.Band("F", 0, 48, 0, "Fail"))));
+		assertThrows(RuntimeException.class, () -> GradingScale.compile(GradingScale.Type.O_LEVEL, "2026", List.of(
+			new GradingScale.Band("A", 50, 100, 1, "Pass"),
+			new GradingScale.Band("F", 0, 50, 0, "Fail"))));
+	}
+
+	private static void assertGrade(GradingScale scale, int pct, String expected) {
+		assertEquals(expected, code(scale, pct), "grade at " + pct + "%");
+	}
+
+	private static void assertGrade(GradingScale scale, int pct, String expectedCode, int expectedPoints) {
+		byte grade = scale.gradeOf(pct);
+		assertEquals(expectedCode, scale.code(grade), "grade at " + pct + "%");
+		assertEquals(expectedPoints, scale.points(grade), "points at " + pct + "%");
+	}
+
+	private static String code(GradingScale scale, int pct) {
+		return scale.code(scale.gradeOf(pct));
+	}
+
+	// The O-Level ladder as Result graded before the scales were compiled
+	private static String oLevelLadder(int pct) {
+		if (pct >= 80) return "D1";
+		if (pct >= 70) return "D2";
+		if (pct >= 65) return "C3";
+		if (pct >= 60) return "C4";
+		if (pct >= 55) return "C5";
+		if (pct >= 50) return "C6";
+		if (pct >= 40) return "P7";
+		if (pct >= 34) return "P8";
+		return "F9";
+	}
+
+	// The A-Level principal ladder as Result graded before the scales were compiled
+	private static String principalLadder(int pct) {
+		if (pct >= 80) return "A";
+		if (pct >= 70) return "B";
+		if (pct >= 60) return "C";
+		if (pct >= 50) return "D";
+		if (pct >= 40) return "E";
+		if (pct >= 34) return "O";
+		return "F";
+	}
+}
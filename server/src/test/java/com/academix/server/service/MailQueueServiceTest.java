@@ -0,0 +1,243 @@
+package com.academix.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.academix.server.model.OutboundEmail;
+import com.academix.server.repository.OutboundEmailRepository;
+import com.academix.server.support.SmtpStandIn;
+
+/**
+ * Mail outbox against an in-process SMTP server: delivery, at-most-once
+ * claiming under concurrent dispatch passes, lease expiry, retries and
+ * retention.
+ */
+@SpringBootTest
+@DirtiesContext
+class MailQueueServiceTest {
+
+	private static final SmtpStandIn smtp = startSmtp();
+
+	@Autowired
+	private MailQueueService mailQueue;
+
+	@Autowired
+	private OutboundEmailRepository emailRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DynamicPropertySource
+	static void mailProperties(DynamicPropertyRegistry registry) {
+		// Own database, so dispatchers of other test contexts never see these rows
+		registry.add("spring.datasource.url", () -> "jdbc:h2:mem:mailqueue-" + UUID.randomUUID());
+		registry.add("spring.mail.host", () -> "localhost");
+		registry.add("spring.mail.port", smtp::getPort);
+		registry.add("spring.mail.username", () -> "noreply@academix.test");
+		registry.add("spring.mail.password", () -> "");
+		registry.add("spring.mail.properties.mail.smtp.auth", () -> "false");
+		registry.add("spring.mail.properties.mail.smtp.starttls.enable", () -> "false");
+		registry.add("academix.mail.workers", () -> "4");
+		registry.add("academix.mail.batch-size", () -> "20");
+		registry.add("academix.mail.poll-ms", () -> "200");
+	}
+
+	@AfterAll
+	static void stopSmtp() throws IOException {
+		smtp.close();
+	}
+
+	@BeforeEach
+	void clearMailbox() {
+		smtp.clear();
+	}
+
+	@Test
+	void sentEmailLosesItsBody() throws InterruptedException {
+		OutboundEmail queued = mailQueue.enqueue("TEST", message("single@example.test", "Temporary password: abc123"));
+
+		List<SmtpStandIn.Received> received = smtp.awaitMessages(1, Duration.ofSeconds(10));
+		assertEquals(1, received.size());
+		assertTrue(received.get(0).data().contains("Temporary password: abc123"));
+
+		await(() -> reload(queued).getStatus() == OutboundEmail.Status.SENT);
+		OutboundEmail sent = reload(queued);
+		assertNull(sent.getBody());
+		assertNull(sent.getClaimedBy());
+		assertNull(sent.getLeaseUntil());
+		assertNotNull(sent.getSentAt());
+	}
+
+	@Test
+	void concurrentDispatchPassesSendEachEmailOnce() throws Exception {
+		int emails = 300;
+		List<SimpleMailMessage> messages = new ArrayList<>();
+		for (int i = 0; i < emails; i++) {
+			messages.add(message("burst" + i + "@example.test", "Message " + i));
+		}
+		mailQueue.enqueueAll("TEST", messages);
+
+		// Passes racing over the same due rows, as several instances polling together would
+		ExecutorService racers = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> passes = new ArrayList<>();
+			for (int i = 0; i < 40; i++) {
+				passes.add(racers.submit(mailQueue::dispatch));
+			}
+			for (Future<?> pass : passes) {
+				pass.get();
+			}
+		} finally {
+			racers.shutdown();
+		}
+
+		smtp.awaitMessages(emails, Duration.ofSeconds(30));
+		await(() -> emailRepository.findByStatus(OutboundEmail.Status.SENT).stream()
+			.filter(email -> email.getRecipient().startsWith("burst")).count() == emails);
+		// Give a duplicate send the chance to show up
+		Thread.sleep(500);
+
+		Map<String, Long> perRecipient = smtp.getReceived().stream()
+			.flatMap(message -> message.recipients().stream())
+			.filter(recipient -> recipient.startsWith("burst"))
+			.collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+		assertEquals(emails, perRecipient.size());
+		assertTrue(perRecipient.values().stream().allMatch(count -> count == 1), "duplicates: " + perRecipient);
+	}
+
+	@Test
+	void rejectedRecipientIsRetriedWithBackoff() {
+		smtp.reject("nobody@example.test");
+		OutboundEmail queued = mailQueue.enqueue("TEST", message("nobody@example.test", "Hello"));
+
+		await(() -> reload(queued).getAttempts() == 1);
+		OutboundEmail failed = reload(queued);
+		assertEquals(OutboundEmail.Status.PENDING, failed.getStatus());
+		assertNotNull(failed.getLastError());
+		assertNotNull(failed.getBody());
+		assertTrue(failed.getNextAttemptAt().isAfter(LocalDateTime.now()));
+	}
+
+	@Test
+	void onlyExpiredClaimsAreTakenBack() throws InterruptedException {
+		OutboundEmail crashed = emailRepository.save(claimedRow("crashed@example.test", "crashed-instance#1",
+			LocalDateTime.now().minusMinutes(1)));
+		OutboundEmail live = emailRepository.save(claimedRow("live@example.test", "live-instance#1",
+			LocalDateTime.now().plusMinutes(10)));
+
+		// Also run by every scheduled pass, which may have got there first
+		emailRepository.requeueExpiredLeases(LocalDateTime.now());
+		mailQueue.dispatch();
+
+		assertEquals(1, smtp.awaitMessages(1, Duration.ofSeconds(10)).size());
+		assertEquals(1, smtp.receivedBy("crashed@example.test").size());
+		await(() -> reload(crashed).getStatus() == OutboundEmail.Status.SENT);
+
+		// The other instance is still within its lease and keeps its claim
+		OutboundEmail stillClaimed = reload(live);
+		assertEquals(OutboundEmail.Status.SENDING, stillClaimed.getStatus());
+		assertEquals("live-instance#1", stillClaimed.getClaimedBy());
+		assertTrue(smtp.receivedBy("live@example.test").isEmpty());
+	}
+
+	@Test
+	void purgeDeletesOnlyOldFinishedRows() {
+		OutboundEmail oldSent = emailRepository.save(finishedRow("old-sent@example.test", OutboundEmail.Status.SENT));
+		OutboundEmail oldDead = emailRepository.save(finishedRow("old-dead@example.test", OutboundEmail.Status.DEAD));
+		OutboundEmail recentSent = emailRepository.save(finishedRow("recent@example.test", OutboundEmail.Status.SENT));
+		jdbcTemplate.update("UPDATE outbound_emails SET created_at = ? WHERE id IN (?, ?)",
+			LocalDateTime.now().minusDays(90), oldSent.getId(), oldDead.getId());
+
+		assertTrue(mailQueue.purgeFinished() >= 2);
+		assertTrue(emailRepository.findById(oldSent.getId()).isEmpty());
+		assertTrue(emailRepository.findById(oldDead.getId()).isEmpty());
+		assertTrue(emailRepository.findById(recentSent.getId()).isPresent());
+	}
+
+	private OutboundEmail reload(OutboundEmail email) {
+		return emailRepository.findById(email.getId()).orElseThrow();
+	}
+
+	private static SimpleMailMessage message(String to, String text) {
+		SimpleMailMessage message = new SimpleMailMessage();
+		message.setFrom("noreply@academix.test");
+		message.setTo(to);
+		message.setSubject("Outbox test");
+		message.setText(text);
+		return message;
+	}
+
+	private static OutboundEmail claimedRow(String recipient, String claimedBy, LocalDateTime leaseUntil) {
+		OutboundEmail email = new OutboundEmail();
+		email.setKind("TEST");
+		email.setRecipient(recipient);
+		email.setSubject("Outbox test");
+		email.setBody("Claimed before a crash");
+		email.setStatus(OutboundEmail.Status.SENDING);
+		email.setClaimedBy(claimedBy);
+		email.setLeaseUntil(leaseUntil);
+		email.setNextAttemptAt(LocalDateTime.now().minusMinutes(5));
+		return email;
+	}
+
+	private static OutboundEmail finishedRow(String recipient, OutboundEmail.Status status) {
+		OutboundEmail email = new OutboundEmail();
+		email.setKind("TEST");
+		email.setRecipient(recipient);
+		email.setSubject("Outbox test");
+		email.setStatus(status);
+		email.setNextAttemptAt(LocalDateTime.now());
+		return email;
+	}
+
+	private static void await(BooleanSupplier condition) {
+		long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+		while (!condition.getAsBoolean()) {
+			if (System.nanoTime() > deadline) {
+				throw new AssertionError("Condition not met within 30 seconds");
+			}
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new AssertionError("Interrupted while waiting");
+			}
+		}
+	}
+
+	private static SmtpStandIn startSmtp() {
+		try {
+			return new SmtpStandIn();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
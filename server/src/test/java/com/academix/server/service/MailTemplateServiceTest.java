@@ -0,0 +1,110 @@
+package com.academix.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.academix.server.service.MailTemplateService.MailTemplate;
+
+/**
+ * Bulk rendering throughput of the cached mail templates, as used by a
+ * term-start mass mailing, and the personalisation of every message.
+ */
+class MailTemplateServiceTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(MailTemplateServiceTest.class);
+
+	private MailTemplateService mailTemplates;
+
+	@BeforeEach
+	void startEngine() {
+		mailTemplates = new MailTemplateService();
+		ReflectionTestUtils.setField(mailTemplates, "frontendUrl", "https://academix.test");
+		mailTemplates.start();
+	}
+
+	@Test
+	void bulkRenderThroughput() {
+		int messages = 20000;
+		List<Map<String, Object>> variables = new ArrayList<>(messages);
+		for (int i = 0; i < messages; i++) {
+			Map<String, Object> recipient = new HashMap<>();
+			recipient.put("fullName", "Student " + i);
+			recipient.put("studentId", "STU" + i);
+			recipient.put("email", "student" + i + "@academix.test");
+			recipient.put("password", "Temp-" + i);
+			recipient.put("currentClass", i % 2 == 0 ? "S" + (i % 6 + 1) : null);
+			recipient.put("stream", null);
+			variables.add(recipient);
+		}
+
+		// Warm up so the measurement sees the cached templates and a compiled expression path
+		mailTemplates.renderAll(MailTemplate.STUDENT_REGISTRATION, variables.subList(0, 1000));
+
+		long start = System.nanoTime();
+		List<String> bodies = mailTemplates.renderAll(MailTemplate.STUDENT_REGISTRATION, variables);
+		long elapsedNanos = Math.max(1, System.nanoTime() - start);
+		logger.info("Bulk render: {} messages in {} ms, {}/s", messages, elapsedNanos / 1_000_000,
+			Math.round(messages * 1_000_000_000.0 / elapsedNanos));
+
+		assertEquals(messages, bodies.size());
+		for (int i = 0; i < messages; i++) {
+			String body = bodies.get(i);
+			assertTrue(body.startsWith("Dear Student " + i + ","), body);
+			assertTrue(body.contains("student" + i + "@academix.test"));
+			assertTrue(body.contains("Temp-" + i));
+			assertTrue(body.contains("https://academix.test/login"));
+			// Optional lines only appear with a value
+			assertEquals(i % 2 == 0, body.contains("Class: S" + (i % 6 + 1)));
+			assertFalse(body.contains("Stream:"));
+		}
+	}
+
+	@Test
+	void renderingOnManyThreadsKeepsMessagesApart() throws InterruptedException {
+		int threads = 8;
+		int perThread = 2000;
+		List<Thread> workers = new ArrayList<>();
+		List<Throwable> failures = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			int thread = t;
+			workers.add(new Thread(() -> {
+				try {
+					for (int i = 0; i < perThread; i++) {
+						String name = "Guardian " + thread + "-" + i;
+						String body = mailTemplates.render(MailTemplate.WELCOME, Map.of("fullName", name));
+						assertTrue(body.startsWith("Dear " + name + ","), body);
+					}
+				} catch (Throwable e) {
+					synchronized (failures) {
+						failures.add(e);
+					}
+				}
+			}));
+		}
+		workers.forEach(Thread::start);
+		for (Thread worker : workers) {
+			worker.join();
+		}
+		assertTrue(failures.isEmpty(), () -> "render failures: " + failures);
+	}
+
+	@Test
+	void templateIsFoundByEnumOrFileName() {
+		assertEquals(MailTemplate.WELCOME, MailTemplateService.templateOf("WELCOME"));
+		assertEquals(MailTemplate.STUDENT_REGISTRATION, MailTemplateService.templateOf("student-registration"));
+		assertThrows(RuntimeException.class, () -> MailTemplateService.templateOf("no-such-template"));
+	}
+}
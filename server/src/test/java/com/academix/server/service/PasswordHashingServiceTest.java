@@ -0,0 +1,118 @@
+package com.academix.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Login burst harness for the password hashing pool: submits many
+ * verifications at once, as a crowd signing in together would, and checks
+ * that the pool drains what it accepts and turns the rest away with a
+ * Retry-After instead of queueing without bound.
+ */
+class PasswordHashingServiceTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(PasswordHashingServiceTest.class);
+
+	private static final int THREADS = 4;
+	private static final int QUEUE_CAPACITY = 32;
+
+	private PasswordHashingService hashing;
+
+	@BeforeEach
+	void startPool() {
+		hashing = new PasswordHashingService();
+		ReflectionTestUtils.setField(hashing, "passwordEncoder", new BCryptPasswordEncoder(8));
+		ReflectionTestUtils.setField(hashing, "configuredThreads", THREADS);
+		ReflectionTestUtils.setField(hashing, "queueCapacity", QUEUE_CAPACITY);
+		hashing.start();
+	}
+
+	@AfterEach
+	void stopPool() {
+		hashing.shutdown();
+	}
+
+	@Test
+	void burstIsDrainedOrRejectedWithRetryAfter() {
+		String stored = hashing.hash("burst-password");
+		int logins = 1000;
+
+		long start = System.nanoTime();
+		List<CompletableFuture<Long>> accepted = new ArrayList<>(logins);
+		int rejected = 0;
+		for (int i = 0; i < logins; i++) {
+			long submitted = System.nanoTime();
+			try {
+				accepted.add(hashing.matchesAsync("burst-password", stored).thenApply(matched -> {
+					assertTrue(matched);
+					return (System.nanoTime() - submitted) / 1_000_000;
+				}));
+			} catch (PasswordHashingService.BusyException e) {
+				assertTrue(e.getRetryAfterSeconds() >= 1);
+				rejected++;
+			}
+		}
+		List<Long> latencies = new ArrayList<>(accepted.size());
+		for (CompletableFuture<Long> future : accepted) {
+			latencies.add(future.join());
+		}
+		long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+		Collections.sort(latencies);
+
+		logger.info("Login burst: {} logins, {} accepted, {} rejected, {} ms, {}/s, p50 {} ms, p95 {} ms, max {} ms",
+			logins, accepted.size(), rejected, elapsedMs, Math.round(accepted.size() * 1000.0 / elapsedMs),
+			percentile(latencies, 0.50), percentile(latencies, 0.95), latencies.get(latencies.size() - 1));
+
+		assertEquals(logins, accepted.size() + rejected);
+		// A full queue is always accepted; the burst is far larger than the pool can hold
+		assertTrue(accepted.size() >= QUEUE_CAPACITY);
+		assertTrue(rejected > 0);
+		assertEquals((long) rejected, hashing.getStats().get("rejected"));
+	}
+
+	@Test
+	void sustainedLoadWithinCapacityIsNeverRejected() {
+		String stored = hashing.hash("steady-password");
+		int logins = 200;
+
+		long start = System.nanoTime();
+		List<CompletableFuture<Boolean>> inFlight = new ArrayList<>();
+		for (int i = 0; i < logins; i++) {
+			// Keep no more than the queue holds outstanding, like clients honouring Retry-After
+			if (inFlight.size() == QUEUE_CAPACITY) {
+				inFlight.remove(0).join();
+			}
+			inFlight.add(hashing.matchesAsync("steady-password", stored));
+		}
+		inFlight.forEach(CompletableFuture::join);
+		long elapsedMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+
+		logger.info("Steady logins: {} in {} ms, {}/s", logins, elapsedMs, Math.round(logins * 1000.0 / elapsedMs));
+		assertEquals(0L, hashing.getStats().get("rejected"));
+	}
+
+	@Test
+	void wrongPasswordDoesNotMatch() {
+		String stored = hashing.hash("right-password");
+		assertTrue(hashing.matches("right-password", stored));
+		assertFalse(hashing.matches("wrong-password", stored));
+	}
+
+	private static long percentile(List<Long> sorted, double fraction) {
+		return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(fraction * sorted.size()) - 1));
+	}
+}
@@ -0,0 +1,43 @@
+package com.academix.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Competition ranking as printed on report cards: equal scores share a
+ * position and the next position skips.
+ */
+class RankingServiceTest {
+
+	@Test
+	void tiedTopScoresShareFirstAndTheNextIsThird() {
+		assertArrayEquals(new int[] {1, 1, 3}, RankingService.rankDescending(new int[] {90, 90, 75}));
+	}
+
+	@Test
+	void ranksFollowInputOrderNotScoreOrder() {
+		assertArrayEquals(new int[] {3, 1, 4, 1, 5}, RankingService.rankDescending(new int[] {70, 85, 60, 85, 10}));
+	}
+
+	@Test
+	void tiesInTheMiddleSkipPositions() {
+		assertArrayEquals(new int[] {1, 2, 2, 2, 5}, RankingService.rankDescending(new int[] {99, 50, 50, 50, 0}));
+	}
+
+	@Test
+	void everyoneEqualSharesFirst() {
+		assertArrayEquals(new int[] {1, 1, 1}, RankingService.rankDescending(new int[] {0, 0, 0}));
+		assertArrayEquals(new int[0], RankingService.rankDescending(new int[0]));
+	}
+
+	@Test
+	void streamsAreRankedApartAndUngroupedGetZero() {
+		int[] scores = {80, 80, 60, 90, 70};
+		String[] streams = {"East", "West", "East", "West", null};
+
+		assertArrayEquals(new int[] {1, 2, 2, 1, 0}, RankingService.rankWithinGroups(scores, streams));
+		assertArrayEquals(new int[] {1, 1, 3, 0}, RankingService.rankWithinGroups(new int[] {50, 50, 40, 99},
+			new String[] {"A", "A", "A", null}));
+	}
+}
@@ -0,0 +1,168 @@
+package com.academix.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A solved timetable never double-books a teacher, class or room, keeps off
+ * slots held by existing entries and only uses rooms that fit the lesson.
+ */
+class TimetableSolverTest {
+
+	private static final int DAYS = 5;
+	private static final int PERIODS = 4;
+	private static final int CLASSES = 3;
+	private static final int TEACHERS = 4;
+	private static final int SUBJECTS_PER_CLASS = 8;
+	private static final int LESSONS_PER_SUBJECT = 2;
+	private static final int LAB = 2;
+
+	private ExecutorService executor;
+
+	@BeforeEach
+	void startWorkers() {
+		executor = Executors.newFixedThreadPool(2);
+	}
+
+	@AfterEach
+	void stopWorkers() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void solvedProblemHasNoClashes() {
+		TimetableSolver.Problem problem = problem(true);
+		// Slots already taken by entries the generator keeps
+		problem.teacherFixed[0][0] = true;
+		problem.classFixed[1][1] = true;
+		problem.roomFixed[LAB][2] = true;
+
+		TimetableSolver.Solution solution = TimetableSolver.solve(problem, 2, 500, executor);
+
+		assertEquals(0, solution.unplaced());
+		assertNoClashes(problem, solution);
+	}
+
+	@Test
+	void solvedProblemWithoutRoomsHasNoClashes() {
+		TimetableSolver.Problem problem = problem(false);
+
+		TimetableSolver.Solution solution = TimetableSolver.solve(problem, 2, 500, executor);
+
+		assertEquals(0, solution.unplaced());
+		assertNoClashes(problem, solution);
+	}
+
+	@Test
+	void overbookedTeacherIsReportedNotDoubleBooked() {
+		TimetableSolver.Problem problem = problem(true);
+		// Every lesson goes to one teacher, more than there are periods in the week
+		Arrays.fill(problem.lessonTeacher, 0);
+		problem.teachers = 1;
+		problem.teacherFixed = new boolean[1][problem.slots()];
+
+		TimetableSolver.Solution solution = TimetableSolver.solve(problem, 2, 300, executor);
+
+		assertEquals(problem.lessons() - problem.slots(), solution.unplaced());
+		assertNoClashes(problem, solution);
+		for (int l = 0; l < problem.lessons(); l++) {
+			if (solution.slotOf()[l] == TimetableSolver.FREE) {
+				assertTrue(problem.unplacedReason(l).startsWith("Teacher has more lessons"), problem.unplacedReason(l));
+			}
+		}
+	}
+
+	private static void assertNoClashes(TimetableSolver.Problem problem, TimetableSolver.Solution solution) {
+		int slots = problem.slots();
+		int[][] teacherAt = filled(problem.teachers, slots);
+		int[][] classAt = filled(problem.classes, slots);
+		int[][] roomAt = filled(problem.rooms, slots);
+
+		for (int l = 0; l < problem.lessons(); l++) {
+			int slot = solution.slotOf()[l];
+			if (slot == TimetableSolver.FREE) {
+				continue;
+			}
+			assertTrue(slot >= 0 && slot < slots, "lesson " + l + " in slot " + slot);
+
+			int teacher = problem.lessonTeacher[l];
+			int clazz = problem.lessonClass[l];
+			assertFalse(problem.teacherFixed[teacher][slot], "lesson " + l + " in a fixed teacher slot");
+			assertFalse(problem.classFixed[clazz][slot], "lesson " + l + " in a fixed class slot");
+			assertEquals(TimetableSolver.FREE, teacherAt[teacher][slot],
+				"teacher " + teacher + " double-booked in slot " + slot);
+			assertEquals(TimetableSolver.FREE, classAt[clazz][slot], "class " + clazz + " double-booked in slot " + slot);
+			teacherAt[teacher][slot] = l;
+			classAt[clazz][slot] = l;
+
+			if (problem.useRooms) {
+				int room = solution.roomOf()[l];
+				int fitting = room;
+				assertTrue(Arrays.stream(problem.lessonRooms[l]).anyMatch(r -> r == fitting),
+					"lesson " + l + " in room " + room + " that does not fit");
+				assertFalse(problem.roomFixed[room][slot], "lesson " + l + " in a fixed room slot");
+				assertEquals(TimetableSolver.FREE, roomAt[room][slot], "room " + room + " double-booked in slot " + slot);
+				roomAt[room][slot] = l;
+			}
+		}
+	}
+
+	/**
+	 * Three classes of eight subjects, two lessons each, over four teachers;
+	 * the last subject of every class needs the lab
+	 */
+	private static TimetableSolver.Problem problem(boolean useRooms) {
+		int n = CLASSES * SUBJECTS_PER_CLASS * LESSONS_PER_SUBJECT;
+		TimetableSolver.Problem problem = new TimetableSolver.Problem();
+		problem.days = DAYS;
+		problem.periodsPerDay = PERIODS;
+		problem.teachers = TEACHERS;
+		problem.classes = CLASSES;
+		problem.rooms = useRooms ? 3 : 0;
+		problem.classSubjects = CLASSES * SUBJECTS_PER_CLASS;
+		problem.useRooms = useRooms;
+		problem.lessonClass = new int[n];
+		problem.lessonTeacher = new int[n];
+		problem.lessonClassSubject = new int[n];
+		problem.lessonHomeRoom = new int[n];
+		problem.lessonRooms = new int[n][];
+
+		int l = 0;
+		for (int c = 0; c < CLASSES; c++) {
+			for (int s = 0; s < SUBJECTS_PER_CLASS; s++) {
+				int classSubject = c * SUBJECTS_PER_CLASS + s;
+				boolean lab = s == SUBJECTS_PER_CLASS - 1;
+				for (int k = 0; k < LESSONS_PER_SUBJECT; k++, l++) {
+					problem.lessonClass[l] = c;
+					problem.lessonTeacher[l] = classSubject % TEACHERS;
+					problem.lessonClassSubject[l] = classSubject;
+					// Two classes have a home room; the third moves around
+					problem.lessonHomeRoom[l] = useRooms && c < LAB ? c : TimetableSolver.FREE;
+					problem.lessonRooms[l] = !useRooms ? new int[0] : lab ? new int[] {LAB} : new int[] {0, 1, LAB};
+				}
+			}
+		}
+
+		problem.teacherFixed = new boolean[problem.teachers][problem.slots()];
+		problem.classFixed = new boolean[problem.classes][problem.slots()];
+		problem.roomFixed = new boolean[problem.rooms][problem.slots()];
+		return problem;
+	}
+
+	private static int[][] filled(int resources, int slots) {
+		int[][] at = new int[resources][slots];
+		for (int[] row : at) {
+			Arrays.fill(row, TimetableSolver.FREE);
+		}
+		return at;
+	}
+}
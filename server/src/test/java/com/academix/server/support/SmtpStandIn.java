@@ -0,0 +1,172 @@
+package com.academix.server.support;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process SMTP server for tests: accepts every message on a local port,
+ * without auth or TLS, and keeps it for assertions. Recipients added with
+ * {@link #reject(String)} are refused at RCPT TO, like a mailbox that does
+ * not exist.
+ */
+public class SmtpStandIn implements AutoCloseable {
+
+	/**
+	 * One accepted message: the envelope recipients and the raw DATA section
+	 */
+	public record Received(List<String> recipients, String data) {
+
+		public String subject() {
+			for (String line : data.split("\r\n")) {
+				if (line.isEmpty()) {
+					break;
+				}
+				if (line.regionMatches(true, 0, "Subject:", 0, 8)) {
+					return line.substring(8).trim();
+				}
+			}
+			return null;
+		}
+	}
+
+	private final ServerSocket serverSocket;
+	private final List<Received> received = new CopyOnWriteArrayList<>();
+	private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+
+	public SmtpStandIn() throws IOException {
+		serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+		Thread acceptor = new Thread(this::acceptLoop, "smtp-stand-in");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	public void reject(String recipient) {
+		rejected.add(recipient.toLowerCase(Locale.ROOT));
+	}
+
+	public List<Received> getReceived() {
+		return List.copyOf(received);
+	}
+
+	public List<Received> receivedBy(String recipient) {
+		return received.stream().filter(message -> message.recipients().contains(recipient)).toList();
+	}
+
+	public void clear() {
+		received.clear();
+		rejected.clear();
+	}
+
+	/**
+	 * Wait until at least count messages were accepted; returns them
+	 */
+	public List<Received> awaitMessages(int count, Duration timeout) throws InterruptedException {
+		long deadline = System.nanoTime() + timeout.toNanos();
+		while (received.size() < count && System.nanoTime() < deadline) {
+			Thread.sleep(20);
+		}
+		return getReceived();
+	}
+
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+	}
+
+	private void acceptLoop() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket socket = serverSocket.accept();
+				Thread session = new Thread(() -> serve(socket), "smtp-stand-in-session");
+				session.setDaemon(true);
+				session.start();
+			} catch (IOException e) {
+				// Closed
+			}
+		}
+	}
+
+	private void serve(Socket socket) {
+		try (socket;
+			 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+			 OutputStream out = socket.getOutputStream()) {
+			reply(out, "220 localhost SMTP stand-in");
+			List<String> recipients = new ArrayList<>();
+			String line;
+			while ((line = in.readLine()) != null) {
+				String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase(Locale.ROOT) : line.toUpperCase(Locale.ROOT);
+				switch (command) {
+					case "EHLO", "HELO" -> reply(out, "250 localhost");
+					case "MAIL" -> {
+						recipients.clear();
+						reply(out, "250 OK");
+					}
+					case "RCPT" -> {
+						String recipient = address(line);
+						if (rejected.contains(recipient.toLowerCase(Locale.ROOT))) {
+							reply(out, "550 No such mailbox");
+						} else {
+							recipients.add(recipient);
+							reply(out, "250 OK");
+						}
+					}
+					case "DATA" -> {
+						reply(out, "354 End data with <CR><LF>.<CR><LF>");
+						StringBuilder data = new StringBuilder();
+						String dataLine;
+						while ((dataLine = in.readLine()) != null && !dataLine.equals(".")) {
+							// Undo dot-stuffing
+							data.append(dataLine.startsWith("..") ? dataLine.substring(1) : dataLine).append("\r\n");
+						}
+						received.add(new Received(List.copyOf(recipients), data.toString()));
+						recipients.clear();
+						reply(out, "250 OK");
+					}
+					case "RSET" -> {
+						recipients.clear();
+						reply(out, "250 OK");
+					}
+					case "NOOP" -> reply(out, "250 OK");
+					case "QUIT" -> {
+						reply(out, "221 Bye");
+						return;
+					}
+					default -> reply(out, "502 Command not implemented");
+				}
+			}
+		} catch (IOException e) {
+			// Client went away
+		}
+	}
+
+	private static String address(String line) {
+		int open = line.indexOf('<');
+		int close = line.indexOf('>', open + 1);
+		if (open >= 0 && close > open) {
+			return line.substring(open + 1, close);
+		}
+		return line.substring(line.indexOf(':') + 1).trim();
+	}
+
+	private static void reply(OutputStream out, String response) throws IOException {
+		out.write((response + "\r\n").getBytes(StandardCharsets.US_ASCII));
+		out.flush();
+	}
+}